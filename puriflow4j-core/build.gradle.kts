@@ -1 +1,24 @@
 plugins { `java-library` }
+
+// ------------------ JMH ------------------
+// Benchmarks live in src/jmh and are not part of the published jar:
+//   ./gradlew :puriflow4j-core:jmh                       (all benchmarks)
+//   ./gradlew :puriflow4j-core:jmh -PjmhArgs="MultiRegex"  (any JMH command line: filter, -f, -wi, -prof ...)
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+dependencies {
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+}
+
+tasks.register<JavaExec>("jmh") {
+    group = "verification"
+    description = "Runs the JMH benchmarks in src/jmh."
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    val jmhArgs = (findProperty("jmhArgs") as String?)?.trim().orEmpty()
+    if (jmhArgs.isNotEmpty()) args(jmhArgs.split(Regex("\\s+")))
+}
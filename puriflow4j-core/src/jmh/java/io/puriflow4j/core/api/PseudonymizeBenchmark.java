@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2025 Puriflow4J Contributors
+ * Licensed under the Apache License 2.0
+ */
+package io.puriflow4j.core.api;
+
+import io.puriflow4j.core.api.model.Action;
+import io.puriflow4j.core.detect.EmailDetector;
+import io.puriflow4j.core.detect.IpDetector;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * {@link Action#PSEUDONYMIZE} against {@link Action#MASK} on the same detectors and lines; the target is
+ * pseudonymization within 2x of plain masking. Run with {@code ./gradlew :puriflow4j-core:jmh -PjmhArgs=Pseudonymize}.
+ *
+ * <ul>
+ *   <li>{@code hot}: a handful of users repeated over and over (served by the memo).</li>
+ *   <li>{@code cold}: a new e-mail and IP on every line, 65536 of each, far more than the memo holds (one pooled
+ *       HMAC per value).</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PseudonymizeBenchmark {
+
+    @Param({"hot", "cold"})
+    String values;
+
+    private Sanitizer mask;
+    private Sanitizer pseudonymize;
+    private String[] lines;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int i;
+    }
+
+    @Setup
+    public void setup() {
+        List<Detector> detectors = List.of(new EmailDetector(), new IpDetector());
+        mask = new Sanitizer(detectors, Action.MASK);
+        var pseudonymizer = new Pseudonymizer("k1", "benchmark-key-0123456789".getBytes(StandardCharsets.UTF_8));
+        pseudonymize = new Sanitizer(detectors, Action.PSEUDONYMIZE, pseudonymizer);
+
+        int distinct = values.equals("hot") ? 8 : 1 << 16;
+        lines = new String[1 << 16];
+        for (int i = 0; i < lines.length; i++) {
+            int u = i % distinct;
+            lines[i] = "INFO order placed by user" + u + "@example.com from 10." + (u >>> 8) + "." + (u & 0xFF)
+                    + ".7 total=42.00";
+        }
+    }
+
+    @Benchmark
+    public String mask(Cursor c) {
+        return mask.apply(lines[c.i++ & (lines.length - 1)], "bench");
+    }
+
+    @Benchmark
+    public String pseudonymize(Cursor c) {
+        return pseudonymize.apply(lines[c.i++ & (lines.length - 1)], "bench");
+    }
+}
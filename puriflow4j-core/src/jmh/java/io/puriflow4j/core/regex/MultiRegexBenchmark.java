@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2025 Puriflow4J Contributors
+ * Licensed under the Apache License 2.0
+ */
+package io.puriflow4j.core.regex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * {@link MultiRegex} against {@link java.util.regex.Pattern}. Run with
+ * {@code ./gradlew :puriflow4j-core:jmh -PjmhArgs=MultiRegex}.
+ *
+ * <ul>
+ *   <li>{@code adversarial*}: each {@code pattern} on {@code "aaa...!"} ({@code n} times {@code 'a'}).
+ *       {@code (a+)+$} is the textbook exponential case; current JDKs memoize that loop shape, so it is kept as
+ *       the baseline. {@code (.*a){12}$} still backtracks in {@code O(n^12)} in java.util.regex, so {@code n}
+ *       stays small enough for it to finish; MultiRegex is linear in {@code n} for both.</li>
+ *   <li>{@code rules*}: a typical log line against 1 or 50 {@code key=value} rules that do not match: one
+ *       combined automaton versus one {@link Pattern} per rule.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MultiRegexBenchmark {
+
+    @State(Scope.Thread)
+    public static class Adversarial {
+        @Param({"(a+)+$", "(.*a){12}$"})
+        String pattern;
+
+        @Param({"16", "20", "24"})
+        int n;
+
+        String text;
+        Pattern jdk;
+        MultiRegex multi;
+
+        @Setup
+        public void setup() {
+            text = "a".repeat(n) + "!";
+            jdk = Pattern.compile(pattern);
+            multi = MultiRegex.compile(List.of(pattern));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Rules {
+        @Param({"1", "50"})
+        int rules;
+
+        final String line = "2025-01-01 12:00:00 INFO  [http-nio-8080-exec-1] c.a.OrderController"
+                + " - GET /api/v1/orders?page=2&size=50 status=200 took=12ms user=42 region=eu-west-1";
+        List<Pattern> jdk;
+        MultiRegex multi;
+
+        @Setup
+        public void setup() {
+            List<String> regexes = new ArrayList<>(rules);
+            for (int i = 0; i < rules; i++) regexes.add("secret" + i + "=(\\w+)");
+            jdk = regexes.stream().map(Pattern::compile).toList();
+            multi = MultiRegex.compile(regexes);
+        }
+    }
+
+    @Benchmark
+    public boolean adversarialJdk(Adversarial st) {
+        return st.jdk.matcher(st.text).find();
+    }
+
+    @Benchmark
+    public int adversarialMultiRegex(Adversarial st) {
+        return st.multi.findAll(st.text).size();
+    }
+
+    @Benchmark
+    public int rulesJdk(Rules st) {
+        int found = 0;
+        for (Pattern p : st.jdk) {
+            Matcher m = p.matcher(st.line);
+            while (m.find()) found++;
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int rulesMultiRegex(Rules st) {
+        return st.multi.findAll(st.line).size();
+    }
+}
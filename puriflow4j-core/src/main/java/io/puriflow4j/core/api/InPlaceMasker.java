@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2025 Puriflow4J Contributors
+ * Licensed under the Apache License 2.0
+ */
+package io.puriflow4j.core.api;
+
+import io.puriflow4j.core.api.model.Action;
+import io.puriflow4j.core.api.model.DetectionResult;
+import io.puriflow4j.core.api.model.Finding;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Length-preserving masking: overwrites each detected span with a fill character directly in the caller's
+ * buffer, optionally keeping the first/last characters of the span readable ({@code ************1234}).
+ *
+ * <p>Unlike {@link Sanitizer#applyDetailed}, which splices {@code Span.replacement()} strings into a new
+ * String, nothing moves: offsets of everything outside the spans stay valid, so encoders, file tools and
+ * memory-mapped buffers can mask without building a second copy. Detection itself still runs on a
+ * {@link String} view of the content (detectors take a String). Spans are detected and merged exactly like
+ * in the wrapped {@link Sanitizer}; a span not longer than {@code keepFirst + keepLast} is filled entirely,
+ * so the kept characters never reveal a whole value.</p>
+ *
+ * <p>Supported targets: {@code char[]} ranges, {@link StringBuilder}, {@link CharBuffer} (between position
+ * and limit) and {@link ByteBuffer} (between position and limit) in UTF-8, US-ASCII or ISO-8859-1. In a
+ * UTF-8 ByteBuffer every byte of a masked character is filled, so a multi-byte character becomes several
+ * fill bytes and the byte length is preserved. Positions and limits are never changed.</p>
+ *
+ * <p>Findings carry {@link Action#MASK} and offsets in chars (bytes for a ByteBuffer), relative to the
+ * start of the masked range. Thread-safe if the wrapped detectors are.</p>
+ */
+public final class InPlaceMasker {
+    private final Sanitizer sanitizer;
+    private final char fill;
+    private final int keepFirst;
+    private final int keepLast;
+
+    /** Fills spans entirely with {@code fill}. */
+    public InPlaceMasker(Sanitizer sanitizer, char fill) {
+        this(sanitizer, fill, 0, 0);
+    }
+
+    /**
+     * @param sanitizer detectors and span merging to use
+     * @param fill      fill character; must be ASCII when masking byte buffers
+     * @param keepFirst leading characters of each span left as they are
+     * @param keepLast  trailing characters of each span left as they are (4 gives {@code ****1234})
+     */
+    public InPlaceMasker(Sanitizer sanitizer, char fill, int keepFirst, int keepLast) {
+        if (keepFirst < 0 || keepLast < 0) throw new IllegalArgumentException("keepFirst/keepLast must be >= 0");
+        this.sanitizer = Objects.requireNonNull(sanitizer, "sanitizer");
+        this.fill = fill;
+        this.keepFirst = keepFirst;
+        this.keepLast = keepLast;
+    }
+
+    /** Masks {@code buf[off, off + len)} in place. */
+    public List<Finding> mask(char[] buf, int off, int len) {
+        Objects.checkFromIndexSize(off, len, buf.length);
+        if (len == 0) return List.of();
+        List<DetectionResult.Span> spans = sanitizer.spans(new String(buf, off, len));
+        List<Finding> findings = new ArrayList<>(spans.size());
+        for (DetectionResult.Span s : spans) {
+            int from = s.start() + keptHead(s), to = s.end() - keptTail(s);
+            for (int i = from; i < to; i++) buf[off + i] = fill;
+            findings.add(finding(s, s.start(), s.end()));
+        }
+        return findings;
+    }
+
+    /** Masks {@code buf} entirely, in place. */
+    public List<Finding> mask(char[] buf) {
+        return mask(buf, 0, buf.length);
+    }
+
+    /** Masks the content of {@code sb} in place; its length does not change. */
+    public List<Finding> mask(StringBuilder sb) {
+        if (sb.isEmpty()) return List.of();
+        List<DetectionResult.Span> spans = sanitizer.spans(sb.toString());
+        List<Finding> findings = new ArrayList<>(spans.size());
+        for (DetectionResult.Span s : spans) {
+            int from = s.start() + keptHead(s), to = s.end() - keptTail(s);
+            for (int i = from; i < to; i++) sb.setCharAt(i, fill);
+            findings.add(finding(s, s.start(), s.end()));
+        }
+        return findings;
+    }
+
+    /** Masks the remaining chars of {@code buf} (position to limit) in place. */
+    public List<Finding> mask(CharBuffer buf) {
+        if (buf.hasArray()) return mask(buf.array(), buf.arrayOffset() + buf.position(), buf.remaining());
+        if (!buf.hasRemaining()) return List.of();
+        int base = buf.position();
+        List<DetectionResult.Span> spans = sanitizer.spans(buf.toString());
+        List<Finding> findings = new ArrayList<>(spans.size());
+        for (DetectionResult.Span s : spans) {
+            int from = s.start() + keptHead(s), to = s.end() - keptTail(s);
+            for (int i = from; i < to; i++) buf.put(base + i, fill);
+            findings.add(finding(s, s.start(), s.end()));
+        }
+        return findings;
+    }
+
+    /**
+     * Masks the remaining bytes of {@code buf} (position to limit), encoded in {@code charset}, in place.
+     *
+     * @throws IllegalArgumentException if the charset is not UTF-8, US-ASCII or ISO-8859-1, or the fill
+     *                                  character is not ASCII
+     */
+    public List<Finding> mask(ByteBuffer buf, Charset charset) {
+        boolean utf8 = StandardCharsets.UTF_8.equals(charset);
+        if (!utf8 && !StandardCharsets.US_ASCII.equals(charset) && !StandardCharsets.ISO_8859_1.equals(charset)) {
+            throw new IllegalArgumentException("In-place masking needs UTF-8, US-ASCII or ISO-8859-1, not " + charset);
+        }
+        if (fill > 0x7F) throw new IllegalArgumentException("Fill character must be ASCII for byte buffers");
+        if (!buf.hasRemaining()) return List.of();
+
+        int base = buf.position();
+        int n = buf.remaining();
+        // text for detection, plus the byte offset (relative to base) where each char starts
+        char[] chars = new char[n];
+        int[] byteAt = utf8 ? new int[n + 1] : null;
+        int len = utf8 ? decodeUtf8(buf, base, n, chars, byteAt) : decodeSingleByte(buf, base, n, chars);
+
+        List<DetectionResult.Span> spans = sanitizer.spans(new String(chars, 0, len));
+        List<Finding> findings = new ArrayList<>(spans.size());
+        byte b = (byte) fill;
+        for (DetectionResult.Span s : spans) {
+            int from = s.start() + keptHead(s), to = s.end() - keptTail(s);
+            int byteFrom = utf8 ? byteAt[from] : from, byteTo = utf8 ? byteAt[to] : to;
+            for (int i = byteFrom; i < byteTo; i++) buf.put(base + i, b);
+            findings.add(utf8 ? finding(s, byteAt[s.start()], byteAt[s.end()]) : finding(s, s.start(), s.end()));
+        }
+        return findings;
+    }
+
+    private int keptHead(DetectionResult.Span s) {
+        return (s.end() - s.start() > keepFirst + keepLast) ? keepFirst : 0;
+    }
+
+    private int keptTail(DetectionResult.Span s) {
+        return (s.end() - s.start() > keepFirst + keepLast) ? keepLast : 0;
+    }
+
+    private static Finding finding(DetectionResult.Span s, int start, int end) {
+        return new Finding(s.type(), Action.MASK, start, end);
+    }
+
+    private static int decodeSingleByte(ByteBuffer buf, int base, int n, char[] chars) {
+        for (int i = 0; i < n; i++) chars[i] = (char) (buf.get(base + i) & 0xFF);
+        return n;
+    }
+
+    /**
+     * Decodes UTF-8 leniently (a malformed byte becomes U+FFFD) and records where each char starts;
+     * {@code byteAt[len] == n}. Both chars of a surrogate pair map to the start of their 4-byte sequence.
+     */
+    private static int decodeUtf8(ByteBuffer buf, int base, int n, char[] chars, int[] byteAt) {
+        int len = 0;
+        int i = 0;
+        while (i < n) {
+            int b0 = buf.get(base + i) & 0xFF;
+            int width;
+            int cp;
+            if (b0 < 0x80) {
+                width = 1;
+                cp = b0;
+            } else if (b0 >= 0xC2 && b0 <= 0xDF) {
+                width = 2;
+                cp = b0 & 0x1F;
+            } else if (b0 >= 0xE0 && b0 <= 0xEF) {
+                width = 3;
+                cp = b0 & 0x0F;
+            } else if (b0 >= 0xF0 && b0 <= 0xF4) {
+                width = 4;
+                cp = b0 & 0x07;
+            } else {
+                width = 0;
+                cp = 0;
+            }
+            for (int k = 1; k < width; k++) {
+                int b = (i + k < n) ? buf.get(base + i + k) & 0xFF : 0;
+                if ((b & 0xC0) != 0x80) {
+                    width = 0;
+                    break;
+                }
+                cp = (cp << 6) | (b & 0x3F);
+            }
+            if (width == 0
+                    || (width == 3 && (cp < 0x800 || Character.isSurrogate((char) cp)))
+                    || (width == 4 && (cp < 0x10000 || cp > Character.MAX_CODE_POINT))) {
+                width = 1;
+                cp = 0xFFFD;
+            }
+            if (cp >= 0x10000) {
+                byteAt[len] = i;
+                chars[len++] = Character.highSurrogate(cp);
+                byteAt[len] = i;
+                chars[len++] = Character.lowSurrogate(cp);
+            } else {
+                byteAt[len] = i;
+                chars[len++] = (char) cp;
+            }
+            i += width;
+        }
+        byteAt[len] = n;
+        return len;
+    }
+}
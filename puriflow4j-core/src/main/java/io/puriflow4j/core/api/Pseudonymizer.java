@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2025 Puriflow4J Contributors
+ * Licensed under the Apache License 2.0
+ */
+package io.puriflow4j.core.api;
+
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.regex.Pattern;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Replaces detected values with deterministic keyed pseudonyms for {@code Action.PSEUDONYMIZE}, so that one
+ * user's events can still be correlated across log lines and services without the value being readable.
+ *
+ * <p>A pseudonym is {@code [<type>#<keyId>:<hash>]}, where {@code hash} is HMAC-SHA256 of the UTF-8 bytes of
+ * the type, a zero byte and the value, truncated to its first {@value #HASH_CHARS} hex chars (64 bits): e.g.
+ * {@code [email#k1:3f9a2c1b7d4e8a01]}, {@code [card:visa#k1:e9bbf85969c96391]}. Any other service or pipeline
+ * holding the key recomputes it with a standard HMAC ({@code hmac_sha256(key, "email\0" + value).hex()[:16]}).
+ * The same value, type and key always give the same pseudonym; without the key it cannot be reversed or
+ * recomputed from a guess.</p>
+ *
+ * <p>Types may contain {@code ':'} ({@code card:visa}, {@code custom:<name>}) and, for custom rules and
+ * plugins, any other character; key ids cannot contain {@code '#'} or {@code ':'} and the hash is always
+ * {@value #HASH_CHARS} lowercase hex chars. A pseudonym therefore splits unambiguously at its last
+ * {@code '#'}: {@code \[(.*)#([A-Za-z0-9_.-]{1,32}):([0-9a-f]{16})]}.</p>
+ *
+ * <h2>Cost</h2>
+ * <ul>
+ *   <li>HMAC-SHA256 of a short value runs four SHA-256 compressions: the JDK {@link Mac} hashes the 64-byte
+ *       inner and outer key blocks again on every call, on top of one block of data and one of inner digest.
+ *       {@link Mac} instances are cloned from an initialized prototype and pooled per key, each with its own
+ *       byte buffers, so a miss allocates nothing but the pseudonym.</li>
+ *   <li>Hot values — the same e-mail thousands of times — skip the HMAC: a bounded, direct-mapped memo of
+ *       {@value #CACHE_SIZE} entries is keyed on a 128-bit {@link SipHash} of type and value under a random
+ *       per-key secret, which costs a fraction of the HMAC. A value is admitted on its second sighting, so
+ *       one-off values cost no memo entry. The memo holds hashes and pseudonyms only, never the detected
+ *       values, so a heap dump reveals nothing the logs do not already show. A colliding entry is simply
+ *       replaced; the memo never grows.</li>
+ * </ul>
+ *
+ * <h2>Key rotation</h2>
+ * <p>{@link #rotate} atomically switches to a new key: pseudonyms change from the next call on, the key id
+ * in the output tells which key produced them, and the memo and pool of the old key are dropped. Callers that
+ * memoize output containing pseudonyms key it on {@link #generation()}.</p>
+ *
+ * <p>Thread-safe.</p>
+ */
+public final class Pseudonymizer {
+    public static final int HASH_CHARS = 16;
+    public static final int MIN_KEY_BYTES = 16;
+
+    static final int CACHE_SIZE = 4096; // power of two
+    private static final int POOL_SIZE = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Pattern KEY_ID = Pattern.compile("[A-Za-z0-9_.-]{1,32}");
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private volatile KeyState state;
+
+    /**
+     * @param keyId short label of the key ({@code [A-Za-z0-9_.-]}, up to 32 chars), written into every pseudonym
+     * @param key   secret HMAC key, at least {@value #MIN_KEY_BYTES} bytes
+     */
+    public Pseudonymizer(String keyId, byte[] key) {
+        this.state = new KeyState(keyId, key, 0);
+    }
+
+    /** Id of the key currently in use. */
+    public String keyId() {
+        return state.keyId;
+    }
+
+    /** Number of the key currently in use: 0 for the initial key, then incremented by every rotation. */
+    public long generation() {
+        return state.generation;
+    }
+
+    /** Switches to a new key; concurrent calls see either the old or the new key, never a mix. */
+    public synchronized void rotate(String keyId, byte[] key) {
+        this.state = new KeyState(keyId, key, state.generation + 1);
+    }
+
+    /** Pseudonym of {@code value} detected as {@code type}. */
+    public String pseudonymize(String type, CharSequence value) {
+        return pseudonymize(type, value, 0, value.length());
+    }
+
+    /** Pseudonym of {@code text[start, end)} detected as {@code type}; the region is hashed in place, not copied. */
+    public String pseudonymize(String type, CharSequence text, int start, int end) {
+        Objects.requireNonNull(type, "type");
+        Objects.checkFromToIndex(start, end, text.length());
+        KeyState st = state;
+        SipHash h = SipHash.wide(st.memoK0, st.memoK1);
+        h.updateChars(type, 0, type.length());
+        h.update(0);
+        h.update(0);
+        h.updateChars(text, start, end);
+        long lo = h.finish(), hi = h.high();
+        Entry[] cache = st.cache;
+        int slot = (int) lo & (CACHE_SIZE - 1);
+        Entry e = cache[slot];
+        if (e != null && e.lo == lo && e.hi == hi) return e.pseudonym;
+
+        String pseudonym = st.pseudonym(type, text, start, end);
+        // admitted on the second sighting, so that a stream of one-off values does not churn the memo;
+        // racy but safe: Entry is immutable, a lost or torn write only costs one more HMAC later
+        if (st.seen[slot] == lo) cache[slot] = new Entry(lo, hi, pseudonym);
+        else st.seen[slot] = lo;
+        return pseudonym;
+    }
+
+    /** The memo key is a keyed hash of type and value, so the memo needs no raw value. */
+    private record Entry(long lo, long hi, String pseudonym) {}
+
+    /** Key, its {@link Mac} pool and its memo; replaced as a whole on rotation. */
+    private static final class KeyState {
+        final String keyId;
+        final long generation;
+        final Mac prototype; // initialized, never used for hashing: only cloned
+        final ArrayBlockingQueue<Hmac> pool = new ArrayBlockingQueue<>(POOL_SIZE);
+        final long memoK0 = RANDOM.nextLong();
+        final long memoK1 = RANDOM.nextLong();
+        final Entry[] cache = new Entry[CACHE_SIZE];
+        final long[] seen = new long[CACHE_SIZE]; // memo key last seen in each slot, for admission
+
+        KeyState(String keyId, byte[] key, long generation) {
+            if (keyId == null || !KEY_ID.matcher(keyId).matches()) {
+                throw new IllegalArgumentException("Invalid pseudonymization key id '" + keyId + "'");
+            }
+            if (key == null || key.length < MIN_KEY_BYTES) {
+                throw new IllegalArgumentException(
+                        "Pseudonymization key must have at least " + MIN_KEY_BYTES + " bytes");
+            }
+            this.keyId = keyId;
+            this.generation = generation;
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(new SecretKeySpec(key, ALGORITHM));
+                this.prototype = mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC-SHA256 is not available", e);
+            }
+        }
+
+        String pseudonym(String type, CharSequence text, int start, int end) {
+            Hmac mac = pool.poll();
+            if (mac == null) mac = new Hmac(newMac());
+            try {
+                return format(type, mac.digest(type, text, start, end));
+            } finally {
+                pool.offer(mac); // dropped if the pool is full
+            }
+        }
+
+        private String format(String type, byte[] digest) {
+            int tl = type.length(), kl = keyId.length();
+            char[] out = new char[tl + kl + HASH_CHARS + 4];
+            out[0] = '[';
+            type.getChars(0, tl, out, 1);
+            out[tl + 1] = '#';
+            keyId.getChars(0, kl, out, tl + 2);
+            out[tl + kl + 2] = ':';
+            for (int i = 0, at = tl + kl + 3; i < HASH_CHARS / 2; i++) {
+                out[at + 2 * i] = HEX[(digest[i] >> 4) & 0xF];
+                out[at + 2 * i + 1] = HEX[digest[i] & 0xF];
+            }
+            out[out.length - 1] = ']';
+            return new String(out);
+        }
+
+        private Mac newMac() {
+            try {
+                return (Mac) prototype.clone();
+            } catch (CloneNotSupportedException e) {
+                throw new IllegalStateException("HMAC-SHA256 provider does not support cloning", e);
+            }
+        }
+    }
+
+    /** A pooled {@link Mac} with its input and output buffers; used by one thread at a time. */
+    private static final class Hmac {
+        final Mac mac;
+        final byte[] digest = new byte[32];
+        byte[] input = new byte[128];
+
+        Hmac(Mac mac) {
+            this.mac = mac;
+        }
+
+        /** HMAC of {@code UTF-8(type) || 0x00 || UTF-8(text[start, end))}, into the shared digest buffer. */
+        byte[] digest(String type, CharSequence text, int start, int end) {
+            int max = 3 * (type.length() + end - start) + 1; // UTF-8 needs at most 3 bytes per UTF-16 unit
+            if (input.length < max) input = new byte[Math.max(max, 2 * input.length)];
+            int n = utf8(type, 0, type.length(), input, 0);
+            input[n++] = 0;
+            n = utf8(text, start, end, input, n);
+            try {
+                mac.update(input, 0, n);
+                mac.doFinal(digest, 0);
+            } catch (GeneralSecurityException | RuntimeException ex) {
+                mac.reset();
+                throw new IllegalStateException("HMAC-SHA256 failed", ex);
+            }
+            return digest;
+        }
+
+        /** Encodes {@code s[start, end)} as UTF-8 at {@code out[at]}, lone surrogates as {@code '?'} like the JDK. */
+        private static int utf8(CharSequence s, int start, int end, byte[] out, int at) {
+            for (int i = start; i < end; i++) {
+                char c = s.charAt(i);
+                if (c < 0x80) {
+                    out[at++] = (byte) c;
+                } else if (c < 0x800) {
+                    out[at++] = (byte) (0xC0 | (c >> 6));
+                    out[at++] = (byte) (0x80 | (c & 0x3F));
+                } else if (!Character.isSurrogate(c)) {
+                    out[at++] = (byte) (0xE0 | (c >> 12));
+                    out[at++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    out[at++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, s.charAt(++i));
+                    out[at++] = (byte) (0xF0 | (cp >> 18));
+                    out[at++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                    out[at++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                    out[at++] = (byte) (0x80 | (cp & 0x3F));
+                } else {
+                    out[at++] = '?';
+                }
+            }
+            return at;
+        }
+    }
+}
@@ -16,10 +16,31 @@ import java.util.Objects;
 public final class Sanitizer {
     private final List<Detector> detectors;
     private final Action action; // derived from Mode (MASK→MASK, DRY_RUN→WARN)
+    private final Pseudonymizer pseudonymizer; // only for Action.PSEUDONYMIZE
 
     public Sanitizer(List<Detector> detectors, Action action) {
+        this(detectors, action, null);
+    }
+
+    /**
+     * @param pseudonymizer required for {@link Action#PSEUDONYMIZE}: spans are then replaced with a keyed
+     *                      pseudonym of the matched text instead of the detector's replacement
+     */
+    public Sanitizer(List<Detector> detectors, Action action, Pseudonymizer pseudonymizer) {
+        if (action == Action.PSEUDONYMIZE && pseudonymizer == null) {
+            throw new IllegalArgumentException("Action.PSEUDONYMIZE requires a Pseudonymizer");
+        }
         this.detectors = List.copyOf(detectors);
         this.action = action;
+        this.pseudonymizer = pseudonymizer;
+    }
+
+    /**
+     * Changes whenever {@link #apply} may give a different result for the same message, i.e. when the
+     * pseudonymization key is rotated; constant otherwise. Callers that memoize results key them on it.
+     */
+    public long keyGeneration() {
+        return (pseudonymizer == null) ? 0 : pseudonymizer.generation();
     }
 
     public String apply(String message, String loggerName) {
@@ -28,12 +49,36 @@ public final class Sanitizer {
 
     public Result applyDetailed(String message, String loggerName) {
         if (message == null || message.isEmpty()) return new Result(message, List.of());
+        List<DetectionResult.Span> merged = spans(message);
+        if (merged.isEmpty()) return new Result(message, List.of());
+
+        // build output
+        StringBuilder out = new StringBuilder(message.length() + 16);
+        int pos = 0;
+        List<Finding> findings = new ArrayList<>(merged.size());
+        for (DetectionResult.Span s : merged) {
+            if (s.start() > pos) out.append(message, pos, s.start());
+            if (action == Action.PSEUDONYMIZE) {
+                out.append(pseudonymizer.pseudonymize(s.type(), message, s.start(), s.end()));
+            } else {
+                out.append(s.replacement());
+            }
+            findings.add(new Finding(s.type(), action, s.start(), s.end()));
+            pos = s.end();
+        }
+        if (pos < message.length()) out.append(message, pos, message.length());
+
+        return new Result(out.toString(), List.copyOf(findings));
+    }
+
+    /** Detects on {@code message} and returns the merged, non-overlapping spans in ascending order. */
+    List<DetectionResult.Span> spans(String message) {
         List<DetectionResult.Span> all = new ArrayList<>();
         for (Detector d : detectors) {
             var r = d.detect(message);
             if (r.found()) all.addAll(r.spans());
         }
-        if (all.isEmpty()) return new Result(message, List.of());
+        if (all.isEmpty()) return List.of();
 
         // merge overlaps (by earliest start, prefer longer span)
         all.sort(Comparator.comparingInt(DetectionResult.Span::start)
@@ -64,20 +109,7 @@ public final class Sanitizer {
                 merged.add(s);
             }
         }
-
-        // build output
-        StringBuilder out = new StringBuilder(message.length() + 16);
-        int pos = 0;
-        List<Finding> findings = new ArrayList<>(merged.size());
-        for (DetectionResult.Span s : merged) {
-            if (s.start() > pos) out.append(message, pos, s.start());
-            out.append(s.replacement());
-            findings.add(new Finding(s.type(), action, s.start(), s.end()));
-            pos = s.end();
-        }
-        if (pos < message.length()) out.append(message, pos, message.length());
-
-        return new Result(out.toString(), List.copyOf(findings));
+        return merged;
     }
 
     public record Result(String sanitized, List<Finding> findings) {}
@@ -8,5 +8,6 @@ public enum Action {
     NONE,
     WARN,
     MASK,
-    REDACT
+    REDACT,
+    PSEUDONYMIZE // replace with a keyed hash (see Pseudonymizer) so values stay correlatable
 }
@@ -10,6 +10,7 @@ public enum DetectorType {
     CLOUD_ACCESS_KEY, // AWS/Azure/GCP + x-api-key
     API_TOKEN_WELL_KNOWN, // Stripe/Slack/GitHub/...
     BASIC_AUTH, // Authorization: Basic base64(user:pass)
+    AUTH_HEADER, // Authorization/Proxy-Authorization (Basic/Bearer/Digest/Negotiate), Cookie/Set-Cookie values
     URL_REDACTOR,
     DB_CREDENTIAL, // DSN/JDBC/URL с user:pass and others
     PRIVATE_KEY, // -----BEGIN … PRIVATE KEY-----
@@ -17,5 +18,9 @@ public enum DetectorType {
     EMAIL,
     PASSWORD_KV, // password/pwd/passwd …
     IBAN,
-    IP
+    IP,
+    HIGH_ENTROPY, // random-looking base64/base62/hex tokens behind any key
+    JSON, // structural pass over embedded JSON: key policy on values, other detectors on string leaves only
+    ENCODED, // also run the other detectors on decoded percent-encoded and base64 regions
+    KNOWN_SECRET // exact match of the application's own secret values (DetectorOptions.knownSecrets)
 }
@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2025 Puriflow4J Contributors
+ * Licensed under the Apache License 2.0
+ */
+package io.puriflow4j.core.detect;
+
+import io.puriflow4j.core.api.Detector;
+import io.puriflow4j.core.api.model.DetectionResult;
+import io.puriflow4j.core.preset.KVPatternConfig;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Header-aware scanner for the credential-carrying HTTP headers:
+ * {@code Authorization}, {@code Proxy-Authorization}, {@code Cookie} and {@code Set-Cookie}.
+ *
+ * <p>Recognizes {@code Name: value}, {@code Name=value} (e.g. map/toString dumps) and quoted forms
+ * ({@code "Authorization": "Bearer ..."}). The message is walked once; only ':' and '=' trigger a
+ * look-back for a header name.</p>
+ *
+ * <ul>
+ *   <li>{@code Basic} credentials are masked only if they decode to {@code user:pass}; decoding is
+ *       streamed (see {@link BasicAuthDetector#looksLikeBasicCredentials}) and allocates nothing.</li>
+ *   <li>{@code Bearer}, {@code Negotiate}, {@code NTLM} and other token68 credentials are masked as a whole.</li>
+ *   <li>{@code Digest} and other auth-param lists ({@code k=v, k="v"}) are masked from the first parameter
+ *       to the last one.</li>
+ *   <li>After a scheme that is not one of the above, the value is masked only if it looks like a credential
+ *       (at least 16 chars, not just letters), so prose such as {@code Authorization: denied because ...}
+ *       is left alone.</li>
+ *   <li>Cookie values are masked by name: every value except for cookies whose name is allowlisted in
+ *       {@link KVPatternConfig}. For {@code Set-Cookie} only the cookie itself is masked, not its attributes.</li>
+ * </ul>
+ *
+ * <p>A header whose own name is allowlisted (e.g. {@code cookie}) is left untouched.</p>
+ */
+public final class AuthHeaderDetector implements Detector {
+    private static final String TYPE_AUTH = "authHeader";
+    private static final String TYPE_BASIC = "basicAuth";
+    private static final String TYPE_COOKIE = "cookie";
+    private static final String MASK_AUTH = "[MASKED_CREDENTIALS]";
+    private static final String MASK_BASIC = "[MASKED_BASIC_AUTH]";
+    private static final String MASK_COOKIE = "[MASKED_COOKIE]";
+
+    private static final String AUTHORIZATION = "authorization";
+    private static final String COOKIE = "cookie";
+    private static final String SET_PREFIX = "set-";
+    private static final String[] KNOWN_SCHEMES = {"basic", "bearer", "digest", "negotiate", "ntlm"};
+    private static final int MIN_UNKNOWN_SCHEME_CREDENTIAL = 16;
+
+    private final KVPatternConfig kv;
+    private final boolean authorizationAllowed;
+    private final boolean cookieAllowed;
+    private final boolean setCookieAllowed;
+
+    public AuthHeaderDetector() {
+        this(KVPatternConfig.defaults());
+    }
+
+    public AuthHeaderDetector(KVPatternConfig kv) {
+        this.kv = (kv == null) ? KVPatternConfig.defaults() : kv;
+        this.authorizationAllowed = this.kv.isAllowedKey(AUTHORIZATION);
+        this.cookieAllowed = this.kv.isAllowedKey(COOKIE);
+        this.setCookieAllowed = this.kv.isAllowedKey("set-cookie");
+    }
+
+    @Override
+    public DetectionResult detect(String s) {
+        if (s == null || s.isEmpty()) return DetectionResult.empty();
+        final int n = s.length();
+
+        List<DetectionResult.Span> spans = null;
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c != ':' && c != '=') continue;
+
+            // look back over "Name", "Name ", "\"Name\""
+            int nameEnd = i;
+            while (nameEnd > 0 && isBlank(s.charAt(nameEnd - 1))) nameEnd--;
+            if (nameEnd > 0 && isQuote(s.charAt(nameEnd - 1))) nameEnd--;
+
+            // value start: skip blanks and an opening quote
+            int v = i + 1;
+            while (v < n && isBlank(s.charAt(v))) v++;
+            if (v < n && isQuote(s.charAt(v))) v++;
+
+            if (endsWithName(s, nameEnd, AUTHORIZATION)) {
+                if (authorizationAllowed) continue;
+                if (spans == null) spans = new ArrayList<>(2);
+                i = Math.max(i, authorization(s, v, spans) - 1);
+            } else if (endsWithName(s, nameEnd, COOKIE)) {
+                int nameStart = nameEnd - COOKIE.length();
+                boolean set = nameStart >= SET_PREFIX.length()
+                        && s.regionMatches(true, nameStart - SET_PREFIX.length(), SET_PREFIX, 0, SET_PREFIX.length());
+                if (set ? setCookieAllowed : cookieAllowed) continue;
+                if (spans == null) spans = new ArrayList<>(2);
+                i = Math.max(i, cookies(s, v, !set, spans) - 1);
+            }
+        }
+        return (spans == null || spans.isEmpty())
+                ? DetectionResult.empty()
+                : new DetectionResult(true, List.copyOf(spans));
+    }
+
+    // ---------------- Authorization / Proxy-Authorization ----------------
+
+    /** Parses {@code [scheme SP] credentials} at {@code p}; returns where parsing stopped. */
+    private static int authorization(String s, int p, List<DetectionResult.Span> out) {
+        final int n = s.length();
+        int schemeEnd = p;
+        while (schemeEnd < n && isSchemeChar(s.charAt(schemeEnd))) schemeEnd++;
+        int cred = schemeEnd;
+        while (cred < n && isBlank(s.charAt(cred))) cred++;
+        if (cred == schemeEnd || cred == n) {
+            // no scheme: the whole value is a bare credential ("Authorization: abc123")
+            if (isKnownScheme(s, p, schemeEnd)) return schemeEnd; // "Authorization: Bearer" with nothing after it
+            int end = token68End(s, p);
+            if (end > p) out.add(new DetectionResult.Span(p, end, TYPE_AUTH, MASK_AUTH));
+            return end;
+        }
+
+        if (schemeEnd - p == 5 && s.regionMatches(true, p, "basic", 0, 5)) {
+            int end = BasicAuthDetector.base64RunEnd(s, cred);
+            if (end > cred && BasicAuthDetector.looksLikeBasicCredentials(s, cred, end)) {
+                out.add(new DetectionResult.Span(cred, end, TYPE_BASIC, MASK_BASIC));
+            }
+            return end;
+        }
+
+        int end = isAuthParamList(s, cred) ? authParamsEnd(s, cred) : token68End(s, cred);
+        if (end > cred && (isKnownScheme(s, p, schemeEnd) || looksLikeCredential(s, cred, end))) {
+            out.add(new DetectionResult.Span(cred, end, TYPE_AUTH, MASK_AUTH));
+        }
+        return end;
+    }
+
+    /** Credentials after an unknown scheme: long enough and not a plain word. */
+    private static boolean looksLikeCredential(String s, int from, int to) {
+        if (to - from < MIN_UNKNOWN_SCHEME_CREDENTIAL) return false;
+        for (int i = from; i < to; i++) {
+            if (!Character.isLetter(s.charAt(i))) return true;
+        }
+        return false;
+    }
+
+    private static boolean isKnownScheme(String s, int from, int to) {
+        for (String scheme : KNOWN_SCHEMES) {
+            if (to - from == scheme.length() && s.regionMatches(true, from, scheme, 0, scheme.length())) return true;
+        }
+        return false;
+    }
+
+    /** token68 = 1*( ALPHA / DIGIT / "-" / "." / "_" / "~" / "+" / "/" ) *"=" */
+    private static int token68End(String s, int p) {
+        final int n = s.length();
+        int e = p;
+        while (e < n && isToken68Char(s.charAt(e))) e++;
+        if (e == p) return p;
+        while (e < n && s.charAt(e) == '=') e++;
+        return e;
+    }
+
+    /** True if the credentials start with {@code key=value} rather than a token68. */
+    private static boolean isAuthParamList(String s, int p) {
+        final int n = s.length();
+        int e = p;
+        while (e < n && isSchemeChar(s.charAt(e))) e++;
+        if (e == p || e >= n || s.charAt(e) != '=') return false;
+        e++;
+        while (e < n && isBlank(s.charAt(e))) e++;
+        return e < n && s.charAt(e) != '=' && (s.charAt(e) == '"' || isParamValueChar(s.charAt(e)));
+    }
+
+    /** End of a {@code k=v, k="v", ...} list (Digest, AWS4-HMAC-SHA256, ...). */
+    private static int authParamsEnd(String s, int p) {
+        final int n = s.length();
+        int last = p;
+        int q = p;
+        while (q < n) {
+            int k = q;
+            while (k < n && isSchemeChar(s.charAt(k))) k++;
+            if (k == q) break;
+            int eq = k;
+            while (eq < n && isBlank(s.charAt(eq))) eq++;
+            if (eq >= n || s.charAt(eq) != '=') break;
+            int v = eq + 1;
+            while (v < n && isBlank(s.charAt(v))) v++;
+            int ve;
+            if (v < n && s.charAt(v) == '"') {
+                ve = v + 1;
+                while (ve < n && s.charAt(ve) != '"') ve += (s.charAt(ve) == '\\') ? 2 : 1;
+                if (ve >= n) return n; // unterminated quoted value: mask to the end
+                ve++;
+            } else {
+                ve = v;
+                while (ve < n && isParamValueChar(s.charAt(ve))) ve++;
+            }
+            last = ve;
+            q = ve;
+            while (q < n && isBlank(s.charAt(q))) q++;
+            if (q >= n || s.charAt(q) != ',') break;
+            q++;
+            while (q < n && isBlank(s.charAt(q))) q++;
+        }
+        return last;
+    }
+
+    // ---------------- Cookie / Set-Cookie ----------------
+
+    /**
+     * Parses {@code name=value; name2=value2} at {@code p}, masking values of non-allowlisted names.
+     * For Set-Cookie ({@code many == false}) only the first pair is a cookie; attributes follow.
+     */
+    private int cookies(String s, int p, boolean many, List<DetectionResult.Span> out) {
+        final int n = s.length();
+        int q = p;
+        while (q < n) {
+            int nameEnd = q;
+            while (nameEnd < n && isCookieNameChar(s.charAt(nameEnd))) nameEnd++;
+            if (nameEnd == q || nameEnd >= n || s.charAt(nameEnd) != '=') break;
+            int vs = nameEnd + 1;
+            int ve;
+            if (vs < n && s.charAt(vs) == '"') {
+                ve = s.indexOf('"', vs + 1);
+                ve = (ve < 0) ? n : ve + 1;
+            } else {
+                ve = vs;
+                while (ve < n && isCookieValueChar(s.charAt(ve))) ve++;
+            }
+            if (ve > vs && !kv.isAllowedKey(s.substring(q, nameEnd))) {
+                out.add(new DetectionResult.Span(vs, ve, TYPE_COOKIE, MASK_COOKIE));
+            }
+            q = ve;
+            if (!many || q >= n || s.charAt(q) != ';') break;
+            q++;
+            while (q < n && isBlank(s.charAt(q))) q++;
+        }
+        return q;
+    }
+
+    // ---------------- helpers ----------------
+
+    /** Header {@code name} (case-insensitive) ends at {@code end} and is not glued to a preceding word. */
+    private static boolean endsWithName(String s, int end, String name) {
+        int start = end - name.length();
+        if (start < 0 || !s.regionMatches(true, start, name, 0, name.length())) return false;
+        if (start == 0) return true;
+        char before = s.charAt(start - 1);
+        return !(Character.isLetterOrDigit(before) || before == '_');
+    }
+
+    private static boolean isBlank(char c) {
+        return c == ' ' || c == '\t';
+    }
+
+    private static boolean isQuote(char c) {
+        return c == '"' || c == '\'';
+    }
+
+    private static boolean isSchemeChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '-' || c == '_';
+    }
+
+    private static boolean isToken68Char(char c) {
+        return (c >= 'a' && c <= 'z')
+                || (c >= 'A' && c <= 'Z')
+                || (c >= '0' && c <= '9')
+                || c == '-'
+                || c == '.'
+                || c == '_'
+                || c == '~'
+                || c == '+'
+                || c == '/';
+    }
+
+    /** Unquoted auth-param value: up to whitespace, ',', ';', quotes or closing brackets. */
+    private static boolean isParamValueChar(char c) {
+        return c > ' ' && c != ',' && c != ';' && c != '"' && c != '\'' && c != '}' && c != ']' && c != ')';
+    }
+
+    private static boolean isCookieNameChar(char c) {
+        return c > ' ' && c < 127 && c != '=' && c != ';' && c != ',' && c != '"' && c != '\'' && c != '{'
+                && c != '}' && c != '[' && c != ']';
+    }
+
+    /** RFC 6265 cookie-octet: no whitespace, '"', ',', ';' or '\'. */
+    private static boolean isCookieValueChar(char c) {
+        return c > ' ' && c != '"' && c != ',' && c != ';' && c != '\\' && c != '\'' && c != '}' && c != ']';
+    }
+}
@@ -6,47 +6,102 @@ package io.puriflow4j.core.detect;
 
 import io.puriflow4j.core.api.Detector;
 import io.puriflow4j.core.api.model.DetectionResult;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Base64;
 import java.util.List;
-import java.util.regex.Pattern;
 
+/**
+ * Detects "Basic &lt;base64&gt;" credentials anywhere in the message (case-insensitive).
+ *
+ * <p>A candidate is a maximal run of 8+ base64 chars after "Basic" and whitespace. It is masked only
+ * if it decodes to {@code user:pass}; the check decodes the run as a stream of 6-bit groups and looks
+ * at each byte for ':' without materializing the decoded bytes or a String.</p>
+ */
 public final class BasicAuthDetector implements Detector {
     private static final String TYPE = "basicAuth";
     private static final String MASK = "[MASKED_BASIC_AUTH]";
 
-    // Match “Basic <base64>” anywhere (case-insensitive).
-    // NOTE: no trailing \b; instead we assert the next char is NOT a base64 char.
-    private static final Pattern BASIC = Pattern.compile("(?i)\\bBasic\\s+([A-Za-z0-9+/=]{8,})(?![A-Za-z0-9+/=])");
+    private static final String BASIC = "basic";
+    private static final int MIN_B64 = 8;
 
     @Override
     public DetectionResult detect(String s) {
         if (s == null || s.isEmpty()) return DetectionResult.empty();
+        final int n = s.length();
 
-        var spans = new ArrayList<DetectionResult.Span>();
-        var m = BASIC.matcher(s);
-
-        while (m.find()) {
-            // Optional: validate it decodes to “user:pass” to reduce false positives.
-            String token = m.group(1);
-            if (looksLikeBasicCredentials(token)) {
-                spans.add(new DetectionResult.Span(m.start(1), m.end(1), TYPE, MASK));
+        List<DetectionResult.Span> spans = null;
+        for (int i = 0; i + BASIC.length() < n; i++) {
+            char c = s.charAt(i);
+            if (c != 'b' && c != 'B') continue;
+            if (i > 0 && isWordChar(s.charAt(i - 1))) continue; // \b
+            if (!s.regionMatches(true, i, BASIC, 0, BASIC.length())) continue;
+            int p = i + BASIC.length();
+            int ws = p;
+            while (p < n && isSpace(s.charAt(p))) p++;
+            if (p == ws) continue;
+            int end = base64RunEnd(s, p);
+            if (end - p < MIN_B64) continue;
+            if (looksLikeBasicCredentials(s, p, end)) {
+                if (spans == null) spans = new ArrayList<>(1);
+                spans.add(new DetectionResult.Span(p, end, TYPE, MASK));
             }
+            i = end - 1;
         }
+        return spans == null ? DetectionResult.empty() : new DetectionResult(true, List.copyOf(spans));
+    }
 
-        return spans.isEmpty() ? DetectionResult.empty() : new DetectionResult(true, List.copyOf(spans));
+    /** End of the run of standard base64 chars ({@code [A-Za-z0-9+/=]}) starting at {@code from}. */
+    static int base64RunEnd(String s, int from) {
+        int p = from;
+        while (p < s.length() && (base64Value(s.charAt(p)) >= 0 || s.charAt(p) == '=')) p++;
+        return p;
     }
 
-    private static boolean looksLikeBasicCredentials(String b64) {
-        try {
-            byte[] decoded = Base64.getDecoder().decode(b64);
-            String val = new String(decoded, StandardCharsets.ISO_8859_1);
-            // Basic auth is typically "username:password"
-            int idx = val.indexOf(':');
-            return idx > 0 && idx < val.length() - 1;
-        } catch (IllegalArgumentException e) {
-            return false; // not valid base64
+    /**
+     * True if {@code s[from, to)} is valid standard base64 (padding optional, but correct if present)
+     * whose decoded bytes contain a ':' that is neither the first nor the last byte.
+     * Decodes on the fly; allocates nothing.
+     */
+    static boolean looksLikeBasicCredentials(String s, int from, int to) {
+        int bits = 0, nbits = 0, decoded = 0, colon = -1, quantum = 0;
+        int i = from;
+        for (; i < to; i++) {
+            char c = s.charAt(i);
+            if (c == '=') break;
+            int v = base64Value(c);
+            if (v < 0) return false;
+            bits = (bits << 6) | v;
+            nbits += 6;
+            quantum++;
+            if (nbits >= 8) {
+                nbits -= 8;
+                if (((bits >>> nbits) & 0xFF) == ':' && colon < 0) colon = decoded;
+                bits &= (1 << nbits) - 1;
+                decoded++;
+            }
         }
+        int rem = quantum & 3;
+        if (rem == 1) return false; // a lone 6-bit group cannot encode a byte
+        int pads = to - i;
+        for (int k = i; k < to; k++) if (s.charAt(k) != '=') return false;
+        if (pads != 0 && !(rem == 2 && pads == 2) && !(rem == 3 && pads == 1)) return false;
+        return colon > 0 && colon < decoded - 1;
+    }
+
+    private static int base64Value(char c) {
+        if (c >= 'A' && c <= 'Z') return c - 'A';
+        if (c >= 'a' && c <= 'z') return c - 'a' + 26;
+        if (c >= '0' && c <= '9') return c - '0' + 52;
+        if (c == '+') return 62;
+        if (c == '/') return 63;
+        return -1;
+    }
+
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    /** Regex {@code \s}: space, \t, \n, \u000B, \f, \r. */
+    private static boolean isSpace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
     }
 }
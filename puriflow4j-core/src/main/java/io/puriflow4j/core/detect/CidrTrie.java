@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2025 Puriflow4J Contributors
+ * Licensed under the Apache License 2.0
+ */
+package io.puriflow4j.core.detect;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable binary prefix trie over CIDR ranges of one address family.
+ * Addresses are left-aligned 128-bit values split into {@code hi}/{@code lo} longs
+ * (IPv4 occupies the top 32 bits of {@code hi}). Nodes live in parallel int arrays, so
+ * a lookup is at most 32/128 array reads and allocates nothing.
+ */
+final class CidrTrie {
+    private final int[] zero; // child index for bit 0 (0 = none; root is node 0 and never a child)
+    private final int[] one; // child index for bit 1
+    private final boolean[] terminal; // a CIDR ends at this node → every address below is covered
+    private final boolean matchAll; // a /0 entry was configured
+
+    private CidrTrie(int[] zero, int[] one, boolean[] terminal, boolean matchAll) {
+        this.zero = zero;
+        this.one = one;
+        this.terminal = terminal;
+        this.matchAll = matchAll;
+    }
+
+    static CidrTrie ofV4(List<String> cidrs) {
+        return build(cidrs, 32);
+    }
+
+    static CidrTrie ofV6(List<String> cidrs) {
+        return build(cidrs, 128);
+    }
+
+    /** True if the address lies within any configured range. */
+    boolean contains(long hi, long lo) {
+        if (matchAll) return true;
+        int node = 0;
+        for (int bit = 0; bit < 128; bit++) {
+            node = bitAt(hi, lo, bit) == 0 ? zero[node] : one[node];
+            if (node == 0) return false;
+            if (terminal[node]) return true;
+        }
+        return false;
+    }
+
+    // ---------------- building ----------------
+
+    private static CidrTrie build(List<String> cidrs, int width) {
+        int cap = 64;
+        int[] zero = new int[cap];
+        int[] one = new int[cap];
+        boolean[] terminal = new boolean[cap];
+        int size = 1; // root
+        boolean matchAll = false;
+
+        int[] groups = new int[8];
+        for (String cidr : cidrs) {
+            int slash = cidr.indexOf('/');
+            String addr = slash < 0 ? cidr : cidr.substring(0, slash);
+            int prefix = width;
+            if (slash >= 0) {
+                try {
+                    prefix = Integer.parseInt(cidr.substring(slash + 1).trim());
+                } catch (NumberFormatException e) {
+                    throw invalid(cidr);
+                }
+                if (prefix < 0 || prefix > width) throw invalid(cidr);
+            }
+
+            long hi, lo;
+            if (width == 32) {
+                if (IpDetector.parseV4(addr, 0) != addr.length()) throw invalid(cidr);
+                hi = parseV4Bits(addr);
+                lo = 0L;
+            } else {
+                if (addr.isEmpty() || IpDetector.parseV6(addr, 0, groups) != addr.length()) throw invalid(cidr);
+                hi = ((long) groups[0] << 48) | ((long) groups[1] << 32) | ((long) groups[2] << 16) | groups[3];
+                lo = ((long) groups[4] << 48) | ((long) groups[5] << 32) | ((long) groups[6] << 16) | groups[7];
+            }
+
+            if (prefix == 0) {
+                matchAll = true;
+                continue;
+            }
+            int node = 0;
+            for (int bit = 0; bit < prefix; bit++) {
+                int[] next = bitAt(hi, lo, bit) == 0 ? zero : one;
+                int child = next[node];
+                if (child == 0) {
+                    if (size == cap) {
+                        cap <<= 1;
+                        zero = Arrays.copyOf(zero, cap);
+                        one = Arrays.copyOf(one, cap);
+                        terminal = Arrays.copyOf(terminal, cap);
+                        next = bitAt(hi, lo, bit) == 0 ? zero : one;
+                    }
+                    child = size++;
+                    next[node] = child;
+                }
+                node = child;
+            }
+            terminal[node] = true;
+        }
+        return new CidrTrie(
+                Arrays.copyOf(zero, size), Arrays.copyOf(one, size), Arrays.copyOf(terminal, size), matchAll);
+    }
+
+    private static long parseV4Bits(String addr) {
+        long v = 0;
+        for (String part : addr.split("\\.")) v = (v << 8) | Integer.parseInt(part);
+        return v << 32;
+    }
+
+    private static int bitAt(long hi, long lo, int bit) {
+        return (int) (bit < 64 ? (hi >>> (63 - bit)) & 1L : (lo >>> (127 - bit)) & 1L);
+    }
+
+    private static IllegalArgumentException invalid(String cidr) {
+        return new IllegalArgumentException("Invalid CIDR in IP allowlist: '" + cidr + "'");
+    }
+}
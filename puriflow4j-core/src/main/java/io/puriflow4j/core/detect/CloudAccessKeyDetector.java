@@ -11,7 +11,12 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Pattern;
 
-/** Detect common cloud access keys (AWS/Azure/GCP) and generic x-api-key like values. */
+/**
+ * Detect common cloud access keys (AWS/Azure/GCP) and generic x-api-key like values.
+ *
+ * <p>Prefixed provider keys (AWS AKIA/ASIA/..., Alibaba, Tencent, DigitalOcean, Yandex) come from the
+ * bundled {@code vendor-secrets.rules} pack (kind {@code cloudAccessKey}).</p>
+ */
 public final class CloudAccessKeyDetector implements Detector {
     private static final String TYPE = "cloudAccessKey";
     private static final String MASK = "[MASKED_ACCESS_KEY]";
@@ -21,8 +26,7 @@ public final class CloudAccessKeyDetector implements Detector {
         this.kv = kv;
     }
 
-    // AWS Access Key: AKIA/ASIA/AIDA…
-    private static final Pattern AWS = Pattern.compile("\\b(AKIA|ASIA|AIDA|AGPA)[A-Z0-9]{12,20}\\b");
+    private final VendorSecretRules rules = VendorSecretRules.cloudAccessKeys();
 
     // Azure SAS signature in URL: sig=<...>
     private static final Pattern AZURE_SAS = Pattern.compile("(?i)([?&]sig=)([A-Za-z0-9%+/=_-]{10,})");
@@ -34,10 +38,8 @@ public final class CloudAccessKeyDetector implements Detector {
     @Override
     public DetectionResult detect(String s) {
         if (s == null || s.isEmpty()) return DetectionResult.empty();
-        List<DetectionResult.Span> spans = new ArrayList<>();
-
-        var a = AWS.matcher(s);
-        while (a.find()) spans.add(span(a.start(), a.end()));
+        List<DetectionResult.Span> spans = rules.scan(s, TYPE, MASK, null);
+        if (spans == null) spans = new ArrayList<>();
 
         var z = AZURE_SAS.matcher(s);
         while (z.find()) spans.add(span(z.start(2), z.end(2)));
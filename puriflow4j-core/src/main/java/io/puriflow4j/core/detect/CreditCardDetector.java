@@ -7,40 +7,131 @@ package io.puriflow4j.core.detect;
 import io.puriflow4j.core.api.Detector;
 import io.puriflow4j.core.api.model.*;
 import java.util.*;
-import java.util.regex.*;
 
-/** Bare card numbers: 13–19 digits (with optional spaces/dashes), validated via Luhn. */
+/**
+ * Bare card numbers: 13–19 digits (with optional spaces/dashes), validated via Luhn.
+ *
+ * <p>Single forward pass over digit runs: a candidate starts at a digit not preceded by a digit and
+ * grows run by run across short separator gaps (space, tab, dash). Luhn is accumulated inline for both
+ * parities, so no normalized copy of the number is ever built. The longest Luhn-valid prefix of runs wins.</p>
+ *
+ * <p>The brand is classified from the leading 6 digits (BIN/IIN) and reported in the finding type,
+ * e.g. {@code card:visa}; numbers with an unknown BIN are reported as plain {@code card}.</p>
+ */
 public final class CreditCardDetector implements Detector {
     private static final String TYPE = "card";
     private static final String MASK = "[MASKED_CARD]";
-    private static final Pattern DIGITS = Pattern.compile("(?<!\\d)(\\d[\\d\\s-]{11,20}\\d)(?!\\d)");
+
+    private static final int MIN_DIGITS = 13;
+    private static final int MAX_DIGITS = 19;
+    private static final int MAX_GAP = 2; // max consecutive separators between digit groups
+
+    /** Luhn doubling table: d → 2d, minus 9 when above 9. */
+    private static final int[] DOUBLED = {0, 2, 4, 6, 8, 1, 3, 5, 7, 9};
+
+    /** BIN range over the first 6 digits, with the card lengths the brand issues. */
+    private record Bin(int lo, int hi, int minLen, int maxLen, String type) {}
+
+    // Order matters: first match wins (more specific ranges first).
+    private static final Bin[] BINS = {
+        new Bin(340000, 349999, 15, 15, "card:amex"),
+        new Bin(370000, 379999, 15, 15, "card:amex"),
+        new Bin(300000, 305999, 14, 19, "card:diners"),
+        new Bin(360000, 369999, 14, 19, "card:diners"),
+        new Bin(380000, 399999, 14, 19, "card:diners"),
+        new Bin(352800, 358999, 16, 19, "card:jcb"),
+        new Bin(220000, 220499, 16, 19, "card:mir"),
+        new Bin(510000, 559999, 16, 16, "card:mastercard"),
+        new Bin(222100, 272099, 16, 16, "card:mastercard"),
+        new Bin(400000, 499999, 13, 19, "card:visa"),
+        new Bin(601100, 601199, 16, 19, "card:discover"),
+        new Bin(644000, 659999, 16, 19, "card:discover"),
+        new Bin(620000, 629999, 16, 19, "card:unionpay"),
+        new Bin(500000, 509999, 12, 19, "card:maestro"),
+        new Bin(560000, 589999, 12, 19, "card:maestro"),
+        new Bin(630400, 630499, 12, 19, "card:maestro"),
+        new Bin(675900, 675999, 12, 19, "card:maestro"),
+        new Bin(676100, 676399, 12, 19, "card:maestro"),
+    };
 
     @Override
     public DetectionResult detect(String s) {
         if (s == null || s.isEmpty()) return DetectionResult.empty();
-        List<DetectionResult.Span> spans = new ArrayList<>();
-        Matcher m = DIGITS.matcher(s);
-        while (m.find()) {
-            String raw = m.group(1).replaceAll("[\\s-]", "");
-            if (raw.length() >= 13 && raw.length() <= 19 && luhn(raw)) {
-                spans.add(new DetectionResult.Span(m.start(1), m.end(1), TYPE, MASK));
+        List<DetectionResult.Span> spans = null;
+
+        final int n = s.length();
+        int i = 0;
+        while (i < n) {
+            // a candidate starts at a digit that is not preceded by a digit
+            if (!isDigit(s.charAt(i)) || (i > 0 && isDigit(s.charAt(i - 1)))) {
+                i++;
+                continue;
+            }
+            int end = matchAt(s, i);
+            if (end > 0) {
+                if (spans == null) spans = new ArrayList<>(2);
+                spans.add(new DetectionResult.Span(i, end, classify(s, i, end), MASK));
+                i = end;
+            } else {
+                // skip the rest of this digit run; the next run is tried as a fresh start
+                i++;
+                while (i < n && isDigit(s.charAt(i))) i++;
             }
         }
-        return spans.isEmpty() ? DetectionResult.empty() : new DetectionResult(true, List.copyOf(spans));
+        return spans == null ? DetectionResult.empty() : new DetectionResult(true, List.copyOf(spans));
     }
 
-    private static boolean luhn(String s) {
-        int sum = 0;
-        boolean dbl = false;
-        for (int i = s.length() - 1; i >= 0; i--) {
-            int d = s.charAt(i) - '0';
-            if (dbl) {
-                d += d;
-                if (d > 9) d -= 9;
+    /**
+     * Grows a candidate from {@code start} over digit runs joined by short separator gaps.
+     *
+     * @return exclusive end of the longest Luhn-valid candidate with 13–19 digits, or -1
+     */
+    private static int matchAt(String s, int start) {
+        final int n = s.length();
+        // Luhn accumulators for "last digit not doubled" (plain) and "last digit doubled" (dbl)
+        int plain = 0, dbl = 0;
+        int digits = 0;
+        int best = -1;
+        int pos = start;
+        while (true) {
+            while (pos < n && isDigit(s.charAt(pos))) {
+                int d = s.charAt(pos) - '0';
+                int np = dbl + d;
+                dbl = plain + DOUBLED[d];
+                plain = np;
+                pos++;
+                if (++digits > MAX_DIGITS) return best;
             }
-            sum += d;
-            dbl = !dbl;
+            // end of a digit run: (?!\d) holds here
+            if (digits >= MIN_DIGITS && plain % 10 == 0) best = pos;
+
+            int gap = pos;
+            while (gap < n && gap - pos < MAX_GAP && isSeparator(s.charAt(gap))) gap++;
+            if (gap == pos || gap >= n || !isDigit(s.charAt(gap))) return best;
+            pos = gap;
         }
-        return sum % 10 == 0;
+    }
+
+    /** Finding type for a detected number: brand-qualified when the BIN and length match a known brand. */
+    private static String classify(String s, int start, int end) {
+        int bin = 0, digits = 0;
+        for (int k = start; k < end; k++) {
+            char ch = s.charAt(k);
+            if (!isDigit(ch)) continue;
+            if (digits < 6) bin = bin * 10 + (ch - '0');
+            digits++;
+        }
+        for (Bin b : BINS) {
+            if (bin >= b.lo && bin <= b.hi && digits >= b.minLen && digits <= b.maxLen) return b.type;
+        }
+        return TYPE;
+    }
+
+    private static boolean isDigit(char ch) {
+        return ch >= '0' && ch <= '9';
+    }
+
+    private static boolean isSeparator(char ch) {
+        return ch == ' ' || ch == '-' || ch == '\t';
     }
 }
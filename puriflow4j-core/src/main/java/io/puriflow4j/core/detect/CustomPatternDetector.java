@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2025 Puriflow4J Contributors
+ * Licensed under the Apache License 2.0
+ */
+package io.puriflow4j.core.detect;
+
+import io.puriflow4j.core.api.Detector;
+import io.puriflow4j.core.api.model.DetectionResult;
+import io.puriflow4j.core.regex.MultiRegex;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Masks whatever user-supplied regular expressions match ({@code puriflow4j.logs.custom-patterns}).
+ *
+ * <p>The rules come from configuration, so they run on {@link MultiRegex} rather than
+ * {@link java.util.regex.Pattern}: matching is linear in the message whatever the pattern (no catastrophic
+ * backtracking on {@code (a+)+$}-style rules), and all rules are compiled into one automaton, so a message
+ * that matches none of them costs a single pass regardless of how many rules are configured.</p>
+ *
+ * <p>Every match of a rule is masked; if the rule has a capturing group, only group 1 is masked
+ * ({@code secret=(\w+)} keeps {@code secret=} readable). Span type is {@code custom:<name>}.</p>
+ */
+public final class CustomPatternDetector implements Detector {
+    public static final String DEFAULT_REPLACEMENT = "[MASKED]";
+
+    /**
+     * One masking rule.
+     *
+     * @param name        short identifier, used in the span type
+     * @param regex       RE2-style regular expression (no backreferences or lookaround)
+     * @param replacement replacement text; {@value #DEFAULT_REPLACEMENT} if null or blank
+     */
+    public record Rule(String name, String regex, String replacement) {
+        public Rule {
+            if (name == null || name.isBlank()) throw new IllegalArgumentException("Custom pattern name is blank");
+            Objects.requireNonNull(regex, "regex");
+            replacement = (replacement == null || replacement.isBlank()) ? DEFAULT_REPLACEMENT : replacement;
+        }
+
+        public Rule(String name, String regex) {
+            this(name, regex, null);
+        }
+    }
+
+    private final List<Rule> rules;
+    private final String[] types;
+    private final MultiRegex regex;
+
+    /**
+     * @throws IllegalArgumentException if {@code rules} is empty or a regex is invalid or unsupported
+     */
+    public CustomPatternDetector(List<Rule> rules) {
+        this.rules = List.copyOf(rules);
+        this.types = new String[this.rules.size()];
+        List<String> patterns = new ArrayList<>(this.rules.size());
+        for (int i = 0; i < this.rules.size(); i++) {
+            Rule r = this.rules.get(i);
+            types[i] = "custom:" + r.name();
+            patterns.add(r.regex());
+        }
+        try {
+            this.regex = MultiRegex.compile(patterns);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid custom pattern: " + e.getMessage(), e);
+        }
+    }
+
+    public List<Rule> rules() {
+        return rules;
+    }
+
+    @Override
+    public DetectionResult detect(String s) {
+        if (s == null || s.isEmpty()) return DetectionResult.empty();
+        List<MultiRegex.Match> matches = regex.findAll(s);
+        if (matches.isEmpty()) return DetectionResult.empty();
+        List<DetectionResult.Span> spans = new ArrayList<>(matches.size());
+        for (MultiRegex.Match m : matches) {
+            Rule r = rules.get(m.pattern());
+            spans.add(new DetectionResult.Span(m.start(), m.end(), types[m.pattern()], r.replacement()));
+        }
+        return new DetectionResult(true, List.copyOf(spans));
+    }
+}
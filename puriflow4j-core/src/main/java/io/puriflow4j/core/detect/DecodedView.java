@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2025 Puriflow4J Contributors
+ * Licensed under the Apache License 2.0
+ */
+package io.puriflow4j.core.detect;
+
+/**
+ * Lazily decoded view of one encoded region {@code s[from, to)} of a message, with a mapping from decoded
+ * indices back to indices in the original message.
+ *
+ * <ul>
+ *   <li><b>Percent</b> ({@code %XX}, UTF-8 multi-byte sequences, {@code '+'} as space): the only state is
+ *       an {@code int[]} of the original index of each decoded char; {@link #charAt} decodes from the
+ *       original text on demand.</li>
+ *   <li><b>Base64</b> (standard or URL-safe alphabet, padding optional): no state at all; decoded byte
+ *       {@code k} is rebuilt from the 2 original chars that carry its bits. Only views whose bytes are all
+ *       printable ASCII are created, so a byte is a char.</li>
+ * </ul>
+ *
+ * <p>{@link #toString()} materializes the decoded region (never the whole message).</p>
+ */
+final class DecodedView implements CharSequence {
+    private final String s;
+    private final int from;
+    private final int to;
+    private final int length;
+    private final int[] source; // percent: decoded index → original index; null for base64
+
+    private DecodedView(String s, int from, int to, int length, int[] source) {
+        this.s = s;
+        this.from = from;
+        this.to = to;
+        this.length = length;
+        this.source = source;
+    }
+
+    /** View over the percent-encoded region {@code s[from, to)}, or {@code null} if it has no valid escape. */
+    static DecodedView percent(String s, int from, int to) {
+        int[] map = new int[to - from];
+        int len = 0;
+        boolean escaped = false;
+        int p = from;
+        while (p < to) {
+            int width = escapeWidth(s, p, to);
+            if (width == 0) {
+                map[len++] = p++;
+                continue;
+            }
+            escaped = true;
+            int chars = width == 12 ? 2 : 1; // 4-byte UTF-8 → surrogate pair
+            for (int k = 0; k < chars; k++) map[len++] = p;
+            p += width;
+        }
+        if (!escaped) return null;
+        return new DecodedView(s, from, to, len, map);
+    }
+
+    /**
+     * View over the base64 run {@code s[from, to)} (padding included), or {@code null} if it is not
+     * well-formed base64 or does not decode to printable ASCII text.
+     */
+    static DecodedView base64(String s, int from, int to) {
+        int end = to;
+        while (end > from && s.charAt(end - 1) == '=') end--;
+        int chars = end - from;
+        if (chars % 4 == 1 || to - end > 2) return null;
+        if (to > end && (to - from) % 4 != 0) return null;
+        boolean std = false, url = false;
+        for (int p = from; p < end; p++) {
+            char c = s.charAt(p);
+            std |= c == '+' || c == '/';
+            url |= c == '-' || c == '_';
+        }
+        if (std && url) return null;
+
+        DecodedView view = new DecodedView(s, from, end, chars * 6 / 8, null);
+        for (int i = 0; i < view.length; i++) {
+            char c = view.charAt(i);
+            if ((c < 0x20 || c > 0x7E) && c != '\t' && c != '\n' && c != '\r') return null;
+        }
+        return view;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) throw new IndexOutOfBoundsException(index);
+        return source == null ? base64CharAt(index) : percentCharAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        StringBuilder sb = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) sb.append(charAt(i));
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return subSequence(0, length).toString();
+    }
+
+    /** Original index of the first char that contributes to decoded char {@code index}. */
+    int originalStart(int index) {
+        if (source != null) return source[index];
+        return from + (index * 8) / 6;
+    }
+
+    /** Original index right after the last char that contributes to decoded chars {@code [.., end)}. */
+    int originalEnd(int end) {
+        if (end >= length) return to;
+        if (source != null) return source[end];
+        return Math.min(to, from + (end * 8 + 5) / 6);
+    }
+
+    // ---------------- percent ----------------
+
+    private char percentCharAt(int index) {
+        int p = source[index];
+        char c = s.charAt(p);
+        if (c == '+') return ' ';
+        if (c != '%' || escapeWidth(s, p, to) == 0) return c;
+        int b0 = hexByte(s, p);
+        if (b0 < 0x80) return (char) b0;
+        int cp;
+        if (b0 >= 0xF0) {
+            cp = ((b0 & 0x07) << 18)
+                    | ((hexByte(s, p + 3) & 0x3F) << 12)
+                    | ((hexByte(s, p + 6) & 0x3F) << 6)
+                    | (hexByte(s, p + 9) & 0x3F);
+            boolean low = index > 0 && source[index - 1] == p;
+            return low ? Character.lowSurrogate(cp) : Character.highSurrogate(cp);
+        }
+        if (b0 >= 0xE0) {
+            cp = ((b0 & 0x0F) << 12) | ((hexByte(s, p + 3) & 0x3F) << 6) | (hexByte(s, p + 6) & 0x3F);
+        } else {
+            cp = ((b0 & 0x1F) << 6) | (hexByte(s, p + 3) & 0x3F);
+        }
+        return (char) cp;
+    }
+
+    /**
+     * Number of original chars taken by the escape at {@code p}: 3 for {@code %XX} (ASCII), 6/9/12 for a
+     * valid UTF-8 sequence of 2/3/4 escapes, 0 if {@code p} does not start a decodable escape.
+     */
+    private static int escapeWidth(String s, int p, int to) {
+        if (s.charAt(p) != '%') return 0;
+        int b0 = (p + 3 <= to) ? hexByte(s, p) : -1;
+        if (b0 < 0) return 0;
+        if (b0 < 0x80) return 3;
+        int n;
+        if (b0 >= 0xC2 && b0 <= 0xDF) n = 2;
+        else if (b0 >= 0xE0 && b0 <= 0xEF) n = 3;
+        else if (b0 >= 0xF0 && b0 <= 0xF4) n = 4;
+        else return 0;
+        for (int k = 1; k < n; k++) {
+            int q = p + 3 * k;
+            if (q + 3 > to || s.charAt(q) != '%') return 0;
+            int b = hexByte(s, q);
+            if (b < 0x80 || b > 0xBF) return 0;
+        }
+        if (n == 3) {
+            int b1 = hexByte(s, p + 3);
+            if ((b0 == 0xE0 && b1 < 0xA0) || (b0 == 0xED && b1 > 0x9F)) return 0; // overlong / surrogate
+        } else if (n == 4) {
+            int b1 = hexByte(s, p + 3);
+            if ((b0 == 0xF0 && b1 < 0x90) || (b0 == 0xF4 && b1 > 0x8F)) return 0; // overlong / > U+10FFFF
+        }
+        return 3 * n;
+    }
+
+    /** Byte value of {@code %XX} at {@code p}, or -1. */
+    private static int hexByte(String s, int p) {
+        if (p + 2 >= s.length() || s.charAt(p) != '%') return -1;
+        int hi = Character.digit(s.charAt(p + 1), 16);
+        int lo = Character.digit(s.charAt(p + 2), 16);
+        return (hi < 0 || lo < 0) ? -1 : (hi << 4) | lo;
+    }
+
+    // ---------------- base64 ----------------
+
+    private char base64CharAt(int index) {
+        int bit = index * 8;
+        int p = from + bit / 6;
+        int shift = bit % 6; // bits of the first char already used by the previous byte
+        int v = (base64Value(s.charAt(p)) << 6) | base64Value(s.charAt(p + 1));
+        return (char) ((v >>> (4 - shift)) & 0xFF);
+    }
+
+    static int base64Value(char c) {
+        if (c >= 'A' && c <= 'Z') return c - 'A';
+        if (c >= 'a' && c <= 'z') return c - 'a' + 26;
+        if (c >= '0' && c <= '9') return c - '0' + 52;
+        if (c == '+' || c == '-') return 62;
+        if (c == '/' || c == '_') return 63;
+        return -1;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2025 Puriflow4J Contributors
+ * Licensed under the Apache License 2.0
+ */
+package io.puriflow4j.core.detect;
+
+import io.puriflow4j.core.api.Detector;
+import io.puriflow4j.core.api.model.DetectionResult;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decoding layer: runs the wrapped detectors on the message and, in addition, on decoded views of its
+ * percent-encoded and base64 regions, so that {@code password%3Dhunter2} or
+ * {@code cGFzc3dvcmQ9aHVudGVyMg==} are masked like their plain forms.
+ *
+ * <h2>Regions</h2>
+ * <ul>
+ *   <li><b>Percent-encoded:</b> a run of URL characters (no whitespace, quotes, brackets or commas) that
+ *       contains at least one {@code %XX} escape. Decoded as UTF-8, {@code '+'} as space (form encoding).</li>
+ *   <li><b>Base64:</b> a maximal run of at least {@value #MIN_BASE64} base64 chars (standard or URL-safe,
+ *       optional padding) that decodes to printable ASCII text. Runs that decode to binary — random tokens,
+ *       identifiers — are skipped after the first non-printable byte.</li>
+ * </ul>
+ *
+ * <h2>Spans</h2>
+ * <p>A match in a decoded view is mapped back through {@link DecodedView#originalStart} and
+ * {@link DecodedView#originalEnd} and masks exactly the original chars that encode it; for base64 that
+ * is every char carrying a bit of the matched bytes. The type and replacement of the wrapped detector
+ * are kept.</p>
+ *
+ * <h2>Cost</h2>
+ * <p>Messages without a {@code %XX} escape or a long base64 run only pay for one extra linear scan.
+ * Otherwise only the encoded regions are decoded (never the whole message); the wrapped detectors take a
+ * {@link String}, so each decoded region is materialized once for them.</p>
+ */
+public final class DecodingDetector implements Detector {
+    static final int MIN_BASE64 = 16;
+
+    private final List<Detector> detectors;
+
+    public DecodingDetector(List<Detector> detectors) {
+        this.detectors = List.copyOf(detectors);
+    }
+
+    /** The wrapped detectors, in order. */
+    public List<Detector> detectors() {
+        return detectors;
+    }
+
+    @Override
+    public DetectionResult detect(String s) {
+        if (s == null || s.isEmpty()) return DetectionResult.empty();
+        final int n = s.length();
+
+        List<DetectionResult.Span> spans = null;
+        for (Detector d : detectors) {
+            DetectionResult r = d.detect(s);
+            if (!r.found()) continue;
+            if (spans == null) spans = new ArrayList<>(r.spans());
+            else spans.addAll(r.spans());
+        }
+
+        int percentEnd = 0; // end of the last percent region, so that regions never overlap
+        int i = 0;
+        while (i < n) {
+            char c = s.charAt(i);
+            if (c == '%' && i >= percentEnd && isHexEscape(s, i)) {
+                int start = i;
+                while (start > percentEnd && isUrlChar(s.charAt(start - 1))) start--;
+                int end = i;
+                while (end < n && isUrlChar(s.charAt(end))) end++;
+                spans = scanDecoded(DecodedView.percent(s, start, end), spans);
+                percentEnd = end;
+                i = end;
+            } else if (DecodedView.base64Value(c) >= 0) {
+                int start = i;
+                while (i < n && DecodedView.base64Value(s.charAt(i)) >= 0) i++;
+                int end = i;
+                while (end < n && end - i < 2 && s.charAt(end) == '=') end++;
+                if (i - start >= MIN_BASE64) spans = scanDecoded(DecodedView.base64(s, start, end), spans);
+                i = Math.max(i, start + 1);
+            } else {
+                i++;
+            }
+        }
+        return spans == null ? DetectionResult.empty() : new DetectionResult(true, List.copyOf(spans));
+    }
+
+    private List<DetectionResult.Span> scanDecoded(DecodedView view, List<DetectionResult.Span> spans) {
+        if (view == null || view.length() == 0) return spans;
+        String decoded = view.toString();
+        for (Detector d : detectors) {
+            DetectionResult r = d.detect(decoded);
+            if (!r.found()) continue;
+            if (spans == null) spans = new ArrayList<>(r.spans().size());
+            for (DetectionResult.Span span : r.spans()) {
+                int start = view.originalStart(span.start());
+                int end = view.originalEnd(span.end());
+                if (end > start) spans.add(new DetectionResult.Span(start, end, span.type(), span.replacement()));
+            }
+        }
+        return spans;
+    }
+
+    private static boolean isHexEscape(String s, int p) {
+        return p + 2 < s.length()
+                && Character.digit(s.charAt(p + 1), 16) >= 0
+                && Character.digit(s.charAt(p + 2), 16) >= 0;
+    }
+
+    /** Chars that can be part of a percent-encoded URL, query string or form body inside a log line. */
+    private static boolean isUrlChar(char c) {
+        return c > ' '
+                && c != '"'
+                && c != '\''
+                && c != '<'
+                && c != '>'
+                && c != '('
+                && c != ')'
+                && c != '['
+                && c != ']'
+                && c != '{'
+                && c != '}'
+                && c != ',';
+    }
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2025 Puriflow4J Contributors
+ * Licensed under the Apache License 2.0
+ */
+package io.puriflow4j.core.detect;
+
+import io.puriflow4j.core.api.Detector;
+import io.puriflow4j.core.api.model.DetectionResult;
+import io.puriflow4j.core.preset.KVPatternConfig;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generic secret detector: masks random-looking tokens regardless of the key they sit behind.
+ *
+ * <h2>How it works</h2>
+ * <p>The message is tokenized in one pass into maximal runs of base64/base64url characters
+ * ({@code [A-Za-z0-9+/_-]}, plus up to two trailing {@code '='}). A run is a <em>hex</em> token if it only
+ * contains {@code [0-9A-Fa-f]}, otherwise it is scored against the base64/base62 threshold. A run of at
+ * least {@code minLength} chars is masked when all of the following hold:</p>
+ * <ol>
+ *   <li>it contains both letters and digits (plain words and numbers are never secrets here);</li>
+ *   <li>its Shannon entropy in bits per char reaches the threshold for its alphabet;</li>
+ *   <li>less than 80% of it is made of word-like pieces ({@code Word}, {@code word}, {@code ACRONYM},
+ *       3+ digit numbers, separators), which rules out identifiers and paths such as
+ *       {@code getUser2FactorAuthHandler} or {@code v1-users-12345-orders};</li>
+ *   <li>it is not an exclusion (below).</li>
+ * </ol>
+ *
+ * <h3>Exclusions</h3>
+ * <ul>
+ *   <li>UUIDs ({@code 8-4-4-4-12} hex), alone or as a dash-separated part of the run.</li>
+ *   <li>Hashes in known positions: hex of a digest length (32, 40, 56, 64, 96, 128) after a key such as
+ *       {@code sha256:}, {@code commit}, {@code etag=}, {@code checksum}, and Subresource Integrity values
+ *       ({@code sha384-...}).</li>
+ *   <li>Values behind an allowlisted key ({@code key=value}, {@code key: value}, {@code "key":"value"}).</li>
+ * </ul>
+ *
+ * <h3>Cost</h3>
+ * <p>The scan is linear and allocates nothing unless something is found: the entropy is computed from a
+ * reusable per-thread {@code int[128]} histogram that is cleared while it is summed, and
+ * {@code c·log2(c)} comes from a precomputed table for all counts up to 255. The key in front of a
+ * candidate is only materialized for the allowlist check, after every other check has passed.</p>
+ */
+public final class HighEntropyDetector implements Detector {
+    private static final String TYPE = "highEntropy";
+    private static final String MASK = "[MASKED_SECRET]";
+
+    public static final int DEFAULT_MIN_LENGTH = 20;
+    /** Bits per char for base64/base62 tokens; random 20-char base62 strings average ~4.0. */
+    public static final double DEFAULT_THRESHOLD = 3.5;
+    /** Bits per char for hex tokens (at most 4.0); random 20-char hex strings average ~3.4. */
+    public static final double DEFAULT_HEX_THRESHOLD = 3.0;
+
+    private static final double MAX_WORD_COVERAGE = 0.8;
+    private static final int MAX_KEY_GAP = 4; // blanks, quotes and ':'/'=' between a key and its value
+    private static final int MAX_KEY_LENGTH = 64;
+    private static final int UUID_LENGTH = 36;
+
+    private static final String[] HASH_KEYS = {
+        "sha", "md5", "hash", "digest", "checksum", "etag", "commit", "revision", "fingerprint", "integrity"
+    };
+    private static final String[] SRI_PREFIXES = {"sha256-", "sha384-", "sha512-", "sha1-", "md5-"};
+
+    private static final double INV_LN2 = 1.0 / Math.log(2);
+    private static final double[] XLOG2X = new double[256]; // XLOG2X[c] = c * log2(c)
+
+    static {
+        for (int c = 1; c < XLOG2X.length; c++) XLOG2X[c] = c * Math.log(c) * INV_LN2;
+    }
+
+    private static final ThreadLocal<int[]> HISTOGRAM = ThreadLocal.withInitial(() -> new int[128]);
+
+    private final KVPatternConfig kv;
+    private final int minLength;
+    private final double threshold;
+    private final double hexThreshold;
+
+    public HighEntropyDetector() {
+        this(KVPatternConfig.defaults());
+    }
+
+    public HighEntropyDetector(KVPatternConfig kv) {
+        this(kv, DEFAULT_MIN_LENGTH, DEFAULT_THRESHOLD, DEFAULT_HEX_THRESHOLD);
+    }
+
+    /**
+     * @param kv           key policy; values behind allowlisted keys are never masked
+     * @param minLength    shortest token considered (at least 8)
+     * @param threshold    minimum entropy in bits per char for base64/base62 tokens
+     * @param hexThreshold minimum entropy in bits per char for hex tokens
+     */
+    public HighEntropyDetector(KVPatternConfig kv, int minLength, double threshold, double hexThreshold) {
+        if (minLength < 8) throw new IllegalArgumentException("minLength must be >= 8: " + minLength);
+        if (!(threshold > 0) || !(hexThreshold > 0)) {
+            throw new IllegalArgumentException(
+                    "Entropy thresholds must be positive: " + threshold + ", " + hexThreshold);
+        }
+        this.kv = (kv == null) ? KVPatternConfig.defaults() : kv;
+        this.minLength = minLength;
+        this.threshold = threshold;
+        this.hexThreshold = hexThreshold;
+    }
+
+    @Override
+    public DetectionResult detect(String s) {
+        if (s == null || s.length() < minLength) return DetectionResult.empty();
+        final int n = s.length();
+
+        List<DetectionResult.Span> spans = null;
+        int i = 0;
+        while (i < n) {
+            if (!isRunChar(s.charAt(i))) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < n && isRunChar(s.charAt(i))) i++;
+            int end = i;
+            if (end - start < minLength || !isSecret(s, start, end)) continue;
+
+            int padEnd = end;
+            while (padEnd < n && padEnd - end < 2 && s.charAt(padEnd) == '=') padEnd++;
+            if (padEnd < n && isRunChar(s.charAt(padEnd))) padEnd = end; // "a=b" is an assignment, not padding
+            if (spans == null) spans = new ArrayList<>(2);
+            spans.add(new DetectionResult.Span(start, padEnd, TYPE, MASK));
+            i = padEnd;
+        }
+        return spans == null ? DetectionResult.empty() : new DetectionResult(true, List.copyOf(spans));
+    }
+
+    private boolean isSecret(String s, int start, int end) {
+        boolean letter = false, digit = false, hex = true, separator = false;
+        for (int p = start; p < end; p++) {
+            char c = s.charAt(p);
+            if (isDigit(c)) {
+                digit = true;
+            } else if (isUpper(c) || isLower(c)) {
+                letter = true;
+                hex &= (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+            } else {
+                separator = true;
+                hex = false;
+            }
+        }
+        if (!letter || !digit) return false;
+        if (separator && (containsUuid(s, start, end) || startsWithAny(s, start, end, SRI_PREFIXES))) return false;
+        if (entropy(s, start, end) < (hex ? hexThreshold : threshold)) return false;
+        if (wordChars(s, start, end) >= MAX_WORD_COVERAGE * (end - start)) return false;
+
+        int keyEnd = keyEndBefore(s, start);
+        if (keyEnd < 0) return true;
+        int keyStart = keyStartBefore(s, keyEnd);
+        if (keyStart == keyEnd) return true;
+        if (hex && isDigestLength(end - start) && containsAny(s, keyStart, keyEnd, HASH_KEYS)) return false;
+        return !kv.isAllowedKey(s.substring(keyStart, keyEnd));
+    }
+
+    // ---------------- entropy ----------------
+
+    /** Shannon entropy of {@code s[from, to)} in bits per char: {@code log2(n) - Σ c·log2(c) / n}. */
+    static double entropy(String s, int from, int to) {
+        final int[] histogram = HISTOGRAM.get();
+        for (int p = from; p < to; p++) histogram[s.charAt(p)]++;
+        double sum = 0;
+        for (int p = from; p < to; p++) {
+            char c = s.charAt(p);
+            int count = histogram[c];
+            if (count != 0) {
+                sum += xlog2x(count);
+                histogram[c] = 0; // counted once; also leaves the histogram clean for the next token
+            }
+        }
+        int len = to - from;
+        return (xlog2x(len) - sum) / len;
+    }
+
+    private static double xlog2x(int c) {
+        return c < XLOG2X.length ? XLOG2X[c] : c * Math.log(c) * INV_LN2;
+    }
+
+    // ---------------- shape heuristics ----------------
+
+    /**
+     * Number of chars in {@code s[from, to)} that belong to word-like pieces: {@code [A-Z]?[a-z]{2,}},
+     * {@code [A-Z]{3,}} acronyms, {@code [0-9]{3,}} numbers and separators.
+     */
+    static int wordChars(String s, int from, int to) {
+        int covered = 0;
+        int i = from;
+        while (i < to) {
+            char c = s.charAt(i);
+            int j = i + 1;
+            if (isDigit(c)) {
+                while (j < to && isDigit(s.charAt(j))) j++;
+                if (j - i >= 3) covered += j - i;
+            } else if (isUpper(c) || isLower(c)) {
+                int lower = isUpper(c) ? i + 1 : i;
+                int k = lower;
+                while (k < to && isLower(s.charAt(k))) k++;
+                if (k - lower >= 2) {
+                    j = k;
+                    covered += j - i;
+                } else if (isUpper(c)) {
+                    k = i;
+                    while (k < to && isUpper(s.charAt(k))) k++;
+                    if (k < to && isLower(s.charAt(k))) k--; // "HTTPRequest": the last capital starts the next word
+                    if (k - i >= 3) {
+                        j = k;
+                        covered += j - i;
+                    }
+                }
+            } else {
+                covered++;
+            }
+            i = j;
+        }
+        return covered;
+    }
+
+    /** A UUID at the start of the run or right after a separator, ending at the run end or a separator. */
+    private static boolean containsUuid(String s, int start, int end) {
+        for (int p = start; p + UUID_LENGTH <= end; p++) {
+            if (p > start && !isSeparator(s.charAt(p - 1))) continue;
+            int e = p + UUID_LENGTH;
+            if (e < end && !isSeparator(s.charAt(e))) continue;
+            if (isUuidAt(s, p)) return true;
+        }
+        return false;
+    }
+
+    private static boolean isUuidAt(String s, int p) {
+        if (s.charAt(p + 8) != '-' || s.charAt(p + 13) != '-' || s.charAt(p + 18) != '-' || s.charAt(p + 23) != '-') {
+            return false;
+        }
+        for (int k = 0; k < UUID_LENGTH; k++) {
+            if (k == 8 || k == 13 || k == 18 || k == 23) continue;
+            if (Character.digit(s.charAt(p + k), 16) < 0) return false;
+        }
+        return true;
+    }
+
+    private static boolean isDigestLength(int len) {
+        return len == 32 || len == 40 || len == 56 || len == 64 || len == 96 || len == 128;
+    }
+
+    // ---------------- key in front of the value ----------------
+
+    /** End of the key before {@code start} (skipping blanks, quotes, ':' and '='), or -1 if there is none. */
+    private static int keyEndBefore(String s, int start) {
+        int p = start;
+        while (p > 0 && start - p < MAX_KEY_GAP && isKeyGap(s.charAt(p - 1))) p--;
+        return (p == start || p == 0) ? -1 : p;
+    }
+
+    private static int keyStartBefore(String s, int keyEnd) {
+        int p = keyEnd;
+        while (p > 0 && keyEnd - p < MAX_KEY_LENGTH && isKeyChar(s.charAt(p - 1))) p--;
+        return p;
+    }
+
+    private static boolean containsAny(String s, int from, int to, String[] words) {
+        for (String w : words) {
+            for (int p = from; p + w.length() <= to; p++) {
+                if (s.regionMatches(true, p, w, 0, w.length())) return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean startsWithAny(String s, int from, int to, String[] prefixes) {
+        for (String prefix : prefixes) {
+            if (to - from > prefix.length() && s.regionMatches(true, from, prefix, 0, prefix.length())) return true;
+        }
+        return false;
+    }
+
+    // ---------------- char classes ----------------
+
+    private static boolean isRunChar(char c) {
+        return isDigit(c) || isUpper(c) || isLower(c) || isSeparator(c);
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == '+' || c == '/' || c == '_' || c == '-';
+    }
+
+    private static boolean isKeyGap(char c) {
+        return c == ' ' || c == '\t' || c == ':' || c == '=' || c == '"' || c == '\'';
+    }
+
+    private static boolean isKeyChar(char c) {
+        return isDigit(c) || isUpper(c) || isLower(c) || c == '_' || c == '-' || c == '.';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isUpper(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isLower(char c) {
+        return c >= 'a' && c <= 'z';
+    }
+}
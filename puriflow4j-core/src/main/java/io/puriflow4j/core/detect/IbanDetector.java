@@ -6,185 +6,131 @@ package io.puriflow4j.core.detect;
 
 import io.puriflow4j.core.api.Detector;
 import io.puriflow4j.core.api.model.DetectionResult;
-import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Detects and masks IBAN numbers, allowing spaces/dashes (incl. Unicode spaces) and mixed case.
  * Uses a precise start anchor and then grows the candidate minimally until a valid IBAN is found.
+ *
+ * <p>The scanner is a single forward pass per anchor: the MOD-97 remainder of the BBAN is kept
+ * incrementally, and the ISO 13616 rotation (moving "CCdd" to the end) is folded in algebraically
+ * as {@code (rem(BBAN) * 10^6 + rem(CCdd)) mod 97}, so no intermediate strings are built.</p>
  */
 public final class IbanDetector implements Detector {
     private static final String TYPE = "iban";
     private static final String MASK = "[MASKED_IBAN]";
 
-    // Start anchor: country code + 2 digits, not preceded by a letter/digit
-    private static final Pattern START = Pattern.compile("(?i)(?<![A-Z0-9])([A-Z]{2}\\d{2})");
+    private static final int MIN_LEN = 15;
+    private static final int MAX_LEN = 34;
+
+    /** 10^6 mod 97: shift applied to the BBAN remainder when "CCdd" (2 letters + 2 digits) is appended. */
+    private static final int SHIFT_CCDD = 1_000_000 % 97;
+
+    // Known country lengths (subset is fine for tests), indexed by (c0 - 'A') * 26 + (c1 - 'A'); 0 = unknown
+    private static final byte[] COUNTRY_LENGTH = new byte[26 * 26];
+
+    static {
+        String table = "AL28 AD24 AT20 AZ28 BA20 BE16 BG22 BH22 BR29 CH21 CR22 CY28 "
+                + "CZ24 DE22 DK18 DO28 EE20 ES24 FI18 FO18 FR27 GB22 GE22 GI23 "
+                + "GL18 GR27 GT28 HR21 HU28 IE22 IL23 IQ23 IS26 IT27 JO30 KW30 "
+                + "KZ20 LB28 LC32 LI21 LT20 LU20 LV21 MC27 MD24 ME22 MK19 MR27 "
+                + "MT31 MU30 NL18 NO15 PK24 PL28 PS29 PT25 QA29 RO24 RS22 SA24 "
+                + "SC31 SE24 SI19 SK24 SM27 TL23 TN24 TR26 UA29 VG24 XK20";
+        for (int k = 0; k + 4 <= table.length(); k += 5) {
+            int idx = (table.charAt(k) - 'A') * 26 + (table.charAt(k + 1) - 'A');
+            COUNTRY_LENGTH[idx] = (byte) Integer.parseInt(table, k + 2, k + 4, 10);
+        }
+    }
 
     // Characters allowed inside an IBAN token (we will post-filter by length and MOD-97)
-    private static boolean isIbanChar(int ch) {
+    private static boolean isIbanChar(char ch) {
         return Character.isLetterOrDigit(ch) || ch == '-' || Character.isWhitespace(ch);
     }
 
-    // Known country lengths (subset is fine for tests)
-    private static final Map<String, Integer> COUNTRY_LENGTH;
+    private static boolean isAsciiLetter(char ch) {
+        return (ch >= 'A' && ch <= 'Z') || (ch >= 'a' && ch <= 'z');
+    }
 
-    static {
-        Map<String, Integer> m = new HashMap<>();
-        m.put("AL", 28);
-        m.put("AD", 24);
-        m.put("AT", 20);
-        m.put("AZ", 28);
-        m.put("BA", 20);
-        m.put("BE", 16);
-        m.put("BG", 22);
-        m.put("BH", 22);
-        m.put("BR", 29);
-        m.put("CH", 21);
-        m.put("CR", 22);
-        m.put("CY", 28);
-        m.put("CZ", 24);
-        m.put("DE", 22);
-        m.put("DK", 18);
-        m.put("DO", 28);
-        m.put("EE", 20);
-        m.put("ES", 24);
-        m.put("FI", 18);
-        m.put("FO", 18);
-        m.put("FR", 27);
-        m.put("GB", 22);
-        m.put("GE", 22);
-        m.put("GI", 23);
-        m.put("GL", 18);
-        m.put("GR", 27);
-        m.put("GT", 28);
-        m.put("HR", 21);
-        m.put("HU", 28);
-        m.put("IE", 22);
-        m.put("IL", 23);
-        m.put("IQ", 23);
-        m.put("IS", 26);
-        m.put("IT", 27);
-        m.put("JO", 30);
-        m.put("KW", 30);
-        m.put("KZ", 20);
-        m.put("LB", 28);
-        m.put("LC", 32);
-        m.put("LI", 21);
-        m.put("LT", 20);
-        m.put("LU", 20);
-        m.put("LV", 21);
-        m.put("MC", 27);
-        m.put("MD", 24);
-        m.put("ME", 22);
-        m.put("MK", 19);
-        m.put("MR", 27);
-        m.put("MT", 31);
-        m.put("MU", 30);
-        m.put("NL", 18);
-        m.put("NO", 15);
-        m.put("PK", 24);
-        m.put("PL", 28);
-        m.put("PS", 29);
-        m.put("PT", 25);
-        m.put("QA", 29);
-        m.put("RO", 24);
-        m.put("RS", 22);
-        m.put("SA", 24);
-        m.put("SC", 31);
-        m.put("SE", 24);
-        m.put("SI", 19);
-        m.put("SK", 24);
-        m.put("SM", 27);
-        m.put("TL", 23);
-        m.put("TN", 24);
-        m.put("TR", 26);
-        m.put("UA", 29);
-        m.put("VG", 24);
-        m.put("XK", 20);
-        COUNTRY_LENGTH = Collections.unmodifiableMap(m);
+    private static boolean isAsciiDigit(char ch) {
+        return ch >= '0' && ch <= '9';
     }
 
     @Override
     public DetectionResult detect(String s) {
         if (s == null || s.isEmpty()) return DetectionResult.empty();
-        List<DetectionResult.Span> spans = new ArrayList<>();
-
-        Matcher m = START.matcher(s);
-        int searchFrom = 0;
-
-        while (m.find(searchFrom)) {
-            int start = m.start(1); // beginning of CC+2 digits
-            int i = m.end(1); // we will grow from here (inclusive of separators/alnum)
-
-            // Grow window over allowed chars
-            int limit = s.length();
-            int bestEnd = -1; // first end where we got a valid IBAN
-            StringBuilder norm = new StringBuilder(40);
-            // Seed normalization with the already matched "CCdd"
-            norm.append(s, start, i);
-            // normalize the seed (no spaces/dashes there anyway)
-            String seed = norm.toString().replaceAll("[\\s\\p{Zs}-]+", "");
-            norm.setLength(0);
-            norm.append(seed);
-
-            // Extend while characters are IBAN-friendly
-            while (i < limit && isIbanChar(s.charAt(i))) {
-                char ch = s.charAt(i);
-                if (ch != '-' && !Character.isWhitespace(ch)) {
-                    norm.append(Character.toUpperCase(ch));
-                }
-                // When normalized length hits [15..34], test plausibility and checksum
-                int len = norm.length();
-                if (len >= 15 && len <= 34) {
-                    if (isPlausible(norm) && mod97Ok(norm)) {
-                        bestEnd = i + 1; // substring end is exclusive
-                        break; // stop at the *first* valid end → minimal span
-                    }
-                }
-                // Guardrail: if we already exceeded 34 normalized chars, no point to continue
-                if (len > 34) break;
-                i++;
+        List<DetectionResult.Span> spans = null;
+
+        final int n = s.length();
+        int p = 0;
+        while (p + 4 <= n) {
+            if (!isAnchor(s, p)) {
+                p++;
+                continue;
             }
-
-            if (bestEnd != -1) {
-                spans.add(new DetectionResult.Span(start, bestEnd, TYPE, MASK));
-                searchFrom = bestEnd; // continue after this IBAN
+            int end = scanFrom(s, p);
+            if (end != -1) {
+                if (spans == null) spans = new ArrayList<>(2);
+                spans.add(new DetectionResult.Span(p, end, TYPE, MASK));
+                p = end; // continue after this IBAN
             } else {
-                // No valid IBAN found starting here → continue searching after the start
-                searchFrom = m.end(1);
+                p += 4; // no valid IBAN starting here → continue after "CCdd"
             }
         }
 
-        return spans.isEmpty() ? DetectionResult.empty() : new DetectionResult(true, List.copyOf(spans));
+        return spans == null ? DetectionResult.empty() : new DetectionResult(true, List.copyOf(spans));
     }
 
-    private static boolean isPlausible(CharSequence iban) {
-        if (iban.length() < 15 || iban.length() > 34) return false;
-        char c0 = iban.charAt(0), c1 = iban.charAt(1);
-        if (!Character.isLetter(c0) || !Character.isLetter(c1)) return false;
-        String cc = ("" + Character.toUpperCase(c0) + Character.toUpperCase(c1));
-        Integer expected = COUNTRY_LENGTH.get(cc);
-        return expected == null || iban.length() == expected;
+    /** Start anchor: country code + 2 digits, not preceded by an ASCII letter/digit. */
+    private static boolean isAnchor(String s, int p) {
+        if (p > 0) {
+            char prev = s.charAt(p - 1);
+            if (isAsciiLetter(prev) || isAsciiDigit(prev)) return false;
+        }
+        return isAsciiLetter(s.charAt(p))
+                && isAsciiLetter(s.charAt(p + 1))
+                && isAsciiDigit(s.charAt(p + 2))
+                && isAsciiDigit(s.charAt(p + 3));
     }
 
-    // ISO 13616 MOD-97
-    private static boolean mod97Ok(CharSequence iban) {
-        // move first 4 chars to the end
-        StringBuilder sb = new StringBuilder(iban.length());
-        sb.append(iban, 4, iban.length()).append(iban, 0, 4);
-
-        int rem = 0;
-        for (int k = 0; k < sb.length(); k++) {
-            char ch = sb.charAt(k);
-            if (ch >= '0' && ch <= '9') {
-                rem = (rem * 10 + (ch - '0')) % 97;
-            } else {
-                int v = Character.toUpperCase(ch) - 'A' + 10;
-                rem = (rem * 10 + (v / 10)) % 97;
-                rem = (rem * 10 + (v % 10)) % 97;
+    /**
+     * Grows the candidate starting at an anchor until the first length/checksum-valid IBAN.
+     *
+     * @return exclusive end of the minimal valid IBAN, or -1 if none
+     */
+    private static int scanFrom(String s, int start) {
+        char c0 = Character.toUpperCase(s.charAt(start));
+        char c1 = Character.toUpperCase(s.charAt(start + 1));
+        int expected = COUNTRY_LENGTH[(c0 - 'A') * 26 + (c1 - 'A')];
+
+        // remainder of the rotated-away head "CCdd" (letters map to 10..35, i.e. two decimal digits)
+        int head = (c0 - 'A' + 10) * 100 + (c1 - 'A' + 10);
+        head = (head * 100 + (s.charAt(start + 2) - '0') * 10 + (s.charAt(start + 3) - '0')) % 97;
+
+        int rem = 0; // MOD-97 remainder of the BBAN seen so far
+        int len = 4; // normalized length (without separators)
+        final int limit = s.length();
+        for (int i = start + 4; i < limit; i++) {
+            char ch = s.charAt(i);
+            if (!isIbanChar(ch)) break;
+            if (ch != '-' && !Character.isWhitespace(ch)) {
+                if (isAsciiDigit(ch)) {
+                    rem = (rem * 10 + (ch - '0')) % 97;
+                } else {
+                    int v = Character.toUpperCase(ch) - 'A' + 10;
+                    rem = (rem * 100 + v) % 97;
+                }
+                len++;
+            }
+            // When normalized length hits [15..34], test plausibility and checksum
+            if (len >= MIN_LEN && len <= MAX_LEN && (expected == 0 || len == expected)) {
+                if ((rem * SHIFT_CCDD + head) % 97 == 1) {
+                    return i + 1; // stop at the *first* valid end → minimal span
+                }
             }
+            // Guardrail: if we already exceeded 34 normalized chars, no point to continue
+            if (len > MAX_LEN) break;
         }
-        return rem == 1;
+        return -1;
     }
 }
@@ -8,23 +8,265 @@ import io.puriflow4j.core.api.Detector;
 import io.puriflow4j.core.api.model.DetectionResult;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Pattern;
 
+/**
+ * Detects IPv4/IPv6 addresses with a hand-written parser (no regex, no backtracking).
+ *
+ * <ul>
+ *   <li>IPv4: four dotted decimal octets, each 0..255; not glued to surrounding digits or version-like dots.</li>
+ *   <li>IPv6: 1..4 hex digits per group, exactly 8 groups or fewer with a single {@code ::},
+ *       optionally ending in an embedded IPv4 (e.g. {@code ::ffff:10.0.0.1}). Timestamps ({@code 12:30:45})
+ *       and MAC addresses do not have a valid group count and are therefore ignored.</li>
+ * </ul>
+ *
+ * <p>Addresses inside the configured CIDR allowlist (e.g. {@code 10.0.0.0/8}, pod ranges, loopback)
+ * are left as-is. The allowlist is compiled into a binary prefix trie per address family.</p>
+ */
 public final class IpDetector implements Detector {
     private static final String TYPE = "ip";
     private static final String MASK = "[MASKED_IP]";
-    private static final Pattern IPV4 = Pattern.compile("(?<!\\d)(?:\\d{1,3}\\.){3}\\d{1,3}(?!\\d)");
-    private static final Pattern IPV6 =
-            Pattern.compile("\\b([0-9a-f]{0,4}:){2,7}[0-9a-f]{0,4}\\b", Pattern.CASE_INSENSITIVE);
+
+    private final CidrTrie allowV4;
+    private final CidrTrie allowV6;
+
+    public IpDetector() {
+        this(List.of());
+    }
+
+    /**
+     * @param allowCidrs CIDR ranges that must not be masked; plain addresses are treated as /32 or /128
+     * @throws IllegalArgumentException if an entry is not a valid CIDR
+     */
+    public IpDetector(List<String> allowCidrs) {
+        List<String> v4 = new ArrayList<>();
+        List<String> v6 = new ArrayList<>();
+        if (allowCidrs != null) {
+            for (String c : allowCidrs) {
+                if (c == null || c.isBlank()) continue;
+                (c.indexOf(':') >= 0 ? v6 : v4).add(c.trim());
+            }
+        }
+        this.allowV4 = v4.isEmpty() ? null : CidrTrie.ofV4(v4);
+        this.allowV6 = v6.isEmpty() ? null : CidrTrie.ofV6(v6);
+    }
 
     @Override
     public DetectionResult detect(String s) {
         if (s == null || s.isEmpty()) return DetectionResult.empty();
-        List<DetectionResult.Span> spans = new ArrayList<>();
-        var a = IPV4.matcher(s);
-        while (a.find()) spans.add(new DetectionResult.Span(a.start(), a.end(), TYPE, MASK));
-        var b = IPV6.matcher(s);
-        while (b.find()) spans.add(new DetectionResult.Span(b.start(), b.end(), TYPE, MASK));
-        return spans.isEmpty() ? DetectionResult.empty() : new DetectionResult(true, List.copyOf(spans));
+        final boolean maybeV4 = s.indexOf('.') >= 0;
+        final boolean maybeV6 = s.indexOf(':') >= 0;
+        if (!maybeV4 && !maybeV6) return DetectionResult.empty();
+
+        List<DetectionResult.Span> spans = null;
+        int[] groups = null; // scratch for allowlist checks, only when an allowlist is configured
+
+        final int n = s.length();
+        int i = 0;
+        while (i < n) {
+            char c = s.charAt(i);
+            int end = -1;
+            boolean allowed = false;
+
+            if (maybeV6 && (isHex(c) || c == ':') && isV6Start(s, i)) {
+                if (allowV4 != null || allowV6 != null) {
+                    if (groups == null) groups = new int[8];
+                    end = parseV6(s, i, groups);
+                    if (end > 0) allowed = isAllowedV6(groups);
+                } else {
+                    end = parseV6(s, i, null);
+                }
+            }
+            if (end < 0 && maybeV4 && isDigit(c) && isV4Start(s, i)) {
+                end = parseV4(s, i);
+                if (end > 0 && allowV4 != null) allowed = allowV4.contains(v4Value(s, i), 0L);
+            }
+
+            if (end > 0) {
+                if (!allowed) {
+                    if (spans == null) spans = new ArrayList<>(2);
+                    spans.add(new DetectionResult.Span(i, end, TYPE, MASK));
+                }
+                i = end;
+            } else {
+                i++;
+            }
+        }
+        return spans == null ? DetectionResult.empty() : new DetectionResult(true, List.copyOf(spans));
+    }
+
+    private boolean isAllowedV6(int[] g) {
+        // IPv4-mapped (::ffff:a.b.c.d) is checked against the IPv4 ranges as well
+        if (allowV4 != null && g[0] == 0 && g[1] == 0 && g[2] == 0 && g[3] == 0 && g[4] == 0 && g[5] == 0xffff) {
+            if (allowV4.contains(((long) g[6] << 48) | ((long) g[7] << 32), 0L)) return true;
+        }
+        if (allowV6 == null) return false;
+        long hi = ((long) g[0] << 48) | ((long) g[1] << 32) | ((long) g[2] << 16) | g[3];
+        long lo = ((long) g[4] << 48) | ((long) g[5] << 32) | ((long) g[6] << 16) | g[7];
+        return allowV6.contains(hi, lo);
+    }
+
+    // ---------------- IPv4 ----------------
+
+    /** Not glued to a preceding digit and not the tail of a dotted number (e.g. a version "1.2.3.4.5"). */
+    private static boolean isV4Start(String s, int i) {
+        if (i == 0) return true;
+        char p = s.charAt(i - 1);
+        return !isDigit(p) && p != '.';
+    }
+
+    /**
+     * Parses a dotted-quad at {@code start}.
+     *
+     * @return exclusive end, or -1 if not a valid IPv4 with proper boundaries
+     */
+    static int parseV4(CharSequence s, int start) {
+        final int n = s.length();
+        int pos = start;
+        for (int octet = 0; octet < 4; octet++) {
+            if (octet > 0) {
+                if (pos >= n || s.charAt(pos) != '.') return -1;
+                pos++;
+            }
+            int val = 0, len = 0;
+            while (pos < n && len < 4 && isDigit(s.charAt(pos))) {
+                val = val * 10 + (s.charAt(pos) - '0');
+                pos++;
+                len++;
+            }
+            if (len == 0 || len > 3 || val > 255) return -1;
+        }
+        // (?!\d) and not followed by ".<digit>" (longer dotted number)
+        if (pos < n) {
+            char c = s.charAt(pos);
+            if (isDigit(c)) return -1;
+            if (c == '.' && pos + 1 < n && isDigit(s.charAt(pos + 1))) return -1;
+        }
+        return pos;
+    }
+
+    /** Numeric value of an already validated dotted-quad, left-aligned in the high 32 bits of a long. */
+    private static long v4Value(CharSequence s, int start) {
+        long v = 0;
+        int octet = 0;
+        for (int pos = start; ; pos++) {
+            char c = pos < s.length() ? s.charAt(pos) : ' ';
+            if (isDigit(c)) {
+                octet = octet * 10 + (c - '0');
+            } else {
+                v = (v << 8) | octet;
+                octet = 0;
+                if (c != '.') break;
+            }
+        }
+        return v << 32;
+    }
+
+    // ---------------- IPv6 ----------------
+
+    /** Token start: not glued to a preceding word character, ':' or '.'. */
+    private static boolean isV6Start(String s, int i) {
+        if (i > 0) {
+            char p = s.charAt(i - 1);
+            if (Character.isLetterOrDigit(p) || p == ':' || p == '.' || p == '_') return false;
+        }
+        // cheap plausibility: a ':' must appear within the first group
+        int lim = Math.min(s.length(), i + 5);
+        for (int k = i; k < lim; k++) {
+            char c = s.charAt(k);
+            if (c == ':') return true;
+            if (!isHex(c)) return false;
+        }
+        return false;
+    }
+
+    /**
+     * Parses an IPv6 address at {@code start}.
+     *
+     * @param groups optional 8-slot output for the expanded 16-bit groups (null to skip)
+     * @return exclusive end, or -1 if not a valid IPv6 with proper boundaries
+     */
+    static int parseV6(CharSequence s, int start, int[] groups) {
+        final int n = s.length();
+        int pos = start;
+        int count = 0; // groups parsed (embedded IPv4 counts as 2)
+        int gap = -1; // group index where "::" occurred
+
+        if (pos + 1 < n && s.charAt(pos) == ':' && s.charAt(pos + 1) == ':') {
+            gap = 0;
+            pos += 2;
+        } else if (s.charAt(pos) == ':') {
+            return -1;
+        }
+
+        while (pos < n && count < 8) {
+            int gStart = pos;
+            int val = 0, len = 0;
+            while (pos < n && len < 5 && isHex(s.charAt(pos))) {
+                val = (val << 4) | Character.digit(s.charAt(pos), 16);
+                pos++;
+                len++;
+            }
+            if (len == 0) break; // only legal right after "::"
+            if (len > 4) return -1;
+
+            if (pos < n && s.charAt(pos) == '.') {
+                // embedded IPv4 tail, must be the last 32 bits
+                int v4End = (count <= 6) ? parseV4(s, gStart) : -1;
+                if (v4End >= 0) {
+                    if (groups != null) {
+                        long v = v4Value(s, gStart) >>> 32;
+                        groups[count] = (int) (v >>> 16);
+                        groups[count + 1] = (int) (v & 0xffff);
+                    }
+                    count += 2;
+                    pos = v4End;
+                    break;
+                }
+                // not a dotted quad (e.g. sentence-final "2001:db8::1."): the address ends before the '.'
+                if (groups != null) groups[count] = val;
+                count++;
+                break;
+            }
+
+            if (groups != null) groups[count] = val;
+            count++;
+            if (count == 8) break;
+
+            if (pos + 1 < n && s.charAt(pos) == ':' && s.charAt(pos + 1) == ':') {
+                if (gap >= 0) return -1; // at most one "::"
+                gap = count;
+                pos += 2;
+            } else if (pos + 1 < n && s.charAt(pos) == ':' && isHex(s.charAt(pos + 1))) {
+                pos++;
+            } else {
+                break;
+            }
+        }
+
+        if (count == 0) return -1;
+        if (gap < 0 ? count != 8 : count > 7) return -1;
+
+        // right boundary: no trailing word character or further colon
+        if (pos < n) {
+            char c = s.charAt(pos);
+            if (Character.isLetterOrDigit(c) || c == ':' || c == '_') return -1;
+        }
+
+        if (groups != null && gap >= 0) {
+            int tail = count - gap;
+            System.arraycopy(groups, gap, groups, 8 - tail, tail);
+            for (int k = gap; k < 8 - tail; k++) groups[k] = 0;
+        }
+        return pos;
+    }
+
+    // ---------------- helpers ----------------
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isHex(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
     }
 }
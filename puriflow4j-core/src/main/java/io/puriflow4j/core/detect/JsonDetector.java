@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2025 Puriflow4J Contributors
+ * Licensed under the Apache License 2.0
+ */
+package io.puriflow4j.core.detect;
+
+import io.puriflow4j.core.api.Detector;
+import io.puriflow4j.core.api.model.DetectionResult;
+import io.puriflow4j.core.preset.KVPatternConfig;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JSON-aware detector: walks JSON objects and arrays embedded in a message with a minimal streaming
+ * tokenizer (no Jackson, no tree) and applies the key policy structurally.
+ *
+ * <h2>Inside JSON</h2>
+ * <ul>
+ *   <li>String and number values whose key is <b>blocklisted</b> in {@link KVPatternConfig} are masked
+ *       (the quotes are kept). Arrays inherit the key of the array: {@code "password": ["a", "b"]}.</li>
+ *   <li>Values whose key is <b>allowlisted</b> are left untouched.</li>
+ *   <li>All other string leaves are passed to the wrapped value detectors (e-mails, tokens, cards, ...);
+ *       structural characters, keys, numbers and literals are never scanned. Leaves are scanned as they
+ *       appear in the message (escapes are not decoded), so span offsets map 1:1.</li>
+ * </ul>
+ *
+ * <h2>Outside JSON</h2>
+ * <p>Only objects and arrays with at least one key/value pair count as JSON. Text before, between and
+ * after them runs through the wrapped detectors as usual. If nothing in the message parses as JSON —
+ * including malformed or truncated payloads — the whole message takes the plain path, exactly as if
+ * this detector were not enabled. At most {@value #MAX_ATTEMPTS} parse attempts are made per message
+ * so that text full of brackets stays linear.</p>
+ */
+public final class JsonDetector implements Detector {
+    private static final String TYPE = "blockedKey";
+    private static final String MASK = "[MASKED]";
+
+    private static final int MAX_DEPTH = 128;
+    private static final int MAX_ATTEMPTS = 8;
+
+    private static final int POLICY_NONE = 0;
+    private static final int POLICY_BLOCK = 1;
+    private static final int POLICY_ALLOW = 2;
+
+    private final List<Detector> valueDetectors;
+    private final KeyTrie blocked;
+    private final KeyTrie allowed;
+
+    /**
+     * @param kv             key policy applied to JSON keys
+     * @param valueDetectors detectors run on string leaves and on text outside JSON
+     */
+    public JsonDetector(KVPatternConfig kv, List<Detector> valueDetectors) {
+        KVPatternConfig cfg = (kv == null) ? KVPatternConfig.defaults() : kv;
+        this.valueDetectors = List.copyOf(valueDetectors);
+        this.blocked = new KeyTrie(cfg.block());
+        this.allowed = new KeyTrie(cfg.allow());
+    }
+
+    /** The wrapped value detectors, in order. */
+    public List<Detector> valueDetectors() {
+        return valueDetectors;
+    }
+
+    @Override
+    public DetectionResult detect(String s) {
+        if (s == null || s.isEmpty()) return DetectionResult.empty();
+        final int n = s.length();
+
+        List<DetectionResult.Span> spans = null;
+        boolean sawJson = false;
+        int plainFrom = 0;
+        int attempts = 0;
+        for (int i = 0; i < n && attempts < MAX_ATTEMPTS; i++) {
+            char c = s.charAt(i);
+            if (c != '{' && c != '[') continue;
+            attempts++;
+            Walk walk = new Walk(s, i);
+            if (!walk.value(0, POLICY_NONE) || walk.members == 0) continue; // "[]", "[1, 2]": nothing keyed
+
+            sawJson = true;
+            spans = scan(s, plainFrom, i, spans);
+            if (walk.spans != null) {
+                if (spans == null) spans = new ArrayList<>(walk.spans.size());
+                spans.addAll(walk.spans);
+            }
+            plainFrom = walk.p;
+            i = walk.p - 1;
+        }
+        if (!sawJson) return plain(s);
+        spans = scan(s, plainFrom, n, spans);
+        return spans == null ? DetectionResult.empty() : new DetectionResult(true, List.copyOf(spans));
+    }
+
+    /** The plain path: every wrapped detector on the whole message. */
+    private DetectionResult plain(String s) {
+        List<DetectionResult.Span> spans = scan(s, 0, s.length(), null);
+        return spans == null ? DetectionResult.empty() : new DetectionResult(true, List.copyOf(spans));
+    }
+
+    /** Runs the wrapped detectors on {@code s[from, to)} and appends their spans shifted back to {@code s}. */
+    private List<DetectionResult.Span> scan(String s, int from, int to, List<DetectionResult.Span> spans) {
+        if (to <= from) return spans;
+        String part = (from == 0 && to == s.length()) ? s : s.substring(from, to);
+        for (Detector d : valueDetectors) {
+            DetectionResult r = d.detect(part);
+            if (!r.found()) continue;
+            if (spans == null) spans = new ArrayList<>(r.spans().size());
+            for (DetectionResult.Span span : r.spans()) {
+                spans.add(from == 0
+                        ? span
+                        : new DetectionResult.Span(
+                                span.start() + from, span.end() + from, span.type(), span.replacement()));
+            }
+        }
+        return spans;
+    }
+
+    /** One parse attempt of a single JSON value starting at {@code p}; collects spans only if it succeeds. */
+    private final class Walk {
+        private final String s;
+        private final int n;
+        private int p;
+        private int members;
+        private List<DetectionResult.Span> spans;
+
+        Walk(String s, int start) {
+            this.s = s;
+            this.n = s.length();
+            this.p = start;
+        }
+
+        boolean value(int depth, int policy) {
+            skipWhitespace();
+            if (p >= n) return false;
+            char c = s.charAt(p);
+            if (c == '{') return object(depth + 1);
+            if (c == '[') return array(depth + 1, policy);
+            if (c == '"') {
+                int start = p + 1;
+                if (!string()) return false;
+                leaf(start, p - 1, policy);
+                return true;
+            }
+            if (c == '-' || (c >= '0' && c <= '9')) {
+                int start = p;
+                if (!number()) return false;
+                if (policy == POLICY_BLOCK) mask(start, p);
+                return true;
+            }
+            return literal("true") || literal("false") || literal("null");
+        }
+
+        private boolean object(int depth) {
+            if (depth > MAX_DEPTH) return false;
+            p++; // '{'
+            skipWhitespace();
+            if (p < n && s.charAt(p) == '}') {
+                p++;
+                return true;
+            }
+            while (true) {
+                skipWhitespace();
+                if (p >= n || s.charAt(p) != '"') return false;
+                int keyStart = p + 1;
+                if (!string()) return false;
+                int keyEnd = p - 1;
+                skipWhitespace();
+                if (p >= n || s.charAt(p) != ':') return false;
+                p++;
+                members++;
+                if (!value(depth, policyOf(keyStart, keyEnd))) return false;
+                skipWhitespace();
+                if (p >= n) return false;
+                char c = s.charAt(p++);
+                if (c == '}') return true;
+                if (c != ',') return false;
+            }
+        }
+
+        private boolean array(int depth, int policy) {
+            if (depth > MAX_DEPTH) return false;
+            p++; // '['
+            skipWhitespace();
+            if (p < n && s.charAt(p) == ']') {
+                p++;
+                return true;
+            }
+            while (true) {
+                if (!value(depth, policy)) return false;
+                skipWhitespace();
+                if (p >= n) return false;
+                char c = s.charAt(p++);
+                if (c == ']') return true;
+                if (c != ',') return false;
+            }
+        }
+
+        /** Consumes a string starting at the opening quote; {@code p} ends up after the closing quote. */
+        private boolean string() {
+            p++; // opening quote
+            while (p < n) {
+                char c = s.charAt(p);
+                if (c == '"') {
+                    p++;
+                    return true;
+                }
+                if (c == '\\') {
+                    p += 2;
+                    continue;
+                }
+                if (c < 0x20) return false; // raw control chars are not allowed in JSON strings
+                p++;
+            }
+            return false;
+        }
+
+        /** {@code -?(0|[1-9]\d*)(\.\d+)?([eE][+-]?\d+)?} */
+        private boolean number() {
+            if (s.charAt(p) == '-') p++;
+            if (p >= n || !isDigit(s.charAt(p))) return false;
+            if (s.charAt(p) == '0') p++;
+            else while (p < n && isDigit(s.charAt(p))) p++;
+            if (p < n && s.charAt(p) == '.') {
+                p++;
+                if (p >= n || !isDigit(s.charAt(p))) return false;
+                while (p < n && isDigit(s.charAt(p))) p++;
+            }
+            if (p < n && (s.charAt(p) == 'e' || s.charAt(p) == 'E')) {
+                p++;
+                if (p < n && (s.charAt(p) == '+' || s.charAt(p) == '-')) p++;
+                if (p >= n || !isDigit(s.charAt(p))) return false;
+                while (p < n && isDigit(s.charAt(p))) p++;
+            }
+            return true;
+        }
+
+        private boolean literal(String word) {
+            if (!s.startsWith(word, p)) return false;
+            p += word.length();
+            return true;
+        }
+
+        private int policyOf(int keyStart, int keyEnd) {
+            if (blocked.matches(s, keyStart, keyEnd)) return POLICY_BLOCK;
+            if (allowed.matches(s, keyStart, keyEnd)) return POLICY_ALLOW;
+            return POLICY_NONE;
+        }
+
+        private void leaf(int start, int end, int policy) {
+            if (end <= start || policy == POLICY_ALLOW) return;
+            if (policy == POLICY_BLOCK) {
+                mask(start, end);
+            } else {
+                spans = scan(s, start, end, spans);
+            }
+        }
+
+        private void mask(int start, int end) {
+            if (spans == null) spans = new ArrayList<>(2);
+            spans.add(new DetectionResult.Span(start, end, TYPE, MASK));
+        }
+
+        private void skipWhitespace() {
+            while (p < n) {
+                char c = s.charAt(p);
+                if (c != ' ' && c != '\t' && c != '\n' && c != '\r') return;
+                p++;
+            }
+        }
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
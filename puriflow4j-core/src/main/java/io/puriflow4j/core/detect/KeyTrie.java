@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2025 Puriflow4J Contributors
+ * Licensed under the Apache License 2.0
+ */
+package io.puriflow4j.core.detect;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Immutable trie over normalized key names (see {@link io.puriflow4j.core.preset.KVPatternConfig#normalizeKey}).
+ *
+ * <p>{@link #matches(String, int, int)} normalizes on the fly — it lower-cases and skips '-', '_' and
+ * whitespace while walking — so a raw key can be looked up in place, without a substring or a
+ * normalized copy.</p>
+ */
+final class KeyTrie {
+    private static final char[] NO_LABELS = new char[0];
+    private static final int[] NO_CHILDREN = new int[0];
+
+    private final char[][] labels; // node → sorted edge chars
+    private final int[][] children; // node → child per edge, parallel to labels
+    private final boolean[] terminal;
+
+    /** @param normalizedKeys keys that are already normalized */
+    KeyTrie(Collection<String> normalizedKeys) {
+        List<TreeMap<Character, Integer>> edges = new ArrayList<>();
+        List<Boolean> ends = new ArrayList<>();
+        edges.add(new TreeMap<>());
+        ends.add(false);
+        for (String key : normalizedKeys) {
+            if (key == null || key.isEmpty()) continue;
+            int node = 0;
+            for (int i = 0; i < key.length(); i++) {
+                Integer child = edges.get(node).get(key.charAt(i));
+                if (child == null) {
+                    child = edges.size();
+                    edges.add(new TreeMap<>());
+                    ends.add(false);
+                    edges.get(node).put(key.charAt(i), child);
+                }
+                node = child;
+            }
+            ends.set(node, true);
+        }
+
+        int size = edges.size();
+        this.labels = new char[size][];
+        this.children = new int[size][];
+        this.terminal = new boolean[size];
+        for (int node = 0; node < size; node++) {
+            TreeMap<Character, Integer> out = edges.get(node);
+            labels[node] = out.isEmpty() ? NO_LABELS : new char[out.size()];
+            children[node] = out.isEmpty() ? NO_CHILDREN : new int[out.size()];
+            int e = 0;
+            for (var entry : out.entrySet()) {
+                labels[node][e] = entry.getKey();
+                children[node][e] = entry.getValue();
+                e++;
+            }
+            terminal[node] = ends.get(node);
+        }
+    }
+
+    boolean isEmpty() {
+        return labels[0].length == 0;
+    }
+
+    /** True if the normalized form of {@code s[from, to)} is one of the keys. */
+    boolean matches(String s, int from, int to) {
+        int node = 0;
+        for (int p = from; p < to; p++) {
+            char c = s.charAt(p);
+            if (c == '-' || c == '_' || c == ' ' || (c >= '\t' && c <= '\r')) continue;
+            int e = indexOf(labels[node], Character.toLowerCase(c));
+            if (e < 0) return false;
+            node = children[node][e];
+        }
+        return terminal[node];
+    }
+
+    private static int indexOf(char[] sorted, char c) {
+        int lo = 0, hi = sorted.length - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < c) lo = mid + 1;
+            else if (sorted[mid] > c) hi = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2025 Puriflow4J Contributors
+ * Licensed under the Apache License 2.0
+ */
+package io.puriflow4j.core.detect;
+
+import io.puriflow4j.core.api.Detector;
+import io.puriflow4j.core.api.model.DetectionResult;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Exact-match detector for secrets the application already knows (datasource passwords, client secrets,
+ * keys from its own configuration), whatever their shape.
+ *
+ * <p>The secrets are held only as {@link Fingerprints}: one Rabin–Karp hash per secret (modulo the Mersenne
+ * prime 2<sup>61</sup>−1, random base per instance), grouped by length. No copy of a secret stays on the
+ * heap. A message is scanned with one rolling hash per distinct secret length, so the cost is
+ * {@code O(message × distinct lengths)} with one hash-set probe per position, regardless of the number of
+ * secrets. A false positive needs a 61-bit collision against an unknown random base.</p>
+ *
+ * <p>Secrets shorter than {@value Fingerprints#MIN_LENGTH} chars are ignored: values such as {@code true}
+ * or {@code 8080} would mask unrelated text.</p>
+ */
+public final class KnownSecretDetector implements Detector {
+    private static final String TYPE = "knownSecret";
+    private static final String MASK = "[MASKED_SECRET]";
+
+    private final Fingerprints fingerprints;
+
+    public KnownSecretDetector(Fingerprints fingerprints) {
+        this.fingerprints = fingerprints;
+    }
+
+    @Override
+    public DetectionResult detect(String s) {
+        if (s == null || s.isEmpty() || fingerprints.isEmpty()) return DetectionResult.empty();
+        final Fingerprints f = fingerprints;
+        final int n = s.length();
+        List<DetectionResult.Span> spans = null;
+        for (int l = 0; l < f.lengths.length; l++) {
+            int len = f.lengths[l];
+            if (len > n) break; // lengths are ascending
+            long[] table = f.tables[l];
+            long pow = f.powers[l];
+            long h = 0;
+            for (int i = 0; i < len; i++) h = Fingerprints.add(Fingerprints.mulMod(h, f.base), s.charAt(i));
+            for (int start = 0; ; start++) {
+                if (Fingerprints.contains(table, h)) {
+                    if (spans == null) spans = new ArrayList<>(2);
+                    spans.add(new DetectionResult.Span(start, start + len, TYPE, MASK));
+                }
+                int out = start + len;
+                if (out >= n) break;
+                h = Fingerprints.sub(h, Fingerprints.mulMod(s.charAt(start), pow));
+                h = Fingerprints.add(Fingerprints.mulMod(h, f.base), s.charAt(out));
+            }
+        }
+        return spans == null ? DetectionResult.empty() : new DetectionResult(true, List.copyOf(spans));
+    }
+
+    /** Hashes of known secrets, grouped by length; holds no secret text. Immutable. */
+    public static final class Fingerprints {
+        public static final int MIN_LENGTH = 6;
+
+        private static final long P = (1L << 61) - 1;
+        private static final Fingerprints EMPTY = new Fingerprints(1, new int[0], new long[0][], new long[0]);
+
+        private final long base;
+        private final int[] lengths;
+        private final long[][] tables; // open addressing, 0 = empty slot (hashes are stored + 1)
+        private final long[] powers; // base^(length - 1) mod P
+
+        private Fingerprints(long base, int[] lengths, long[][] tables, long[] powers) {
+            this.base = base;
+            this.lengths = lengths;
+            this.tables = tables;
+            this.powers = powers;
+        }
+
+        public static Fingerprints empty() {
+            return EMPTY;
+        }
+
+        /** Fingerprints of {@code secrets}; blank values and values shorter than {@value #MIN_LENGTH} are skipped. */
+        public static Fingerprints of(Iterable<? extends CharSequence> secrets) {
+            long base = 256 + Math.floorMod(new SecureRandom().nextLong(), P - 512);
+            TreeMap<Integer, long[]> byLength = new TreeMap<>(); // length → growable list, [0] = count
+            for (CharSequence secret : secrets) {
+                if (secret == null || secret.length() < MIN_LENGTH || isBlank(secret)) continue;
+                long h = 0;
+                for (int i = 0; i < secret.length(); i++) h = add(mulMod(h, base), secret.charAt(i));
+                long[] list = byLength.computeIfAbsent(secret.length(), k -> new long[5]);
+                if (list[0] + 1 == list.length) {
+                    list = Arrays.copyOf(list, list.length * 2);
+                    byLength.put(secret.length(), list);
+                }
+                list[(int) ++list[0]] = h;
+            }
+            if (byLength.isEmpty()) return EMPTY;
+
+            int[] lengths = new int[byLength.size()];
+            long[][] tables = new long[byLength.size()][];
+            long[] powers = new long[byLength.size()];
+            int k = 0;
+            for (var e : byLength.entrySet()) {
+                long[] list = e.getValue();
+                int count = (int) list[0];
+                long[] table = new long[Integer.highestOneBit(Math.max(1, count) * 4 - 1) << 1];
+                for (int i = 1; i <= count; i++) insert(table, list[i]);
+                lengths[k] = e.getKey();
+                tables[k] = table;
+                long pow = 1;
+                for (int i = 1; i < e.getKey(); i++) pow = mulMod(pow, base);
+                powers[k] = pow;
+                k++;
+            }
+            return new Fingerprints(base, lengths, tables, powers);
+        }
+
+        public boolean isEmpty() {
+            return lengths.length == 0;
+        }
+
+        /** Number of distinct secret lengths, i.e. rolling hashes per scanned message. */
+        public int lengthCount() {
+            return lengths.length;
+        }
+
+        private static boolean isBlank(CharSequence s) {
+            for (int i = 0; i < s.length(); i++) if (!Character.isWhitespace(s.charAt(i))) return false;
+            return true;
+        }
+
+        private static void insert(long[] table, long h) {
+            int mask = table.length - 1;
+            for (int i = slot(h, mask); ; i = (i + 1) & mask) {
+                if (table[i] == 0) {
+                    table[i] = h + 1;
+                    return;
+                }
+                if (table[i] == h + 1) return;
+            }
+        }
+
+        static boolean contains(long[] table, long h) {
+            int mask = table.length - 1;
+            for (int i = slot(h, mask); ; i = (i + 1) & mask) {
+                long v = table[i];
+                if (v == 0) return false;
+                if (v == h + 1) return true;
+            }
+        }
+
+        private static int slot(long h, int mask) {
+            return (int) (h ^ (h >>> 29)) & mask;
+        }
+
+        /** {@code a * b mod (2^61 - 1)} for {@code a, b < 2^61}. */
+        static long mulMod(long a, long b) {
+            long hi = Math.multiplyHigh(a, b);
+            long lo = a * b;
+            long r = (lo & P) + ((lo >>> 61) | (hi << 3));
+            return r >= P ? r - P : r;
+        }
+
+        static long add(long a, long b) {
+            long r = a + b;
+            return r >= P ? r - P : r;
+        }
+
+        static long sub(long a, long b) {
+            long r = a - b;
+            return r < 0 ? r + P : r;
+        }
+    }
+}
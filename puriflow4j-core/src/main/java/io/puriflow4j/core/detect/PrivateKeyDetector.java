@@ -8,20 +8,86 @@ import io.puriflow4j.core.api.Detector;
 import io.puriflow4j.core.api.model.DetectionResult;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Pattern;
 
+/**
+ * Detects PEM/armored private key blocks: PKCS#1 (RSA/DSA/EC), PKCS#8 (plain and ENCRYPTED),
+ * OpenSSH and PGP private key blocks.
+ *
+ * <p>Linear, {@code indexOf}-driven: finds "-----BEGIN ", parses the label, and looks for the matching
+ * END marker only within {@link #MAX_BLOCK_CHARS}. A block without its END marker (e.g. cut off by
+ * a line/size limit) is masked from BEGIN to the end of the message, so a truncated key never leaks.</p>
+ */
 public final class PrivateKeyDetector implements Detector {
     private static final String TYPE = "privateKey";
     private static final String MASK = "[MASKED_PRIVATE_KEY]";
-    private static final Pattern PEM = Pattern.compile(
-            "-----BEGIN (?:RSA |EC |OPENSSH )?PRIVATE KEY-----[\\s\\S]*?-----END (?:RSA |EC |OPENSSH )?PRIVATE KEY-----");
+
+    private static final String BEGIN = "-----BEGIN ";
+    private static final String DASHES = "-----";
+
+    /** Upper bound for a block (a 4096-bit armored PGP secret key is well below this). */
+    private static final int MAX_BLOCK_CHARS = 32 * 1024;
+
+    private static final String[] LABELS = {
+        "PRIVATE KEY", // PKCS#8
+        "RSA PRIVATE KEY",
+        "EC PRIVATE KEY",
+        "DSA PRIVATE KEY",
+        "OPENSSH PRIVATE KEY",
+        "ENCRYPTED PRIVATE KEY", // PKCS#8 encrypted
+        "PGP PRIVATE KEY BLOCK"
+    };
+    private static final String[] END_MARKERS = new String[LABELS.length];
+
+    static {
+        for (int i = 0; i < LABELS.length; i++) END_MARKERS[i] = "-----END " + LABELS[i] + DASHES;
+    }
 
     @Override
     public DetectionResult detect(String s) {
         if (s == null || s.isEmpty()) return DetectionResult.empty();
-        var m = PEM.matcher(s);
-        List<DetectionResult.Span> spans = new ArrayList<>();
-        while (m.find()) spans.add(new DetectionResult.Span(m.start(), m.end(), TYPE, MASK));
-        return spans.isEmpty() ? DetectionResult.empty() : new DetectionResult(true, List.copyOf(spans));
+        List<DetectionResult.Span> spans = null;
+
+        final int n = s.length();
+        int begin;
+        int from = 0;
+        while ((begin = s.indexOf(BEGIN, from)) >= 0) {
+            int labelStart = begin + BEGIN.length();
+            int label = matchLabel(s, labelStart);
+            if (label < 0) {
+                from = labelStart;
+                continue;
+            }
+            int bodyStart = labelStart + LABELS[label].length() + DASHES.length();
+            int end = findEnd(s, bodyStart, END_MARKERS[label]);
+            if (spans == null) spans = new ArrayList<>(1);
+            spans.add(new DetectionResult.Span(begin, end, TYPE, MASK));
+            if (end >= n) break;
+            from = end;
+        }
+        return spans == null ? DetectionResult.empty() : new DetectionResult(true, List.copyOf(spans));
+    }
+
+    /** @return index into {@link #LABELS} of the label followed by "-----" at {@code at}, or -1 */
+    private static int matchLabel(String s, int at) {
+        for (int i = 0; i < LABELS.length; i++) {
+            String l = LABELS[i];
+            if (s.startsWith(l, at) && s.startsWith(DASHES, at + l.length())) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * End of the matching END marker within the size cap, or the end of the message if truncated.
+     * Only the capped window is searched, so many BEGIN markers without END stay linear.
+     */
+    private static int findEnd(String s, int bodyStart, String endMarker) {
+        final int len = endMarker.length();
+        final int lastStart = (int) Math.min(s.length() - len, (long) bodyStart + MAX_BLOCK_CHARS);
+        int idx = bodyStart;
+        while (idx <= lastStart && (idx = s.indexOf('-', idx, lastStart + 1)) >= 0) {
+            if (s.startsWith(endMarker, idx)) return idx + len;
+            idx++;
+        }
+        return s.length();
     }
 }
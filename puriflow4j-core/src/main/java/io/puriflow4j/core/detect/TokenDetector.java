@@ -22,7 +22,11 @@ import java.util.regex.Pattern;
  *      * total token length ≥ 50,
  *      * header starts with "eyJ" (typical JWT),
  *      * at least one digit in either header or payload,
- *      * reject if immediately preceded by a Java package-like prefix.
+ *      * reject if immediately preceded by a Java package-like prefix,
+ *      * optionally: the header must base64url-decode to a JSON object containing "alg".
+ *
+ * Bare tokens are found by jumping to "eyJ" with {@code indexOf} and walking the segments in place;
+ * all plausibility checks are char loops over the source, so clean lines allocate nothing.
  */
 public final class TokenDetector implements Detector {
     private static final String TYPE = "token";
@@ -43,49 +47,67 @@ public final class TokenDetector implements Detector {
             Pattern.compile("(?i)\\b(token|access[_-]?token|id[_-]?token)\\s*[:=]\\s*" + MULTI_SEG_RELAXED);
 
     // --- Bare token shape (stricter) ---
-    private static final String SEG_STRICT = B64U + "{10,}";
-    private static final String MULTI_SEG_STRICT = "(" + SEG_STRICT + "(?:\\." + SEG_STRICT + "){2,})";
+    private static final String JWT_HEADER_PREFIX = "eyJ"; // base64url of '{"'
+    private static final int MIN_SEG_LEN = 10;
+    private static final int MIN_TOTAL_LEN = 50; // overall token chars
+    private static final int PKG_LEFT_WINDOW = 64; // how far the package-like left context may reach
 
-    // Bare token not glued to base64url chars
-    private static final Pattern JWT_BARE =
-            Pattern.compile("(?<![A-Za-z0-9_-])" + MULTI_SEG_STRICT + "(?![A-Za-z0-9_-])");
+    // "\"alg\"" as 5 bytes packed big-endian into a long (rolling-window match while decoding)
+    private static final long ALG_KEY = ((long) '"' << 32) | ('a' << 24) | ('l' << 16) | ('g' << 8) | '"';
+    private static final long FIVE_BYTES = 0xFF_FFFF_FFFFL;
 
-    // Heuristics for bare tokens
-    private static final int MIN_TOTAL_LEN = 50; // overall token chars
-    private static final Pattern DIGIT = Pattern.compile(".*\\d.*");
-    // A simple Java package-like left context guard (e.g., "java.lang.")
-    private static final Pattern PKG_LEFT = Pattern.compile("([a-z]+\\.){1,}[A-Za-z_$][A-Za-z0-9_$]*\\.?$");
+    private final boolean verifyHeader;
+
+    public TokenDetector() {
+        this(false);
+    }
+
+    /** @param verifyHeader require bare tokens to have a header that decodes to JSON with an "alg" field */
+    public TokenDetector(boolean verifyHeader) {
+        this.verifyHeader = verifyHeader;
+    }
 
     @Override
     public DetectionResult detect(String s) {
         if (s == null || s.isEmpty()) return DetectionResult.empty();
+        // every token form has at least three dot-separated segments
+        if (s.indexOf('.') < 0) return DetectionResult.empty();
 
-        List<DetectionResult.Span> spans = new ArrayList<>();
+        List<DetectionResult.Span> spans = null;
 
         // 1) Authorization: Bearer <token> (keep permissive)
-        var m1 = BEARER.matcher(s);
-        while (m1.find()) {
-            spans.add(span(m1.start(2), m1.end(2)));
+        if (indexOfIgnoreCase(s, "bearer") >= 0) {
+            var m1 = BEARER.matcher(s);
+            while (m1.find()) {
+                if (spans == null) spans = new ArrayList<>();
+                spans.add(span(m1.start(2), m1.end(2)));
+            }
         }
 
         // 2) KV forms (keep permissive)
-        var m2 = KV_JWT.matcher(s);
-        while (m2.find()) {
-            spans.add(span(m2.start(2), m2.end(2)));
+        if (indexOfIgnoreCase(s, "token") >= 0) {
+            var m2 = KV_JWT.matcher(s);
+            while (m2.find()) {
+                if (spans == null) spans = new ArrayList<>();
+                spans.add(span(m2.start(2), m2.end(2)));
+            }
         }
 
-        // 3) Bare JWT-like (stricter + post-filter)
-        var m3 = JWT_BARE.matcher(s);
-        while (m3.find()) {
-            int start = m3.start(1);
-            int end = m3.end(1);
-            String token = s.substring(start, end);
-            if (isPlausibleBareToken(s, start, token)) {
+        // 3) Bare JWT-like (stricter + post-filter), anchored on "eyJ"
+        int from = 0;
+        int start;
+        while ((start = s.indexOf(JWT_HEADER_PREFIX, from)) >= 0) {
+            int end = matchBareToken(s, start);
+            if (end > 0) {
+                if (spans == null) spans = new ArrayList<>();
                 spans.add(span(start, end));
+                from = end;
+            } else {
+                from = start + 1;
             }
         }
 
-        if (spans.isEmpty()) return DetectionResult.empty();
+        if (spans == null) return DetectionResult.empty();
         spans = mergeOverlapping(spans);
         return new DetectionResult(true, List.copyOf(spans));
     }
@@ -114,28 +136,122 @@ public final class TokenDetector implements Detector {
         return out;
     }
 
-    /** Bare-token plausibility filter: length, eyJ header, digits, and left-context guard. */
-    private static boolean isPlausibleBareToken(CharSequence source, int startIdx, String token) {
-        if (token.length() < MIN_TOTAL_LEN) return false;
-
-        // Split into segments
-        String[] segs = token.split("\\.");
-        if (segs.length < 3) return false;
+    /**
+     * Walks the base64url segments of a bare token starting at an "eyJ" occurrence and applies the
+     * plausibility filter: boundaries, ≥ 3 segments of ≥ 10 chars, total length, digits, left context.
+     *
+     * @return exclusive end of the token, or -1 if it is not plausible
+     */
+    private int matchBareToken(String s, int start) {
+        // not glued to base64url chars on the left
+        if (start > 0 && isB64u(s.charAt(start - 1))) return -1;
 
-        String header = segs[0];
-        String payload = segs[1];
-
-        // Typical JWT header starts with "eyJ" (JSON object in base64url)
-        if (!header.startsWith("eyJ")) return false;
+        final int n = s.length();
+        int headerEnd = -1, payloadStart = -1, payloadEnd = -1;
+        int segs = 0;
+        int end = -1;
+        int p = start;
+        while (true) {
+            int q = p;
+            while (q < n && isB64u(s.charAt(q))) q++;
+            if (q - p < MIN_SEG_LEN) break; // shorter tail segments are not part of the token
+            segs++;
+            if (segs == 1) headerEnd = q;
+            else if (segs == 2) {
+                payloadStart = p;
+                payloadEnd = q;
+            } else end = q;
+            if (q < n && s.charAt(q) == '.') p = q + 1;
+            else break;
+        }
+        if (segs < 3 || end - start < MIN_TOTAL_LEN) return -1;
 
         // Require a digit in header or payload to avoid simple words/class names
-        if (!(DIGIT.matcher(header).matches() || DIGIT.matcher(payload).matches())) return false;
+        if (!hasDigit(s, start, headerEnd) && !hasDigit(s, payloadStart, payloadEnd)) return -1;
 
         // Left-context: avoid package-like identifiers directly before the token
-        int left = Math.max(0, startIdx - 64);
-        String leftCtx = source.subSequence(left, startIdx).toString();
-        if (PKG_LEFT.matcher(leftCtx).find()) return false;
+        if (hasPackageLikeLeft(s, start)) return -1;
+
+        if (verifyHeader && !headerHasAlg(s, start, headerEnd)) return -1;
+        return end;
+    }
+
+    private static boolean hasDigit(String s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c >= '0' && c <= '9') return true;
+        }
+        return false;
+    }
+
+    /**
+     * True if the text right before {@code start} looks like {@code pkg.sub.Identifier} with an optional
+     * trailing dot (e.g. "java.lang.String." or "com.acme.Foo"), within {@value #PKG_LEFT_WINDOW} chars.
+     */
+    private static boolean hasPackageLikeLeft(String s, int start) {
+        final int floor = Math.max(0, start - PKG_LEFT_WINDOW);
+        int j = start;
+        if (j > floor && s.charAt(j - 1) == '.') j--;
+        int k = j;
+        while (k > floor && isJavaIdentChar(s.charAt(k - 1))) k--;
+        if (k == j || Character.isDigit(s.charAt(k))) return false; // need an identifier not starting with a digit
+        // ... preceded by "<lowercase>." (the last package segment)
+        return k - 2 >= floor && s.charAt(k - 1) == '.' && isLowerAscii(s.charAt(k - 2));
+    }
 
-        return true;
+    /**
+     * Streams the base64url header, decoding only into a rolling 5-byte window, and checks that it
+     * decodes to a JSON object ('{' first) that mentions the "alg" key. Allocation-free.
+     */
+    private static boolean headerHasAlg(String s, int from, int to) {
+        int bits = 0, nbits = 0;
+        long window = 0;
+        boolean first = true;
+        for (int i = from; i < to; i++) {
+            int v = b64uValue(s.charAt(i));
+            bits = (bits << 6) | v;
+            nbits += 6;
+            if (nbits >= 8) {
+                nbits -= 8;
+                int b = (bits >>> nbits) & 0xFF;
+                if (first) {
+                    if (b != '{') return false;
+                    first = false;
+                }
+                window = ((window << 8) | b) & FIVE_BYTES;
+                if (window == ALG_KEY) return true;
+            }
+        }
+        return false;
+    }
+
+    // ---------------- char helpers ----------------
+
+    private static boolean isB64u(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '_' || c == '-';
+    }
+
+    private static int b64uValue(char c) {
+        if (c >= 'A' && c <= 'Z') return c - 'A';
+        if (c >= 'a' && c <= 'z') return c - 'a' + 26;
+        if (c >= '0' && c <= '9') return c - '0' + 52;
+        return c == '-' ? 62 : 63;
+    }
+
+    private static boolean isJavaIdentChar(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '_' || c == '$';
+    }
+
+    private static boolean isLowerAscii(char c) {
+        return c >= 'a' && c <= 'z';
+    }
+
+    /** ASCII case-insensitive {@code indexOf} for a lowercase needle, without allocating. */
+    private static int indexOfIgnoreCase(String s, String lowerNeedle) {
+        final int m = lowerNeedle.length();
+        for (int i = 0, last = s.length() - m; i <= last; i++) {
+            if (s.regionMatches(true, i, lowerNeedle, 0, m)) return i;
+        }
+        return -1;
     }
 }
@@ -6,15 +6,14 @@ package io.puriflow4j.core.detect;
 
 import io.puriflow4j.core.api.Detector;
 import io.puriflow4j.core.api.model.DetectionResult;
+import io.puriflow4j.core.preset.KVPatternConfig;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Redacts the address/authority+path of connection URLs while preserving the scheme.
  *
- * <p>Examples:
+ * <p>Examples ({@link Granularity#FULL}, the default):
  * <ul>
  *   <li>jdbc:postgresql://db.prod/app → jdbc:postgresql://[MASKED_URL]</li>
  *   <li>mongodb://cluster0.example.com/db?authSource=admin → mongodb://[MASKED_URL]</li>
@@ -23,43 +22,226 @@ import java.util.regex.Pattern;
  *   <li>s3://my-bucket/private/path → s3://[MASKED_URL]</li>
  * </ul>
  *
- * <p>Note: This detector does NOT mask user/password in userinfo. That is the job of
- * {@link DbCredentialDetector}. Keep registry order so credentials are masked first, then URL redaction.
+ * <p>With {@link Granularity#STRUCTURED} the URL is parsed and only the sensitive parts are masked:
+ * userinfo, query/fragment values whose key is blocklisted in {@link KVPatternConfig}, and
+ * (optionally) path segments that look like IDs. Scheme, host and the rest of the path stay readable:
+ * <ul>
+ *   <li>redis://:secret@localhost:6379/0 → redis://[MASKED]@localhost:6379/0</li>
+ *   <li>https://api.example.com/v1/users/12345?token=abc&amp;page=2 → https://api.example.com/v1/users/[MASKED]?token=[MASKED]&amp;page=2</li>
+ * </ul>
+ *
+ * <p>Detection is triggered by "://" occurrences; the scheme is matched by walking backwards
+ * through a trie of reversed scheme names, so there is no per-position regex alternation.
+ *
+ * <p>Note: In FULL mode this detector does NOT specifically look for user/password in userinfo. That is the
+ * job of {@link DbCredentialDetector}. Keep registry order so credentials are masked first, then URL redaction.
  */
 public final class UrlRedactorDetector implements Detector {
 
     private static final String TYPE = "url";
     private static final String MASK = "[MASKED_URL]";
+    private static final String MASK_PART = "[MASKED]";
+
+    /** How much of a matched URL is redacted. */
+    public enum Granularity {
+        /** Everything after "://" (authority, path, query). */
+        FULL,
+        /** Userinfo, blocklisted query values and (optionally) ID-like path segments only. */
+        STRUCTURED
+    }
 
     /**
      * Whitelist of schemes that typically carry sensitive hosts/paths. Explicit list reduces false positives.
      */
-    private static final Pattern SCHEME_SLASHES = Pattern.compile("(?i)\\b("
-            + "(?:jdbc:(?:postgresql|mysql|mariadb|sqlserver|h2))"
-            + "|postgres(?:ql)?"
-            + "|mysql"
-            + "|mariadb"
-            + "|sqlserver"
-            + "|mongodb(?:\\+srv)?"
-            + "|redis|rediss"
-            + "|amqp|kafka"
-            + "|clickhouse"
-            + "|neo4j"
-            + "|cassandra"
-            + "|http|https|ftp"
-            + "|s3|gs"
-            + ")://([^\\s\"'\\)\\]]+)");
+    private static final String[] SCHEMES = {
+        "jdbc:postgresql", "jdbc:mysql", "jdbc:mariadb", "jdbc:sqlserver", "jdbc:h2",
+        "postgres", "postgresql",
+        "mysql",
+        "mariadb",
+        "sqlserver",
+        "mongodb", "mongodb+srv",
+        "redis", "rediss",
+        "amqp", "kafka",
+        "clickhouse",
+        "neo4j",
+        "cassandra",
+        "http", "https", "ftp",
+        "s3", "gs"
+    };
+
+    // ---- reversed scheme trie (array-backed); edges over a tiny alphabet ----
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz0123456789+.-:";
+    private static final int[][] TRIE;
+    private static final boolean[] TERMINAL;
+
+    static {
+        List<int[]> nodes = new ArrayList<>();
+        List<Boolean> term = new ArrayList<>();
+        nodes.add(newNode());
+        term.add(false);
+        for (String scheme : SCHEMES) {
+            int node = 0;
+            for (int i = scheme.length() - 1; i >= 0; i--) {
+                int c = ALPHABET.indexOf(scheme.charAt(i));
+                int next = nodes.get(node)[c];
+                if (next == 0) {
+                    next = nodes.size();
+                    nodes.add(newNode());
+                    term.add(false);
+                    nodes.get(node)[c] = next;
+                }
+                node = next;
+            }
+            term.set(node, true);
+        }
+        TRIE = nodes.toArray(new int[0][]);
+        TERMINAL = new boolean[term.size()];
+        for (int i = 0; i < TERMINAL.length; i++) TERMINAL[i] = term.get(i);
+    }
+
+    private static int[] newNode() {
+        return new int[ALPHABET.length()];
+    }
+
+    private final Granularity granularity;
+    private final KVPatternConfig kv;
+    private final boolean maskIdSegments;
+
+    public UrlRedactorDetector() {
+        this(Granularity.FULL, KVPatternConfig.defaults(), false);
+    }
+
+    /**
+     * @param granularity    FULL (everything after "://") or STRUCTURED (sensitive parts only)
+     * @param kv             key policy used to decide which query/fragment values are masked in STRUCTURED mode
+     * @param maskIdSegments in STRUCTURED mode, also mask path segments that look like IDs (numbers, UUIDs, hex)
+     */
+    public UrlRedactorDetector(Granularity granularity, KVPatternConfig kv, boolean maskIdSegments) {
+        this.granularity = (granularity == null) ? Granularity.FULL : granularity;
+        this.kv = (kv == null) ? KVPatternConfig.defaults() : kv;
+        this.maskIdSegments = maskIdSegments;
+    }
 
     @Override
     public DetectionResult detect(String s) {
         if (s == null || s.isEmpty()) return DetectionResult.empty();
 
-        List<DetectionResult.Span> spans = new ArrayList<>();
-        Matcher m = SCHEME_SLASHES.matcher(s);
-        while (m.find()) {
-            // redact everything after "://"
-            spans.add(new DetectionResult.Span(m.start(2), m.end(2), TYPE, MASK));
+        List<DetectionResult.Span> spans = null;
+        int from = 0;
+        int sep;
+        while ((sep = s.indexOf("://", from)) >= 0) {
+            int bodyStart = sep + 3;
+            if (matchSchemeBackwards(s, sep, from) < 0) {
+                from = bodyStart;
+                continue;
+            }
+            int bodyEnd = bodyStart;
+            while (bodyEnd < s.length() && isBodyChar(s.charAt(bodyEnd))) bodyEnd++;
+            if (bodyEnd == bodyStart) {
+                from = bodyStart;
+                continue;
+            }
+            if (spans == null) spans = new ArrayList<>(2);
+            if (granularity == Granularity.FULL) {
+                // redact everything after "://"
+                spans.add(new DetectionResult.Span(bodyStart, bodyEnd, TYPE, MASK));
+            } else {
+                redactStructured(s, bodyStart, bodyEnd, spans);
+            }
+            from = bodyEnd;
+        }
+        return (spans == null || spans.isEmpty())
+                ? DetectionResult.empty()
+                : new DetectionResult(true, List.copyOf(spans));
+    }
+
+    /**
+     * Walks backwards from "://" through the reversed-scheme trie and returns the start of the
+     * longest whitelisted scheme that begins on a word boundary, or -1.
+     */
+    private static int matchSchemeBackwards(String s, int sep, int floor) {
+        int node = 0;
+        int best = -1;
+        for (int i = sep - 1; i >= floor; i--) {
+            char ch = s.charAt(i);
+            int c = ch < 128 ? ALPHABET.indexOf(Character.toLowerCase(ch)) : -1;
+            if (c < 0) break;
+            node = TRIE[node][c];
+            if (node == 0) break;
+            if (TERMINAL[node] && (i == 0 || !isWordChar(s.charAt(i - 1)))) best = i;
+        }
+        return best;
+    }
+
+    // ---------------- structured redaction ----------------
+
+    private void redactStructured(String s, int start, int end, List<DetectionResult.Span> out) {
+        // authority = up to the first '/', '?' or '#'
+        int authEnd = start;
+        while (authEnd < end && "/?#".indexOf(s.charAt(authEnd)) < 0) authEnd++;
+
+        // userinfo = everything before the last '@' in the authority
+        int at = authEnd - 1;
+        while (at > start && s.charAt(at) != '@') at--;
+        if (at > start) out.add(part(start, at));
+
+        int pathEnd = authEnd;
+        while (pathEnd < end && s.charAt(pathEnd) != '?' && s.charAt(pathEnd) != '#') pathEnd++;
+        if (maskIdSegments) {
+            int seg = authEnd;
+            while (seg < pathEnd) {
+                int segStart = seg + 1; // skip '/'
+                int segEnd = segStart;
+                while (segEnd < pathEnd && s.charAt(segEnd) != '/') segEnd++;
+                if (looksLikeId(s, segStart, segEnd)) out.add(part(segStart, segEnd));
+                seg = segEnd;
+            }
+        }
+
+        // query and fragment: key=value pairs separated by '&' or ';'
+        int p = pathEnd;
+        while (p < end) {
+            int pairStart = p + 1; // skip '?', '#', '&' or ';'
+            int pairEnd = pairStart;
+            while (pairEnd < end && "&;#".indexOf(s.charAt(pairEnd)) < 0) pairEnd++;
+            int eq = (pairStart < pairEnd) ? s.indexOf('=', pairStart, pairEnd) : -1;
+            if (eq > pairStart && eq < pairEnd - 1 && kv.isBlockedKey(s, pairStart, eq)) {
+                out.add(part(eq + 1, pairEnd));
+            }
+            p = pairEnd;
         }
-        return spans.isEmpty() ? DetectionResult.empty() : new DetectionResult(true, List.copyOf(spans));
+    }
+
+    /** Numeric IDs (4+ digits), UUIDs and long hex/alphanumeric tokens containing digits. */
+    private static boolean looksLikeId(String s, int from, int to) {
+        int len = to - from;
+        if (len < 4) return false;
+        int digits = 0, hex = 0, dashes = 0, alnum = 0;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c >= '0' && c <= '9') digits++;
+            if ((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F')) hex++;
+            else if (c == '-') dashes++;
+            if (Character.isLetterOrDigit(c) || c == '-' || c == '_') alnum++;
+        }
+        if (digits == len) return true; // 12345
+        if (len == 36 && dashes == 4 && hex == 32) return true; // UUID
+        if (hex == len && len >= 16) return true; // object ids, hashes
+        return len >= 20 && alnum == len && digits > 0; // opaque tokens
+    }
+
+    private static DetectionResult.Span part(int a, int b) {
+        return new DetectionResult.Span(a, b, TYPE, MASK_PART);
+    }
+
+    // ---------------- char classes ----------------
+
+    /** URL body: up to whitespace, quotes, or closing bracket/paren. */
+    private static boolean isBodyChar(char c) {
+        return c != ' ' && (c < '\t' || c > '\r') && c != '"' && c != '\'' && c != ')' && c != ']';
+    }
+
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
     }
 }
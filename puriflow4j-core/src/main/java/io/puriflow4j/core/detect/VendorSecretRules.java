@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2025 Puriflow4J Contributors
+ * Licensed under the Apache License 2.0
+ */
+package io.puriflow4j.core.detect;
+
+import io.puriflow4j.core.api.model.DetectionResult;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Data-driven vendor secret rules loaded from the bundled {@code vendor-secrets.rules} resource.
+ *
+ * <p>The literal prefixes of all rules of one kind are compiled into a single array-backed trie.
+ * A scan only descends the trie at positions whose character can start a prefix, so its cost
+ * depends on the prefix depth, not on the number of rules. Each terminal node carries the rules
+ * sharing that prefix; their body charset, length range and optional checksum decide the match.</p>
+ */
+final class VendorSecretRules {
+
+    static final String API_TOKEN = "apiToken";
+    static final String CLOUD_ACCESS_KEY = "cloudAccessKey";
+
+    private static final String RESOURCE = "vendor-secrets.rules";
+    private static final int[] NO_RULES = new int[0];
+
+    /** Optional post-match check on the body. */
+    enum Validator {
+        NONE,
+        /**
+         * GitHub/npm token checksum: when the body is 36 chars long, its last 6 chars are the
+         * base62-encoded CRC32 of the first 30. Other lengths (legacy formats) are not checked.
+         */
+        CRC32;
+
+        private static final String BASE62 = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+
+        boolean test(String s, int from, int to) {
+            if (this == NONE || to - from != 36) return true;
+            CRC32 crc = new CRC32();
+            for (int i = from; i < from + 30; i++) crc.update(s.charAt(i));
+            long v = crc.getValue();
+            for (int i = to - 1; i >= to - 6; i--) {
+                if (s.charAt(i) != BASE62.charAt((int) (v % 62))) return false;
+                v /= 62;
+            }
+            return true;
+        }
+    }
+
+    /** One line of the rule pack. {@code max} is {@link Integer#MAX_VALUE} when unbounded. */
+    record Rule(String id, String kind, String prefix, boolean[] charset, int min, int max, Validator validator) {}
+
+    private static final class Pack {
+        static final List<Rule> RULES = load();
+        static final VendorSecretRules API = new VendorSecretRules(RULES, API_TOKEN);
+        static final VendorSecretRules CLOUD = new VendorSecretRules(RULES, CLOUD_ACCESS_KEY);
+    }
+
+    static VendorSecretRules apiTokens() {
+        return Pack.API;
+    }
+
+    static VendorSecretRules cloudAccessKeys() {
+        return Pack.CLOUD;
+    }
+
+    // ---- compiled trie ----
+    private final Rule[] rules;
+    private final int[] charIndex = new int[128]; // ASCII char → trie edge index, -1 if no prefix uses it
+    private final int[][] next; // node → edge → child (0 = none; root is node 0 and never a child)
+    private final int[][] rulesAt; // node → indices into rules whose prefix ends here, in file order
+
+    VendorSecretRules(List<Rule> all, String kind) {
+        List<Rule> selected = new ArrayList<>();
+        for (Rule r : all) if (r.kind().equals(kind)) selected.add(r);
+        this.rules = selected.toArray(new Rule[0]);
+
+        Arrays.fill(charIndex, -1);
+        int alphabet = 0;
+        for (Rule r : rules) {
+            for (int i = 0; i < r.prefix().length(); i++) {
+                char c = r.prefix().charAt(i);
+                if (charIndex[c] < 0) charIndex[c] = alphabet++;
+            }
+        }
+
+        List<int[]> nodes = new ArrayList<>();
+        List<int[]> terminal = new ArrayList<>();
+        nodes.add(new int[alphabet]);
+        terminal.add(NO_RULES);
+        for (int r = 0; r < rules.length; r++) {
+            int node = 0;
+            for (int i = 0; i < rules[r].prefix().length(); i++) {
+                int e = charIndex[rules[r].prefix().charAt(i)];
+                int child = nodes.get(node)[e];
+                if (child == 0) {
+                    child = nodes.size();
+                    nodes.add(new int[alphabet]);
+                    terminal.add(NO_RULES);
+                    nodes.get(node)[e] = child;
+                }
+                node = child;
+            }
+            int[] at = terminal.get(node);
+            at = Arrays.copyOf(at, at.length + 1);
+            at[at.length - 1] = r;
+            terminal.set(node, at);
+        }
+        this.next = nodes.toArray(new int[0][]);
+        this.rulesAt = terminal.toArray(new int[0][]);
+    }
+
+    int size() {
+        return rules.length;
+    }
+
+    /**
+     * Appends a span for every rule match in {@code s}.
+     *
+     * @param spans list to append to, may be {@code null}
+     * @return {@code spans}, or a new list if it was {@code null} and something matched
+     */
+    List<DetectionResult.Span> scan(String s, String type, String mask, List<DetectionResult.Span> spans) {
+        final int n = s.length();
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c >= 128 || charIndex[c] < 0 || next[0][charIndex[c]] == 0) continue;
+            if (i > 0 && isWordChar(s.charAt(i - 1))) continue; // \b before the prefix
+            int end = matchAt(s, i, 0);
+            if (end < 0) continue;
+            if (spans == null) spans = new ArrayList<>(2);
+            spans.add(new DetectionResult.Span(i, end, type, mask));
+            i = end - 1;
+        }
+        return spans;
+    }
+
+    /** Longest prefix first: descend as far as the trie allows, then try rules on the way back up. */
+    private int matchAt(String s, int p, int node) {
+        if (p < s.length()) {
+            char c = s.charAt(p);
+            int e = c < 128 ? charIndex[c] : -1;
+            if (e >= 0 && next[node][e] != 0) {
+                int end = matchAt(s, p + 1, next[node][e]);
+                if (end >= 0) return end;
+            }
+        }
+        for (int r : rulesAt[node]) {
+            int end = matchBody(rules[r], s, p);
+            if (end >= 0) return end;
+        }
+        return -1;
+    }
+
+    /**
+     * Same as {@code [charset]{min,max}\b} after the prefix: the longest body within the length range
+     * that ends on a word boundary and passes the validator.
+     */
+    private static int matchBody(Rule rule, String s, int bodyStart) {
+        final int n = s.length();
+        final boolean[] cs = rule.charset();
+        long cap = Math.min((long) n, (long) bodyStart + rule.max());
+        int run = bodyStart;
+        while (run < cap) {
+            char c = s.charAt(run);
+            if (c >= 128 || !cs[c]) break;
+            run++;
+        }
+        for (int end = run; end - bodyStart >= rule.min(); end--) {
+            boolean left = isWordChar(s.charAt(end - 1));
+            boolean right = end < n && isWordChar(s.charAt(end));
+            if (left != right && rule.validator().test(s, bodyStart, end)) return end;
+        }
+        return -1;
+    }
+
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    // ---------------- loading ----------------
+
+    static List<Rule> load() {
+        try (InputStream in = VendorSecretRules.class.getResourceAsStream(RESOURCE)) {
+            if (in == null) throw new IllegalStateException("Vendor secret rule pack not found: " + RESOURCE);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            List<Rule> out = new ArrayList<>();
+            String line;
+            int lineNo = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                out.add(parse(line, lineNo));
+            }
+            return List.copyOf(out);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read vendor secret rule pack: " + RESOURCE, e);
+        }
+    }
+
+    /** Parses {@code id kind prefix charset min max validator}. */
+    static Rule parse(String line, int lineNo) {
+        String[] f = line.split("\\s+");
+        if (f.length != 7) throw invalid(lineNo, "expected 7 fields, got " + f.length);
+        String prefix = f[2];
+        char first = prefix.charAt(0);
+        if (first >= 128 || !isWordChar(first)) throw invalid(lineNo, "prefix must start with a letter or digit");
+        for (int i = 0; i < prefix.length(); i++) {
+            if (prefix.charAt(i) >= 128) throw invalid(lineNo, "prefix must be ASCII");
+        }
+        int min, max;
+        try {
+            min = Integer.parseInt(f[4]);
+            max = "-".equals(f[5]) ? Integer.MAX_VALUE : Integer.parseInt(f[5]);
+        } catch (NumberFormatException e) {
+            throw invalid(lineNo, "bad length '" + f[4] + "'/'" + f[5] + "'");
+        }
+        if (min < 1 || max < min) throw invalid(lineNo, "bad length range " + min + ".." + f[5]);
+        Validator validator;
+        if ("-".equals(f[6])) validator = Validator.NONE;
+        else if ("crc32".equals(f[6])) validator = Validator.CRC32;
+        else throw invalid(lineNo, "unknown validator '" + f[6] + "'");
+        return new Rule(f[0], f[1], prefix, parseCharset(f[3], lineNo), min, max, validator);
+    }
+
+    /** Parses a regex-like ASCII class such as {@code [A-Za-z0-9_-]}; '-' is literal at either end. */
+    private static boolean[] parseCharset(String spec, int lineNo) {
+        if (spec.length() < 3 || spec.charAt(0) != '[' || spec.charAt(spec.length() - 1) != ']') {
+            throw invalid(lineNo, "charset must look like [A-Za-z0-9]");
+        }
+        boolean[] set = new boolean[128];
+        String body = spec.substring(1, spec.length() - 1);
+        for (int i = 0; i < body.length(); i++) {
+            char a = body.charAt(i);
+            if (a >= 128) throw invalid(lineNo, "charset must be ASCII");
+            if (i + 2 < body.length() && body.charAt(i + 1) == '-') {
+                char b = body.charAt(i + 2);
+                if (b >= 128 || b < a) throw invalid(lineNo, "bad range " + a + "-" + b);
+                for (char c = a; c <= b; c++) set[c] = true;
+                i += 2;
+            } else {
+                set[a] = true;
+            }
+        }
+        return set;
+    }
+
+    private static IllegalStateException invalid(int lineNo, String why) {
+        return new IllegalStateException("Invalid rule at " + RESOURCE + ":" + lineNo + ": " + why);
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2025 Puriflow4J Contributors
+ * Licensed under the Apache License 2.0
+ */
+package io.puriflow4j.core.preset;
+
+import io.puriflow4j.core.detect.CustomPatternDetector;
+import io.puriflow4j.core.detect.HighEntropyDetector;
+import io.puriflow4j.core.detect.KnownSecretDetector;
+import io.puriflow4j.core.detect.UrlRedactorDetector;
+import java.util.List;
+
+/**
+ * Per-detector tuning knobs that are not key policies (see {@link KVPatternConfig} for those).
+ * Start from {@link #defaults()} and derive configured copies with {@link #toBuilder()} or the
+ * {@code with*} shortcuts; a new option is a record component plus a builder field with its default,
+ * so call sites never depend on the component order.
+ *
+ * @param ipAllowlist         CIDR ranges (IPv4/IPv6, e.g. {@code 10.0.0.0/8}, {@code fd00::/8}) that are never
+ *                            masked as IPs
+ * @param emailKeepDomain     mask only the local part of e-mails and keep the domain readable
+ * @param jwtVerifyHeader     require bare JWTs to have a header that decodes to JSON with an "alg" field
+ * @param urlGranularity      how much of a matched URL is redacted (FULL or STRUCTURED)
+ * @param urlMaskIdSegments   in STRUCTURED URL mode, also mask ID-like path segments
+ * @param entropyMinLength    shortest token the high-entropy detector considers
+ * @param entropyThreshold    minimum entropy (bits per char) of base64/base62 tokens for the high-entropy detector
+ * @param entropyHexThreshold minimum entropy (bits per char) of hex tokens for the high-entropy detector
+ * @param customPatterns      user-supplied masking rules; a {@link CustomPatternDetector} is added if non-empty
+ * @param knownSecrets        fingerprints of the application's own secrets for the KNOWN_SECRET detector
+ */
+public record DetectorOptions(
+        List<String> ipAllowlist,
+        boolean emailKeepDomain,
+        boolean jwtVerifyHeader,
+        UrlRedactorDetector.Granularity urlGranularity,
+        boolean urlMaskIdSegments,
+        int entropyMinLength,
+        double entropyThreshold,
+        double entropyHexThreshold,
+        List<CustomPatternDetector.Rule> customPatterns,
+        KnownSecretDetector.Fingerprints knownSecrets) {
+
+    private static final DetectorOptions DEFAULTS = builder().build();
+
+    public DetectorOptions {
+        ipAllowlist = (ipAllowlist == null) ? List.of() : List.copyOf(ipAllowlist);
+        if (urlGranularity == null) urlGranularity = UrlRedactorDetector.Granularity.FULL;
+        customPatterns = (customPatterns == null) ? List.of() : List.copyOf(customPatterns);
+        if (knownSecrets == null) knownSecrets = KnownSecretDetector.Fingerprints.empty();
+    }
+
+    public static DetectorOptions defaults() {
+        return DEFAULTS;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    public DetectorOptions withIpAllowlist(List<String> cidrs) {
+        return toBuilder().ipAllowlist(cidrs).build();
+    }
+
+    public DetectorOptions withEmailKeepDomain(boolean keepDomain) {
+        return toBuilder().emailKeepDomain(keepDomain).build();
+    }
+
+    public DetectorOptions withJwtVerifyHeader(boolean verify) {
+        return toBuilder().jwtVerifyHeader(verify).build();
+    }
+
+    public DetectorOptions withUrlRedaction(UrlRedactorDetector.Granularity granularity, boolean maskIdSegments) {
+        return toBuilder().urlGranularity(granularity).urlMaskIdSegments(maskIdSegments).build();
+    }
+
+    public DetectorOptions withEntropy(int minLength, double threshold, double hexThreshold) {
+        return toBuilder()
+                .entropyMinLength(minLength)
+                .entropyThreshold(threshold)
+                .entropyHexThreshold(hexThreshold)
+                .build();
+    }
+
+    public DetectorOptions withCustomPatterns(List<CustomPatternDetector.Rule> rules) {
+        return toBuilder().customPatterns(rules).build();
+    }
+
+    public DetectorOptions withKnownSecrets(KnownSecretDetector.Fingerprints fingerprints) {
+        return toBuilder().knownSecrets(fingerprints).build();
+    }
+
+    /** Mutable, single-use collector of option values; the field initializers are the defaults. */
+    public static final class Builder {
+        private List<String> ipAllowlist = List.of();
+        private boolean emailKeepDomain = false;
+        private boolean jwtVerifyHeader = false;
+        private UrlRedactorDetector.Granularity urlGranularity = UrlRedactorDetector.Granularity.FULL;
+        private boolean urlMaskIdSegments = false;
+        private int entropyMinLength = HighEntropyDetector.DEFAULT_MIN_LENGTH;
+        private double entropyThreshold = HighEntropyDetector.DEFAULT_THRESHOLD;
+        private double entropyHexThreshold = HighEntropyDetector.DEFAULT_HEX_THRESHOLD;
+        private List<CustomPatternDetector.Rule> customPatterns = List.of();
+        private KnownSecretDetector.Fingerprints knownSecrets = KnownSecretDetector.Fingerprints.empty();
+
+        private Builder() {}
+
+        private Builder(DetectorOptions o) {
+            this.ipAllowlist = o.ipAllowlist;
+            this.emailKeepDomain = o.emailKeepDomain;
+            this.jwtVerifyHeader = o.jwtVerifyHeader;
+            this.urlGranularity = o.urlGranularity;
+            this.urlMaskIdSegments = o.urlMaskIdSegments;
+            this.entropyMinLength = o.entropyMinLength;
+            this.entropyThreshold = o.entropyThreshold;
+            this.entropyHexThreshold = o.entropyHexThreshold;
+            this.customPatterns = o.customPatterns;
+            this.knownSecrets = o.knownSecrets;
+        }
+
+        public Builder ipAllowlist(List<String> cidrs) {
+            this.ipAllowlist = cidrs;
+            return this;
+        }
+
+        public Builder emailKeepDomain(boolean keepDomain) {
+            this.emailKeepDomain = keepDomain;
+            return this;
+        }
+
+        public Builder jwtVerifyHeader(boolean verify) {
+            this.jwtVerifyHeader = verify;
+            return this;
+        }
+
+        public Builder urlGranularity(UrlRedactorDetector.Granularity granularity) {
+            this.urlGranularity = granularity;
+            return this;
+        }
+
+        public Builder urlMaskIdSegments(boolean maskIdSegments) {
+            this.urlMaskIdSegments = maskIdSegments;
+            return this;
+        }
+
+        public Builder entropyMinLength(int minLength) {
+            this.entropyMinLength = minLength;
+            return this;
+        }
+
+        public Builder entropyThreshold(double threshold) {
+            this.entropyThreshold = threshold;
+            return this;
+        }
+
+        public Builder entropyHexThreshold(double hexThreshold) {
+            this.entropyHexThreshold = hexThreshold;
+            return this;
+        }
+
+        public Builder customPatterns(List<CustomPatternDetector.Rule> rules) {
+            this.customPatterns = rules;
+            return this;
+        }
+
+        public Builder knownSecrets(KnownSecretDetector.Fingerprints fingerprints) {
+            this.knownSecrets = fingerprints;
+            return this;
+        }
+
+        /** Null lists, granularity and fingerprints fall back to their defaults. */
+        public DetectorOptions build() {
+            return new DetectorOptions(
+                    ipAllowlist,
+                    emailKeepDomain,
+                    jwtVerifyHeader,
+                    urlGranularity,
+                    urlMaskIdSegments,
+                    entropyMinLength,
+                    entropyThreshold,
+                    entropyHexThreshold,
+                    customPatterns,
+                    knownSecrets);
+        }
+    }
+}
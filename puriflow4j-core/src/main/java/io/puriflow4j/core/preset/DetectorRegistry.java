@@ -7,6 +7,8 @@ package io.puriflow4j.core.preset;
 import io.puriflow4j.core.api.Detector;
 import io.puriflow4j.core.api.model.*;
 import io.puriflow4j.core.detect.*;
+import io.puriflow4j.core.spi.DetectorProvider;
+import io.puriflow4j.core.spi.PluginDetector;
 import java.util.*;
 
 /**
@@ -20,25 +22,72 @@ import java.util.*;
  *
  * <h3>Detector ordering</h3>
  * <ul>
- *   <li><b>1.</b> Policy detectors (always run first)</li>
+ *   <li><b>1.</b> Policy detectors (always run first), then exact matches of known secrets</li>
  *   <li><b>2.</b> Generic KV detectors (passwords, secrets, etc.)</li>
  *   <li><b>3.</b> Structured and URL-based detectors (DB credentials, URLs)</li>
  *   <li><b>4.</b> Token/Authorization detectors</li>
- *   <li><b>5.</b> Data format detectors (credit cards, emails, IPs, etc.)</li>
+ *   <li><b>5.</b> Data format detectors (credit cards, emails, IPs, etc.), then the high-entropy fallback</li>
  *   <li><b>6.</b> Private keys</li>
+ *   <li><b>7.</b> Custom patterns ({@link DetectorOptions#customPatterns()}) in one {@link CustomPatternDetector}</li>
+ *   <li><b>8.</b> Plugin detectors enabled by id ({@link DetectorProvider}), cheapest cost class first</li>
  * </ul>
+ *
+ * <p>Two optional layers wrap the list above: {@link DetectorType#ENCODED} wraps it into a
+ * {@link DecodingDetector}, which also runs it on decoded percent-encoded and base64 regions, and
+ * {@link DetectorType#JSON} then wraps the result into a single {@link JsonDetector}, which applies the key
+ * policy to JSON values and runs the wrapped detectors on string leaves only.</p>
  */
 public final class DetectorRegistry {
 
+    private final List<DetectorProvider> providers; // null → discovered with ServiceLoader on first use
+
+    /** Registry that discovers plugin {@link DetectorProvider}s with {@link ServiceLoader}. */
+    public DetectorRegistry() {
+        this.providers = null;
+    }
+
+    /** Registry with an explicit set of plugin providers (no classpath discovery). */
+    public DetectorRegistry(List<DetectorProvider> providers) {
+        this.providers = List.copyOf(providers);
+    }
+
     /**
-     * Build detectors in a deterministic order.
+     * Build detectors in a deterministic order with default {@link DetectorOptions}.
      *
      * @param types  the logical types enabled in config (maybe null/empty)
      * @param kvCfg  the key policy configuration (never null)
      * @return immutable list of active detectors
      */
     public List<Detector> build(List<DetectorType> types, KVPatternConfig kvCfg) {
+        return build(types, kvCfg, DetectorOptions.defaults());
+    }
+
+    /**
+     * Build detectors in a deterministic order.
+     *
+     * @param types    the logical types enabled in config (maybe null/empty)
+     * @param kvCfg    the key policy configuration (never null)
+     * @param options  per-detector tuning (never null)
+     * @return immutable list of active detectors
+     */
+    public List<Detector> build(List<DetectorType> types, KVPatternConfig kvCfg, DetectorOptions options) {
+        return build(types, kvCfg, options, List.of());
+    }
+
+    /**
+     * Build detectors in a deterministic order, including plugin detectors.
+     *
+     * @param types     the logical types enabled in config (maybe null/empty)
+     * @param kvCfg     the key policy configuration (never null)
+     * @param options   per-detector tuning (never null)
+     * @param pluginIds ids of the plugin detectors to enable (maybe null/empty)
+     * @return immutable list of active detectors
+     * @throws IllegalArgumentException if a plugin id is not provided by any {@link DetectorProvider}
+     */
+    public List<Detector> build(
+            List<DetectorType> types, KVPatternConfig kvCfg, DetectorOptions options, List<String> pluginIds) {
         Objects.requireNonNull(kvCfg, "KVPatternConfig cannot be null");
+        Objects.requireNonNull(options, "DetectorOptions cannot be null");
 
         // Determine which detectors are enabled (use defaults if not provided)
         EnumSet<DetectorType> enabled =
@@ -51,6 +100,8 @@ public final class DetectorRegistry {
         if (hasPolicy) {
             out.add(new GenericKVBlocklistDetector(kvCfg));
         }
+        if (enabled.contains(DetectorType.KNOWN_SECRET) && !options.knownSecrets().isEmpty())
+            out.add(new KnownSecretDetector(options.knownSecrets()));
 
         // --- 1) Generic KV-based detectors ---
         if (enabled.contains(DetectorType.PASSWORD_KV)) out.add(new PasswordKVDetector(kvCfg));
@@ -60,20 +111,67 @@ public final class DetectorRegistry {
 
         // --- 2) DB / URL detectors ---
         if (enabled.contains(DetectorType.DB_CREDENTIAL)) out.add(new DbCredentialDetector(kvCfg));
-        if (enabled.contains(DetectorType.URL_REDACTOR)) out.add(new UrlRedactorDetector());
+        if (enabled.contains(DetectorType.URL_REDACTOR))
+            out.add(new UrlRedactorDetector(options.urlGranularity(), kvCfg, options.urlMaskIdSegments()));
 
         // --- 3) Tokens / headers ---
-        if (enabled.contains(DetectorType.TOKEN_BEARER)) out.add(new TokenDetector());
+        if (enabled.contains(DetectorType.AUTH_HEADER)) out.add(new AuthHeaderDetector(kvCfg));
+        if (enabled.contains(DetectorType.TOKEN_BEARER)) out.add(new TokenDetector(options.jwtVerifyHeader()));
 
         // --- 4) Data format detectors ---
         if (enabled.contains(DetectorType.CREDIT_CARD)) out.add(new CreditCardDetector());
-        if (enabled.contains(DetectorType.EMAIL)) out.add(new EmailDetector());
+        if (enabled.contains(DetectorType.EMAIL)) out.add(new EmailDetector(options.emailKeepDomain()));
         if (enabled.contains(DetectorType.IBAN)) out.add(new IbanDetector());
-        if (enabled.contains(DetectorType.IP)) out.add(new IpDetector());
+        if (enabled.contains(DetectorType.IP)) out.add(new IpDetector(options.ipAllowlist()));
+        if (enabled.contains(DetectorType.HIGH_ENTROPY))
+            out.add(new HighEntropyDetector(
+                    kvCfg, options.entropyMinLength(), options.entropyThreshold(), options.entropyHexThreshold()));
 
         // --- 5) Private keys ---
         if (enabled.contains(DetectorType.PRIVATE_KEY)) out.add(new PrivateKeyDetector());
 
-        return List.copyOf(out);
+        // --- 6) User-supplied patterns (linear-time engine, all rules in one automaton) ---
+        if (!options.customPatterns().isEmpty()) out.add(new CustomPatternDetector(options.customPatterns()));
+
+        // --- 7) Plugins ---
+        if (pluginIds != null && !pluginIds.isEmpty()) out.addAll(plugins(pluginIds, kvCfg, options));
+
+        // --- Decoding layer: all of the above, also on decoded %XX / base64 regions ---
+        List<Detector> detectors = List.copyOf(out);
+        if (enabled.contains(DetectorType.ENCODED)) detectors = List.of(new DecodingDetector(detectors));
+
+        // --- JSON: one structural pass that runs all of the above on string leaves / non-JSON text ---
+        if (enabled.contains(DetectorType.JSON)) detectors = List.of(new JsonDetector(kvCfg, detectors));
+
+        return detectors;
+    }
+
+    private List<PluginDetector> plugins(List<String> ids, KVPatternConfig kvCfg, DetectorOptions options) {
+        Map<String, DetectorProvider> byId = new LinkedHashMap<>();
+        for (DetectorProvider p : providers()) {
+            DetectorProvider clash = byId.putIfAbsent(p.metadata().id(), p);
+            if (clash != null) {
+                throw new IllegalStateException("Duplicate detector plugin id '" + p.metadata().id() + "': "
+                        + clash.getClass().getName() + ", " + p.getClass().getName());
+            }
+        }
+        List<PluginDetector> out = new ArrayList<>(ids.size());
+        for (String id : new LinkedHashSet<>(ids)) {
+            DetectorProvider p = byId.get(id);
+            if (p == null) {
+                throw new IllegalArgumentException(
+                        "Unknown detector plugin '" + id + "'; available: " + byId.keySet());
+            }
+            out.add(new PluginDetector(p, kvCfg, options));
+        }
+        out.sort(Comparator.comparing(d -> d.metadata().cost())); // stable: ties keep configured order
+        return out;
+    }
+
+    private List<DetectorProvider> providers() {
+        if (providers != null) return providers;
+        List<DetectorProvider> found = new ArrayList<>();
+        ServiceLoader.load(DetectorProvider.class).forEach(found::add);
+        return found;
     }
 }
@@ -44,4 +44,29 @@ public record KVPatternConfig(Set<String> allow, Set<String> block) {
     public boolean isBlockedKey(String rawKey) {
         return block.contains(normalizeKey(rawKey));
     }
+
+    /**
+     * {@link #isBlockedKey(String)} for the key {@code s[start, end)} without building it; compares the
+     * normalized region against each blocklisted key, so it suits the usual short blocklists.
+     */
+    public boolean isBlockedKey(CharSequence s, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (s.charAt(i) >= 128) return isBlockedKey(s.subSequence(start, end).toString()); // full case mapping
+        }
+        for (String key : block) {
+            if (normalizedRegionEquals(s, start, end, key)) return true;
+        }
+        return false;
+    }
+
+    private static boolean normalizedRegionEquals(CharSequence s, int start, int end, String normalized) {
+        int k = 0;
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (c == '-' || c == '_' || c == ' ' || (c >= '\t' && c <= '\r')) continue;
+            if (c >= 'A' && c <= 'Z') c = (char) (c + ('a' - 'A'));
+            if (k >= normalized.length() || normalized.charAt(k++) != c) return false;
+        }
+        return k == normalized.length();
+    }
 }
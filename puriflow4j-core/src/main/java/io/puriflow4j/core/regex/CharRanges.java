@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2025 Puriflow4J Contributors
+ * Licensed under the Apache License 2.0
+ */
+package io.puriflow4j.core.regex;
+
+import java.util.Arrays;
+
+/**
+ * Sets of UTF-16 code units as sorted, non-overlapping, non-adjacent inclusive ranges
+ * {@code [lo0, hi0, lo1, hi1, ...]}.
+ */
+final class CharRanges {
+    static final int MAX = Character.MAX_VALUE;
+
+    static final int[] DIGIT = {'0', '9'};
+    static final int[] WORD = {'0', '9', 'A', 'Z', '_', '_', 'a', 'z'};
+    static final int[] SPACE = {'\t', '\r', ' ', ' '}; // Java's \s: [ \t\n\x0B\f\r]
+    static final int[] ANY = {0, MAX};
+    /** Java's '.': everything but the line terminators \n, \r, U+0085, U+2028 and U+2029. */
+    static final int[] ANY_BUT_LINE_END = {0, '\n' - 1, '\n' + 1, '\r' - 1, '\r' + 1, 0x84, 0x86, 0x2027, 0x202A, MAX};
+
+    private CharRanges() {}
+
+    static int[] of(char c) {
+        return new int[] {c, c};
+    }
+
+    static boolean contains(int[] ranges, char c) {
+        // small sets (the common case) are scanned, larger ones binary searched
+        if (ranges.length <= 8) {
+            for (int i = 0; i < ranges.length; i += 2) {
+                if (c < ranges[i]) return false;
+                if (c <= ranges[i + 1]) return true;
+            }
+            return false;
+        }
+        int lo = 0, hi = ranges.length / 2 - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (c < ranges[2 * mid]) hi = mid - 1;
+            else if (c > ranges[2 * mid + 1]) lo = mid + 1;
+            else return true;
+        }
+        return false;
+    }
+
+    /** Sorts and merges arbitrary {@code [lo, hi]} pairs. */
+    static int[] normalize(int[] pairs) {
+        int n = pairs.length / 2;
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++) packed[i] = ((long) pairs[2 * i] << 32) | pairs[2 * i + 1];
+        Arrays.sort(packed);
+        int[] out = new int[pairs.length];
+        int len = 0;
+        for (long p : packed) {
+            int lo = (int) (p >>> 32), hi = (int) p;
+            if (len > 0 && lo <= out[len - 1] + 1) {
+                out[len - 1] = Math.max(out[len - 1], hi);
+            } else {
+                out[len++] = lo;
+                out[len++] = hi;
+            }
+        }
+        return Arrays.copyOf(out, len);
+    }
+
+    static int[] union(int[] a, int[] b) {
+        int[] all = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, all, a.length, b.length);
+        return normalize(all);
+    }
+
+    static int[] negate(int[] ranges) {
+        int[] out = new int[ranges.length + 2];
+        int len = 0;
+        int next = 0;
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (ranges[i] > next) {
+                out[len++] = next;
+                out[len++] = ranges[i] - 1;
+            }
+            next = ranges[i + 1] + 1;
+        }
+        if (next <= MAX) {
+            out[len++] = next;
+            out[len++] = MAX;
+        }
+        return Arrays.copyOf(out, len);
+    }
+
+    /** Adds the simple upper/lower case variants of every char in ranges of up to 4096 chars. */
+    static int[] caseFold(int[] ranges) {
+        int[] extra = new int[0];
+        int len = 0;
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (ranges[i + 1] - ranges[i] > 4096) continue; // (negated) classes this wide are left as they are
+            for (int c = ranges[i]; c <= ranges[i + 1]; c++) {
+                char lower = Character.toLowerCase((char) c), upper = Character.toUpperCase((char) c);
+                if (lower == c && upper == c) continue;
+                if (len + 4 > extra.length) extra = Arrays.copyOf(extra, Math.max(16, extra.length * 2));
+                extra[len++] = lower;
+                extra[len++] = lower;
+                extra[len++] = upper;
+                extra[len++] = upper;
+            }
+        }
+        return len == 0 ? ranges : union(ranges, Arrays.copyOf(extra, len));
+    }
+}
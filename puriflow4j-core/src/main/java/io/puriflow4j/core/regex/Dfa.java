@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2025 Puriflow4J Contributors
+ * Licensed under the Apache License 2.0
+ */
+package io.puriflow4j.core.regex;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Lazily built DFA over the union of all patterns of a {@link Program}, used as a prefilter: it answers
+ * "which patterns can match somewhere in this text" in one pass with one table lookup per char, so that the
+ * {@link PikeVm} only runs the patterns that may match.
+ *
+ * <p>States are sets of NFA instructions and are built on first use; each accepting state knows the patterns
+ * whose {@code MATCH} instruction it holds. Assertions are treated as always true, so the DFA accepts a
+ * superset of what the patterns match — a "no" is definite, a "yes" is confirmed by the VM. The cache holds
+ * at most {@value #MAX_STATES} states; when it is full it is dropped and every pattern is handed to the VM,
+ * so memory stays bounded whatever the patterns.</p>
+ *
+ * <p>Not thread-safe: one instance per thread.</p>
+ */
+final class Dfa {
+    static final int MAX_STATES = 2048;
+
+    /** Result of {@link #candidates} when the cache overflowed: every pattern has to be checked. */
+    static final int ALL = -1;
+
+    private static final int UNKNOWN = -1;
+    private static final int FAILED = -2;
+
+    private final Program prog;
+    private final Map<StateKey, Integer> index = new HashMap<>();
+    private int[][] next = new int[16][];
+    private int[][] matched = new int[16][]; // patterns matched in each state, null if none
+    private int[] seenIn = new int[16]; // scan in which a state's patterns were last collected
+    private int scan;
+    private int[][] sets = new int[16][];
+    private int count;
+    private int start;
+
+    // closure scratch
+    private final int[] mark;
+    private int generation;
+    private final int[] stack;
+    private final int[] members;
+
+    Dfa(Program prog) {
+        this.prog = prog;
+        this.mark = new int[prog.size()];
+        this.stack = new int[prog.size() * 3 + prog.starts.length];
+        this.members = new int[prog.size()];
+        reset();
+    }
+
+    /**
+     * Marks in {@code hit} (cleared by the caller) every pattern that may match somewhere in {@code s}.
+     *
+     * @return the number of patterns marked, or {@link #ALL} if the state cache overflowed
+     */
+    int candidates(CharSequence s, boolean[] hit) {
+        if (++scan == 0) {
+            Arrays.fill(seenIn, 0);
+            scan = 1;
+        }
+        int found = 0;
+        int state = start;
+        for (int i = 0, n = s.length(); i < n; i++) {
+            int cls = prog.classOf(s.charAt(i));
+            int to = next[state][cls];
+            if (to == UNKNOWN) {
+                to = transition(state, cls);
+                if (to == FAILED) {
+                    reset();
+                    return ALL;
+                }
+            }
+            if (matched[to] != null && seenIn[to] != scan) {
+                seenIn[to] = scan;
+                for (int p : matched[to]) {
+                    if (!hit[p]) {
+                        hit[p] = true;
+                        found++;
+                    }
+                }
+                if (found == hit.length) return found;
+            }
+            state = to;
+        }
+        return found;
+    }
+
+    /** Number of cached states, for tests. */
+    int stateCount() {
+        return count;
+    }
+
+    private void reset() {
+        index.clear();
+        count = 0;
+        Arrays.fill(sets, null);
+        start = intern(closure(prog.starts, prog.starts.length));
+    }
+
+    private int transition(int state, int cls) {
+        char rep = (char) prog.classStarts[cls];
+        int[] from = sets[state];
+        int[] targets = new int[from.length + prog.starts.length];
+        int len = 0;
+        for (int pc : from) {
+            if (prog.op[pc] == Program.CHARS && CharRanges.contains(prog.ranges[pc], rep)) targets[len++] = pc + 1;
+        }
+        // unanchored search: a match may start at every position
+        System.arraycopy(prog.starts, 0, targets, len, prog.starts.length);
+        len += prog.starts.length;
+        int to = intern(closure(targets, len));
+        if (to != FAILED) next[state][cls] = to;
+        return to;
+    }
+
+    /** Sorted CHARS and MATCH instructions reachable from {@code pcs} without consuming a char. */
+    private int[] closure(int[] pcs, int len) {
+        if (++generation == 0) {
+            Arrays.fill(mark, 0);
+            generation = 1;
+        }
+        int size = 0, top = 0;
+        for (int i = len - 1; i >= 0; i--) stack[top++] = pcs[i];
+        while (top > 0) {
+            int pc = stack[--top];
+            if (mark[pc] == generation) continue;
+            mark[pc] = generation;
+            int op = prog.op[pc];
+            if (op == Program.CHARS || op == Program.MATCH) {
+                members[size++] = pc;
+            } else if (op == Program.JMP) {
+                stack[top++] = prog.x[pc];
+            } else if (op == Program.SPLIT) {
+                stack[top++] = prog.y[pc];
+                stack[top++] = prog.x[pc];
+            } else {
+                stack[top++] = pc + 1; // SAVE, ASSERT (over-approximated as always true)
+            }
+        }
+        int[] set = Arrays.copyOf(members, size);
+        Arrays.sort(set);
+        return set;
+    }
+
+    private int intern(int[] set) {
+        StateKey key = new StateKey(set);
+        Integer existing = index.get(key);
+        if (existing != null) return existing;
+        if (count == MAX_STATES) return FAILED;
+        if (count == next.length) {
+            int cap = count * 2;
+            next = Arrays.copyOf(next, cap);
+            matched = Arrays.copyOf(matched, cap);
+            seenIn = Arrays.copyOf(seenIn, cap);
+            sets = Arrays.copyOf(sets, cap);
+        }
+        int id = count++;
+        int[] row = new int[prog.classCount()];
+        Arrays.fill(row, UNKNOWN);
+        next[id] = row;
+        sets[id] = set;
+        matched[id] = matchedPatterns(set);
+        seenIn[id] = 0;
+        index.put(key, id);
+        return id;
+    }
+
+    private int[] matchedPatterns(int[] set) {
+        int[] patterns = new int[set.length];
+        int len = 0;
+        for (int pc : set) {
+            if (prog.op[pc] == Program.MATCH) patterns[len++] = prog.x[pc];
+        }
+        return (len == 0) ? null : Arrays.copyOf(patterns, len);
+    }
+
+    private record StateKey(int[] pcs) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof StateKey k && Arrays.equals(pcs, k.pcs);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(pcs);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2025 Puriflow4J Contributors
+ * Licensed under the Apache License 2.0
+ */
+package io.puriflow4j.core.regex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Linear-time matcher for a set of user-supplied regular expressions, compiled into one automaton.
+ *
+ * <p>{@code java.util.regex} backtracks: current JDKs memoize simple nested quantifiers such as {@code (a+)+$},
+ * but {@code (.*a){12}$} still takes {@code O(n^12)} steps on {@code "aaaa...!"}, and with patterns coming from
+ * configuration one bad rule is enough to stall every logging thread. This engine accepts the RE2-style subset
+ * of the syntax (see {@link RegexParser}: no backreferences, no lookaround) and guarantees
+ * {@code O(text × pattern size)} for any input:</p>
+ * <ol>
+ *   <li>a lazily built DFA over the union of all patterns finds, in one pass whatever the number of
+ *       patterns, which patterns may match; texts without any candidate are rejected there;</li>
+ *   <li>a Pike VM (NFA simulation) runs only those candidate patterns in a second pass and finds their match
+ *       regions, so a line hit by one rule out of fifty costs about as much as with that rule alone.</li>
+ * </ol>
+ *
+ * <h2>Semantics</h2>
+ * <p>{@link #findAll} reports, per pattern, the union of <em>all</em> its matches (overlapping ones included)
+ * as disjoint regions — what a masking rule is expected to hide. For a pattern with a capturing group, the
+ * regions are those of group 1 instead ({@code password=(\w+)} masks the value only). Patterns that can
+ * match the empty string are rejected; {@code ^} and {@code $} refer to the whole text.</p>
+ *
+ * <p>Instances are immutable and thread-safe; matching state is kept per thread.</p>
+ */
+public final class MultiRegex {
+    /** Region {@code [start, end)} matched by the pattern at index {@code pattern}. */
+    public record Match(int pattern, int start, int end) {}
+
+    private final List<String> patterns;
+    private final ThreadLocal<Scratch> scratch;
+
+    private MultiRegex(List<String> patterns, Program prog) {
+        this.patterns = patterns;
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(prog));
+    }
+
+    /**
+     * Compiles {@code patterns} into one automaton.
+     *
+     * @throws IllegalArgumentException if a pattern is malformed, uses an unsupported construct or can match
+     *                                  the empty string; the message names the pattern
+     */
+    public static MultiRegex compile(List<String> patterns) {
+        List<String> list = List.copyOf(patterns);
+        if (list.isEmpty()) throw new IllegalArgumentException("At least one pattern is required");
+        List<RegexParser.Node> nodes = new ArrayList<>(list.size());
+        boolean[] captures = new boolean[list.size()];
+        for (int i = 0; i < list.size(); i++) {
+            String regex = Objects.requireNonNull(list.get(i), "pattern");
+            RegexParser.Node node = RegexParser.parse(regex);
+            if (RegexParser.nullable(node)) {
+                throw new IllegalArgumentException("Regex '" + regex + "' can match the empty string");
+            }
+            nodes.add(node);
+            captures[i] = RegexParser.groupCount(regex) > 0;
+        }
+        return new MultiRegex(list, Program.compile(nodes, captures));
+    }
+
+    public List<String> patterns() {
+        return patterns;
+    }
+
+    /** Whether any pattern matches somewhere in {@code s}. */
+    public boolean matches(CharSequence s) {
+        return !findAll(s).isEmpty();
+    }
+
+    /** Disjoint match regions of every pattern, sorted by pattern and start. */
+    public List<Match> findAll(CharSequence s) {
+        if (s == null || s.length() == 0) return List.of();
+        Scratch st = scratch.get();
+        st.clear();
+        int seeds = st.candidates(s);
+        if (seeds == 0) return List.of();
+        st.vm.run(s, st.seeds, seeds, st.sink);
+        if (st.found.isEmpty()) return List.of();
+        return merge(st.found);
+    }
+
+    private static List<Match> merge(List<Match> found) {
+        Match[] all = found.toArray(new Match[0]);
+        Arrays.sort(all, (a, b) -> a.pattern() != b.pattern()
+                ? Integer.compare(a.pattern(), b.pattern())
+                : Integer.compare(a.start(), b.start()));
+        List<Match> out = new ArrayList<>(all.length);
+        Match last = null;
+        for (Match m : all) {
+            if (last != null && last.pattern() == m.pattern() && m.start() <= last.end()) {
+                if (m.end() > last.end()) last = new Match(last.pattern(), last.start(), m.end());
+                continue;
+            }
+            if (last != null) out.add(last);
+            last = m;
+        }
+        out.add(last);
+        return List.copyOf(out);
+    }
+
+    /** Per-thread matching state. */
+    private static final class Scratch {
+        final Dfa dfa;
+        final PikeVm vm;
+        final List<Match> found = new ArrayList<>();
+        final int[] last; // index in found of the latest region of each pattern, or -1
+        final boolean[] hit; // candidate patterns of the current text
+        final int[] seeds; // start instructions of the candidate patterns
+        final int[] starts;
+        final PikeVm.Sink sink = this::accept;
+
+        Scratch(Program prog) {
+            this.dfa = new Dfa(prog);
+            this.vm = new PikeVm(prog);
+            this.last = new int[prog.starts.length];
+            this.hit = new boolean[prog.starts.length];
+            this.seeds = new int[prog.starts.length];
+            this.starts = prog.starts;
+        }
+
+        void clear() {
+            found.clear();
+            Arrays.fill(last, -1);
+            Arrays.fill(hit, false);
+        }
+
+        /** Fills {@link #seeds} with the start instructions of the patterns that may match and returns their number. */
+        int candidates(CharSequence s) {
+            int count = dfa.candidates(s, hit);
+            if (count == Dfa.ALL) {
+                System.arraycopy(starts, 0, seeds, 0, starts.length);
+                return starts.length;
+            }
+            int k = 0;
+            for (int p = 0; p < hit.length && k < count; p++) {
+                if (hit[p]) seeds[k++] = starts[p];
+            }
+            return k;
+        }
+
+        /** Extends the latest region of the pattern in place when the new one overlaps it (the usual case). */
+        private void accept(int pattern, int start, int end) {
+            int k = last[pattern];
+            if (k >= 0) {
+                Match m = found.get(k);
+                if (start <= m.end()) {
+                    found.set(k, new Match(pattern, Math.min(start, m.start()), Math.max(end, m.end())));
+                    return;
+                }
+            }
+            last[pattern] = found.size();
+            found.add(new Match(pattern, start, end));
+        }
+    }
+}
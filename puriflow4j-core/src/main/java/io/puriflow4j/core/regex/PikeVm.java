@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2025 Puriflow4J Contributors
+ * Licensed under the Apache License 2.0
+ */
+package io.puriflow4j.core.regex;
+
+/**
+ * Pike VM: simulates the NFA of a {@link Program} over the text in one left-to-right pass, with at most one
+ * thread per instruction — {@code O(text × instructions)} time whatever the patterns, no backtracking.
+ *
+ * <p>A new thread of every pattern run is started at each position. Threads that reach the same instruction are
+ * merged and the one that started first is kept; since every match ending at position {@code e} is then
+ * covered by the surviving one, the reported intervals (one per pattern and end position) cover exactly the
+ * union of all matches. For patterns with a capturing group the group of that surviving thread is reported
+ * instead.</p>
+ *
+ * <p>Not thread-safe: one instance per thread.</p>
+ */
+final class PikeVm {
+    /** Receives {@code [start, end)} intervals for pattern {@code pattern}, in increasing {@code end} order. */
+    interface Sink {
+        void accept(int pattern, int start, int end);
+    }
+
+    private final Program prog;
+    private Threads current;
+    private Threads next;
+    private final int[] stack; // triples: pc, capture start, capture end
+
+    PikeVm(Program prog) {
+        this.prog = prog;
+        this.current = new Threads(prog.size());
+        this.next = new Threads(prog.size());
+        this.stack = new int[3 * (prog.size() * 2 + prog.starts.length)];
+    }
+
+    /** Runs the patterns whose start instructions are {@code seeds[0..seedCount)}; the others are ignored. */
+    void run(CharSequence s, int[] seeds, int seedCount, Sink sink) {
+        final int n = s.length();
+        current.clear();
+        seed(current, seeds, seedCount, s, 0, sink);
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            next.clear();
+            Threads cur = current;
+            for (int k = 0; k < cur.size; k++) {
+                int pc = cur.dense[k];
+                if (prog.op[pc] == Program.CHARS && CharRanges.contains(prog.ranges[pc], c)) {
+                    add(next, pc + 1, cur.start[pc], cur.cap0[pc], cur.cap1[pc], s, i + 1, sink);
+                }
+            }
+            seed(next, seeds, seedCount, s, i + 1, sink);
+            Threads t = current;
+            current = next;
+            next = t;
+        }
+    }
+
+    private void seed(Threads list, int[] seeds, int seedCount, CharSequence s, int at, Sink sink) {
+        if (at == s.length()) return; // no pattern matches the empty string
+        for (int k = 0; k < seedCount; k++) add(list, seeds[k], at, -1, -1, s, at, sink);
+    }
+
+    /** Adds the epsilon closure of {@code pc} at position {@code at}, reporting the MATCH instructions it hits. */
+    private void add(Threads list, int pc0, int start, int cap0, int cap1, CharSequence s, int at, Sink sink) {
+        int top = 0;
+        stack[top++] = pc0;
+        stack[top++] = cap0;
+        stack[top++] = cap1;
+        while (top > 0) {
+            int c1 = stack[--top], c0 = stack[--top], pc = stack[--top];
+            if (list.contains(pc)) continue;
+            list.add(pc, start, c0, c1);
+            int op = prog.op[pc];
+            if (op == Program.CHARS) continue;
+            if (op == Program.MATCH) {
+                int p = prog.x[pc];
+                if (!prog.captures[p]) sink.accept(p, start, at);
+                else if (c0 >= 0 && c1 > c0) sink.accept(p, c0, c1);
+                continue;
+            }
+            if (op == Program.JMP) {
+                pc = prog.x[pc];
+            } else if (op == Program.SPLIT) {
+                stack[top++] = prog.y[pc];
+                stack[top++] = c0;
+                stack[top++] = c1;
+                pc = prog.x[pc];
+            } else if (op == Program.SAVE) {
+                if (prog.x[pc] == 0) c0 = at;
+                else c1 = at;
+                pc = pc + 1;
+            } else { // ASSERT
+                if (!holds(prog.x[pc], s, at)) continue;
+                pc = pc + 1;
+            }
+            stack[top++] = pc;
+            stack[top++] = c0;
+            stack[top++] = c1;
+        }
+    }
+
+    private static boolean holds(int kind, CharSequence s, int at) {
+        if (kind == RegexParser.BEGIN) return at == 0;
+        if (kind == RegexParser.END) return at == s.length();
+        boolean before = at > 0 && isWord(s.charAt(at - 1));
+        boolean after = at < s.length() && isWord(s.charAt(at));
+        return (kind == RegexParser.WORD_BOUNDARY) == (before != after);
+    }
+
+    private static boolean isWord(char c) {
+        return CharRanges.contains(CharRanges.WORD, c);
+    }
+
+    /** Sparse set of instructions with per-thread state, cleared in O(1). */
+    private static final class Threads {
+        final int[] dense;
+        final int[] sparse;
+        final int[] start;
+        final int[] cap0;
+        final int[] cap1;
+        int size;
+
+        Threads(int capacity) {
+            dense = new int[capacity];
+            sparse = new int[capacity];
+            start = new int[capacity];
+            cap0 = new int[capacity];
+            cap1 = new int[capacity];
+        }
+
+        boolean contains(int pc) {
+            int k = sparse[pc];
+            return k < size && dense[k] == pc;
+        }
+
+        void add(int pc, int from, int c0, int c1) {
+            sparse[pc] = size;
+            dense[size++] = pc;
+            start[pc] = from;
+            cap0[pc] = c0;
+            cap1[pc] = c1;
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+}
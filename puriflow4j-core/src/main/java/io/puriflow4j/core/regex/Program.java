@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2025 Puriflow4J Contributors
+ * Licensed under the Apache License 2.0
+ */
+package io.puriflow4j.core.regex;
+
+import io.puriflow4j.core.regex.RegexParser.Alt;
+import io.puriflow4j.core.regex.RegexParser.Assert;
+import io.puriflow4j.core.regex.RegexParser.Chars;
+import io.puriflow4j.core.regex.RegexParser.Concat;
+import io.puriflow4j.core.regex.RegexParser.Group;
+import io.puriflow4j.core.regex.RegexParser.Node;
+import io.puriflow4j.core.regex.RegexParser.Repeat;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Thompson NFA for a list of patterns, as a flat instruction array shared (read-only) by all threads.
+ * Pattern {@code p} starts at {@link #starts}{@code [p]} and ends in a {@link #MATCH} instruction whose
+ * argument is {@code p}. Only the first capturing group of each pattern is recorded.
+ */
+final class Program {
+    static final int CHARS = 0; // consume one char in ranges[pc], continue at pc + 1
+    static final int MATCH = 1; // pattern x matched
+    static final int JMP = 2; // continue at x
+    static final int SPLIT = 3; // continue at x and at y
+    static final int SAVE = 4; // record the position in group-1 slot x (0 = start, 1 = end)
+    static final int ASSERT = 5; // zero-width assertion x, see RegexParser
+
+    static final int MAX_INSTRUCTIONS = 100_000;
+
+    final int[] op;
+    final int[] x;
+    final int[] y;
+    final int[][] ranges;
+    final int[] starts;
+    final boolean[] captures;
+
+    /** Start of each char equivalence class; chars in one class are accepted by the same CHARS instructions. */
+    final int[] classStarts;
+
+    private final int[] asciiClass;
+
+    private Program(Builder b, int[] starts, boolean[] captures) {
+        this.op = Arrays.copyOf(b.op, b.len);
+        this.x = Arrays.copyOf(b.x, b.len);
+        this.y = Arrays.copyOf(b.y, b.len);
+        this.ranges = Arrays.copyOf(b.ranges, b.len);
+        this.starts = starts;
+        this.captures = captures;
+        this.classStarts = classStarts(ranges);
+        this.asciiClass = new int[128];
+        for (char c = 0; c < 128; c++) asciiClass[c] = lookupClass(c);
+    }
+
+    static Program compile(List<Node> patterns, boolean[] captures) {
+        Builder b = new Builder();
+        int[] starts = new int[patterns.size()];
+        for (int p = 0; p < patterns.size(); p++) {
+            starts[p] = b.len;
+            b.emit(patterns.get(p));
+            b.add(MATCH, p, 0, null);
+        }
+        return new Program(b, starts, captures);
+    }
+
+    int size() {
+        return op.length;
+    }
+
+    int classCount() {
+        return classStarts.length;
+    }
+
+    int classOf(char c) {
+        return c < 128 ? asciiClass[c] : lookupClass(c);
+    }
+
+    private int lookupClass(char c) {
+        int i = Arrays.binarySearch(classStarts, c);
+        return i >= 0 ? i : -i - 2;
+    }
+
+    private static int[] classStarts(int[][] ranges) {
+        TreeSet<Integer> bounds = new TreeSet<>();
+        bounds.add(0);
+        for (int[] r : ranges) {
+            if (r == null) continue;
+            for (int i = 0; i < r.length; i += 2) {
+                bounds.add(r[i]);
+                if (r[i + 1] < CharRanges.MAX) bounds.add(r[i + 1] + 1);
+            }
+        }
+        return bounds.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static final class Builder {
+        int[] op = new int[64];
+        int[] x = new int[64];
+        int[] y = new int[64];
+        int[][] ranges = new int[64][];
+        int len;
+
+        int add(int code, int a, int b, int[] set) {
+            if (len == MAX_INSTRUCTIONS) {
+                throw new IllegalArgumentException("Patterns too large (over " + MAX_INSTRUCTIONS + " instructions)");
+            }
+            if (len == op.length) {
+                int cap = len * 2;
+                op = Arrays.copyOf(op, cap);
+                x = Arrays.copyOf(x, cap);
+                y = Arrays.copyOf(y, cap);
+                ranges = Arrays.copyOf(ranges, cap);
+            }
+            op[len] = code;
+            x[len] = a;
+            y[len] = b;
+            ranges[len] = set;
+            return len++;
+        }
+
+        void emit(Node n) {
+            if (n instanceof Chars c) {
+                add(CHARS, 0, 0, c.ranges());
+            } else if (n instanceof Concat c) {
+                for (Node item : c.items()) emit(item);
+            } else if (n instanceof Alt a) {
+                List<Node> alts = a.alternatives();
+                int[] jumps = new int[alts.size() - 1];
+                for (int i = 0; i < alts.size() - 1; i++) {
+                    int split = add(SPLIT, len + 1, 0, null);
+                    emit(alts.get(i));
+                    jumps[i] = add(JMP, 0, 0, null);
+                    y[split] = len;
+                }
+                emit(alts.get(alts.size() - 1));
+                for (int j : jumps) x[j] = len;
+            } else if (n instanceof Group g) {
+                if (g.index() == 1) add(SAVE, 0, 0, null);
+                emit(g.node());
+                if (g.index() == 1) add(SAVE, 1, 0, null);
+            } else if (n instanceof Repeat r) {
+                repeat(r.node(), r.min(), r.max());
+            } else if (n instanceof Assert a) {
+                add(ASSERT, a.kind(), 0, null);
+            }
+            // Empty: nothing to emit
+        }
+
+        private void repeat(Node n, int min, int max) {
+            if (max == -1) {
+                if (min == 0) { // n*
+                    int loop = add(SPLIT, len + 1, 0, null);
+                    emit(n);
+                    add(JMP, loop, 0, null);
+                    y[loop] = len;
+                    return;
+                }
+                for (int i = 0; i < min - 1; i++) emit(n);
+                int body = len; // n+
+                emit(n);
+                add(SPLIT, body, len + 1, null);
+                return;
+            }
+            for (int i = 0; i < min; i++) emit(n);
+            if (max == min) return;
+            int[] skips = new int[max - min]; // n?n?n? ... all optional copies skip to the end
+            for (int i = 0; i < skips.length; i++) {
+                skips[i] = add(SPLIT, len + 1, 0, null);
+                emit(n);
+            }
+            for (int s : skips) y[s] = len;
+        }
+    }
+}
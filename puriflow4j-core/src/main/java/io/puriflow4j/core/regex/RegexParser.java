@@ -0,0 +1,342 @@
+/*
+ * Copyright (c) 2025 Puriflow4J Contributors
+ * Licensed under the Apache License 2.0
+ */
+package io.puriflow4j.core.regex;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses the RE2-style subset of {@code java.util.regex} syntax into an AST.
+ *
+ * <p>Supported: literals and escapes, {@code .}, classes ({@code [a-z]}, {@code [^...]}, {@code \d \w \s} and
+ * their negations), groups ({@code (...)}, {@code (?:...)}, {@code (?<name>...)}), alternation, the
+ * quantifiers {@code * + ? {n} {n,} {n,m}} (a lazy {@code ?} suffix is accepted and has no effect), the
+ * anchors {@code ^ $ \A \z \b \B}, {@code \Q...\E} and the flags {@code (?i)}, {@code (?s)},
+ * {@code (?i:...)}. Everything that needs backtracking — backreferences, lookaround, atomic groups,
+ * possessive quantifiers — is rejected.</p>
+ */
+final class RegexParser {
+    static final int MAX_REPEAT = 1000;
+
+    /** AST node. */
+    sealed interface Node permits Chars, Concat, Alt, Repeat, Group, Assert, Empty {}
+
+    record Chars(int[] ranges) implements Node {}
+
+    record Concat(List<Node> items) implements Node {}
+
+    record Alt(List<Node> alternatives) implements Node {}
+
+    /** {@code max == -1} means unbounded. */
+    record Repeat(Node node, int min, int max) implements Node {}
+
+    /** {@code index} is the 1-based capture index, or 0 for a non-capturing group. */
+    record Group(Node node, int index) implements Node {}
+
+    record Assert(int kind) implements Node {}
+
+    record Empty() implements Node {}
+
+    static final int BEGIN = 0;
+    static final int END = 1;
+    static final int WORD_BOUNDARY = 2;
+    static final int NOT_WORD_BOUNDARY = 3;
+
+    private final String src;
+    private int pos;
+    private boolean ignoreCase;
+    private boolean dotAll;
+    private int groups;
+
+    private RegexParser(String src) {
+        this.src = src;
+    }
+
+    static Node parse(String regex) {
+        RegexParser p = new RegexParser(regex);
+        Node node = p.alternation();
+        if (p.pos < regex.length()) throw p.error("Unmatched ')'");
+        return node;
+    }
+
+    /** Number of capturing groups, for tests. */
+    static int groupCount(String regex) {
+        RegexParser p = new RegexParser(regex);
+        p.alternation();
+        return p.groups;
+    }
+
+    static boolean nullable(Node n) {
+        if (n instanceof Chars) return false;
+        if (n instanceof Concat c) return c.items().stream().allMatch(RegexParser::nullable);
+        if (n instanceof Alt a) return a.alternatives().stream().anyMatch(RegexParser::nullable);
+        if (n instanceof Repeat r) return r.min() == 0 || nullable(r.node());
+        if (n instanceof Group g) return nullable(g.node());
+        return true; // Assert, Empty
+    }
+
+    // ---------------- grammar ----------------
+
+    private Node alternation() {
+        List<Node> alternatives = new ArrayList<>();
+        alternatives.add(concat());
+        while (pos < src.length() && src.charAt(pos) == '|') {
+            pos++;
+            alternatives.add(concat());
+        }
+        return alternatives.size() == 1 ? alternatives.get(0) : new Alt(alternatives);
+    }
+
+    private Node concat() {
+        List<Node> items = new ArrayList<>();
+        while (pos < src.length() && src.charAt(pos) != '|' && src.charAt(pos) != ')') {
+            Node item = repeat();
+            if (!(item instanceof Empty)) items.add(item);
+        }
+        if (items.isEmpty()) return new Empty();
+        return items.size() == 1 ? items.get(0) : new Concat(items);
+    }
+
+    private Node repeat() {
+        Node node = atom();
+        while (pos < src.length()) {
+            char c = src.charAt(pos);
+            int min, max;
+            if (c == '*') {
+                min = 0;
+                max = -1;
+                pos++;
+            } else if (c == '+') {
+                min = 1;
+                max = -1;
+                pos++;
+            } else if (c == '?') {
+                min = 0;
+                max = 1;
+                pos++;
+            } else if (c == '{' && isBraceQuantifier()) {
+                pos++;
+                min = number();
+                max = min;
+                if (src.charAt(pos) == ',') {
+                    pos++;
+                    max = (src.charAt(pos) == '}') ? -1 : number();
+                }
+                pos++; // '}'
+                if (max != -1 && max < min) throw error("Bad repetition {" + min + "," + max + "}");
+                if (min > MAX_REPEAT || max > MAX_REPEAT) throw error("Repetition count above " + MAX_REPEAT);
+            } else {
+                break;
+            }
+            if (pos < src.length() && src.charAt(pos) == '?') {
+                pos++; // lazy: matching is leftmost-longest, so laziness does not change the result
+            } else if (pos < src.length() && src.charAt(pos) == '+') {
+                throw error("Possessive quantifiers are not supported");
+            }
+            if (node instanceof Assert || node instanceof Empty) throw error("Nothing to repeat");
+            node = new Repeat(node, min, max);
+        }
+        return node;
+    }
+
+    private Node atom() {
+        char c = src.charAt(pos++);
+        if (c == '(') return group();
+        if (c == '[') return charClass();
+        if (c == '.') return new Chars(dotAll ? CharRanges.ANY : CharRanges.ANY_BUT_LINE_END);
+        if (c == '^') return new Assert(BEGIN);
+        if (c == '$') return new Assert(END);
+        if (c == '\\') return escape();
+        if (c == '*' || c == '+' || c == '?') throw error("Dangling meta character '" + c + "'");
+        return literal(c);
+    }
+
+    private Node group() {
+        boolean savedIgnoreCase = ignoreCase, savedDotAll = dotAll;
+        int index = 0;
+        if (src.startsWith("?", pos)) {
+            pos++;
+            if (src.startsWith(":", pos)) {
+                pos++;
+            } else if (src.startsWith("<", pos) && pos + 1 < src.length() && Character.isLetter(src.charAt(pos + 1))) {
+                int close = src.indexOf('>', pos);
+                if (close < 0) throw error("Unterminated group name");
+                pos = close + 1;
+                index = ++groups;
+            } else if (src.startsWith("=", pos) || src.startsWith("!", pos) || src.startsWith("<", pos)) {
+                throw error("Lookaround is not supported");
+            } else if (src.startsWith(">", pos)) {
+                throw error("Atomic groups are not supported");
+            } else {
+                boolean on = true;
+                while (pos < src.length() && src.charAt(pos) != ')' && src.charAt(pos) != ':') {
+                    char f = src.charAt(pos++);
+                    if (f == '-') on = false;
+                    else if (f == 'i') ignoreCase = on;
+                    else if (f == 's') dotAll = on;
+                    else throw error("Unsupported flag '" + f + "'");
+                }
+                if (pos >= src.length()) throw error("Unclosed group");
+                if (src.charAt(pos++) == ')') return new Empty(); // (?i): applies to the rest of the group
+            }
+        } else {
+            index = ++groups;
+        }
+        Node inner = alternation();
+        if (pos >= src.length() || src.charAt(pos) != ')') throw error("Unclosed group");
+        pos++;
+        ignoreCase = savedIgnoreCase;
+        dotAll = savedDotAll;
+        return new Group(inner, index);
+    }
+
+    private Node escape() {
+        if (pos >= src.length()) throw error("Trailing backslash");
+        char c = src.charAt(pos++);
+        if (c == 'b') return new Assert(WORD_BOUNDARY);
+        if (c == 'B') return new Assert(NOT_WORD_BOUNDARY);
+        if (c == 'A') return new Assert(BEGIN);
+        if (c == 'z') return new Assert(END);
+        if (c == 'Q') {
+            int end = src.indexOf("\\E", pos);
+            String quoted = src.substring(pos, end < 0 ? src.length() : end);
+            pos = end < 0 ? src.length() : end + 2;
+            List<Node> items = new ArrayList<>(quoted.length());
+            for (int i = 0; i < quoted.length(); i++) items.add(literal(quoted.charAt(i)));
+            if (items.isEmpty()) return new Empty();
+            return items.size() == 1 ? items.get(0) : new Concat(items);
+        }
+        int[] set = classEscape(c);
+        if (set != null) return new Chars(set);
+        return literal(escapedChar(c));
+    }
+
+    /** {@code \d \D \w \W \s \S}, or null. */
+    private static int[] classEscape(char c) {
+        if (c == 'd') return CharRanges.DIGIT;
+        if (c == 'D') return CharRanges.negate(CharRanges.DIGIT);
+        if (c == 'w') return CharRanges.WORD;
+        if (c == 'W') return CharRanges.negate(CharRanges.WORD);
+        if (c == 's') return CharRanges.SPACE;
+        if (c == 'S') return CharRanges.negate(CharRanges.SPACE);
+        return null;
+    }
+
+    /** The char denoted by a single-char escape such as {@code \t}, {@code \x41} or {@code \.}. */
+    private char escapedChar(char c) {
+        if (c == 't') return '\t';
+        if (c == 'n') return '\n';
+        if (c == 'r') return '\r';
+        if (c == 'f') return '\f';
+        if (c == 'e') return '\u001B';
+        if (c == 'a') return '\u0007';
+        if (c == 'x') return (char) hex(2);
+        if (c == 'u') return (char) hex(4);
+        if (c >= '1' && c <= '9') throw error("Backreferences are not supported");
+        if (c == 'k') throw error("Backreferences are not supported");
+        if (c == 'p' || c == 'P') throw error("Unicode property classes are not supported");
+        if (Character.isLetterOrDigit(c)) throw error("Unsupported escape '\\" + c + "'");
+        return c;
+    }
+
+    private Node charClass() {
+        boolean negate = pos < src.length() && src.charAt(pos) == '^';
+        if (negate) pos++;
+        List<int[]> parts = new ArrayList<>();
+        boolean first = true;
+        while (true) {
+            if (pos >= src.length()) throw error("Unclosed character class");
+            char c = src.charAt(pos);
+            if (c == ']' && !first) {
+                pos++;
+                break;
+            }
+            first = false;
+            if (c == '[') throw error("Nested character classes are not supported");
+            if (src.startsWith("&&", pos)) throw error("Character class intersection is not supported");
+            pos++;
+            int lo;
+            if (c == '\\') {
+                if (pos >= src.length()) throw error("Trailing backslash");
+                char e = src.charAt(pos++);
+                int[] set = classEscape(e);
+                if (set != null) {
+                    parts.add(set);
+                    continue;
+                }
+                if (e == 'b' || e == 'B' || e == 'Q') throw error("Unsupported escape '\\" + e + "' in class");
+                lo = escapedChar(e);
+            } else {
+                lo = c;
+            }
+            int hi = lo;
+            if (pos + 1 < src.length() && src.charAt(pos) == '-' && src.charAt(pos + 1) != ']') {
+                pos++;
+                char h = src.charAt(pos++);
+                if (h == '\\') {
+                    if (pos >= src.length()) throw error("Trailing backslash");
+                    char e = src.charAt(pos++);
+                    if (classEscape(e) != null) throw error("Bad class range");
+                    h = escapedChar(e);
+                }
+                hi = h;
+                if (hi < lo) throw error("Illegal character range");
+            }
+            parts.add(new int[] {lo, hi});
+        }
+        int total = 0;
+        for (int[] p : parts) total += p.length;
+        int[] all = new int[total];
+        int k = 0;
+        for (int[] p : parts) {
+            System.arraycopy(p, 0, all, k, p.length);
+            k += p.length;
+        }
+        int[] ranges = CharRanges.normalize(all);
+        if (ignoreCase) ranges = CharRanges.caseFold(ranges);
+        return new Chars(negate ? CharRanges.negate(ranges) : ranges);
+    }
+
+    private Node literal(char c) {
+        int[] ranges = CharRanges.of(c);
+        return new Chars(ignoreCase ? CharRanges.caseFold(ranges) : ranges);
+    }
+
+    // ---------------- helpers ----------------
+
+    private boolean isBraceQuantifier() {
+        int p = pos + 1;
+        int digits = p;
+        while (p < src.length() && Character.isDigit(src.charAt(p))) p++;
+        if (p == digits || p >= src.length()) return false;
+        if (src.charAt(p) == ',') {
+            p++;
+            while (p < src.length() && Character.isDigit(src.charAt(p))) p++;
+        }
+        return p < src.length() && src.charAt(p) == '}';
+    }
+
+    private int number() {
+        int start = pos;
+        while (pos < src.length() && Character.isDigit(src.charAt(pos))) pos++;
+        if (pos - start > 6) throw error("Repetition count above " + MAX_REPEAT);
+        return Integer.parseInt(src, start, pos, 10);
+    }
+
+    private int hex(int digits) {
+        if (pos + digits > src.length()) throw error("Bad hex escape");
+        int v = 0;
+        for (int i = 0; i < digits; i++) {
+            int d = Character.digit(src.charAt(pos++), 16);
+            if (d < 0) throw error("Bad hex escape");
+            v = (v << 4) | d;
+        }
+        return v;
+    }
+
+    private IllegalArgumentException error(String what) {
+        return new IllegalArgumentException(what + " near index " + Math.max(0, pos - 1) + " in regex '" + src + "'");
+    }
+}
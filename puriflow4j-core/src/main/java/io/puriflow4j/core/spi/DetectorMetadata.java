@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2025 Puriflow4J Contributors
+ * Licensed under the Apache License 2.0
+ */
+package io.puriflow4j.core.spi;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * What the engine needs to know about a plugin detector to run it efficiently.
+ *
+ * @param id            unique plugin id, used to enable it in configuration (e.g. {@code acme-account-number})
+ * @param triggers      literals (ASCII case-insensitive) of which at least one must occur in a message for the
+ *                      detector to be able to match; empty = always run
+ * @param maxSpanLength longest span the detector can report, or {@code 0} if unbounded; bounded detectors
+ *                      are run over long messages in overlapping chunks
+ * @param cost          relative cost per message; cheaper detectors are scheduled first
+ * @param threadSafe    whether one instance may be shared by all threads; if not, each thread gets its own
+ */
+public record DetectorMetadata(String id, List<String> triggers, int maxSpanLength, Cost cost, boolean threadSafe) {
+
+    /** Estimated cost class of a detector. */
+    public enum Cost {
+        /** Literal or char-loop scan, linear with a small constant. */
+        CHEAP,
+        /** A few regexes or a validating parser. */
+        MODERATE,
+        /** Heavy regexes, lookups or decoding. */
+        EXPENSIVE
+    }
+
+    public DetectorMetadata {
+        Objects.requireNonNull(id, "id cannot be null");
+        if (id.isBlank()) throw new IllegalArgumentException("id cannot be blank");
+        triggers = (triggers == null) ? List.of() : List.copyOf(triggers);
+        for (String t : triggers) {
+            if (t.isEmpty()) throw new IllegalArgumentException("Empty trigger literal in detector '" + id + "'");
+        }
+        if (maxSpanLength < 0) throw new IllegalArgumentException("maxSpanLength must be >= 0: " + maxSpanLength);
+        cost = (cost == null) ? Cost.MODERATE : cost;
+    }
+
+    /** Metadata for a thread-safe detector that always runs and has no span limit. */
+    public static DetectorMetadata of(String id) {
+        return new DetectorMetadata(id, List.of(), 0, Cost.MODERATE, true);
+    }
+}
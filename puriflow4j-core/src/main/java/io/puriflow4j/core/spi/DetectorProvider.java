@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2025 Puriflow4J Contributors
+ * Licensed under the Apache License 2.0
+ */
+package io.puriflow4j.core.spi;
+
+import io.puriflow4j.core.api.Detector;
+import io.puriflow4j.core.preset.DetectorOptions;
+import io.puriflow4j.core.preset.KVPatternConfig;
+
+/**
+ * Service-provider interface for custom detectors (internal account numbers, session IDs, ...).
+ *
+ * <p>Implementations are discovered with {@link java.util.ServiceLoader}: list the class name in
+ * {@code META-INF/services/io.puriflow4j.core.spi.DetectorProvider} and enable it by its
+ * {@link DetectorMetadata#id() id} (in Spring Boot: {@code puriflow4j.logs.plugins}). Discovered but
+ * not enabled providers are never instantiated into detectors.</p>
+ */
+public interface DetectorProvider {
+
+    /** Static description of the detectors this provider creates; must not change between calls. */
+    DetectorMetadata metadata();
+
+    /**
+     * Creates a detector. Called once if the detector is {@link DetectorMetadata#threadSafe() thread-safe},
+     * otherwise once per thread that uses it.
+     */
+    Detector create(KVPatternConfig kv, DetectorOptions options);
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2025 Puriflow4J Contributors
+ * Licensed under the Apache License 2.0
+ */
+package io.puriflow4j.core.spi;
+
+import io.puriflow4j.core.api.Detector;
+import io.puriflow4j.core.api.model.DetectionResult;
+import io.puriflow4j.core.preset.DetectorOptions;
+import io.puriflow4j.core.preset.KVPatternConfig;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Engine-side wrapper around a plugin detector that applies its {@link DetectorMetadata}:
+ *
+ * <ul>
+ *   <li><b>Prefilter:</b> if the detector declares trigger literals, messages containing none of them
+ *       are skipped without calling it.</li>
+ *   <li><b>Thread safety:</b> a thread-safe detector is created once and shared; otherwise each thread
+ *       gets its own instance from the provider.</li>
+ *   <li><b>Chunking:</b> a detector with a bounded {@code maxSpanLength} sees messages longer than
+ *       {@value #CHUNK} chars in windows that overlap by {@code maxSpanLength}, so its cost per call stays
+ *       bounded and no match is cut at a window edge. Each window reports only spans that start before
+ *       the next window, so every match is reported once.</li>
+ * </ul>
+ */
+public final class PluginDetector implements Detector {
+    static final int CHUNK = 8192;
+
+    private final DetectorMetadata metadata;
+    private final Detector shared; // null → per-thread instances
+    private final ThreadLocal<Detector> perThread;
+    private final String[] triggers;
+    private final boolean[] triggerStart = new boolean[128]; // lower-cased first chars of ASCII triggers
+    private final boolean nonAsciiTrigger;
+
+    public PluginDetector(DetectorProvider provider, KVPatternConfig kv, DetectorOptions options) {
+        this.metadata = provider.metadata();
+        if (metadata.threadSafe()) {
+            this.shared = provider.create(kv, options);
+            this.perThread = null;
+        } else {
+            this.shared = null;
+            this.perThread = ThreadLocal.withInitial(() -> provider.create(kv, options));
+        }
+        this.triggers = metadata.triggers().toArray(new String[0]);
+        boolean nonAscii = false;
+        for (String t : triggers) {
+            char first = Character.toLowerCase(t.charAt(0));
+            if (first < 128) triggerStart[first] = true;
+            else nonAscii = true;
+        }
+        this.nonAsciiTrigger = nonAscii;
+    }
+
+    public DetectorMetadata metadata() {
+        return metadata;
+    }
+
+    @Override
+    public DetectionResult detect(String s) {
+        if (s == null || s.isEmpty() || !triggered(s)) return DetectionResult.empty();
+        Detector d = (shared != null) ? shared : perThread.get();
+        int overlap = metadata.maxSpanLength();
+        int chunk = Math.max(CHUNK, 4 * overlap);
+        if (overlap == 0 || s.length() <= chunk) return d.detect(s);
+        return chunked(d, s, chunk, overlap);
+    }
+
+    private static DetectionResult chunked(Detector d, String s, int chunk, int overlap) {
+        final int n = s.length();
+        final int step = chunk - overlap;
+        List<DetectionResult.Span> spans = null;
+        for (int from = 0; from < n; from += step) {
+            int to = Math.min(n, from + chunk);
+            DetectionResult r = d.detect(s.substring(from, to));
+            if (r.found()) {
+                for (DetectionResult.Span span : r.spans()) {
+                    if (to < n && span.start() >= step) continue; // owned by the next window
+                    if (spans == null) spans = new ArrayList<>(r.spans().size());
+                    spans.add(new DetectionResult.Span(
+                            span.start() + from, span.end() + from, span.type(), span.replacement()));
+                }
+            }
+            if (to == n) break;
+        }
+        return spans == null ? DetectionResult.empty() : new DetectionResult(true, List.copyOf(spans));
+    }
+
+    /** True if there are no triggers or one of them occurs in {@code s} (ASCII case-insensitive). */
+    private boolean triggered(String s) {
+        if (triggers.length == 0) return true;
+        final int n = s.length();
+        for (int i = 0; i < n; i++) {
+            char c = Character.toLowerCase(s.charAt(i));
+            if (c < 128 ? !triggerStart[c] : !nonAsciiTrigger) continue;
+            for (String t : triggers) {
+                if (s.regionMatches(true, i, t, 0, t.length())) return true;
+            }
+        }
+        return false;
+    }
+}
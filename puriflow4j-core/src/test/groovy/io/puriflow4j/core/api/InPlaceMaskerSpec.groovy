@@ -0,0 +1,117 @@
+package io.puriflow4j.core.api
+
+import io.puriflow4j.core.api.model.*
+import io.puriflow4j.core.detect.CreditCardDetector
+import io.puriflow4j.core.detect.EmailDetector
+import spock.lang.Specification
+
+import java.nio.ByteBuffer
+import java.nio.CharBuffer
+import java.nio.charset.StandardCharsets
+
+/**
+ * Tests for InPlaceMasker:
+ *  - spans are overwritten with the fill char, lengths and offsets are preserved
+ *  - keepFirst/keepLast, and short spans are filled entirely
+ *  - char[] ranges, StringBuilder, heap/direct CharBuffer, UTF-8 and Latin-1 ByteBuffer
+ */
+class InPlaceMaskerSpec extends Specification {
+
+    static final String MSG = "card 4111 1111 1111 1111 mail bob@example.com"
+
+    def sanitizer = new Sanitizer([new CreditCardDetector(), new EmailDetector()], Action.MASK)
+    def masker = new InPlaceMasker(sanitizer, '*' as char, 0, 4)
+
+    def "masks a char[] range in place and keeps the surroundings"() {
+        given:
+        char[] buf = ("##" + MSG + "##").toCharArray()
+
+        when:
+        def findings = masker.mask(buf, 2, MSG.length())
+
+        then:
+        new String(buf) == "##card ***************1111 mail ***********.com##"
+        findings*.type() == ["card:visa", "email"]
+        findings*.start() == [5, 30]
+        findings.every { it.action() == Action.MASK }
+    }
+
+    def "masks a StringBuilder without changing its length"() {
+        given:
+        def sb = new StringBuilder(MSG)
+
+        when:
+        new InPlaceMasker(sanitizer, 'x' as char).mask(sb)
+
+        then:
+        sb.toString() == "card xxxxxxxxxxxxxxxxxxx mail xxxxxxxxxxxxxxx"
+        sb.length() == MSG.length()
+    }
+
+    def "masks heap and direct CharBuffers between position and limit"() {
+        given:
+        def buf = direct ? ByteBuffer.allocateDirect(256).asCharBuffer() : CharBuffer.allocate(256)
+        buf.put("skip ").put(MSG).flip()
+        buf.position(5)
+
+        when:
+        masker.mask(buf)
+
+        then:
+        buf.position() == 5
+        buf.toString() == "card ***************1111 mail ***********.com"
+
+        where:
+        direct << [false, true]
+    }
+
+    def "masks UTF-8 bytes, filling every byte of multi-byte chars"() {
+        given:
+        def text = "ü " + MSG + " é"
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8)
+
+        when:
+        def findings = masker.mask(ByteBuffer.wrap(bytes), StandardCharsets.UTF_8)
+
+        then:
+        new String(bytes, StandardCharsets.UTF_8) == "ü card ***************1111 mail ***********.com é"
+        findings*.start() == [8, 33] // byte offsets: "ü" takes 2 bytes
+    }
+
+    def "masks Latin-1 bytes one to one"() {
+        given:
+        byte[] bytes = MSG.getBytes(StandardCharsets.ISO_8859_1)
+
+        when:
+        masker.mask(ByteBuffer.wrap(bytes), StandardCharsets.ISO_8859_1)
+
+        then:
+        new String(bytes, StandardCharsets.ISO_8859_1) == "card ***************1111 mail ***********.com"
+    }
+
+    def "spans not longer than the kept characters are filled entirely"() {
+        given:
+        def shortSpan = { String s -> new DetectionResult(true, [new DetectionResult.Span(0, 6, "pin", "[M]")]) } as Detector
+        def sb = new StringBuilder("123456 rest")
+
+        when:
+        new InPlaceMasker(new Sanitizer([shortSpan], Action.MASK), '#' as char, 2, 4).mask(sb)
+
+        then:
+        sb.toString() == "###### rest"
+    }
+
+    def "rejects unsupported charsets and non-ASCII fill for bytes"() {
+        when:
+        masker.mask(ByteBuffer.wrap("x".bytes), StandardCharsets.UTF_16)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        when:
+        new InPlaceMasker(sanitizer, '•' as char).mask(ByteBuffer.wrap("x".bytes), StandardCharsets.UTF_8)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
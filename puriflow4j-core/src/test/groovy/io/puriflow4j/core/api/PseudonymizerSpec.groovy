@@ -0,0 +1,148 @@
+package io.puriflow4j.core.api
+
+import spock.lang.Specification
+
+import javax.crypto.Mac
+import javax.crypto.spec.SecretKeySpec
+
+/**
+ * Tests for Pseudonymizer:
+ *  - deterministic per (type, value, key), different across values, types and keys
+ *  - output format [type#keyId:16 hex], the hash being the truncated standard HMAC-SHA256; colon types split
+ *  - regions are hashed in place, as their UTF-8 encoding
+ *  - memoized values return the same instance
+ *  - key rotation and key validation
+ */
+class PseudonymizerSpec extends Specification {
+
+    static final byte[] KEY = "0123456789abcdef0123".bytes
+    static final byte[] OTHER_KEY = "fedcba9876543210fedc".bytes
+
+    def p = new Pseudonymizer("k1", KEY)
+
+    def "same value, type and key give the same pseudonym"() {
+        when:
+        def a = p.pseudonymize("email", "alice@example.com")
+        def b = new Pseudonymizer("k1", KEY).pseudonymize("email", new StringBuilder("alice@example.com"))
+
+        then:
+        a == b
+        a ==~ /\[email#k1:[0-9a-f]{16}]/
+    }
+
+    def "the hash is HMAC-SHA256 of type, zero byte and value, truncated to 16 hex chars"() {
+        given: "what another service computes with a stock HMAC"
+        def mac = Mac.getInstance("HmacSHA256")
+        mac.init(new SecretKeySpec(KEY, "HmacSHA256"))
+        def hex = mac.doFinal("email\u0000$value".toString().getBytes("UTF-8")).encodeHex().toString().substring(0, 16)
+
+        expect:
+        p.pseudonymize("email", value) == "[email#k1:$hex]"
+
+        where:
+        value << ["alice@example.com", "jörg@bücher.de", "\uD83D\uDE00@x.io", "x" * 300]
+    }
+
+    def "different values, types or keys give different pseudonyms"() {
+        given:
+        def base = p.pseudonymize("email", "alice@example.com")
+
+        expect:
+        p.pseudonymize("email", "bob@example.com") != base
+        hash(p.pseudonymize("token", "alice@example.com")) != hash(base)
+        new Pseudonymizer("k1", OTHER_KEY).pseudonymize("email", "alice@example.com") != base
+    }
+
+    def "types with colons or hashes split unambiguously at the last '#'"() {
+        when:
+        def m = p.pseudonymize(type, "4111111111111111") =~ /^\[(.*)#([A-Za-z0-9_.-]{1,32}):([0-9a-f]{16})]$/
+
+        then:
+        m.matches()
+        m.group(1) == type
+        m.group(2) == "k1"
+
+        where:
+        type << ["card:visa", "dbCredential:jdbc", "custom:order#id"]
+    }
+
+    def "a region gives the same pseudonym as the value on its own"() {
+        expect:
+        p.pseudonymize("email", "from $value now", 5, 5 + value.length()) == p.pseudonymize("email", value)
+        p.pseudonymize("email", new StringBuilder(value)) == p.pseudonymize("email", value)
+
+        where:
+        value << ["alice@example.com", "jörg@bücher.de", "用户@例子.广告", "\uD83D\uDE00@x.io", "lone\uD800@x.io"]
+    }
+
+    def "hot values are served from the memo"() {
+        given: "values are admitted on their second sighting"
+        p.pseudonymize("email", "alice@example.com")
+        p.pseudonymize("email", "alice@example.com")
+
+        expect:
+        p.pseudonymize("email", "alice@example.com").is(p.pseudonymize("email", "alice@example.com"))
+    }
+
+    def "rotation switches key and key id"() {
+        given:
+        def before = p.pseudonymize("email", "alice@example.com")
+
+        when:
+        p.rotate("k2", OTHER_KEY)
+        def after = p.pseudonymize("email", "alice@example.com")
+
+        then:
+        p.keyId() == "k2"
+        p.generation() == 1
+        after.startsWith("[email#k2:")
+        hash(after) != hash(before)
+        after == new Pseudonymizer("k2", OTHER_KEY).pseudonymize("email", "alice@example.com")
+    }
+
+    def "a rejected rotation keeps the current key and generation"() {
+        when:
+        p.rotate("k:2", OTHER_KEY)
+
+        then:
+        thrown(IllegalArgumentException)
+        p.keyId() == "k1"
+        p.generation() == 0
+    }
+
+    def "rejects weak keys and malformed key ids"() {
+        when:
+        new Pseudonymizer(keyId, key as byte[])
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        keyId      | key
+        "k1"       | "short".bytes
+        "k1"       | null
+        ""         | KEY
+        "k:1"      | KEY
+        null       | KEY
+    }
+
+    def "is safe under concurrent use"() {
+        given:
+        def expected = (0..<200).collect { new Pseudonymizer("k1", KEY).pseudonymize("email", "user$it@example.com") }
+
+        when:
+        def results = Collections.synchronizedList([])
+        def threads = (0..<8).collect {
+            Thread.start { (0..<200).each { i -> results << [i, p.pseudonymize("email", "user$i@example.com")] } }
+        }
+        threads*.join()
+
+        then:
+        results.size() == 1600
+        results.every { expected[it[0]] == it[1] }
+    }
+
+    private static String hash(String pseudonym) {
+        pseudonym.substring(pseudonym.lastIndexOf(':') + 1)
+    }
+}
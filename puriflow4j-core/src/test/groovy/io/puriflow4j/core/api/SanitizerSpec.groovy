@@ -11,6 +11,7 @@ import spock.lang.Specification
  * - overlapping spans → merged; replacement of the first merged span wins
  * - adjacent spans → merged into a single span
  * - findings keep original indices and carry provided Action
+ * - PSEUDONYMIZE replaces spans with keyed pseudonyms of the matched text
  */
 class SanitizerSpec extends Specification {
 
@@ -26,6 +27,31 @@ class SanitizerSpec extends Specification {
         res.findings().isEmpty()
     }
 
+    def "PSEUDONYMIZE replaces each span with a deterministic pseudonym of its text"() {
+        given:
+        def msg = "from alice@x.io to bob@x.io cc alice@x.io"
+        def spans = ["alice@x.io", "bob@x.io"].collect { spanBySubstring(msg, it, "[MASKED_EMAIL]", "email") }
+        spans << new DetectionResult.Span(msg.lastIndexOf("alice"), msg.length(), "email", "[MASKED_EMAIL]")
+        def pseudonymizer = new Pseudonymizer("k1", "0123456789abcdef".bytes)
+        def sanitizer = new Sanitizer(List.of(fixedDetector(spans)), Action.PSEUDONYMIZE, pseudonymizer)
+
+        when:
+        def res = sanitizer.applyDetailed(msg, "logger")
+        def alice = pseudonymizer.pseudonymize("email", "alice@x.io")
+
+        then:
+        res.sanitized() == "from $alice to ${pseudonymizer.pseudonymize("email", "bob@x.io")} cc $alice"
+        res.findings().every { it.action() == Action.PSEUDONYMIZE }
+    }
+
+    def "PSEUDONYMIZE without a Pseudonymizer is rejected"() {
+        when:
+        new Sanitizer(List.of(), Action.PSEUDONYMIZE)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
     def "returns original message when detectors produce no spans"() {
         given:
         def d = fixedDetector([]) // no spans
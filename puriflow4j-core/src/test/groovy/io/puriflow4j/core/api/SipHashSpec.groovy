@@ -0,0 +1,91 @@
+package io.puriflow4j.core.api
+
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+/**
+ * Tests for SipHash:
+ *  - reference vectors of SipHash-2-4, 64 and 128 bits (key 00..0f, message 00..n-1)
+ *  - UTF-8 feeding equals hashing String.getBytes(UTF_8)
+ *  - UTF-16 feeding tells apart strings that UTF-8 would not (lone surrogates)
+ */
+class SipHashSpec extends Specification {
+
+    static final long K0 = 0x0706050403020100L
+    static final long K1 = 0x0f0e0d0c0b0a0908L
+
+    def "64-bit reference vectors"() {
+        given:
+        def h = new SipHash(K0, K1)
+        (0..<n).each { h.update(it) }
+
+        expect:
+        h.finish() == hex(expected)
+
+        where:
+        n  || expected
+        0  || "726fdb47dd0e0e31"
+        1  || "74f839c593dc67fd"
+        7  || "ab0200f58b01d137"
+        8  || "93f5f5799a932462"
+        15 || "a129ca6149be45e5"
+        63 || "958a324ceb064572"
+    }
+
+    def "128-bit reference vectors"() {
+        given:
+        def h = SipHash.wide(K0, K1)
+        (0..<n).each { h.update(it) }
+
+        expect:
+        h.finish() == hex(lo)
+        h.high() == hex(hi)
+
+        where:
+        n || lo                 | hi
+        0 || "e6a825ba047f81a3" | "930255c71472f66d"
+        1 || "44af996bd8c187da" | "45fc229b11597634"
+    }
+
+    def "UTF-8 feeding hashes the same bytes as String.getBytes"() {
+        given:
+        def direct = new SipHash(K0, K1)
+        direct.updateUtf8("<$text>", 1, text.length() + 1)
+        def bytes = new SipHash(K0, K1)
+        text.getBytes(StandardCharsets.UTF_8).each { bytes.update(it) }
+
+        expect:
+        direct.finish() == bytes.finish()
+
+        where:
+        text << ["alice@example.com", "jörg", "用户", "😀", "lone\uD800", "\uDC00x"]
+    }
+
+    def "UTF-16 feeding distinguishes lone surrogates"() {
+        given:
+        def a = new SipHash(K0, K1)
+        a.updateChars("x\uD800", 0, 2)
+        def b = new SipHash(K0, K1)
+        b.updateChars("x\uD801", 0, 2)
+
+        expect:
+        a.finish() != b.finish()
+    }
+
+    def "high() is only defined for the 128-bit variant"() {
+        given:
+        def h = new SipHash(K0, K1)
+        h.finish()
+
+        when:
+        h.high()
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+    private static long hex(String unsigned) {
+        Long.parseUnsignedLong(unsigned, 16)
+    }
+}
@@ -102,8 +102,55 @@ class ApiTokenWellKnownDetectorSpec extends Specification {
         masked == "keys: ([MASKED_API_TOKEN]),[MASKED_API_TOKEN];[MASKED_API_TOKEN]!"
     }
 
+    def "detects vendor formats from the bundled rule pack"() {
+        expect:
+        applySpans("token=$token;", detector.detect("token=$token;")) == "token=[MASKED_API_TOKEN];"
+
+        where:
+        token << [
+                "glpat-" + "aB3dE5fG7hI9jK1lM3nO",                       // GitLab PAT
+                "pypi-AgEIcHlwaS5vcmc" + "x" * 60,                        // PyPI upload token
+                "SG." + "a" * 22 + "." + "b" * 43,                        // SendGrid
+                "SK" + "0123456789abcdef" * 2,                            // Twilio API key SID
+                "sk-proj-" + "Ab3_" * 12,                                 // OpenAI project key
+                "AIza" + "SyA1b2C3d4E5f6G7h8I9j0K1l2M3n4O5p6Q",          // Google API key
+                "dckr_pat_" + "a1B2c3D4e5F6g7H8i9J0k1L2m3N",             // Docker Hub PAT
+                "shpat_" + "0123456789abcdef" * 2,                        // Shopify access token
+        ]
+    }
+
+    def "GitHub and npm 36-char tokens must carry a valid CRC32 checksum"() {
+        given:
+        def valid = checksummed("ghp_", "abcdefghijklmnopqrstuvwxyz0123")
+        def broken = valid[0..-2] + (valid[-1] == "A" ? "B" : "A")
+        def npm = checksummed("npm_", "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123")
+
+        expect:
+        detector.detect(valid).found()
+        !detector.detect(broken).found()
+        detector.detect(npm).found()
+        !detector.detect("npm_" + "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789").found()
+    }
+
+    def "does not match a prefix glued to a preceding word"() {
+        expect:
+        !detector.detect("xglpat-aB3dE5fG7hI9jK1lM3nO").found()
+        !detector.detect("mysk_live_ABCDEFGHIJ12345").found()
+    }
+
     // -------- helpers --------
 
+    /** Builds a token whose last 6 chars are the base62 CRC32 of the 30-char random part. */
+    private static String checksummed(String prefix, String random30) {
+        def crc = new java.util.zip.CRC32()
+        random30.each { crc.update((int) it.charAt(0)) }
+        long v = crc.value
+        def alphabet = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz"
+        def tail = new StringBuilder()
+        6.times { tail.insert(0, alphabet.charAt((int) (v % 62))); v = v.intdiv(62) }
+        return prefix + random30 + tail
+    }
+
     /**
      * Applies spans to the original message to simulate Sanitizer output.
      * Spans are assumed to be [start,end) with replacement strings.
@@ -86,6 +86,22 @@ class BasicAuthDetectorSpec extends Specification {
         masked == "Auth: Authorization: Basic [MASKED_BASIC_AUTH];"
     }
 
+    def "validates the decoded payload without decoding into a String"() {
+        expect:
+        detector.detect("Basic " + value).found() == expected
+
+        where:
+        value                    || expected
+        "dXNlcjpwYXNz"           || true    // user:pass
+        "QWxhZGRpbjpzZWNyZXQ="   || true    // Aladdin:secret (padded)
+        "QWxhZGRpbjpzZWNyZXQ"    || true    // same, padding omitted
+        "bm9jb2xvbnNoZXJl"       || false   // nocolonshere
+        "OnBhc3N3b3Jk"           || false   // :password (no user)
+        "dXNlcm5hbWU6"           || false   // username: (no password)
+        "QWxhZGRpbjpzZWNyZXQ=="  || false   // wrong padding
+        "dXNlcjpw=YXNz"          || false   // padding in the middle
+    }
+
     // -------- helper --------
 
     /**
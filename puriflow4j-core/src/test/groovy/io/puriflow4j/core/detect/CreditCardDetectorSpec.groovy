@@ -68,6 +68,35 @@ class CreditCardDetectorSpec extends Specification {
         !detector.detect("").found()
     }
 
+    def "cards separated only by a space are detected separately"() {
+        given:
+        def msg = "cards 4111111111111111 5500000000000004"
+
+        when:
+        def res = detector.detect(msg)
+
+        then:
+        res.spans().size() == 2
+        sanitized(msg, res) == "cards [MASKED_CARD] [MASKED_CARD]"
+    }
+
+    def "brand is classified from the BIN and reported in the finding type"() {
+        expect:
+        detector.detect(number).spans()*.type() == [type]
+
+        where:
+        number                | type
+        "4539 1488 0343 6467" | "card:visa"
+        "5500-0000-0000-0004" | "card:mastercard"
+        "2223003122003222"    | "card:mastercard"
+        "378282246310005"     | "card:amex"
+        "6011111111111117"    | "card:discover"
+        "3530111333300000"    | "card:jcb"
+        "30569309025904"      | "card:diners"
+        "6200000000000005"    | "card:unionpay"
+        "8000000000000003"    | "card"
+    }
+
     // ---------- helper ----------
 
     private static String sanitized(String msg, DetectionResult res) {
@@ -0,0 +1,65 @@
+package io.puriflow4j.core.detect
+
+import spock.lang.Specification
+
+/**
+ * Tests for CustomPatternDetector:
+ *  - matches of every rule are masked with the rule's replacement and a custom:<name> type
+ *  - a capturing group restricts the mask to group 1
+ *  - invalid or unsupported rules fail fast
+ */
+class CustomPatternDetectorSpec extends Specification {
+
+    def detector = new CustomPatternDetector([
+            new CustomPatternDetector.Rule("order", /ORD-\d{8}/),
+            new CustomPatternDetector.Rule("pin", /pin=(\d{4,6})/, "[PIN]")
+    ])
+
+    def "masks matches of all rules"() {
+        given:
+        def msg = "order ORD-12345678 paid, pin=1234 sent"
+
+        when:
+        def r = detector.detect(msg)
+
+        then:
+        r.found()
+        r.spans().collect { msg.substring(it.start(), it.end()) } == ["ORD-12345678", "1234"]
+        r.spans()*.type() == ["custom:order", "custom:pin"]
+        r.spans()*.replacement() == ["[MASKED]", "[PIN]"]
+    }
+
+    def "ignores messages without matches"() {
+        expect:
+        !detector.detect(msg).found()
+
+        where:
+        msg << [null, "", "ORD-1234 pin=12", "nothing to see"]
+    }
+
+    def "rejects invalid rules"() {
+        when:
+        new CustomPatternDetector([new CustomPatternDetector.Rule("bad", regex)])
+
+        then:
+        def e = thrown(IllegalArgumentException)
+        e.message.startsWith("Invalid custom pattern")
+
+        where:
+        regex << [/(a)\1/, /(?=x)y/, /.*/]
+    }
+
+    def "rule name is required"() {
+        when:
+        new CustomPatternDetector.Rule(" ", "x")
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "blank replacement falls back to the default"() {
+        expect:
+        new CustomPatternDetector.Rule("n", "x", "").replacement() == "[MASKED]"
+        new CustomPatternDetector.Rule("n", "x").replacement() == "[MASKED]"
+    }
+}
@@ -0,0 +1,106 @@
+package io.puriflow4j.core.detect
+
+import io.puriflow4j.core.preset.KVPatternConfig
+import spock.lang.Specification
+
+/**
+ * Tests for DecodingDetector / DecodedView:
+ *  - percent-encoded (incl. UTF-8 and form '+') and base64 regions are decoded and re-scanned
+ *  - matches map back to exactly the original chars that encode them
+ *  - plain matches still work, binary base64 and stray '%' are ignored
+ */
+class DecodingDetectorSpec extends Specification {
+
+    def kv = KVPatternConfig.defaults()
+    def detector = new DecodingDetector([new PasswordKVDetector(kv), new EmailDetector()])
+
+    def "masks secrets inside percent-encoded regions"() {
+        expect:
+        applySpans(msg, detector.detect(msg)) == expected
+
+        where:
+        msg                                                   || expected
+        "GET /login?user=bob&password%3Dhunter2 HTTP/1.1"      || "GET /login?user=bob&password%3D[MASKED] HTTP/1.1"
+        "body=email%3Dj%C3%A9r%C3%B4me%40example.com%26x%3D1"  || "body=email%3Dj%C3%A9r%C3%B4[MASKED_EMAIL]%26x%3D1"
+        "q=contact+jane%40example.com"                        || "q=contact+[MASKED_EMAIL]"
+    }
+
+    def "masks secrets inside base64 regions, covering every char of the matched bytes"() {
+        given:
+        def std = Base64.encoder.encodeToString("user=bob&password=hunter2".bytes)
+        def url = Base64.urlEncoder.withoutPadding().encodeToString("contact: jane.doe@example.com ok".bytes)
+
+        expect:
+        applySpans("blob $std end", detector.detect("blob $std end")) == "blob dXNlcj1ib2ImcGFzc3dvcmQ9[MASKED]== end"
+        applySpans("u=$url", detector.detect("u=$url")) == "u=Y29udGFjdDog[MASKED_EMAIL]gb2s"
+    }
+
+    def "plain matches are still reported"() {
+        expect:
+        applySpans("password=abc", detector.detect("password=abc")) == "password=[MASKED]"
+    }
+
+    def "ignores stray percent signs, binary base64 and identifiers"() {
+        expect:
+        !detector.detect(msg).found()
+
+        where:
+        msg << [
+                "100% done %zz",
+                "token AAECAwQFBgcICQoLDA0ODxAREhM=",
+                "bean SpringApplicationContextInitializer ready",
+                "%F0%9F%98%80 emoji only"
+        ]
+    }
+
+    def "percent view decodes lazily and maps offsets back"() {
+        given:
+        def s = "a%20b%C3%A9%F0%9F%98%80+c"
+        def view = DecodedView.percent(s, 0, s.length())
+
+        expect:
+        view.toString() == "a bé😀 c"
+        view.originalStart(1) == 1          // ' '  ← "%20"
+        view.originalStart(3) == 5          // 'é'  ← "%C3%A9"
+        view.originalStart(4) == 11         // high surrogate ← "%F0%9F%98%80"
+        view.originalStart(5) == 11         // low surrogate shares the same escape
+        view.originalEnd(6) == 23           // after the 4-byte sequence
+        view.originalEnd(view.length()) == s.length()
+    }
+
+    def "base64 view accepts padded and unpadded text, rejects binary and malformed runs"() {
+        expect:
+        DecodedView.base64(b64, 0, b64.length())?.toString() == decoded
+
+        where:
+        b64                            || decoded
+        "aGVsbG8gd29ybGQh"             || "hello world!"
+        "aGVsbG8gd29ybGQ="             || "hello world"
+        "aGVsbG8gd29ybGQ"              || "hello world"
+        "aGVsbG8gd29ybGQhI"            || null // 4n+1 chars
+        "AAECAwQFBgcICQoL"             || null // binary
+        "aGVs+G8gd29y_GQh"             || null // mixed alphabets
+    }
+
+    def "null/empty input returns empty result"() {
+        expect:
+        !detector.detect(null).found()
+        !detector.detect("").found()
+    }
+
+    private static String applySpans(String message, def detectionResult) {
+        if (!detectionResult.found()) return message
+        def spans = new ArrayList<>(detectionResult.spans())
+        spans.sort { a, b -> a.start() <=> b.start() ?: b.end() <=> a.end() }
+
+        StringBuilder out = new StringBuilder(message.length() + 16)
+        int pos = 0
+        spans.each { s ->
+            if (s.start() > pos) out.append(message, pos, s.start())
+            out.append(s.replacement())
+            pos = s.end()
+        }
+        if (pos < message.length()) out.append(message, pos, message.length())
+        out.toString()
+    }
+}
@@ -69,6 +69,20 @@ class EmailDetectorSpec extends Specification {
         applySpans(msg, detector.detect(msg)) == "email=[MASKED_EMAIL] token=eyJ.hdr.pay.sig"
     }
 
+    def "long word runs without '@' are ignored"() {
+        expect:
+        !detector.detect("a" * 10_000 + ".example.com").found()
+    }
+
+    def "keepDomain masks only the local part"() {
+        given:
+        def det = new EmailDetector(true)
+        def msg = "to: alice+x@example.com, bob@sub.example.co.uk"
+
+        expect:
+        applySpans(msg, det.detect(msg)) == "to: [MASKED_EMAIL]@example.com, [MASKED_EMAIL]@sub.example.co.uk"
+    }
+
     // ------------ helpers ------------
 
     private static String applySpans(String msg, DetectionResult res) {
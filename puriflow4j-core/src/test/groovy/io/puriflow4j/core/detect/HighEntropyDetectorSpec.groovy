@@ -0,0 +1,134 @@
+package io.puriflow4j.core.detect
+
+import io.puriflow4j.core.preset.KVPatternConfig
+import spock.lang.Specification
+
+/**
+ * Tests for HighEntropyDetector:
+ *  - random base64/base62/hex tokens behind arbitrary keys are masked
+ *  - identifiers, paths, UUIDs and timestamps are not
+ *  - hashes in known positions and allowlisted keys are excluded
+ *  - thresholds are configurable
+ */
+class HighEntropyDetectorSpec extends Specification {
+
+    def detector = new HighEntropyDetector(KVPatternConfig.of(["traceId"], []))
+
+    def "masks random tokens regardless of the key"() {
+        expect:
+        applySpans(msg, detector.detect(msg)) == expected
+
+        where:
+        msg                                                  || expected
+        "config loaded value=X7kP2mQ9vL4nR8sT1wY6zB3c done"  || "config loaded value=[MASKED_SECRET] done"
+        "secret wJalrXUtnFEMI/K7MDENG/bPxRfiCYzQ9kL2mN3"     || "secret [MASKED_SECRET]"
+        'token: "dGhpcyBpcyBhIHNlY3JldCB2YWx1ZTE="'          || 'token: "[MASKED_SECRET]"'
+        "blob 3f2a9c8d1b7e6f5a4c3b2a1908f7e6d5c4b3a291"      || "blob [MASKED_SECRET]"
+    }
+
+    def "does not flag identifiers, paths, UUIDs or timestamps"() {
+        expect:
+        !detector.detect(msg).found()
+
+        where:
+        msg << [
+                "handler getUser2FactorAuthTokenHandler ok",
+                "bean SpringApplicationContext2Initializer created",
+                "path /var/lib/docker/overlay2/abcd1234efgh",
+                "GET /api/v1-users-12345-orders-67890",
+                "id 550e8400-e29b-41d4-a716-446655440000",
+                "order-550e8400-e29b-41d4-a716-446655440000",
+                "ts 2025-10-18T12-34-56-789Z",
+                "short X7kP2mQ9vL4n",
+                "aaaaaaaaaaaaaaaaaaaaaaaaaaaa1"
+        ]
+    }
+
+    def "hashes in known positions are kept"() {
+        expect:
+        !detector.detect(msg).found()
+
+        where:
+        msg << [
+                "commit 3f2a9c8d1b7e6f5a4c3b2a1908f7e6d5c4b3a291",
+                "image@sha256:9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08",
+                'ETag: "d41d8cd98f00b204e9800998ecf8427e"',
+                "checksum=d41d8cd98f00b204e9800998ecf8427e",
+                "integrity sha384-oqVuAfXRKap7fdgcCY5uykM6+R9GqQ8K/uxy9rx7HNQlGYl1kPzQho1wx4JwY8wC"
+        ]
+    }
+
+    def "values behind allowlisted keys are kept"() {
+        expect:
+        !detector.detect('traceId=a8Bf93kLm2Qz7Xw1Pn4Rt6Yv').found()
+        !detector.detect('{"trace_id": "a8Bf93kLm2Qz7Xw1Pn4Rt6Yv"}').found()
+        detector.detect('spanId=a8Bf93kLm2Qz7Xw1Pn4Rt6Yv').found()
+    }
+
+    def "keeps base64 padding but not a following assignment"() {
+        expect:
+        applySpans(msg, detector.detect(msg)) == expected
+
+        where:
+        msg                                      || expected
+        "k=dGhpcyBpcyBhIHNlY3JldCB2YWx1ZQ== next" || "k=[MASKED_SECRET] next"
+        "a8Bf93kLm2Qz7Xw1Pn4Rt6Yv=x"              || "[MASKED_SECRET]=x"
+    }
+
+    def "thresholds are configurable"() {
+        given:
+        def strict = new HighEntropyDetector(KVPatternConfig.defaults(), 32, 4.5d, 3.5d)
+
+        expect:
+        detector.detect("key X7kP2mQ9vL4nR8sT1wY6zB3c").found()
+        !strict.detect("key X7kP2mQ9vL4nR8sT1wY6zB3c").found()  // shorter than 32
+    }
+
+    def "rejects invalid configuration"() {
+        when:
+        new HighEntropyDetector(KVPatternConfig.defaults(), minLength, threshold, 3.0d)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        minLength | threshold
+        4         | 3.5d
+        20        | 0d
+        20        | Double.NaN
+    }
+
+    def "entropy is computed in bits per char"() {
+        expect:
+        Math.abs(HighEntropyDetector.entropy(s, 0, s.length()) - bits) < 1e-9
+
+        where:
+        s          || bits
+        "aaaa"     || 0.0d
+        "abab"     || 1.0d
+        "abcd"     || 2.0d
+        "01234567" || 3.0d
+    }
+
+    def "null/empty input returns empty result"() {
+        expect:
+        !detector.detect(null).found()
+        !detector.detect("").found()
+    }
+
+    private static String applySpans(String message, def detectionResult) {
+        if (!detectionResult.found()) return message
+        def spans = new ArrayList<>(detectionResult.spans())
+        spans.sort { a, b -> a.start() <=> b.start() ?: b.end() <=> a.end() }
+
+        StringBuilder out = new StringBuilder(message.length() + 16)
+        int pos = 0
+        spans.each { s ->
+            if (s.start() > pos) out.append(message, pos, s.start())
+            out.append(s.replacement())
+            pos = s.end()
+        }
+        if (pos < message.length()) out.append(message, pos, message.length())
+        out.toString()
+    }
+}
@@ -74,4 +74,35 @@ class IbanDetectorSpec extends Specification {
         expect:
         !det.detect(msg).found()
     }
-}
\ No newline at end of file
+
+    def "shortest country length (NO, 15 chars) is detected"() {
+        given:
+        def msg = "acct NO93 8601 1117 947 ok"
+
+        when:
+        def res = det.detect(msg)
+
+        then:
+        res.found()
+        applySpans(msg, res) == "acct [MASKED_IBAN] ok"
+    }
+
+    def "country code glued to a preceding letter or digit is not an anchor"() {
+        expect:
+        !det.detect("xDE89370400440532013000").found()
+        !det.detect("7GB82WEST12345698765432").found()
+    }
+
+    def "span stops at the first valid IBAN end"() {
+        given: "trailing digits after a valid DE IBAN are not part of the span"
+        def msg = "DE89370400440532013000 99"
+
+        when:
+        def res = det.detect(msg)
+
+        then:
+        res.spans().size() == 1
+        res.spans()[0].start() == 0
+        res.spans()[0].end() == 22
+    }
+}
@@ -83,17 +83,61 @@ class IpDetectorSpec extends Specification {
         applySpans(msg, detector.detect(msg)) == "peer=[MASKED_IP]"
     }
 
-    def "current implementation loosely validates IPv4 (high octets still masked)"() {
+    def "out-of-range IPv4 octets are not treated as addresses"() {
         given:
-        // NOTE: This is intentionally 'invalid' IPv4 but current regex will still match.
         def msg = "bad ip 999.999.999.999 observed"
 
+        expect:
+        !detector.detect(msg).found()
+    }
+
+    def "timestamps, MAC addresses and version strings are not IPs"() {
+        expect:
+        !detector.detect(msg).found()
+
+        where:
+        msg << [
+                "started at 12:30:45 UTC",
+                "mac 00:1a:2b:3c:4d:5e up",
+                "lib v1.2.3.4.5 loaded",
+                "Foo::bar called"
+        ]
+    }
+
+    def "compressed IPv6 forms and embedded IPv4 tails are detected"() {
+        given:
+        def msg = "lo=::1 ll=[fe80::1]:80 mapped=::ffff:10.1.2.3 net=2001:db8::"
+
+        expect:
+        applySpans(msg, detector.detect(msg)) == "lo=[MASKED_IP] ll=[[MASKED_IP]]:80 mapped=[MASKED_IP] net=[MASKED_IP]"
+    }
+
+    def "IPv6 addresses followed by a dot that is not an IPv4 tail are masked up to the dot"() {
+        expect:
+        applySpans(msg, detector.detect(msg)) == expected
+
+        where:
+        msg                         || expected
+        "client 2001:db8::1."       || "client [MASKED_IP]."
+        "peer fe80::1:2.x"          || "peer [MASKED_IP].x"
+        "mapped ::ffff:10.1.2.3."   || "mapped [MASKED_IP]."
+    }
+
+    def "addresses inside the CIDR allowlist are not masked"() {
+        given:
+        def det = new IpDetector(["10.0.0.0/8", "127.0.0.1", "fd00::/8", "::1"])
+        def msg = "a=10.1.2.3 b=127.0.0.1 c=8.8.8.8 d=fd12::5 e=::1 f=::ffff:10.9.9.9 g=2001:db8::1"
+
+        expect:
+        applySpans(msg, det.detect(msg)) == "a=10.1.2.3 b=127.0.0.1 c=[MASKED_IP] d=fd12::5 e=::1 f=::ffff:10.9.9.9 g=[MASKED_IP]"
+    }
+
+    def "invalid CIDR in the allowlist is rejected"() {
         when:
-        def res = detector.detect(msg)
+        new IpDetector(["10.0.0.0/33"])
 
         then:
-        res.found()
-        applySpans(msg, res) == "bad ip [MASKED_IP] observed"
+        thrown(IllegalArgumentException)
     }
 
     // ---------- helpers ----------
@@ -0,0 +1,104 @@
+package io.puriflow4j.core.detect
+
+import io.puriflow4j.core.preset.KVPatternConfig
+import spock.lang.Specification
+
+/**
+ * Tests for JsonDetector:
+ *  - blocklisted keys mask string and number values (nested objects, arrays)
+ *  - allowlisted keys are left untouched
+ *  - wrapped detectors only see string leaves and text outside JSON
+ *  - malformed JSON falls back to the plain path
+ */
+class JsonDetectorSpec extends Specification {
+
+    def kv = KVPatternConfig.of(["traceId"], ["password", "api-key", "secret", "token"])
+    def detector = new JsonDetector(kv, [new EmailDetector(), new PasswordKVDetector(kv)])
+
+    def "masks string and number values of blocklisted keys at any depth"() {
+        given:
+        def msg = '{"user":{"name":"bob","password":"p@ss w\\"rd","pin":1234,"API_KEY":"k1"},"token":-12.5e3}'
+
+        expect:
+        applySpans(msg, detector.detect(msg)) ==
+                '{"user":{"name":"bob","password":"[MASKED]","pin":1234,"API_KEY":"[MASKED]"},"token":[MASKED]}'
+    }
+
+    def "arrays inherit the key; nested objects use their own keys"() {
+        given:
+        def msg = '{"secret":["a", 42, {"x":"y"}, true]}'
+
+        expect:
+        applySpans(msg, detector.detect(msg)) == '{"secret":["[MASKED]", [MASKED], {"x":"y"}, true]}'
+    }
+
+    def "runs wrapped detectors on string leaves and on the surrounding text"() {
+        given:
+        def msg = 'Request {"email":"a@b.com","traceId":"c@d.org","n":"x"} from e@f.io'
+
+        expect:
+        applySpans(msg, detector.detect(msg)) ==
+                'Request {"email":"[MASKED_EMAIL]","traceId":"c@d.org","n":"x"} from [MASKED_EMAIL]'
+    }
+
+    def "handles several JSON payloads in one message"() {
+        given:
+        def msg = 'in={"password":"a"} out=[{"token":"b"}]'
+
+        expect:
+        applySpans(msg, detector.detect(msg)) == 'in={"password":"[MASKED]"} out=[{"token":"[MASKED]"}]'
+    }
+
+    def "falls back to the plain path when nothing parses as JSON"() {
+        expect:
+        applySpans(msg, detector.detect(msg)) == expected
+
+        where:
+        msg                                     || expected
+        '{"email": "a@b.com"'                   || '{"email": "[MASKED_EMAIL]"'
+        '{"a":"b" "c"} password=abc'            || '{"a":"b" "c"} password=[MASKED]'
+        'ids=[1,2] {} password=abc'             || 'ids=[1,2] {} password=[MASKED]'
+        '[main] INFO password=abc'              || '[main] INFO password=[MASKED]'
+    }
+
+    def "key lookup normalizes case and separators like KVPatternConfig"() {
+        given:
+        def trie = new KeyTrie(kv.block())
+
+        expect:
+        trie.matches(key, 0, key.length()) == blocked
+
+        where:
+        key         || blocked
+        "password"  || true
+        "PASSWORD"  || true
+        "api_key"   || true
+        "Api-Key"   || true
+        "api key"   || true
+        "apikeys"   || false
+        "pass"      || false
+        ""          || false
+    }
+
+    def "null/empty input returns empty result"() {
+        expect:
+        !detector.detect(null).found()
+        !detector.detect("").found()
+    }
+
+    private static String applySpans(String message, def detectionResult) {
+        if (!detectionResult.found()) return message
+        def spans = new ArrayList<>(detectionResult.spans())
+        spans.sort { a, b -> a.start() <=> b.start() ?: b.end() <=> a.end() }
+
+        StringBuilder out = new StringBuilder(message.length() + 16)
+        int pos = 0
+        spans.each { s ->
+            if (s.start() > pos) out.append(message, pos, s.start())
+            out.append(s.replacement())
+            pos = s.end()
+        }
+        if (pos < message.length()) out.append(message, pos, message.length())
+        out.toString()
+    }
+}
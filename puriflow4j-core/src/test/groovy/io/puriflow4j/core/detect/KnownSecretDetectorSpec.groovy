@@ -0,0 +1,48 @@
+package io.puriflow4j.core.detect
+
+import spock.lang.Specification
+
+/**
+ * Tests for KnownSecretDetector:
+ *  - exact occurrences of known secrets are masked, whatever their shape and position
+ *  - short and blank values are not registered
+ *  - several lengths and overlapping occurrences are all reported
+ */
+class KnownSecretDetectorSpec extends Specification {
+
+    def detector = new KnownSecretDetector(KnownSecretDetector.Fingerprints.of(
+            ["Tr0ub4dor&3", "shape-less secret", "abcabc", "true", "      "]))
+
+    def "masks exact occurrences of known secrets"() {
+        given:
+        def msg = "login Tr0ub4dor&3 failed; secret was shape-less secret"
+
+        when:
+        def r = detector.detect(msg)
+
+        then:
+        r.found()
+        r.spans().collect { msg.substring(it.start(), it.end()) } == ["Tr0ub4dor&3", "shape-less secret"]
+        r.spans()*.type() == ["knownSecret", "knownSecret"]
+        r.spans()*.replacement() == ["[MASKED_SECRET]", "[MASKED_SECRET]"]
+    }
+
+    def "reports overlapping occurrences"() {
+        expect:
+        detector.detect("xabcabcabc").spans().collect { [it.start(), it.end()] } == [[1, 7], [4, 10]]
+    }
+
+    def "ignores near misses, short values and short messages"() {
+        expect:
+        !detector.detect(msg).found()
+
+        where:
+        msg << [null, "", "Tr0ub4dor&", "tr0ub4dor&3", "true", "      ", "abc"]
+    }
+
+    def "skips values shorter than the minimum length"() {
+        expect:
+        KnownSecretDetector.Fingerprints.of(["12345", "", null, " " * 10]).isEmpty()
+        KnownSecretDetector.Fingerprints.of(["abcdef", "ghijkl", "abcdefg"]).lengthCount() == 2
+    }
+}
@@ -116,6 +116,34 @@ class TokenDetectorSpec extends Specification {
         !det.detect("foo.bar (two segments only) is not a JWT").found()
     }
 
+    def "bare token right after a package-like prefix is not masked"() {
+        given:
+        def msg = "at com.acme.Foo.${LONG_JWT}"
+
+        expect:
+        !det.detect(msg).found()
+    }
+
+    def "bare token without digits in header and payload is not masked"() {
+        given:
+        def token = "eyJabcdefghijklmnop.abcdefghijklmnopqrstuv.abcdefghijklmnopqrstuvwxyz"
+
+        expect:
+        !det.detect("value " + token).found()
+    }
+
+    def "verifyHeader requires a JSON header with an alg field"() {
+        given:
+        def strict = new TokenDetector(true)
+        // header decodes to {"typ":"JWT","x":123} — no "alg"
+        def noAlg = "eyJ0eXAiOiJKV1QiLCJ4IjoxMjN9." + LONG_JWT.substring(LONG_JWT.indexOf('.') + 1)
+
+        expect:
+        strict.detect("got: " + LONG_JWT).found()
+        !strict.detect("got: " + noAlg).found()
+        det.detect("got: " + noAlg).found()
+    }
+
     def "null and empty input returns no spans"() {
         expect:
         !det.detect(null).found()
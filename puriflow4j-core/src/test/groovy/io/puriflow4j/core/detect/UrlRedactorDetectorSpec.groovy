@@ -5,6 +5,7 @@
 package io.puriflow4j.core.detect
 
 import io.puriflow4j.core.api.model.DetectionResult
+import io.puriflow4j.core.preset.KVPatternConfig
 import spock.lang.Specification
 
 class UrlRedactorDetectorSpec extends Specification {
@@ -101,6 +102,40 @@ class UrlRedactorDetectorSpec extends Specification {
         applySpans(msg, det.detect(msg)) == "see (https://[MASKED_URL]), thanks."
     }
 
+    def "structured mode keeps scheme, host and path but masks userinfo and blocklisted query values"() {
+        given:
+        def structured = new UrlRedactorDetector(
+                UrlRedactorDetector.Granularity.STRUCTURED, KVPatternConfig.defaults(), false)
+
+        expect:
+        applySpans(msg, structured.detect(msg)) == expected
+
+        where:
+        msg                                                  || expected
+        "redis://:secret@localhost:6379/0"                   || "redis://[MASKED]@localhost:6379/0"
+        "https://api.example.com/v1?token=abc&page=2"        || "https://api.example.com/v1?token=[MASKED]&page=2"
+        "https://app.example.com/cb#api_key=xyz"             || "https://app.example.com/cb#api_key=[MASKED]"
+        "mongodb://cluster0.example.com/db?authSource=admin" || "mongodb://cluster0.example.com/db?authSource=admin"
+    }
+
+    def "structured mode optionally masks ID-like path segments"() {
+        given:
+        def structured = new UrlRedactorDetector(
+                UrlRedactorDetector.Granularity.STRUCTURED, KVPatternConfig.defaults(), true)
+        def msg = "GET https://api.example.com/v1/users/12345/orders/3f2b8a4c-1d2e-4f5a-9b8c-7d6e5f4a3b2c done"
+
+        expect:
+        applySpans(msg, structured.detect(msg)) ==
+                "GET https://api.example.com/v1/users/[MASKED]/orders/[MASKED] done"
+    }
+
+    def "scheme must start on a word boundary"() {
+        expect:
+        applySpans("xjdbc:postgresql://db/app", det.detect("xjdbc:postgresql://db/app")) ==
+                "xjdbc:postgresql://[MASKED_URL]"
+        !det.detect("myhttp://host/x").found()
+    }
+
     def "null and empty input returns original"() {
         expect:
         applySpans(null, det.detect(null)) == null
@@ -0,0 +1,62 @@
+package io.puriflow4j.core.detect
+
+import spock.lang.Specification
+
+/**
+ * Tests for the bundled vendor secret rule pack and its parser.
+ */
+class VendorSecretRulesSpec extends Specification {
+
+    def "bundled pack loads and covers 100+ vendor formats"() {
+        when:
+        def rules = VendorSecretRules.load()
+
+        then:
+        rules.size() >= 100
+        rules*.id().toSet().size() == rules.size() // ids are unique
+        VendorSecretRules.apiTokens().size() + VendorSecretRules.cloudAccessKeys().size() == rules.size()
+    }
+
+    def "parses a rule line"() {
+        when:
+        def rule = VendorSecretRules.parse("gitlab-pat  apiToken  glpat-  [A-Za-z0-9_-]  20  -  -", 1)
+
+        then:
+        rule.id() == "gitlab-pat"
+        rule.prefix() == "glpat-"
+        rule.min() == 20
+        rule.max() == Integer.MAX_VALUE
+        rule.validator() == VendorSecretRules.Validator.NONE
+        rule.charset()[(int) '_'] && rule.charset()[(int) '-'] && !rule.charset()[(int) '.']
+    }
+
+    def "rejects malformed rule lines"() {
+        when:
+        VendorSecretRules.parse(line, 7)
+
+        then:
+        def e = thrown(IllegalStateException)
+        e.message.contains(":7:")
+
+        where:
+        line << [
+                "too few fields",
+                "x apiToken -pfx [A-Z] 1 2 -",      // prefix starts with a non-word char
+                "x apiToken pfx A-Z 1 2 -",         // charset without brackets
+                "x apiToken pfx [A-Z] 5 2 -",       // max < min
+                "x apiToken pfx [A-Z] 1 2 luhn",    // unknown validator
+        ]
+    }
+
+    def "tries the longest matching prefix first"() {
+        given:
+        def rules = new VendorSecretRules([
+                VendorSecretRules.parse("short  apiToken  sk-       [a-z]  3  3  -", 1),
+                VendorSecretRules.parse("long   apiToken  sk-proj-  [a-z]  3  -  -", 2),
+        ], "apiToken")
+
+        expect:
+        rules.scan("k=sk-proj-abcdef", "t", "M", null)*.end() == [16]
+        rules.scan("k=sk-abc", "t", "M", null)*.end() == [8]
+    }
+}
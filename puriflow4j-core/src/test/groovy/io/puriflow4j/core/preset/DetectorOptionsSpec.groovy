@@ -0,0 +1,70 @@
+package io.puriflow4j.core.preset
+
+import io.puriflow4j.core.detect.HighEntropyDetector
+import io.puriflow4j.core.detect.KnownSecretDetector
+import io.puriflow4j.core.detect.UrlRedactorDetector
+import spock.lang.Specification
+
+/**
+ * Tests for DetectorOptions:
+ * - defaults
+ * - toBuilder / with* change only the given options
+ * - null inputs fall back to defaults, lists are copied
+ */
+class DetectorOptionsSpec extends Specification {
+
+    def "defaults"() {
+        given:
+        def o = DetectorOptions.defaults()
+
+        expect:
+        o.ipAllowlist() == []
+        !o.emailKeepDomain()
+        !o.jwtVerifyHeader()
+        o.urlGranularity() == UrlRedactorDetector.Granularity.FULL
+        !o.urlMaskIdSegments()
+        o.entropyMinLength() == HighEntropyDetector.DEFAULT_MIN_LENGTH
+        o.entropyThreshold() == HighEntropyDetector.DEFAULT_THRESHOLD
+        o.entropyHexThreshold() == HighEntropyDetector.DEFAULT_HEX_THRESHOLD
+        o.customPatterns() == []
+        DetectorOptions.builder().build() == o
+    }
+
+    def "toBuilder and with* keep all other options"() {
+        given:
+        def base = DetectorOptions.builder().emailKeepDomain(true).ipAllowlist(["10.0.0.0/8"]).build()
+
+        when:
+        def derived = base.toBuilder().jwtVerifyHeader(true).build().withEntropy(24, 4.0d, 3.5d)
+
+        then:
+        derived.emailKeepDomain()
+        derived.ipAllowlist() == ["10.0.0.0/8"]
+        derived.jwtVerifyHeader()
+        derived.entropyMinLength() == 24
+        derived.entropyHexThreshold() == 3.5d
+
+        and: "the source is unchanged"
+        !base.jwtVerifyHeader()
+        base.entropyMinLength() == HighEntropyDetector.DEFAULT_MIN_LENGTH
+    }
+
+    def "null inputs fall back to defaults and lists are copied"() {
+        given:
+        def cidrs = ["10.0.0.0/8"]
+        def o = DetectorOptions.builder()
+                .ipAllowlist(cidrs)
+                .urlGranularity(null)
+                .customPatterns(null)
+                .knownSecrets(null)
+                .build()
+        cidrs << "fd00::/8"
+
+        expect:
+        o.ipAllowlist() == ["10.0.0.0/8"]
+        o.urlGranularity() == UrlRedactorDetector.Granularity.FULL
+        o.customPatterns() == []
+        o.knownSecrets() == KnownSecretDetector.Fingerprints.empty()
+        o.withIpAllowlist(null).ipAllowlist() == []
+    }
+}
@@ -1,7 +1,9 @@
 package io.puriflow4j.core.preset
 
+import io.puriflow4j.core.api.Detector
 import io.puriflow4j.core.api.model.*
 import io.puriflow4j.core.detect.*
+import io.puriflow4j.core.spi.*
 import spock.lang.Specification
 
 /**
@@ -10,6 +12,10 @@ import spock.lang.Specification
  * - GenericKVBlocklistDetector injected only when policy is present (allow/block not empty)
  * - deterministic ordering of detectors
  * - honoring custom enabled set
+ * - JSON / ENCODED layer wrapping
+ * - plugin detectors (ServiceLoader SPI) enabled by id
+ * - custom patterns from DetectorOptions
+ * - known-secret fingerprints from DetectorOptions
  */
 class DetectorRegistrySpec extends Specification {
 
@@ -52,13 +58,15 @@ class DetectorRegistrySpec extends Specification {
                 DetectorType.CLOUD_ACCESS_KEY,
                 DetectorType.API_TOKEN_WELL_KNOWN,
                 DetectorType.BASIC_AUTH,
+                DetectorType.AUTH_HEADER,
                 DetectorType.DB_CREDENTIAL,
                 DetectorType.URL_REDACTOR,
                 DetectorType.PRIVATE_KEY,
                 DetectorType.CREDIT_CARD,
                 DetectorType.PASSWORD_KV,
                 DetectorType.IBAN,
-                DetectorType.IP
+                DetectorType.IP,
+                DetectorType.HIGH_ENTROPY
         ), kv)
         def names = detectors*.class*.simpleName
 
@@ -73,13 +81,15 @@ class DetectorRegistrySpec extends Specification {
         names.indexOf("DbCredentialDetector")     > names.indexOf("BasicAuthDetector")  // structured creds
         names.indexOf("UrlRedactorDetector")      > names.indexOf("DbCredentialDetector")
 
-        names.indexOf("TokenDetector")            > names.indexOf("UrlRedactorDetector") // tokens
+        names.indexOf("AuthHeaderDetector")       > names.indexOf("UrlRedactorDetector") // headers / tokens
+        names.indexOf("TokenDetector")            > names.indexOf("AuthHeaderDetector")
 
         // data formats afterwards
         names.indexOf("CreditCardDetector")       > names.indexOf("TokenDetector")
         names.indexOf("EmailDetector")            > names.indexOf("CreditCardDetector")
         names.indexOf("IbanDetector")             > names.indexOf("EmailDetector")
         names.indexOf("IpDetector")               > names.indexOf("IbanDetector")
+        names.indexOf("HighEntropyDetector")      > names.indexOf("IpDetector")        // generic fallback
 
         // private key at the end
         names.last() == "PrivateKeyDetector"
@@ -106,4 +116,125 @@ class DetectorRegistrySpec extends Specification {
                 EmailDetector
         ] as Set
     }
-}
\ No newline at end of file
+
+    def "JSON wraps all other detectors into a single JsonDetector"() {
+        given:
+        def kv = KVPatternConfig.of([], ["password"])
+        def reg = new DetectorRegistry()
+
+        when:
+        def detectors = reg.build([DetectorType.EMAIL, DetectorType.JSON, DetectorType.PASSWORD_KV], kv)
+
+        then:
+        detectors.size() == 1
+        detectors[0] instanceof JsonDetector
+        (detectors[0] as JsonDetector).valueDetectors()*.class == [
+                GenericKVBlocklistDetector,
+                PasswordKVDetector,
+                EmailDetector
+        ]
+    }
+
+    def "ENCODED wraps the detectors into a DecodingDetector, inside the JSON layer"() {
+        given:
+        def kv = KVPatternConfig.of([], [])
+        def reg = new DetectorRegistry()
+
+        when:
+        def detectors = reg.build([DetectorType.JSON, DetectorType.ENCODED, DetectorType.EMAIL], kv)
+        def json = detectors[0] as JsonDetector
+        def decoding = json.valueDetectors()[0] as DecodingDetector
+
+        then:
+        detectors.size() == 1
+        json.valueDetectors().size() == 1
+        decoding.detectors()*.class == [EmailDetector]
+    }
+
+    def "discovers plugins with ServiceLoader and enables them by id only"() {
+        given:
+        def kv = KVPatternConfig.of([], [])
+
+        expect:
+        new DetectorRegistry().build([DetectorType.EMAIL], kv, DetectorOptions.defaults(), [])*.class == [EmailDetector]
+
+        when:
+        def detectors = new DetectorRegistry().build([DetectorType.EMAIL], kv, DetectorOptions.defaults(), ["acme-account"])
+
+        then:
+        detectors*.class == [EmailDetector, PluginDetector]
+        (detectors[1] as PluginDetector).metadata().id() == "acme-account"
+        detectors[1].detect("id ACCT-12345678").spans()*.replacement() == ["[MASKED_ACCOUNT]"]
+    }
+
+    def "plugins run after built-in detectors, cheapest first"() {
+        given:
+        def reg = new DetectorRegistry([plugin("slow", DetectorMetadata.Cost.EXPENSIVE), plugin("fast", DetectorMetadata.Cost.CHEAP)])
+
+        when:
+        def detectors = reg.build([DetectorType.PRIVATE_KEY], KVPatternConfig.of([], []), DetectorOptions.defaults(), ["slow", "fast"])
+
+        then:
+        detectors[0] instanceof PrivateKeyDetector
+        detectors.drop(1).collect { (it as PluginDetector).metadata().id() } == ["fast", "slow"]
+    }
+
+    def "unknown or duplicate plugin ids are rejected"() {
+        when:
+        new DetectorRegistry([plugin("a", DetectorMetadata.Cost.CHEAP)]).build([], KVPatternConfig.of([], []), DetectorOptions.defaults(), ["b"])
+
+        then:
+        def e = thrown(IllegalArgumentException)
+        e.message.contains("'b'")
+        e.message.contains("[a]")
+
+        when:
+        new DetectorRegistry([plugin("a", DetectorMetadata.Cost.CHEAP), plugin("a", DetectorMetadata.Cost.CHEAP)])
+                .build([], KVPatternConfig.of([], []), DetectorOptions.defaults(), ["a"])
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+    def "custom patterns run after private keys and before plugins"() {
+        given:
+        def options = DetectorOptions.defaults().withCustomPatterns([new CustomPatternDetector.Rule("order", /ORD-\d{8}/)])
+        def reg = new DetectorRegistry([plugin("fast", DetectorMetadata.Cost.CHEAP)])
+
+        when:
+        def detectors = reg.build([DetectorType.PRIVATE_KEY], KVPatternConfig.of([], []), options, ["fast"])
+
+        then:
+        detectors*.class == [PrivateKeyDetector, CustomPatternDetector, PluginDetector]
+        detectors[1].detect("ref ORD-12345678").spans()*.type() == ["custom:order"]
+
+        and: "no detector without patterns"
+        reg.build([], KVPatternConfig.of([], []), DetectorOptions.defaults(), []).isEmpty()
+    }
+
+    def "known secrets run right after the policy detector"() {
+        given:
+        def options = DetectorOptions.defaults()
+                .withKnownSecrets(KnownSecretDetector.Fingerprints.of(["Tr0ub4dor&3"]))
+        def reg = new DetectorRegistry()
+
+        when:
+        def detectors = reg.build(
+                [DetectorType.EMAIL, DetectorType.KNOWN_SECRET], KVPatternConfig.of([], ["pin"]), options, [])
+
+        then:
+        detectors*.class == [GenericKVBlocklistDetector, KnownSecretDetector, EmailDetector]
+        detectors[1].detect("pw Tr0ub4dor&3").found()
+
+        and: "no detector without fingerprints"
+        reg.build([DetectorType.KNOWN_SECRET], KVPatternConfig.of([], []), DetectorOptions.defaults(), []).isEmpty()
+    }
+
+    private static DetectorProvider plugin(String id, DetectorMetadata.Cost cost) {
+        new DetectorProvider() {
+            DetectorMetadata metadata() { new DetectorMetadata(id, [], 0, cost, true) }
+
+            Detector create(KVPatternConfig kv, DetectorOptions options) { { String m -> DetectionResult.empty() } as Detector }
+        }
+    }
+}
@@ -6,7 +6,7 @@ import spock.lang.Specification
  * Tests for KVPatternConfig:
  * - key normalization (lower-case, strip -, _, spaces)
  * - defaults content
- * - allow/block membership with various key variants
+ * - allow/block membership with various key variants, also on a char range
  * - null/empty inputs
  * - deduplication after normalization
  */
@@ -48,6 +48,26 @@ class KVPatternConfigSpec extends Specification {
         cfg2.block().isEmpty()
     }
 
+    def "isBlockedKey on a char range agrees with the String variant"() {
+        given:
+        def cfg = KVPatternConfig.of([], ["api-key", "token"])
+        def text = "?" + key + "=v"
+
+        expect:
+        cfg.isBlockedKey(text, 1, 1 + key.length()) == blocked
+        cfg.isBlockedKey(key) == blocked
+
+        where:
+        key         || blocked
+        "API_KEY"   || true
+        "api key"   || true
+        "Token"     || true
+        "tokens"    || false
+        "tok"       || false
+        "apikeyX"   || false
+        "İtem"      || false
+    }
+
     def "isAllowedKey is true for any stylistic variant of the same key"() {
         given:
         def cfg = KVPatternConfig.of(["Trace-Id"], [])
@@ -0,0 +1,125 @@
+package io.puriflow4j.core.regex
+
+import spock.lang.Specification
+import spock.lang.Timeout
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Tests for MultiRegex:
+ *  - supported syntax agrees with java.util.regex
+ *  - backtracking-only constructs and empty-matching patterns are rejected
+ *  - pathological patterns stay linear
+ *  - many patterns in one automaton, regions per pattern
+ */
+class MultiRegexSpec extends Specification {
+
+    def "finds the same regions as java.util.regex for supported syntax"() {
+        expect:
+        regions(regex, text) == expected
+
+        where:
+        regex                    | text                            || expected
+        /\d{3,5}/                | "id 12 1234 x"                  || ["1234"]
+        /ab|cd/                  | "xabycdz"                       || ["ab", "cd"]
+        /\bfoo\b/                | "foo food foo"                  || ["foo", "foo"]
+        /^ab/                    | "abab"                          || ["ab"]
+        'b$'                     | "abab"                          || ["b"]
+        /(?i)secret/             | "SeCrEt"                        || ["SeCrEt"]
+        /x[^y]+y/                | "x12y"                          || ["x12y"]
+        /\w+@\w+\.com/           | "mail a@b.com now"              || ["a@b.com"]
+        /(?:ab)+/                | "abababc"                       || ["ababab"]
+        /\Qa.b\E/                | "a.b axb"                       || ["a.b"]
+        /a.c/                    | "a\nc abc"                      || ["abc"]
+        /(?s)a.c/                | "a\nc"                          || ["a\nc"]
+        /[\x41-\x43]+/           | "xABCDx"                        || ["ABC"]
+        /été/                    | "café été"                      || ["été"]
+    }
+
+    def "masks group 1 when the pattern has a capturing group"() {
+        expect:
+        regions(/password=(\w+)/, "login password=hunter2 ok") == ["hunter2"]
+        regions(/(?<v>\d+)ms/, "took 120ms") == ["120"]
+        regions(/(?:id)=(\d+)/, "id=42") == ["42"]
+    }
+
+    def "rejects constructs that need backtracking and patterns matching the empty string"() {
+        when:
+        MultiRegex.compile([regex])
+
+        then:
+        def e = thrown(IllegalArgumentException)
+        e.message.contains(fragment)
+
+        where:
+        regex      || fragment
+        /(a)\1/    || "Backreferences"
+        /(?=a)b/   || "Lookaround"
+        /(?<!a)b/  || "Lookaround"
+        /(?>a)/    || "Atomic"
+        /a++/      || "Possessive"
+        /\p{L}/    || "Unicode property"
+        /[a[b]]/   || "Nested character classes"
+        /a*/       || "empty string"
+        /a|/       || "empty string"
+        /x{5,2}/   || "Bad repetition"
+        /a{1001}/  || "above 1000"
+        /(a/       || "Unclosed group"
+        /\q/       || "Unsupported escape"
+    }
+
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    def "pathological patterns run in linear time"() {
+        given:
+        def regex = MultiRegex.compile(['(a+)+$', /(x+x+)+y/, /(\w|\d)+!/])
+
+        expect:
+        regex.findAll("a" * 100_000 + "!") == [new MultiRegex.Match(2, 99_999, 100_000)]
+        regex.findAll("x" * 100_000).isEmpty()
+    }
+
+    def "compiles many patterns into one automaton and reports regions per pattern"() {
+        given:
+        def regex = MultiRegex.compile((0..<50).collect { "key$it=(\\w+)".toString() })
+
+        expect:
+        regex.findAll("a key7=secret b key49=zz c key7=more") == [
+                new MultiRegex.Match(7, 7, 13),
+                new MultiRegex.Match(7, 32, 36),
+                new MultiRegex.Match(49, 22, 24)
+        ]
+        regex.findAll("GET /api/v1/users?id=42 status=200").isEmpty()
+        !regex.matches("nothing here")
+    }
+
+    def "the DFA selects only the patterns that may match for the VM"() {
+        given:
+        def patterns = (0..<50).collect { "key$it=(\\w+)".toString() } + [/\bfoo\b/]
+        def dfa = new Dfa(Program.compile(patterns.collect { RegexParser.parse(it) }, new boolean[patterns.size()]))
+        def hit = new boolean[patterns.size()]
+
+        when:
+        int count = dfa.candidates(text, hit)
+
+        then:
+        count == expected.size()
+        (0..<hit.length).findAll { hit[it] } == expected
+
+        where:
+        text                    || expected
+        "a key7=secret b"       || [7]
+        "key49=x key7=y key7=z" || [7, 49]
+        "xfooy"                 || [50] // assertions are over-approximated, the VM rejects it
+        "nothing here"          || []
+    }
+
+    def "overlapping matches are merged into one region"() {
+        expect:
+        regions(/\d{4}/, "123456 12") == ["123456"]
+        regions(/a{2}/, "aaaa") == ["aaaa"]
+    }
+
+    private static List<String> regions(String regex, String text) {
+        MultiRegex.compile([regex]).findAll(text).collect { text.substring(it.start(), it.end()) }
+    }
+}
@@ -0,0 +1,31 @@
+package io.puriflow4j.core.spi
+
+import io.puriflow4j.core.api.Detector
+import io.puriflow4j.core.api.model.DetectionResult
+import io.puriflow4j.core.preset.DetectorOptions
+import io.puriflow4j.core.preset.KVPatternConfig
+
+/** Test plugin registered in META-INF/services: masks "ACCT-" followed by 8 digits. */
+class AccountNumberTestProvider implements DetectorProvider {
+
+    static final DetectorMetadata METADATA =
+            new DetectorMetadata("acme-account", ["ACCT-"], 13, DetectorMetadata.Cost.CHEAP, true)
+
+    @Override
+    DetectorMetadata metadata() {
+        METADATA
+    }
+
+    @Override
+    Detector create(KVPatternConfig kv, DetectorOptions options) {
+        new Detector() {
+            @Override
+            DetectionResult detect(String message) {
+                def m = message =~ /ACCT-\d{8}/
+                def spans = []
+                while (m.find()) spans << new DetectionResult.Span(m.start(), m.end(), "acmeAccount", "[MASKED_ACCOUNT]")
+                spans ? new DetectionResult(true, spans) : DetectionResult.empty()
+            }
+        }
+    }
+}
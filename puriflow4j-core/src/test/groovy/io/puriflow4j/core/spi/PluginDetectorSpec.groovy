@@ -0,0 +1,119 @@
+package io.puriflow4j.core.spi
+
+import io.puriflow4j.core.api.Detector
+import io.puriflow4j.core.api.model.DetectionResult
+import io.puriflow4j.core.preset.DetectorOptions
+import io.puriflow4j.core.preset.KVPatternConfig
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+import spock.lang.Specification
+
+/**
+ * Tests for PluginDetector:
+ *  - trigger literals prefilter messages
+ *  - non-thread-safe detectors get one instance per thread
+ *  - bounded detectors run in overlapping chunks, reporting each match once
+ *  - metadata validation
+ */
+class PluginDetectorSpec extends Specification {
+
+    def kv = KVPatternConfig.defaults()
+    def options = DetectorOptions.defaults()
+
+    def "skips messages without any trigger literal (case-insensitive)"() {
+        given:
+        def calls = new AtomicInteger()
+        def provider = provider(new DetectorMetadata("p", ["ACCT-", "sess="], 0, DetectorMetadata.Cost.CHEAP, true)) {
+            calls.incrementAndGet()
+            DetectionResult.empty()
+        }
+        def detector = new PluginDetector(provider, kv, options)
+
+        when:
+        detector.detect("nothing to see here")
+        detector.detect("no account")
+        detector.detect("acct-12345678")
+        detector.detect("x SESS=abc")
+
+        then:
+        calls.get() == 2
+    }
+
+    def "a thread-safe detector is created once, others once per thread"() {
+        given:
+        def created = new AtomicInteger()
+        def instances = ConcurrentHashMap.newKeySet()
+        boolean safe = threadSafe // data variables are not visible inside the anonymous class
+        def provider = new DetectorProvider() {
+            DetectorMetadata metadata() {
+                new DetectorMetadata("p", [], 0, DetectorMetadata.Cost.CHEAP, safe)
+            }
+
+            Detector create(KVPatternConfig k, DetectorOptions o) {
+                created.incrementAndGet()
+                def d = { String m -> DetectionResult.empty() } as Detector
+                instances << d
+                d
+            }
+        }
+        def detector = new PluginDetector(provider, kv, options)
+
+        when:
+        def threads = (1..3).collect { Thread.start { detector.detect("a"); detector.detect("b") } }
+        threads*.join()
+
+        then:
+        created.get() == expected
+
+        where:
+        threadSafe || expected
+        true       || 1
+        false      || 3
+    }
+
+    def "bounded detectors see long messages in overlapping chunks and report every match once"() {
+        given:
+        def sizes = []
+        def inner = new AccountNumberTestProvider()
+        def provider = provider(AccountNumberTestProvider.METADATA) { String m ->
+            sizes << m.length()
+            inner.create(kv, options).detect(m)
+        }
+        def detector = new PluginDetector(provider, kv, options)
+        // matches placed right before, across and after the first window edge
+        def sb = new StringBuilder("x" * 30_000)
+        def at = [0, PluginDetector.CHUNK - 40, PluginDetector.CHUNK - 6, PluginDetector.CHUNK + 10, 29_000]
+        at.each { sb.replace(it, it + 13, "ACCT-" + String.format("%08d", it)) }
+
+        when:
+        def res = detector.detect(sb.toString())
+
+        then:
+        res.spans()*.start() == at
+        res.spans().every { it.end() - it.start() == 13 }
+        sizes.size() > 1
+        sizes.every { it <= PluginDetector.CHUNK }
+    }
+
+    def "validates metadata"() {
+        when:
+        new DetectorMetadata(id, triggers, max, DetectorMetadata.Cost.CHEAP, true)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        id   | triggers | max
+        " "  | []       | 0
+        "p"  | [""]     | 0
+        "p"  | []       | -1
+    }
+
+    private static DetectorProvider provider(DetectorMetadata metadata, Closure<DetectionResult> body) {
+        new DetectorProvider() {
+            DetectorMetadata metadata() { metadata }
+
+            Detector create(KVPatternConfig k, DetectorOptions o) { body as Detector }
+        }
+    }
+}
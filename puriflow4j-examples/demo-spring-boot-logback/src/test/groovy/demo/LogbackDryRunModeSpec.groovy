@@ -89,7 +89,7 @@ class LogbackDryRunModeSpec extends BaseLogbackSpec {
         and:
         def logsSize = appender.list.size()
         appender.list[logsSize - 2].formattedMessage == "Charge card=4539 1488 0343 6467"
-        appender.list[logsSize - 1].formattedMessage == "[puriflow4j DRY-RUN]: detected 2 sensitive fragment(s) in logger='demo.DemoController' types=[card, token]. Enable puriflow4j.logs.mode=mask (or strict) to auto-sanitize."
+        appender.list[logsSize - 1].formattedMessage == "[puriflow4j DRY-RUN]: detected 2 sensitive fragment(s) in logger='demo.DemoController' types=[card:visa, token]. Enable puriflow4j.logs.mode=mask (or strict) to auto-sanitize."
     }
 
     def "GET /log/secrets -> exact lines for password and api key NOT masked AND puriflow4j DRY-RUN warning is printed"() {
@@ -199,7 +199,7 @@ class LogbackDryRunModeSpec extends BaseLogbackSpec {
                 "\n" +
                 "--- end"
 
-        appender.list[logsSize - 1].formattedMessage == "[puriflow4j DRY-RUN]: detected 4 sensitive fragment(s) in logger='demo.DemoController' types=[password, url, dbCredential, token]. Enable puriflow4j.logs.mode=mask (or strict) to auto-sanitize."
+        appender.list[logsSize - 1].formattedMessage == "[puriflow4j DRY-RUN]: detected 4 sensitive fragment(s) in logger='demo.DemoController' types=[password, url, dbCredential:jdbc, token]. Enable puriflow4j.logs.mode=mask (or strict) to auto-sanitize."
     }
 
     def "GET /log/plain -> exact unmasked line"() {
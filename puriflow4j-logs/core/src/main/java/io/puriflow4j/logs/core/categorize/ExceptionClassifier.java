@@ -10,6 +10,14 @@ import io.puriflow4j.logs.core.model.ThrowableView;
 public interface ExceptionClassifier {
     CategoryResult classify(ThrowableView tv);
 
+    /**
+     * Same as {@link #classify(ThrowableView)}, with the original exception when the backend still has it
+     * ({@code null} otherwise), so that implementations can look at its type rather than only its class name.
+     */
+    default CategoryResult classify(ThrowableView tv, Throwable t) {
+        return classify(tv);
+    }
+
     /** Simple DTO with label and optional sub-code for future use. */
     record CategoryResult(String label) {
         public static final CategoryResult NONE = new CategoryResult(null);
@@ -5,64 +5,199 @@
 package io.puriflow4j.logs.core.categorize;
 
 import io.puriflow4j.logs.core.model.ThrowableView;
+import io.puriflow4j.logs.core.shorten.PackageFilter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
-/** Lightweight heuristics based on class names/packages. */
+/**
+ * Classifies exceptions by type hierarchy, then by class name heuristics.
+ *
+ * <p>Custom rule tables (label -> entries) come first, then the built-in categories DB, JSON, HTTP, IO, SECURITY
+ * and TIMEOUT. Classification runs two passes over the rules, in that order; the first match wins:</p>
+ * <ol>
+ *   <li>type hierarchy: a type entry ({@code java.sql.SQLException}) names the exception class or one of its
+ *       superclasses or interfaces; without the original {@link Throwable} only the class itself is known;</li>
+ *   <li>class name, only if no rule claimed a type: a package entry, ending with {@code '.'} or containing
+ *       {@code '*'} ({@code com.acme.payments.}, {@code com.acme.*.billing.}), matches the class name as in
+ *       {@link PackageFilter}; or, built-in rules only, a keyword occurs in the lower-cased class name
+ *       ({@code jdbc}, {@code timeout}), or a package segment below the top-level domain equals one
+ *       ({@code io}, {@code nio}): {@code java.io.X} is IO, {@code com.ratio.X} and {@code io.netty.X} are not.</li>
+ * </ol>
+ *
+ * <p>So a {@code TimeoutException} subclass named {@code HttpClientTimeoutException} is TIMEOUT, not HTTP: the
+ * name of an earlier category never overrides the type of a later one.</p>
+ *
+ * <p>The verdict is computed once per exception class: in a {@link ClassValue} when the {@link Throwable} is
+ * available, otherwise in a bounded table keyed by class name. Repeated lookups are O(1) and allocation-free.</p>
+ */
 public final class HeuristicExceptionClassifier implements ExceptionClassifier {
+    static final int NAMES = 512; // power of two
+
+    private static final List<Rule> DEFAULTS = List.of(
+            Rule.builtIn(
+                    "DB",
+                    List.of("java.sql.SQLException", "org.springframework.dao.DataAccessException"),
+                    List.of("sql", "jdbc", "postgres", "mysql", "oracle", "mongo", "redis", "datasource"),
+                    List.of()),
+            Rule.builtIn(
+                    "JSON",
+                    List.of(
+                            "com.fasterxml.jackson.core.JacksonException",
+                            "com.fasterxml.jackson.core.JsonProcessingException"),
+                    List.of("json", "jackson"),
+                    List.of()),
+            Rule.builtIn("HTTP", List.of(), List.of("http", "servlet", "feign", "restclient"), List.of()),
+            Rule.builtIn(
+                    "IO",
+                    List.of("java.io.IOException", "java.io.UncheckedIOException"),
+                    List.of("ioexception", "socket", "channel"),
+                    List.of("io", "nio")),
+            Rule.builtIn(
+                    "SECURITY",
+                    List.of("java.lang.SecurityException"),
+                    List.of("accessdenied", "authentication", "authorization", "security", "forbidden", "unauthor"),
+                    List.of()),
+            Rule.builtIn(
+                    "TIMEOUT",
+                    List.of("java.util.concurrent.TimeoutException"),
+                    List.of("timeout", "timedout"),
+                    List.of()));
+
+    private final List<Rule> rules;
+    private final ClassValue<CategoryResult> byClass = new ClassValue<>() {
+        @Override
+        protected CategoryResult computeValue(Class<?> type) {
+            return compute(type.getName(), hierarchy(type));
+        }
+    };
+    private final NameEntry[] byName = new NameEntry[NAMES];
+
+    /** Built-in categories only. */
+    public HeuristicExceptionClassifier() {
+        this(Map.of());
+    }
+
+    /**
+     * @param custom label -> type names or package patterns, checked in iteration order before the built-in
+     *     categories (use a {@code LinkedHashMap} for a stable order)
+     */
+    public HeuristicExceptionClassifier(Map<String, List<String>> custom) {
+        List<Rule> all = new ArrayList<>();
+        if (custom != null) {
+            custom.forEach((label, entries) -> {
+                if (label != null && !label.isBlank()) all.add(Rule.custom(label.trim(), entries));
+            });
+        }
+        all.addAll(DEFAULTS);
+        this.rules = List.copyOf(all);
+    }
 
     @Override
     public CategoryResult classify(ThrowableView tv) {
-        String cn = tv.className();
+        String cn = (tv == null) ? null : tv.className();
         if (cn == null) return CategoryResult.NONE;
 
-        String lcn = cn.toLowerCase();
-
-        // DB-like
-        if (lcn.contains("sqlexception")
-                || lcn.contains("jdbc")
-                || lcn.contains("postgres")
-                || lcn.contains("mysql")
-                || lcn.contains("oracle")
-                || lcn.contains("mongo")
-                || lcn.contains("redis")
-                || lcn.contains("sql")
-                || lcn.contains("datasource")) {
-            return new CategoryResult("DB");
+        int h = cn.hashCode();
+        h ^= (h >>> 16);
+        int slot = h & (NAMES - 1);
+        NameEntry e = byName[slot];
+        if (e != null && e.className.equals(cn)) return e.result;
+
+        CategoryResult r = compute(cn, Set.of(cn));
+        byName[slot] = new NameEntry(cn, r); // racy but safe: entries are immutable
+        return r;
+    }
+
+    @Override
+    public CategoryResult classify(ThrowableView tv, Throwable t) {
+        return (t == null) ? classify(tv) : byClass.get(t.getClass());
+    }
+
+    private CategoryResult compute(String className, Set<String> hierarchy) {
+        String lower = className.toLowerCase(Locale.ROOT);
+        // package segments below the top-level domain: "io.netty" is a domain, "java.io" a package
+        int firstDot = lower.indexOf('.');
+        int lastDot = lower.lastIndexOf('.');
+        List<String> packageSegments = (firstDot < lastDot)
+                ? Arrays.asList(lower.substring(firstDot + 1, lastDot).split("\\."))
+                : List.of();
+        for (Rule r : rules) {
+            if (r.matchesType(hierarchy)) return r.result;
         }
+        for (Rule r : rules) {
+            if (r.matchesName(className, lower, packageSegments)) return r.result;
+        }
+        return CategoryResult.NONE;
+    }
 
-        // JSON
-        if (lcn.contains("json") || lcn.contains("jackson")) {
-            return new CategoryResult("JSON");
+    /** Names of {@code type}, its superclasses and all interfaces they implement. */
+    private static Set<String> hierarchy(Class<?> type) {
+        Set<String> names = new HashSet<>();
+        List<Class<?>> todo = new ArrayList<>();
+        todo.add(type);
+        while (!todo.isEmpty()) {
+            Class<?> c = todo.remove(todo.size() - 1);
+            if (c == null || !names.add(c.getName())) continue;
+            todo.add(c.getSuperclass());
+            todo.addAll(Arrays.asList(c.getInterfaces()));
         }
+        return names;
+    }
+
+    private static final class Rule {
+        final CategoryResult result;
+        final Set<String> types;
+        final PackageFilter packages;
+        final List<String> keywords; // lower case, built-in rules only
+        final Set<String> segments; // lower case, built-in rules only
 
-        // HTTP / servlet
-        if (lcn.contains("http") || lcn.contains("servlet") || lcn.contains("feign") || lcn.contains("restclient")) {
-            return new CategoryResult("HTTP");
+        private Rule(
+                String label,
+                Set<String> types,
+                PackageFilter packages,
+                List<String> keywords,
+                Set<String> segments) {
+            this.result = new CategoryResult(label);
+            this.types = types;
+            this.packages = packages;
+            this.keywords = keywords;
+            this.segments = segments;
         }
 
-        // IO / filesystem / sockets
-        if (lcn.endsWith("ioexception")
-                || lcn.contains("socket")
-                || lcn.contains("channel")
-                || lcn.contains("nio")
-                || lcn.contains("io.")) {
-            return new CategoryResult("IO");
+        static Rule builtIn(String label, List<String> types, List<String> keywords, List<String> segments) {
+            return new Rule(label, Set.copyOf(types), PackageFilter.none(), keywords, Set.copyOf(segments));
         }
 
-        // Security / auth
-        if (lcn.contains("accessdenied")
-                || lcn.contains("authentication")
-                || lcn.contains("authorization")
-                || lcn.contains("security")
-                || lcn.contains("forbidden")
-                || lcn.contains("unauthor")) {
-            return new CategoryResult("SECURITY");
+        static Rule custom(String label, List<String> entries) {
+            Set<String> types = new HashSet<>();
+            List<String> patterns = new ArrayList<>();
+            for (String entry : Objects.requireNonNullElse(entries, List.<String>of())) {
+                if (entry == null || entry.isBlank()) continue;
+                String e = entry.trim();
+                if (e.endsWith(".") || e.indexOf('*') >= 0) patterns.add(e);
+                else types.add(e);
+            }
+            return new Rule(label, Set.copyOf(types), PackageFilter.matching(patterns), List.of(), Set.of());
         }
 
-        // Timeouts
-        if (lcn.contains("timeout") || lcn.contains("timedout")) {
-            return new CategoryResult("TIMEOUT");
+        boolean matchesType(Set<String> hierarchy) {
+            for (String t : types) if (hierarchy.contains(t)) return true;
+            return false;
         }
 
-        return CategoryResult.NONE;
+        boolean matchesName(String className, String lower, List<String> packageSegments) {
+            if (packages.matches(className)) return true;
+            for (String k : keywords) if (lower.contains(k)) return true;
+            for (String s : packageSegments) if (segments.contains(s)) return true;
+            return false;
+        }
     }
+
+    private record NameEntry(String className, CategoryResult result) {}
 }
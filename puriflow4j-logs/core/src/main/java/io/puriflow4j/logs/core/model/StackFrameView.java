@@ -4,9 +4,36 @@
  */
 package io.puriflow4j.logs.core.model;
 
+import java.util.Objects;
+
 public record StackFrameView(String className, String methodName, String fileName, int line) {
     public String pretty() {
         String f = (fileName == null ? "Unknown Source" : (line >= 0 ? fileName + ":" + line : fileName));
         return className + "." + methodName + "(" + f + ")";
     }
+
+    /** Explicit so that {@link StackFrames} can compute it from a raw stack element. */
+    @Override
+    public int hashCode() {
+        return hash(className, methodName, fileName, line);
+    }
+
+    static int hash(String className, String methodName, String fileName, int line) {
+        int h = Objects.hashCode(className);
+        h = 31 * h + Objects.hashCode(methodName);
+        h = 31 * h + Objects.hashCode(fileName);
+        return 31 * h + line;
+    }
+
+    /** Appends what {@link #pretty()} returns for these fields. */
+    static void appendPretty(StringBuilder sb, String className, String methodName, String fileName, int line) {
+        sb.append(className).append('.').append(methodName).append('(');
+        if (fileName == null) {
+            sb.append("Unknown Source");
+        } else {
+            sb.append(fileName);
+            if (line >= 0) sb.append(':').append(line);
+        }
+        sb.append(')');
+    }
 }
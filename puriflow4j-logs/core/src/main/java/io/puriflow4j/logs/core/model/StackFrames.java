@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2025 Puriflow4J Contributors
+ * Licensed under the Apache License 2.0
+ */
+package io.puriflow4j.logs.core.model;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+/**
+ * Immutable, lazy list of stack frames: wraps the backend's {@code StackTraceElement[]} (or an array of
+ * backend frame proxies) without copying, and creates a {@link StackFrameView} only when {@link #get} is
+ * called. Renderers use {@link #className}, {@link #appendPretty} and {@link #frameHash} instead, which do not
+ * allocate per frame: a 150-frame Spring stack printed with {@code maxDepth=5} materializes nothing.
+ *
+ * <p>{@code equals}/{@code hashCode} follow the {@link List} contract, with allocation-free fast paths between
+ * two {@code StackFrames}; the hash is computed once. Safe to read from several threads.</p>
+ */
+public final class StackFrames extends AbstractList<StackFrameView> implements RandomAccess {
+    private static final StackFrames EMPTY = new StackFrames(new StackFrameView[0], null, null);
+
+    private final StackFrameView[] views; // eager source, or frames materialized so far (lazy source)
+    private final Object[] elements; // lazy source, or null
+    private final Function<Object, StackTraceElement> toElement; // lazy source, or null
+    private int hash; // 0 = not computed yet
+
+    private StackFrames(StackFrameView[] views, Object[] elements, Function<Object, StackTraceElement> toElement) {
+        this.views = views;
+        this.elements = elements;
+        this.toElement = toElement;
+    }
+
+    /** Frames backed by already materialized views ({@code null} = no frames). */
+    public static StackFrames of(List<StackFrameView> frames) {
+        if (frames instanceof StackFrames sf) return sf;
+        if (frames == null || frames.isEmpty()) return EMPTY;
+        StackFrameView[] views = frames.toArray(new StackFrameView[0]);
+        for (StackFrameView v : views) Objects.requireNonNull(v, "frame");
+        return new StackFrames(views, null, null);
+    }
+
+    /** Lazy frames over {@code elements}; the array is wrapped, not copied, and must not be modified afterwards. */
+    public static StackFrames of(StackTraceElement[] elements) {
+        return of(elements, Function.identity());
+    }
+
+    /**
+     * Lazy frames over backend frame proxies (e.g. Logback's {@code StackTraceElementProxy}); the array is
+     * wrapped, not copied, and must not be modified afterwards.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> StackFrames of(T[] frames, Function<? super T, StackTraceElement> element) {
+        if (frames == null || frames.length == 0) return EMPTY;
+        return new StackFrames(
+                new StackFrameView[frames.length], frames, (Function<Object, StackTraceElement>) element);
+    }
+
+    @Override
+    public int size() {
+        return views.length;
+    }
+
+    @Override
+    public StackFrameView get(int i) {
+        StackFrameView v = views[i];
+        if (v == null) {
+            StackTraceElement e = element(i);
+            // racy but safe: views are immutable and equal, a lost write only costs one more allocation
+            views[i] = v = new StackFrameView(e.getClassName(), e.getMethodName(), e.getFileName(), e.getLineNumber());
+        }
+        return v;
+    }
+
+    /** Class name of frame {@code i}, without materializing it. */
+    public String className(int i) {
+        return (elements == null) ? views[i].className() : element(i).getClassName();
+    }
+
+    /** Appends frame {@code i} as {@link StackFrameView#pretty()} would render it, without materializing it. */
+    public void appendPretty(StringBuilder sb, int i) {
+        if (elements == null) {
+            StackFrameView v = views[i];
+            StackFrameView.appendPretty(sb, v.className(), v.methodName(), v.fileName(), v.line());
+        } else {
+            StackTraceElement e = element(i);
+            StackFrameView.appendPretty(sb, e.getClassName(), e.getMethodName(), e.getFileName(), e.getLineNumber());
+        }
+    }
+
+    /** {@code get(i).hashCode()}, without materializing frame {@code i}. */
+    public int frameHash(int i) {
+        if (elements == null) return views[i].hashCode();
+        StackTraceElement e = element(i);
+        return StackFrameView.hash(e.getClassName(), e.getMethodName(), e.getFileName(), e.getLineNumber());
+    }
+
+    private StackTraceElement element(int i) {
+        return toElement.apply(elements[i]);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = 1;
+            for (int i = 0; i < views.length; i++) h = 31 * h + frameHash(i);
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) return true;
+        if (!(o instanceof StackFrames other)) return super.equals(o);
+        if (other.size() != size() || other.hashCode() != hashCode()) return false;
+        for (int i = 0; i < views.length; i++) {
+            if (!sameFrame(i, other, i)) return false;
+        }
+        return true;
+    }
+
+    /** Whether frame {@code i} equals frame {@code j} of {@code other}; allocation-free between lazy frames. */
+    public boolean sameFrame(int i, StackFrames other, int j) {
+        if (elements != null && other.elements != null) {
+            StackTraceElement a = element(i), b = other.element(j);
+            return a == b
+                    || (a.getLineNumber() == b.getLineNumber()
+                            && Objects.equals(a.getClassName(), b.getClassName())
+                            && Objects.equals(a.getMethodName(), b.getMethodName())
+                            && Objects.equals(a.getFileName(), b.getFileName()));
+        }
+        return get(i).equals(other.get(j));
+    }
+}
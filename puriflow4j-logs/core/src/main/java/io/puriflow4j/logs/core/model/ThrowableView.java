@@ -6,9 +6,51 @@ package io.puriflow4j.logs.core.model;
 
 import java.util.List;
 
+/**
+ * Backend-neutral exception: adapters wrap the backend's frames in a lazy {@link StackFrames} (no per-frame
+ * copies) and build the graph with {@link ThrowableViews}, which bounds it: at most {@link #MAX_CAUSE_DEPTH}
+ * levels per cause chain, {@link #MAX_SUPPRESSED} suppressed exceptions per level and {@link #MAX_VIEWS} views
+ * in total. An exception met a second time becomes a {@link #circular()} view, like the JDK's
+ * {@code [CIRCULAR REFERENCE: ...]}. Frame lists given as plain lists are wrapped as well, so
+ * {@link #stackFrames()} is always available.
+ */
 public record ThrowableView(
         String className,
         String message,
         List<StackFrameView> frames, // top-down frames
-        ThrowableView cause // nullable
-        ) {}
+        ThrowableView cause, // nullable
+        List<ThrowableView> suppressed,
+        boolean circular // stands for an exception already in the graph; no frames, cause or suppressed
+        ) {
+    public static final int MAX_CAUSE_DEPTH = 64;
+    public static final int MAX_SUPPRESSED = 8;
+    public static final int MAX_VIEWS = 256;
+
+    public ThrowableView {
+        frames = StackFrames.of(frames);
+        suppressed = (suppressed == null) ? List.of() : List.copyOf(suppressed);
+    }
+
+    public ThrowableView(String className, String message, List<StackFrameView> frames, ThrowableView cause) {
+        this(className, message, frames, cause, List.of(), false);
+    }
+
+    public ThrowableView(
+            String className,
+            String message,
+            List<StackFrameView> frames,
+            ThrowableView cause,
+            List<ThrowableView> suppressed) {
+        this(className, message, frames, cause, suppressed, false);
+    }
+
+    /** Reference to an exception already in the graph (a cycle through causes or suppressed exceptions). */
+    public static ThrowableView circularReference(String className, String message) {
+        return new ThrowableView(className, message, List.of(), null, List.of(), true);
+    }
+
+    /** {@link #frames()} as {@link StackFrames}, for allocation-free access. */
+    public StackFrames stackFrames() {
+        return (StackFrames) frames;
+    }
+}
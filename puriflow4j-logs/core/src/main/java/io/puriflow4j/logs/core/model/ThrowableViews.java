@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2025 Puriflow4J Contributors
+ * Licensed under the Apache License 2.0
+ */
+package io.puriflow4j.logs.core.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Builds bounded {@link ThrowableView} graphs for the backend adapters: the cause chain and suppressed
+ * exceptions of every level, within the {@link ThrowableView} limits. Like {@code Throwable.printStackTrace},
+ * an exception seen before (by identity) is not expanded again but becomes a
+ * {@link ThrowableView#circularReference circular} view.
+ */
+public final class ThrowableViews {
+    private ThrowableViews() {}
+
+    /** How an adapter reads its backend's exceptions. */
+    public interface Access<T> {
+        String className(T t);
+
+        String message(T t);
+
+        /** Frames, wrapped rather than copied (see {@link StackFrames}). */
+        StackFrames frames(T t);
+
+        T cause(T t);
+
+        /** Suppressed exceptions, or {@code null}. */
+        T[] suppressed(T t);
+
+        /** Whether the backend already marks {@code t} as a reference to an exception seen before. */
+        default boolean isCyclic(T t) {
+            return false;
+        }
+    }
+
+    private static final Access<Throwable> THROWABLE = new Access<>() {
+        @Override
+        public String className(Throwable t) {
+            return t.getClass().getName();
+        }
+
+        @Override
+        public String message(Throwable t) {
+            return t.getMessage();
+        }
+
+        @Override
+        public StackFrames frames(Throwable t) {
+            return StackFrames.of(t.getStackTrace());
+        }
+
+        @Override
+        public Throwable cause(Throwable t) {
+            return t.getCause();
+        }
+
+        @Override
+        public Throwable[] suppressed(Throwable t) {
+            return t.getSuppressed();
+        }
+    };
+
+    /** View of a live {@link Throwable}; {@code null} for {@code null}. */
+    public static ThrowableView of(Throwable t) {
+        return of(t, THROWABLE);
+    }
+
+    /** View of a backend exception read through {@code access}; {@code null} for {@code null}. */
+    public static <T> ThrowableView of(T root, Access<T> access) {
+        if (root == null) return null;
+        Set<T> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (access.isCyclic(root)) return circular(root, access);
+        seen.add(root);
+        return chain(root, access, seen, new int[] {ThrowableView.MAX_VIEWS - 1});
+    }
+
+    /** {@code top} (already in {@code seen}) with its causes; {@code budget[0]} = views still allowed. */
+    private static <T> ThrowableView chain(T top, Access<T> access, Set<T> seen, int[] budget) {
+        List<T> levels = new ArrayList<>(4);
+        levels.add(top);
+        T repeated = null;
+        for (T c = access.cause(top); c != null; c = access.cause(c)) {
+            if (levels.size() >= ThrowableView.MAX_CAUSE_DEPTH || budget[0] <= 0) break;
+            budget[0]--;
+            if (access.isCyclic(c) || !seen.add(c)) {
+                repeated = c;
+                break;
+            }
+            levels.add(c);
+        }
+        // suppressed exceptions top-down, so that what is printed first is expanded first
+        List<List<ThrowableView>> suppressed = new ArrayList<>(levels.size());
+        for (T level : levels) suppressed.add(suppressed(level, access, seen, budget));
+
+        ThrowableView view = (repeated == null) ? null : circular(repeated, access);
+        for (int i = levels.size() - 1; i >= 0; i--) {
+            T c = levels.get(i);
+            // frames are wrapped, not copied: StackFrameViews are created only for frames that are rendered
+            view = new ThrowableView(access.className(c), access.message(c), access.frames(c), view, suppressed.get(i));
+        }
+        return view;
+    }
+
+    private static <T> List<ThrowableView> suppressed(T t, Access<T> access, Set<T> seen, int[] budget) {
+        T[] all = access.suppressed(t);
+        if (all == null || all.length == 0) return List.of();
+        int n = Math.min(all.length, ThrowableView.MAX_SUPPRESSED);
+        List<ThrowableView> out = new ArrayList<>(n);
+        for (int i = 0; i < n && budget[0] > 0; i++) {
+            T s = all[i];
+            if (s == null) continue;
+            budget[0]--;
+            out.add((access.isCyclic(s) || !seen.add(s)) ? circular(s, access) : chain(s, access, seen, budget));
+        }
+        return out;
+    }
+
+    private static <T> ThrowableView circular(T t, Access<T> access) {
+        return ThrowableView.circularReference(access.className(t), access.message(t));
+    }
+}
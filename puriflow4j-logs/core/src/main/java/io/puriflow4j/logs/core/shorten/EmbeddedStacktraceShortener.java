@@ -5,67 +5,70 @@
 package io.puriflow4j.logs.core.shorten;
 
 import io.puriflow4j.core.api.Sanitizer;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
 
 /**
  * Detects and shortens stack traces that are already embedded into the log message text.
  * It also masks sensitive substrings in the exception header lines.
+ *
+ * <p>Single forward scan over the message: messages without a frame line are returned as-is without
+ * allocating, kept lines are copied straight into one builder, and the header is sanitized in one call.</p>
  */
 public final class EmbeddedStacktraceShortener {
 
     private final Sanitizer sanitizer;
     private final Integer maxDepth;
-    private final Set<String> hidePackages;
+    private final PackageFilter hidden;
 
     public EmbeddedStacktraceShortener(Sanitizer sanitizer, Integer maxDepth, List<String> hidePkgs) {
+        this(sanitizer, maxDepth, PackageFilter.of(hidePkgs, null));
+    }
+
+    public EmbeddedStacktraceShortener(Sanitizer sanitizer, Integer maxDepth, PackageFilter hidden) {
         this.sanitizer = sanitizer;
         this.maxDepth = (maxDepth == null || maxDepth <= 0) ? Integer.MAX_VALUE : maxDepth;
-        this.hidePackages = Set.copyOf(hidePkgs == null ? List.of() : hidePkgs);
+        this.hidden = (hidden == null ? PackageFilter.none() : hidden);
     }
 
     /** Returns a possibly shortened message. If no embedded stack trace is detected, returns original. */
     public String shorten(String message, String loggerName) {
         if (message == null || message.isEmpty()) return message;
-
-        // Heuristic: lines that start with whitespace + "at " are stack frames
-        String[] lines = message.split("\\R");
-        int firstFrame = -1;
-        for (int i = 0; i < lines.length; i++) {
-            if (isFrameLine(lines[i])) {
-                firstFrame = i;
-                break;
-            }
-        }
+        // Clean messages stop here, or after one allocation-free scan when "at " appears in plain text.
+        if (message.indexOf("at ") < 0) return message;
+        final int end = contentEnd(message);
+        final int firstFrame = firstFrameLine(message, end);
         if (firstFrame < 0) return message; // no embedded stack
 
-        List<String> out = new ArrayList<>(lines.length);
-        // copy header lines before the first frame; also mask sensitive substrings there
-        for (int i = 0; i < firstFrame; i++) {
-            out.add(sanitizer.apply(lines[i], loggerName));
+        final String nl = System.lineSeparator();
+        final StringBuilder sb = new StringBuilder(message.length() + 40);
+        boolean first = true;
+        if (firstFrame > 0) {
+            // header lines before the first frame: mask sensitive substrings with one sanitizer call
+            String header = sanitizer.apply(message.substring(0, lineBreakStart(message, firstFrame)), loggerName);
+            appendLines(sb, header, nl);
+            first = false;
         }
 
         int printed = 0;
         int omitted = 0;
 
-        for (int i = firstFrame; i < lines.length; i++) {
-            String line = lines[i];
-            if (isFrameLine(line)) {
-                String fqcn = extractClassName(line);
-                if (isHidden(fqcn)) {
+        for (int ls = firstFrame; ls < end; ls = nextLine(message, ls, end)) {
+            final int le = lineEnd(message, ls, end);
+            final int body = skipWhitespace(message, ls, le);
+            if (message.startsWith("at ", body)) {
+                if (printed >= maxDepth || isHiddenFrame(message, body + 3, le)) {
                     omitted++;
                     continue;
                 }
-                if (printed >= maxDepth) {
-                    omitted++;
-                    continue;
-                }
-                out.add(line); // keep as-is (we already filtered by package/depth)
+                if (!first) sb.append(nl);
+                sb.append(message, ls, le); // keep as-is (we already filtered by package/depth)
+                first = false;
                 printed++;
-            } else if (isCausedBy(line)) {
+            } else if (message.startsWith("Caused by:", body)) {
                 // Keep "Caused by: ..." but mask its message part
-                out.add(sanitizer.apply(line, loggerName));
+                if (!first) sb.append(nl);
+                sb.append(sanitizer.apply(message.substring(ls, le), loggerName));
+                first = false;
             } else {
                 // other trailing lines (suppressed, ...); drop to keep it short
                 omitted++;
@@ -73,39 +76,78 @@ public final class EmbeddedStacktraceShortener {
         }
 
         if (omitted > 0) {
-            out.add(" (" + omitted + " framework frames omitted)");
+            if (!first) sb.append(nl);
+            sb.append(" (").append(omitted).append(" framework frames omitted)");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Whether the frame whose text after {@code "at "} is {@code s[from..to)} belongs to a hidden class.
+     * Example: {@code "com.foo.Bar.baz(Bar.java:10)"} is checked as {@code "com.foo.Bar"}.
+     */
+    private boolean isHiddenFrame(String s, int from, int to) {
+        int paren = s.indexOf('(', from);
+        if (paren <= from || paren >= to) return hidden.isHidden(s, from, from); // no signature
+        int lastDot = s.lastIndexOf('.', paren - 1);
+        return hidden.isHidden(s, from, (lastDot > from) ? lastDot : paren);
+    }
+
+    /** Start of the first line (before {@code end}) that is a frame, i.e. whitespace + {@code "at "}; -1 if none. */
+    private static int firstFrameLine(String s, int end) {
+        for (int ls = 0; ls < end; ls = nextLine(s, ls, end)) {
+            if (s.startsWith("at ", skipWhitespace(s, ls, lineEnd(s, ls, end)))) return ls;
         }
+        return -1;
+    }
+
+    // ---------------- line scanning (line breaks as matched by \R) ----------------
 
-        return String.join(System.lineSeparator(), out);
+    private static boolean isLineBreak(char c) {
+        return c == '\n' || c == '\r' || c == '\u000B' || c == '\f' || c == '\u0085' || c == '\u2028' || c == '\u2029';
     }
 
-    private boolean isFrameLine(String line) {
-        return line != null && line.stripLeading().startsWith("at ");
+    /** Length without trailing line breaks (split dropped the empty lines they would produce). */
+    private static int contentEnd(String s) {
+        int end = s.length();
+        while (end > 0 && isLineBreak(s.charAt(end - 1))) end--;
+        return end;
     }
 
-    private boolean isCausedBy(String line) {
-        return line != null && line.stripLeading().startsWith("Caused by:");
+    private static int lineEnd(String s, int from, int end) {
+        int i = from;
+        while (i < end && !isLineBreak(s.charAt(i))) i++;
+        return i;
     }
 
-    private boolean isHidden(String classOrFrame) {
-        if (classOrFrame == null) return false;
-        for (String p : hidePackages) {
-            if (classOrFrame.startsWith(p)) return true;
-        }
-        return false;
+    /** Start of the line after the one starting at {@code from}. */
+    private static int nextLine(String s, int from, int end) {
+        int le = lineEnd(s, from, end);
+        if (le >= end) return end;
+        return (s.charAt(le) == '\r' && le + 1 < s.length() && s.charAt(le + 1) == '\n') ? le + 2 : le + 1;
+    }
+
+    /** Start of the line break that ends right before line start {@code ls > 0}. */
+    private static int lineBreakStart(String s, int ls) {
+        return (s.charAt(ls - 1) == '\n' && ls >= 2 && s.charAt(ls - 2) == '\r') ? ls - 2 : ls - 1;
+    }
+
+    private static int skipWhitespace(String s, int from, int to) {
+        int i = from;
+        while (i < to && Character.isWhitespace(s.charAt(i))) i++;
+        return i;
     }
 
-    private String extractClassName(String frameLine) {
-        // Example: "    at com.foo.Bar.baz(Bar.java:10)"
-        String s = frameLine.stripLeading();
-        if (!s.startsWith("at ")) return "";
-        int start = 3;
-        int paren = s.indexOf('(', start);
-        if (paren > start) {
-            String sig = s.substring(start, paren);
-            int lastDot = sig.lastIndexOf('.');
-            return (lastDot > 0) ? sig.substring(0, lastDot) : sig;
+    /** Appends {@code text}, writing each of its line breaks as {@code nl}. */
+    private static void appendLines(StringBuilder sb, String text, String nl) {
+        int run = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!isLineBreak(c)) continue;
+            sb.append(text, run, i).append(nl);
+            if (c == '\r' && i + 1 < text.length() && text.charAt(i + 1) == '\n') i++;
+            run = i + 1;
         }
-        return "";
+        sb.append(text, run, text.length());
     }
 }
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2025 Puriflow4J Contributors
+ * Licensed under the Apache License 2.0
+ */
+package io.puriflow4j.logs.core.shorten;
+
+import io.puriflow4j.logs.core.model.StackFrames;
+import io.puriflow4j.logs.core.model.ThrowableView;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Opt-in exception storm deduplication for the logging bridges.
+ *
+ * <p>Each {@link ThrowableView} is fingerprinted by its class, its top {@value #DEFAULT_TOP_FRAMES} frames and
+ * the class of its root cause. The first occurrence in a window is rendered by the {@link ExceptionShortener}
+ * as usual, tagged with a short id ({@code #a1b2c3 ...}); repeats within the window become one line:
+ * <pre>
+ * [DB] SQLException (same as #a1b2c3, 4812 times in last 10s)
+ * </pre>
+ * When a window with repeats has closed, a summary line is queued; bridges emit them as separate events via
+ * {@link #drainSummaries()} (checked on every event, cheap when nothing is due), via
+ * {@link #startScheduledDrain} (once per window from a shared daemon thread, so that a storm that simply stops
+ * is still summarized) and via {@link #flushSummaries()} on shutdown. The next occurrence after a window opens a
+ * new one and is rendered in full again.</p>
+ *
+ * <p>Use one instance per destination (appender/handler): a shared instance would give the full rendering
+ * to whichever destination sees the event first. At most {@value #DEFAULT_MAX_TRACKED} distinct exceptions
+ * are tracked; further ones are rendered in full. Thread-safe; counts are exact except for increments racing
+ * with a window rollover.</p>
+ */
+public final class ExceptionDeduplicator {
+    public static final int DEFAULT_TOP_FRAMES = 5;
+    public static final int DEFAULT_MAX_TRACKED = 1024;
+
+    static final long MIN_DRAIN_PERIOD_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final long windowNanos;
+    private final int topFrames;
+    private final int maxTracked;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<Long, Window> windows = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<String> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicLong nextSweep;
+    private ScheduledFuture<?> scheduledDrain; // guarded by this
+
+    /** @param window how long repeats of an exception are shortened after its full rendering */
+    public ExceptionDeduplicator(Duration window) {
+        this(window, DEFAULT_TOP_FRAMES, DEFAULT_MAX_TRACKED, System::nanoTime);
+    }
+
+    ExceptionDeduplicator(Duration window, int topFrames, int maxTracked, LongSupplier nanoClock) {
+        if (window == null || window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("Deduplication window must be positive");
+        }
+        this.windowNanos = window.toNanos();
+        this.topFrames = topFrames;
+        this.maxTracked = maxTracked;
+        this.nanoClock = Objects.requireNonNull(nanoClock, "nanoClock");
+        this.nextSweep = new AtomicLong(nanoClock.getAsLong() + windowNanos);
+    }
+
+    /**
+     * Renders {@code t} with {@code shortener} on its first occurrence in a window, or as a one-line
+     * back-reference when it repeats within the window.
+     */
+    public String format(ExceptionShortener shortener, ThrowableView t, String loggerName, String categoryLabel) {
+        if (t == null) return null;
+        final long fp = fingerprint(t, topFrames);
+        final long now = nanoClock.getAsLong();
+
+        Window w = windows.get(fp);
+        if (w != null && now - w.start < windowNanos) return repeat(w, now, categoryLabel);
+
+        Window fresh = new Window(fp, t.className(), now);
+        boolean opened = (w == null)
+                ? windows.size() < maxTracked && windows.putIfAbsent(fp, fresh) == null
+                : windows.replace(fp, w, fresh);
+        if (opened) {
+            if (w != null) summarize(w, now);
+            return "#" + fresh.id + " " + shortener.format(t, loggerName, categoryLabel);
+        }
+
+        // lost a race against another thread opening the window, or too many distinct exceptions
+        Window winner = windows.get(fp);
+        if (winner != null && now - winner.start < windowNanos) return repeat(winner, now, categoryLabel);
+        return shortener.format(t, loggerName, categoryLabel);
+    }
+
+    /** Summaries of windows that closed with repeats; empty (and allocation-free) when none are due. */
+    public List<String> drainSummaries() {
+        final long now = nanoClock.getAsLong();
+        final long due = nextSweep.get();
+        if (now - due >= 0 && nextSweep.compareAndSet(due, now + windowNanos)) {
+            for (Map.Entry<Long, Window> e : windows.entrySet()) {
+                Window w = e.getValue();
+                if (now - w.start >= windowNanos && windows.remove(e.getKey(), w)) summarize(w, now);
+            }
+        }
+        return pending.isEmpty() ? List.of() : drain();
+    }
+
+    /**
+     * Hands due summaries to {@code sink} from a shared daemon thread, once per window, until
+     * {@link #stopScheduledDrain()}; replaces a previous schedule. {@code sink} must be thread-safe, it also
+     * runs concurrently with events.
+     */
+    public synchronized void startScheduledDrain(Consumer<List<String>> sink) {
+        Objects.requireNonNull(sink, "sink");
+        stopScheduledDrain();
+        long period = Math.max(windowNanos, MIN_DRAIN_PERIOD_NANOS);
+        scheduledDrain = Drainer.EXECUTOR.scheduleWithFixedDelay(
+                () -> {
+                    try {
+                        List<String> due = drainSummaries();
+                        if (!due.isEmpty()) sink.accept(due);
+                    } catch (Throwable ignore) {
+                        // best-effort: an exception would cancel the schedule, and logging must go on
+                    }
+                },
+                period,
+                period,
+                TimeUnit.NANOSECONDS);
+    }
+
+    /** Cancels {@link #startScheduledDrain}; a no-op when not scheduled. */
+    public synchronized void stopScheduledDrain() {
+        if (scheduledDrain != null) {
+            scheduledDrain.cancel(false);
+            scheduledDrain = null;
+        }
+    }
+
+    /** Summaries of all windows with repeats, closed or not; for shutdown. */
+    public List<String> flushSummaries() {
+        final long now = nanoClock.getAsLong();
+        for (Map.Entry<Long, Window> e : windows.entrySet()) {
+            if (windows.remove(e.getKey(), e.getValue())) summarize(e.getValue(), now);
+        }
+        return pending.isEmpty() ? List.of() : drain();
+    }
+
+    private String repeat(Window w, long now, String categoryLabel) {
+        long count = w.count.incrementAndGet();
+        StringBuilder sb = new StringBuilder(64);
+        if (categoryLabel != null && !categoryLabel.isBlank()) sb.append('[').append(categoryLabel.trim()).append("] ");
+        sb.append(w.simpleName).append(" (same as #").append(w.id).append(", ").append(count);
+        sb.append(" times in last ").append(seconds(now - w.start)).append("s)");
+        return sb.toString();
+    }
+
+    private void summarize(Window w, long now) {
+        long count = w.count.get();
+        if (count < 2) return;
+        pending.add("[puriflow4j] exception #" + w.id + " (" + w.simpleName + ") occurred " + count
+                + " times in last " + seconds(Math.min(now - w.start, windowNanos)) + "s; repeats were shortened");
+    }
+
+    private List<String> drain() {
+        List<String> out = new ArrayList<>();
+        for (String s; (s = pending.poll()) != null; ) out.add(s);
+        return out;
+    }
+
+    /** Whole seconds, rounded up, at least 1. */
+    private static long seconds(long nanos) {
+        return Math.max(1, (nanos + 999_999_999L) / 1_000_000_000L);
+    }
+
+    static long fingerprint(ThrowableView t, int topFrames) {
+        long h = Objects.hashCode(t.className());
+        StackFrames frames = t.stackFrames();
+        int n = Math.min(topFrames, frames.size());
+        for (int i = 0; i < n; i++) h = h * 0x9E3779B97F4A7C15L + frames.frameHash(i);
+        ThrowableView root = t;
+        for (int depth = 0; root.cause() != null && depth < ThrowableView.MAX_CAUSE_DEPTH; depth++) {
+            root = root.cause();
+        }
+        if (root != t) h = h * 0x9E3779B97F4A7C15L + Objects.hashCode(root.className());
+        // murmur3 finalizer: spread all input bits into the low bits shown as the id
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+
+    /** Single daemon thread shared by all scheduled drains, created on first use. */
+    private static final class Drainer {
+        static final ScheduledThreadPoolExecutor EXECUTOR = create();
+
+        private static ScheduledThreadPoolExecutor create() {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+                Thread t = new Thread(r, "puriflow4j-dedup-drain");
+                t.setDaemon(true);
+                return t;
+            });
+            executor.setRemoveOnCancelPolicy(true);
+            return executor;
+        }
+    }
+
+    /** One dedup window of one fingerprint; {@code count} includes the fully rendered first occurrence. */
+    private static final class Window {
+        final String id;
+        final String simpleName;
+        final long start;
+        final AtomicLong count = new AtomicLong(1);
+
+        Window(long fingerprint, String className, long start) {
+            char[] id = new char[6];
+            for (int i = 5; i >= 0; i--, fingerprint >>>= 4) id[i] = HEX[(int) (fingerprint & 0xF)];
+            this.id = new String(id);
+            this.simpleName = simple(className);
+            this.start = start;
+        }
+
+        private static String simple(String fqcn) {
+            if (fqcn == null) return "Exception";
+            int i = fqcn.lastIndexOf('.');
+            return i >= 0 ? fqcn.substring(i + 1) : fqcn;
+        }
+    }
+}
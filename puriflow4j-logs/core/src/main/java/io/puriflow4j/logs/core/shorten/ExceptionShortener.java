@@ -5,30 +5,55 @@
 package io.puriflow4j.logs.core.shorten;
 
 import io.puriflow4j.core.api.Sanitizer;
-import io.puriflow4j.logs.core.model.StackFrameView;
+import io.puriflow4j.logs.core.model.StackFrames;
 import io.puriflow4j.logs.core.model.ThrowableView;
 import java.util.List;
 import java.util.Objects;
-import java.util.Set;
 
 /**
  * Renders exception text either in compact (shorten=true) or full mode (shorten=false).
  * IMPORTANT: We sanitize ONLY exception messages (t.message / cause.message),
  * NOT the frame lines, to avoid false positives (e.g., class names matching JWT regex).
  * Category label (e.g., "DB") is optional and provided by the caller.
+ *
+ * <p>Frame sections are rendered once per distinct stack and sanitized messages are memoized
+ * ({@link RenderCache}); per event only the headers are assembled.</p>
+ *
+ * <p>Full mode follows {@code Throwable.printStackTrace}: frames a cause shares with its enclosing exception
+ * are elided as {@code ... N more}, suppressed exceptions are printed indented, and an exception met again is
+ * printed as {@code [CIRCULAR REFERENCE: ...]}. Any rendering is cut at a line break after
+ * {@code maxChars} characters (default {@value #DEFAULT_MAX_CHARS}).</p>
+ *
+ * <p>The limit bounds the work as well as the output: frame sections stop growing once they pass
+ * {@code maxChars} in total, so a deep chain of huge stacks costs about {@code maxChars} of rendering, and
+ * such cut-short sections are not cached.</p>
  */
 public final class ExceptionShortener {
+    public static final int DEFAULT_MAX_CHARS = 32 * 1024;
 
     private final Sanitizer sanitizer;
     private final boolean shorten;
     private final Integer maxDepth; // how many application frames to print in compact mode
-    private final Set<String> hidePackages;
+    private final PackageFilter hidden; // frames not printed in compact mode
+    private final int maxChars; // upper bound of one rendering, plus the truncation note
+    private final RenderCache cache = new RenderCache();
 
     public ExceptionShortener(Sanitizer sanitizer, boolean shorten, Integer maxDepth, List<String> hidePkgs) {
+        this(sanitizer, shorten, maxDepth, PackageFilter.of(hidePkgs, null));
+    }
+
+    public ExceptionShortener(Sanitizer sanitizer, boolean shorten, Integer maxDepth, PackageFilter hidden) {
+        this(sanitizer, shorten, maxDepth, hidden, null);
+    }
+
+    /** @param maxChars maximum length of one rendering; {@code null} or {@code <= 0} = {@link #DEFAULT_MAX_CHARS} */
+    public ExceptionShortener(
+            Sanitizer sanitizer, boolean shorten, Integer maxDepth, PackageFilter hidden, Integer maxChars) {
         this.sanitizer = Objects.requireNonNull(sanitizer, "sanitizer");
         this.shorten = shorten;
         this.maxDepth = (maxDepth == null || maxDepth <= 0) ? Integer.MAX_VALUE : maxDepth;
-        this.hidePackages = (hidePkgs == null ? Set.of() : Set.copyOf(hidePkgs));
+        this.hidden = (hidden == null ? PackageFilter.none() : hidden);
+        this.maxChars = (maxChars == null || maxChars <= 0) ? DEFAULT_MAX_CHARS : maxChars;
     }
 
     /** Backward-compatible signature (no category label). */
@@ -42,9 +67,10 @@ public final class ExceptionShortener {
      */
     public String format(ThrowableView t, String loggerName, String categoryLabel) {
         if (t == null) return null;
-        return shorten
+        StringBuilder sb = shorten
                 ? renderCompact(t, loggerName, normalized(categoryLabel))
                 : renderFull(t, loggerName, normalized(categoryLabel));
+        return limited(sb);
     }
 
     public boolean isShortenEnabled() {
@@ -54,23 +80,124 @@ public final class ExceptionShortener {
     // ---------------- rendering ----------------
 
     /** Compact: optional category + first line + filtered frames (maxDepth) + omitted counter + single cause line. */
-    private String renderCompact(ThrowableView t, String loggerName, String category) {
-        String origMsg = nullToEmpty(t.message());
-        String maskedMsg = origMsg.isEmpty() ? "" : sanitizer.apply(origMsg, loggerName);
-        boolean msgChanged = !Objects.equals(origMsg, maskedMsg);
+    private StringBuilder renderCompact(ThrowableView t, String loggerName, String category) {
+        String[] sections = cache.sections(t, this::renderSections, maxChars);
+
+        StringBuilder sb = new StringBuilder(128 + sections[0].length());
+        if (category != null) sb.append('[').append(category).append("] ");
+        appendHeader(sb, t, loggerName);
+        sb.append(sections[0]);
+
+        // Single-level cause line (also sanitize only the message)
+        if (t.cause() != null) {
+            sb.append('\n').append(" Caused by: ");
+            appendCaption(sb, t.cause(), loggerName);
+        }
+        return sb;
+    }
+
+    /**
+     * Full: optional category + multi-line stack; causes and suppressed exceptions with the frames they share
+     * with their enclosing exception elided. Rendering stops once the size limit is reached.
+     */
+    private StringBuilder renderFull(ThrowableView t, String loggerName, String category) {
+        String[] sections = cache.sections(t, this::renderSections, maxChars);
 
-        StringBuilder sb = new StringBuilder(256);
+        int size = 128;
+        for (String s : sections) size += s.length() + 64;
+        StringBuilder sb = new StringBuilder(Math.min(size, maxChars + 128));
         if (category != null) sb.append('[').append(category).append("] ");
-        if (msgChanged) sb.append("[Masked] ");
+        appendCaption(sb, t, loggerName);
 
+        // Cause chain (sanitize only messages; frames intact)
+        int level = 0;
+        for (ThrowableView c = t; c != null && sb.length() <= maxChars; c = c.cause(), level++) {
+            if (level > 0) {
+                sb.append('\n').append("Caused by: ");
+                appendCaption(sb, c, loggerName);
+            }
+            sb.append(sections[level]);
+            for (ThrowableView s : c.suppressed()) {
+                appendEnclosed(sb, s, c.stackFrames(), "Suppressed: ", "\t", loggerName);
+            }
+        }
+        return sb;
+    }
+
+    /** A suppressed exception or its causes, rendered per event (they are rare, and not part of the cache key). */
+    private void appendEnclosed(
+            StringBuilder sb,
+            ThrowableView t,
+            StackFrames enclosing,
+            String caption,
+            String prefix,
+            String loggerName) {
+        if (sb.length() > maxChars) return;
+        sb.append('\n').append(prefix).append(caption);
+        appendCaption(sb, t, loggerName);
+        appendFullFrames(sb, t.stackFrames(), enclosing, prefix, maxChars);
+        for (ThrowableView s : t.suppressed()) {
+            appendEnclosed(sb, s, t.stackFrames(), "Suppressed: ", prefix + "\t", loggerName);
+        }
+        if (t.cause() != null) appendEnclosed(sb, t.cause(), t.stackFrames(), "Caused by: ", prefix, loggerName);
+    }
+
+    /** Header, or {@code [CIRCULAR REFERENCE: header]} for an exception already printed. */
+    private void appendCaption(StringBuilder sb, ThrowableView t, String loggerName) {
+        if (!t.circular()) {
+            appendHeader(sb, t, loggerName);
+            return;
+        }
+        sb.append("[CIRCULAR REFERENCE: ");
+        appendHeader(sb, t, loggerName);
+        sb.append(']');
+    }
+
+    /** {@code [Masked] SimpleName: masked message}; the only part of a rendering that is sanitized per event. */
+    private void appendHeader(StringBuilder sb, ThrowableView t, String loggerName) {
+        String origMsg = nullToEmpty(t.message());
+        String maskedMsg = origMsg.isEmpty()
+                ? ""
+                : cache.sanitized(origMsg, sanitizer.keyGeneration(), m -> sanitizer.apply(m, loggerName));
+        if (!Objects.equals(origMsg, maskedMsg)) sb.append("[Masked] ");
         sb.append(simple(t.className()));
-        if (!maskedMsg.isEmpty()) {
-            sb.append(": ").append(maskedMsg);
+        if (!maskedMsg.isEmpty()) sb.append(": ").append(maskedMsg);
+    }
+
+    /**
+     * Frame sections, rendered once per distinct stack: in compact mode only the top level (the cause is a
+     * single line), in full mode one per level of the cause chain. Frame lines are NOT sanitized, to preserve
+     * readability and avoid false positives. Rendering stops once the sections pass {@code maxChars} in total;
+     * the levels after that get empty sections, as the output is cut before them anyway.
+     */
+    private String[] renderSections(ThrowableView t) {
+        if (shorten) return new String[] {compactFrames(t.stackFrames())};
+        int n = 0;
+        for (ThrowableView c = t; c != null; c = c.cause()) n++;
+        String[] sections = new String[n];
+        int i = 0, budget = maxChars; // < 0 once exceeded
+        StackFrames enclosing = null;
+        for (ThrowableView c = t; c != null; c = c.cause()) {
+            if (budget < 0) {
+                sections[i++] = "";
+                continue;
+            }
+            StringBuilder sb = new StringBuilder(Math.min(64 * c.stackFrames().size() + 32, budget + 256));
+            appendFullFrames(sb, c.stackFrames(), enclosing, "", budget);
+            sections[i++] = sb.toString();
+            budget -= sb.length();
+            enclosing = c.stackFrames();
         }
+        return sections;
+    }
 
+    /** Counts hidden and omitted frames by class name only; no frame is materialized. */
+    private String compactFrames(StackFrames frames) {
+        if (frames.isEmpty()) return "";
+        StringBuilder sb = new StringBuilder(64 * Math.min(frames.size(), maxDepth) + 48);
         int printed = 0, omitted = 0;
-        for (StackFrameView f : t.frames()) {
-            if (isHidden(f.className())) {
+        for (int i = 0, n = frames.size(); i < n && sb.length() <= maxChars; i++) {
+            if (hidden.isHidden(frames.className(i))) {
                 omitted++;
                 continue;
             }
@@ -78,82 +205,51 @@ public final class ExceptionShortener {
                 omitted++;
                 continue;
             }
-            // DO NOT sanitize frame lines to preserve readability and avoid false positives
-            sb.append('\n').append(" \u2192 ").append(f.pretty());
+            sb.append('\n').append(" \u2192 ");
+            frames.appendPretty(sb, i);
             printed++;
         }
         if (omitted > 0) {
             sb.append('\n').append(" (").append(omitted).append(" framework frames omitted)");
         }
-
-        // Single-level cause line (also sanitize only the message)
-        if (t.cause() != null) {
-            String cOrig = nullToEmpty(t.cause().message());
-            String cMask = cOrig.isEmpty() ? "" : sanitizer.apply(cOrig, loggerName);
-            boolean cChanged = !Objects.equals(cOrig, cMask);
-
-            sb.append('\n').append(" Caused by: ");
-            if (cChanged) sb.append("[Masked] ");
-            sb.append(simple(t.cause().className()));
-            if (!cMask.isEmpty()) sb.append(": ").append(cMask);
-        }
         return sb.toString();
     }
 
-    /** Full: optional category + full multi-line stack (no filtering, full cause chain). */
-    private String renderFull(ThrowableView t, String loggerName, String category) {
-        String origMsg = nullToEmpty(t.message());
-        String maskedMsg = origMsg.isEmpty() ? "" : sanitizer.apply(origMsg, loggerName);
-        boolean msgChanged = !Objects.equals(origMsg, maskedMsg);
-
-        StringBuilder sb = new StringBuilder(256);
-        if (category != null) sb.append('[').append(category).append("] ");
-        if (msgChanged) sb.append("[Masked] ");
-
-        sb.append(simple(t.className()));
-        if (!maskedMsg.isEmpty()) {
-            sb.append(": ").append(maskedMsg);
-        }
-
-        // DO NOT sanitize frame lines
-        for (StackFrameView f : t.frames()) {
-            sb.append('\n').append("\tat ").append(f.pretty());
+    /**
+     * Frames as printed by the JDK: the tail shared with {@code enclosing} (nullable) becomes "... N more".
+     * Stops once {@code sb} is longer than {@code limit}.
+     */
+    private static void appendFullFrames(
+            StringBuilder sb, StackFrames frames, StackFrames enclosing, String prefix, int limit) {
+        int last = frames.size() - 1;
+        if (enclosing != null) {
+            for (int e = enclosing.size() - 1; last >= 0 && e >= 0 && frames.sameFrame(last, enclosing, e); e--) {
+                last--;
+            }
         }
-
-        // Full recursive cause chain (sanitize only messages)
-        if (t.cause() != null) {
-            appendCauseFull(sb, t.cause(), loggerName);
+        for (int i = 0; i <= last; i++) {
+            if (sb.length() > limit) return;
+            sb.append('\n').append(prefix).append("\tat ");
+            frames.appendPretty(sb, i);
         }
-        return sb.toString();
+        int common = frames.size() - 1 - last;
+        if (common > 0) sb.append('\n').append(prefix).append("\t... ").append(common).append(" more");
     }
 
-    private void appendCauseFull(StringBuilder sb, ThrowableView cause, String loggerName) {
-        String origMsg = nullToEmpty(cause.message());
-        String maskedMsg = origMsg.isEmpty() ? "" : sanitizer.apply(origMsg, loggerName);
-        boolean msgChanged = !Objects.equals(origMsg, maskedMsg);
-
-        sb.append('\n').append("Caused by: ");
-        if (msgChanged) sb.append("[Masked] ");
-        sb.append(simple(cause.className()));
-        if (!maskedMsg.isEmpty()) sb.append(": ").append(maskedMsg);
-
-        // frames intact
-        for (StackFrameView f : cause.frames()) {
-            sb.append('\n').append("\tat ").append(f.pretty());
-        }
-        if (cause.cause() != null) {
-            appendCauseFull(sb, cause.cause(), loggerName);
+    /** Cuts {@code sb} at the last line break within {@code maxChars} and notes the truncation. */
+    private String limited(StringBuilder sb) {
+        if (sb.length() <= maxChars) return sb.toString();
+        int cut = sb.lastIndexOf("\n", maxChars);
+        if (cut <= 0) {
+            cut = maxChars;
+            if (Character.isHighSurrogate(sb.charAt(cut - 1))) cut--;
         }
+        sb.setLength(cut);
+        return sb.append('\n').append("\t... (truncated at ").append(maxChars).append(" chars)").toString();
     }
 
     // ---------------- helpers ----------------
 
-    private boolean isHidden(String className) {
-        if (className == null) return false;
-        for (String p : hidePackages) if (className.startsWith(p)) return true;
-        return false;
-    }
-
     private static String simple(String fqcn) {
         if (fqcn == null) return "Exception";
         int i = fqcn.lastIndexOf('.');
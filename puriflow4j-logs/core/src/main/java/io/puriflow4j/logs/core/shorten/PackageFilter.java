@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2025 Puriflow4J Contributors
+ * Licensed under the Apache License 2.0
+ */
+package io.puriflow4j.logs.core.shorten;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Decides which stack frames are framework noise, from the {@code hidePackages} and {@code keepPackages} lists.
+ *
+ * <p>Patterns are class name prefixes, as before ({@code "java."}, {@code "org.springframework"}), optionally
+ * with globs: {@code *} matches one or more characters within a package segment (no {@code '.'}),
+ * {@code **} any characters including dots. {@code "org.springframework.*.aop."} hides
+ * {@code org.springframework.cloud.aop.Foo} but not {@code org.springframework.cloud.web.Foo}. A class
+ * matching any keep pattern is never hidden, so application packages can be carved out of a broad hide
+ * list ({@code hide: com.acme.**.generated}, {@code keep: com.acme.billing.}).</p>
+ *
+ * <p>All patterns are compiled into one character trie: a frame costs one walk along its class name,
+ * independent of the number of patterns, instead of one {@code startsWith} per pattern. Glob nodes branch the
+ * walk; plain prefixes never do. Immutable and thread-safe.</p>
+ *
+ * <p>The same patterns also select classes outside stack traces: {@link #matching} builds a filter from one
+ * pattern list and {@link #matches} tests a class name against it.</p>
+ */
+public final class PackageFilter {
+    private static final int HIDE = 1;
+    private static final int KEEP = 2;
+    private static final PackageFilter NONE = new PackageFilter(null, false);
+
+    private final Node root; // null => nothing is hidden
+    private final boolean hasKeep;
+
+    private PackageFilter(Node root, boolean hasKeep) {
+        this.root = root;
+        this.hasKeep = hasKeep;
+    }
+
+    /** Filter that hides nothing. */
+    public static PackageFilter none() {
+        return NONE;
+    }
+
+    /**
+     * @param hide patterns of frames to hide (null or blank entries are ignored)
+     * @param keep patterns of frames that are always kept, even if a hide pattern matches
+     */
+    public static PackageFilter of(List<String> hide, List<String> keep) {
+        Builder root = new Builder();
+        boolean anyHide = add(root, hide, HIDE);
+        boolean anyKeep = add(root, keep, KEEP);
+        return anyHide ? new PackageFilter(root.build(), anyKeep) : NONE;
+    }
+
+    /** Filter whose {@link #matches} accepts the class names matching one of {@code patterns}. */
+    public static PackageFilter matching(List<String> patterns) {
+        return of(patterns, null);
+    }
+
+    /** Whether {@code className} matches a hide (or {@link #matching}) pattern and no keep pattern. */
+    public boolean matches(String className) {
+        return className != null && isHidden(className, 0, className.length());
+    }
+
+    /** Whether frames of {@code className} are hidden. */
+    public boolean isHidden(String className) {
+        return matches(className);
+    }
+
+    /** Whether frames of the class named by {@code s[from..to)} are hidden; lets callers avoid a substring. */
+    boolean isHidden(CharSequence s, int from, int to) {
+        if (root == null) return false;
+        int found = match(root, s, from, to);
+        return (found & KEEP) == 0 && (found & HIDE) != 0;
+    }
+
+    /** Bits of the patterns that match a prefix of {@code s[i..len)}, starting at node {@code n}. */
+    private int match(Node n, CharSequence s, int i, int len) {
+        int found = 0;
+        while (true) {
+            found |= n.terminal;
+            if (done(found)) return found;
+            if (n.star != null) {
+                // one or more chars within the current segment
+                for (int j = i; j < len && s.charAt(j) != '.'; j++) {
+                    found |= match(n.star, s, j + 1, len);
+                    if (done(found)) return found;
+                }
+            }
+            if (n.anything != null) {
+                for (int j = i; j <= len; j++) {
+                    found |= match(n.anything, s, j, len);
+                    if (done(found)) return found;
+                }
+            }
+            if (i >= len || (n = n.child(s.charAt(i++))) == null) return found;
+        }
+    }
+
+    private boolean done(int found) {
+        return (found & KEEP) != 0 || (!hasKeep && found != 0);
+    }
+
+    private static boolean add(Builder root, List<String> patterns, int bit) {
+        if (patterns == null) return false;
+        boolean any = false;
+        for (String p : patterns) {
+            if (p == null || p.isBlank()) continue;
+            String pattern = p.trim();
+            Builder n = root;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                if (c == '*' && i + 1 < pattern.length() && pattern.charAt(i + 1) == '*') {
+                    n = (n.anything != null) ? n.anything : (n.anything = new Builder());
+                    i++;
+                } else if (c == '*') {
+                    n = (n.star != null) ? n.star : (n.star = new Builder());
+                } else {
+                    n = n.children.computeIfAbsent(c, k -> new Builder());
+                }
+            }
+            n.terminal |= bit;
+            any = true;
+        }
+        return any;
+    }
+
+    /** Frozen trie node; children sorted by char for a short linear or binary scan. */
+    private static final class Node {
+        final int terminal;
+        final char[] keys;
+        final Node[] children;
+        final Node star; // '*'
+        final Node anything; // '**'
+
+        Node(int terminal, char[] keys, Node[] children, Node star, Node anything) {
+            this.terminal = terminal;
+            this.keys = keys;
+            this.children = children;
+            this.star = star;
+            this.anything = anything;
+        }
+
+        Node child(char c) {
+            final char[] k = keys;
+            if (k.length <= 8) {
+                for (int i = 0; i < k.length; i++) if (k[i] == c) return children[i];
+                return null;
+            }
+            int lo = 0, hi = k.length - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                if (k[mid] < c) lo = mid + 1;
+                else if (k[mid] > c) hi = mid - 1;
+                else return children[mid];
+            }
+            return null;
+        }
+    }
+
+    private static final class Builder {
+        int terminal;
+        final TreeMap<Character, Builder> children = new TreeMap<>();
+        Builder star;
+        Builder anything;
+
+        Node build() {
+            char[] keys = new char[children.size()];
+            Node[] nodes = new Node[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, Builder> e : children.entrySet()) {
+                keys[i] = e.getKey();
+                nodes[i++] = e.getValue().build();
+            }
+            Node s = (star == null) ? null : star.build();
+            Node a = (anything == null) ? null : anything.build();
+            return new Node(terminal, keys, nodes, s, a);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2025 Puriflow4J Contributors
+ * Licensed under the Apache License 2.0
+ */
+package io.puriflow4j.logs.core.shorten;
+
+import io.puriflow4j.core.api.SipHash;
+import io.puriflow4j.logs.core.model.StackFrameView;
+import io.puriflow4j.logs.core.model.ThrowableView;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Render-once memo for {@link ExceptionShortener}: under incident load the same exception is logged thousands
+ * of times, with the same stack and usually the same message.
+ *
+ * <ul>
+ *   <li>Rendered frame sections are keyed on a stack fingerprint: class names and frames of every level of the
+ *       cause chain. A hit costs one hash and one comparison pass over the frames instead of one
+ *       {@link StackFrameView#pretty()} concatenation per frame.</li>
+ *   <li>Sanitized exception messages are keyed on a 128-bit {@link SipHash} of the message, under a random
+ *       per-cache key, and on the {@code Sanitizer} key generation: the output depends only on the message
+ *       and the pseudonymization key, so a key rotation invalidates every entry. Raw messages are never
+ *       kept, only their sanitized form, which is what gets logged anyway.</li>
+ * </ul>
+ *
+ * <p>Both are bounded, direct-mapped tables (a colliding key replaces the entry; nothing grows). Entries are
+ * immutable, so racy publication is safe: a lost write only costs one more rendering.</p>
+ */
+final class RenderCache {
+    static final int STACKS = 256; // power of two
+    static final int MESSAGES = 1024; // power of two
+
+    private final StackEntry[] stacks = new StackEntry[STACKS];
+    private final MessageEntry[] messages = new MessageEntry[MESSAGES];
+    private final long k0;
+    private final long k1;
+
+    RenderCache() {
+        SecureRandom random = new SecureRandom();
+        this.k0 = random.nextLong();
+        this.k1 = random.nextLong();
+    }
+
+    /**
+     * Rendered frame sections of {@code t}, computed by {@code render} on a miss. Callers must not modify them.
+     * Sections longer than {@code maxChars} in total were cut short by the renderer and are not cached, so the
+     * cache never pins oversized renderings.
+     */
+    String[] sections(ThrowableView t, Function<ThrowableView, String[]> render, int maxChars) {
+        int h = fingerprint(t);
+        int slot = h & (STACKS - 1);
+        StackEntry e = stacks[slot];
+        if (e != null && e.hash == h && sameStack(e.levels, t)) return e.sections;
+
+        String[] sections = render.apply(t);
+        long total = 0;
+        for (String s : sections) total += s.length();
+        if (total <= maxChars) stacks[slot] = new StackEntry(h, levels(t), sections);
+        return sections;
+    }
+
+    /** {@code sanitize(message)}, memoized per {@code generation} (see {@code Sanitizer.keyGeneration()}). */
+    String sanitized(String message, long generation, UnaryOperator<String> sanitize) {
+        SipHash h = SipHash.wide(k0, k1);
+        h.updateChars(message, 0, message.length());
+        long lo = h.finish(), hi = h.high();
+        int slot = (int) lo & (MESSAGES - 1);
+        MessageEntry e = messages[slot];
+        if (e != null && e.lo == lo && e.hi == hi && e.generation == generation) return e.sanitized;
+
+        String sanitized = sanitize.apply(message);
+        messages[slot] = new MessageEntry(lo, hi, generation, sanitized);
+        return sanitized;
+    }
+
+    static int fingerprint(ThrowableView t) {
+        int h = 1;
+        for (ThrowableView c = t; c != null; c = c.cause()) {
+            h = 31 * h + Objects.hashCode(c.className());
+            h = 31 * h + Objects.hashCode(c.frames());
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean sameStack(List<Level> levels, ThrowableView t) {
+        ThrowableView c = t;
+        for (Level l : levels) {
+            if (c == null
+                    || !Objects.equals(l.className, c.className())
+                    || !Objects.equals(l.frames, c.frames())) return false;
+            c = c.cause();
+        }
+        return c == null;
+    }
+
+    private static List<Level> levels(ThrowableView t) {
+        List<Level> out = new ArrayList<>(4);
+        for (ThrowableView c = t; c != null; c = c.cause()) out.add(new Level(c.className(), c.frames()));
+        return List.copyOf(out);
+    }
+
+    private record Level(String className, List<StackFrameView> frames) {}
+
+    private record StackEntry(int hash, List<Level> levels, String[] sections) {}
+
+    private record MessageEntry(long lo, long hi, long generation, String sanitized) {}
+}
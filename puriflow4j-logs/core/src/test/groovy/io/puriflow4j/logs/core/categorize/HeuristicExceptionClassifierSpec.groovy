@@ -161,4 +161,91 @@ class HeuristicExceptionClassifierSpec extends Specification {
         res.hasLabel()
         res.label() == "JSON"
     }
-}
\ No newline at end of file
+
+    @Unroll
+    def "does not match IO on substrings of package segments: '#cn'"(String cn) {
+        given:
+        def c = new HeuristicExceptionClassifier()
+
+        expect:
+        !c.classify(tv(cn)).hasLabel()
+
+        where:
+        cn << [
+                "com.ratio.pricing.QuoteRejected",
+                "com.acme.union.MergeConflict"
+        ]
+    }
+
+    def "classifies by type hierarchy when the Throwable is available"() {
+        given:
+        def c = new HeuristicExceptionClassifier()
+        def storage = new StorageFailure()
+        def slow = new SlowDependency()
+
+        expect: "subclasses of IOException / TimeoutException with neutral names"
+        c.classify(tv(storage.class.name), storage).label() == "IO"
+        c.classify(tv(slow.class.name), slow).label() == "TIMEOUT"
+
+        and: "the class name alone does not reveal the category"
+        !c.classify(tv(storage.class.name)).hasLabel()
+        !c.classify(tv(slow.class.name), null).hasLabel()
+    }
+
+    def "the type hierarchy wins over keywords of an earlier category"() {
+        given:
+        def c = new HeuristicExceptionClassifier()
+        def timeout = new HttpClientTimeoutException()
+        def export = new JsonExportIOException()
+
+        expect: "a TIMEOUT type named like HTTP, an IO type named like JSON"
+        c.classify(tv(timeout.class.name), timeout).label() == "TIMEOUT"
+        c.classify(tv(export.class.name), export).label() == "IO"
+
+        and: "without the Throwable only the name is known"
+        c.classify(tv(timeout.class.name)).label() == "HTTP"
+        c.classify(tv(export.class.name)).label() == "JSON"
+    }
+
+    def "type entries of every rule are checked before any package pattern"() {
+        given:
+        def c = new HeuristicExceptionClassifier([SCHEDULING: ["java.util.concurrent."]])
+
+        expect:
+        c.classify(tv("java.util.concurrent.TimeoutException")).label() == "TIMEOUT"
+        c.classify(tv("java.util.concurrent.RejectedExecutionException")).label() == "SCHEDULING"
+    }
+
+    def "custom categories win over built-in ones and accept types and package patterns"() {
+        given:
+        def c = new HeuristicExceptionClassifier([
+                PAYMENT: ["com.acme.pay.", "java.io.IOException"],
+                LEGACY : ["com.acme.*.v1."]
+        ])
+        def storage = new StorageFailure()
+
+        expect:
+        c.classify(tv("com.acme.pay.CardDeclined")).label() == "PAYMENT"
+        c.classify(tv(storage.class.name), storage).label() == "PAYMENT"
+        c.classify(tv("com.acme.orders.v1.OldApiError")).label() == "LEGACY"
+        c.classify(tv("java.sql.SQLException")).label() == "DB"
+    }
+
+    def "repeated lookups return the cached result"() {
+        given:
+        def c = new HeuristicExceptionClassifier()
+        def e = new java.sql.SQLException("x")
+
+        expect:
+        c.classify(tv("java.sql.SQLException")).is(c.classify(tv("java.sql.SQLException")))
+        c.classify(tv(e.class.name), e).is(c.classify(tv(e.class.name), new java.sql.SQLException("y")))
+    }
+
+    static class StorageFailure extends IOException {}
+
+    static class SlowDependency extends java.util.concurrent.TimeoutException {}
+
+    static class HttpClientTimeoutException extends java.util.concurrent.TimeoutException {}
+
+    static class JsonExportIOException extends IOException {}
+}
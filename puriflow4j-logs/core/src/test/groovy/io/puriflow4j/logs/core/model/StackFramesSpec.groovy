@@ -0,0 +1,77 @@
+package io.puriflow4j.logs.core.model
+
+import spock.lang.Specification
+
+/**
+ * Tests for StackFrames:
+ *  - lazy frames read like materialized StackFrameViews, without being materialized by the renderer helpers
+ *  - List equality/hash contract holds between lazy and plain lists
+ */
+class StackFramesSpec extends Specification {
+
+    def elements = [
+            new StackTraceElement("app.Svc", "call", "Svc.java", 10),
+            new StackTraceElement("org.fw.Proxy", "invoke", null, -1)
+    ] as StackTraceElement[]
+
+    def views = [
+            new StackFrameView("app.Svc", "call", "Svc.java", 10),
+            new StackFrameView("org.fw.Proxy", "invoke", null, -1)
+    ]
+
+    def "lazy frames match materialized views"() {
+        given:
+        def frames = StackFrames.of(elements)
+        def sb = new StringBuilder()
+
+        when:
+        frames.appendPretty(sb, 0)
+        sb.append('|')
+        frames.appendPretty(sb, 1)
+
+        then:
+        frames.size() == 2
+        frames.className(1) == "org.fw.Proxy"
+        sb.toString() == views[0].pretty() + "|" + views[1].pretty()
+        frames.frameHash(0) == views[0].hashCode()
+        frames.get(0) == views[0]
+        frames.get(0).is(frames.get(0))
+    }
+
+    def "lazy and plain frame lists are equal with equal hashes"() {
+        given:
+        def lazy = StackFrames.of(elements)
+        def plain = StackFrames.of(views)
+
+        expect:
+        lazy == views
+        views == lazy
+        lazy == plain
+        lazy == StackFrames.of(elements.clone())
+        lazy.hashCode() == views.hashCode()
+        plain.hashCode() == views.hashCode()
+        lazy != StackFrames.of([views[0]])
+    }
+
+    def "proxies are unwrapped through the accessor; null or empty means no frames"() {
+        given:
+        def holders = elements.collect { new Holder(element: it) } as Holder[]
+
+        expect:
+        StackFrames.of(holders, { Holder h -> h.element }) == views
+        StackFrames.of(null as List).isEmpty()
+        StackFrames.of(new StackTraceElement[0]).isEmpty()
+    }
+
+    def "is read-only"() {
+        when:
+        StackFrames.of(elements).add(views[0])
+
+        then:
+        thrown(UnsupportedOperationException)
+    }
+
+    static class Holder {
+        StackTraceElement element
+    }
+}
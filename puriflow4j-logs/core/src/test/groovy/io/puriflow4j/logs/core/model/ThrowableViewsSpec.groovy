@@ -0,0 +1,71 @@
+package io.puriflow4j.logs.core.model
+
+import spock.lang.Specification
+
+class ThrowableViewsSpec extends Specification {
+
+    def "maps causes and suppressed exceptions of every level"() {
+        given:
+        def root = new IllegalArgumentException("root")
+        def closing = new IOException("closing")
+        def top = new RuntimeException("top", root)
+        top.addSuppressed(closing)
+        root.addSuppressed(new IllegalStateException("late"))
+
+        when:
+        def tv = ThrowableViews.of(top)
+
+        then:
+        tv.className() == RuntimeException.name
+        tv.suppressed()*.message() == ["closing"]
+        tv.cause().message() == "root"
+        tv.cause().suppressed()*.className() == [IllegalStateException.name]
+        !tv.circular()
+    }
+
+    def "an exception met again becomes a circular reference"() {
+        given:
+        def a = new RuntimeException("a")
+        def b = new IllegalStateException("b", a)
+        a.initCause(b)
+        def top = new Exception("top")
+        top.addSuppressed(new Exception("closing", top))
+
+        when:
+        def cyc = ThrowableViews.of(a)
+        def sup = ThrowableViews.of(top)
+
+        then:
+        cyc.cause().message() == "b"
+        cyc.cause().cause().circular()
+        cyc.cause().cause().message() == "a"
+        cyc.cause().cause().cause() == null
+
+        and:
+        sup.suppressed()[0].message() == "closing"
+        sup.suppressed()[0].cause().circular()
+        sup.suppressed()[0].cause().message() == "top"
+    }
+
+    def "suppressed exceptions and the whole graph are bounded"() {
+        given:
+        def many = new RuntimeException("many")
+        100.times { many.addSuppressed(new RuntimeException("s$it")) }
+        def wide = new RuntimeException("wide")
+        100.times { i ->
+            def s = new RuntimeException("w$i")
+            100.times { s.addSuppressed(new RuntimeException("n$it")) }
+            wide.addSuppressed(s)
+        }
+
+        expect:
+        ThrowableViews.of(many).suppressed().size() == ThrowableView.MAX_SUPPRESSED
+        count(ThrowableViews.of(wide)) <= ThrowableView.MAX_VIEWS
+        ThrowableViews.of(null) == null
+    }
+
+    private static int count(ThrowableView tv) {
+        if (tv == null) return 0
+        1 + count(tv.cause()) + tv.suppressed().sum(0) { count(it) }
+    }
+}
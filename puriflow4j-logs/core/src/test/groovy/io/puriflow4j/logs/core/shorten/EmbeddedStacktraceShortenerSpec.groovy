@@ -144,4 +144,39 @@ class EmbeddedStacktraceShortenerSpec extends Specification {
                 "    at app.Next.go(Next.java:2)"
         ].join("\n"))
     }
+
+    def "returns the same instance for messages without frame lines"() {
+        given:
+        def shortener = new EmbeddedStacktraceShortener(mkSanitizer(), 5, List.of("java."))
+        def msg = "user logged in at 10:00\nsession password=abc"
+
+        expect:
+        shortener.shorten(msg, "demo").is(msg)
+    }
+
+    def "sanitizes the header region with one call and keeps CRLF input intact"() {
+        given:
+        int calls = 0
+        Detector counting = { String s -> calls++; DetectionResult.empty() } as Detector
+        def shortener = new EmbeddedStacktraceShortener(new Sanitizer([counting], Action.MASK), 5, List.of("java."))
+        def msg = [
+                "first header",
+                "second header",
+                "\tat app.Main.run(Main.java:1)",
+                "\tat java.lang.Thread.run(Thread.java:2)",
+                ""
+        ].join("\r\n")
+
+        when:
+        def out = shortener.shorten(msg, "demo")
+
+        then:
+        calls == 1
+        norm(out) == norm([
+                "first header",
+                "second header",
+                "\tat app.Main.run(Main.java:1)",
+                " (1 framework frames omitted)"
+        ].join("\n"))
+    }
 }
@@ -0,0 +1,113 @@
+package io.puriflow4j.logs.core.shorten
+
+import io.puriflow4j.core.api.Sanitizer
+import io.puriflow4j.core.api.model.Action
+import io.puriflow4j.logs.core.model.StackFrameView
+import io.puriflow4j.logs.core.model.ThrowableView
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Tests for ExceptionDeduplicator (driven by a fake nano clock):
+ *  - the first occurrence is rendered in full with an id, repeats within the window as one line
+ *  - a closed window with repeats produces one summary; the next occurrence is rendered in full again
+ *  - the scheduled drain emits summaries without further events
+ *  - different top frames or root causes are different exceptions
+ */
+class ExceptionDeduplicatorSpec extends Specification {
+
+    long now = 0
+    def shortener = new ExceptionShortener(new Sanitizer(List.of(), Action.MASK), false, 5, List.of())
+    def dedup = new ExceptionDeduplicator(Duration.ofSeconds(10), 5, 16, { now })
+
+    private static ThrowableView tv(String cls, String msg, int line = 1, ThrowableView cause = null) {
+        new ThrowableView(cls, msg, [new StackFrameView("app.Repo", "find", "Repo.java", line)], cause)
+    }
+
+    private static String id(String rendered) {
+        rendered.substring(1, 7)
+    }
+
+    def "renders the first occurrence in full and repeats as one line"() {
+        when:
+        def first = dedup.format(shortener, tv("java.sql.SQLException", "down"), "l", "DB")
+        now = 3_000_000_000L
+        def second = dedup.format(shortener, tv("java.sql.SQLException", "down again"), "l", "DB")
+
+        then:
+        first ==~ /(?s)#[0-9a-f]{6} \[DB\] SQLException: down\n\tat app\.Repo\.find\(Repo\.java:1\)/
+        second == "[DB] SQLException (same as #${id(first)}, 2 times in last 3s)"
+        dedup.drainSummaries().isEmpty()
+    }
+
+    def "emits one summary per closed window and renders in full again afterwards"() {
+        given:
+        def t = tv("java.sql.SQLException", "down")
+        def first = dedup.format(shortener, t, "l", null)
+        3.times { dedup.format(shortener, t, "l", null) }
+
+        when:
+        now = 11_000_000_000L
+        def summaries = dedup.drainSummaries()
+
+        then:
+        summaries == ["[puriflow4j] exception #${id(first)} (SQLException) occurred 4 times in last 10s; "
+                + "repeats were shortened"]
+        dedup.drainSummaries().isEmpty()
+        dedup.format(shortener, t, "l", null).startsWith("#${id(first)} SQLException: down")
+    }
+
+    def "a scheduled drain emits summaries without further events"() {
+        given:
+        def clock = new AtomicLong()
+        def fast = new ExceptionDeduplicator(Duration.ofMillis(100), 5, 16, { clock.get() })
+        def received = new CopyOnWriteArrayList<String>()
+        def t = tv("java.sql.SQLException", "down")
+        3.times { fast.format(shortener, t, "l", null) }
+
+        when:
+        fast.startScheduledDrain { received.addAll(it) }
+        clock.set(1_000_000_000L)
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert received.size() == 1
+        }
+        received[0].contains("(SQLException) occurred 3 times")
+
+        cleanup:
+        fast.stopScheduledDrain()
+    }
+
+    def "flushes open windows with repeats only"() {
+        given:
+        dedup.format(shortener, tv("a.Once", "x"), "l", null)
+        2.times { dedup.format(shortener, tv("a.Twice", "x"), "l", null) }
+
+        expect:
+        dedup.flushSummaries()*.contains("(Twice) occurred 2 times in last 1s") == [true]
+    }
+
+    def "different top frames or root causes are not repeats"() {
+        given:
+        dedup.format(shortener, tv("a.Boom", "x", 1, tv("a.Db", "y")), "l", null)
+
+        expect:
+        dedup.format(shortener, other, "l", null).startsWith("#")
+
+        where:
+        other << [tv("a.Boom", "x", 2, tv("a.Db", "y")), tv("a.Boom", "x", 1, tv("a.Net", "y"))]
+    }
+
+    def "rejects empty windows"() {
+        when:
+        new ExceptionDeduplicator(Duration.ZERO)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
@@ -1,6 +1,7 @@
 package io.puriflow4j.logs.core.shorten
 
 import io.puriflow4j.core.api.Detector
+import io.puriflow4j.core.api.Pseudonymizer
 import io.puriflow4j.core.api.Sanitizer
 import io.puriflow4j.core.api.model.Action
 import io.puriflow4j.core.api.model.DetectionResult
@@ -180,4 +181,147 @@ class ExceptionShortenerSpec extends Specification {
         // no message part after class name
         out == "[X] B"
     }
+
+    def "repeated exceptions: frames rendered once per stack, messages sanitized once per text"() {
+        given:
+        int calls = 0
+        Detector counting = { String s -> calls++; DetectionResult.empty() } as Detector
+        def shortener = new ExceptionShortener(new Sanitizer([counting], Action.MASK), false, 5, List.of())
+        def frames = [f("app.Svc", "call", "Svc.java", 10)]
+
+        when:
+        def first = shortener.format(tv("a.Boom", "down", frames, tv("a.Cause", "io", frames)), "l")
+        def again = shortener.format(tv("a.Boom", "down", List.copyOf(frames), tv("a.Cause", "io", frames)), "l")
+
+        then:
+        first == again
+        calls == 2 // "down" and "io", once each
+
+        when: "same stack, new message: only the header changes"
+        def other = shortener.format(tv("a.Boom", "other", frames, tv("a.Cause", "io", frames)), "l")
+
+        then:
+        norm(other) == norm(first).replace("Boom: down", "Boom: other")
+        calls == 3
+
+        when: "different stack: frames are rendered again"
+        def moved = shortener.format(tv("a.Boom", "down", [f("app.Svc", "call", "Svc.java", 11)], null), "l")
+
+        then:
+        norm(moved) == "Boom: down\n\tat app.Svc.call(Svc.java:11)"
+    }
+
+    def "memoized messages follow a pseudonymization key rotation"() {
+        given:
+        Detector email = { String s ->
+            int at = s.indexOf("alice@x.io")
+            at < 0 ? DetectionResult.empty()
+                    : new DetectionResult(true, [new DetectionResult.Span(at, at + 10, "email", "[MASKED_EMAIL]")])
+        } as Detector
+        def pseudonymizer = new Pseudonymizer("k1", "0123456789abcdef".bytes)
+        def shortener = new ExceptionShortener(
+                new Sanitizer([email], Action.PSEUDONYMIZE, pseudonymizer), true, 5, List.of())
+        def boom = tv("a.Boom", "no account alice@x.io")
+
+        expect:
+        shortener.format(boom, "l").contains("[email#k1:")
+        shortener.format(boom, "l").contains("[email#k1:")
+
+        when:
+        pseudonymizer.rotate("k2", "fedcba9876543210".bytes)
+
+        then:
+        shortener.format(boom, "l").contains("[email#k2:")
+    }
+
+    def "full: frames shared with the enclosing exception are elided like the JDK does"() {
+        given:
+        def shortener = new ExceptionShortener(mkSanitizer(), false, 5, List.of())
+        def common = [f("app.Api", "route", "Api.java", 20), f("app.Main", "main", "Main.java", 1)]
+        def cause = tv("db.DriverException", "down", [f("db.Driver", "exec", "Driver.java", 7)] + common)
+        def top = tv("app.ServiceException", "failed", [f("app.Svc", "call", "Svc.java", 10)] + common, cause)
+
+        when:
+        def out = norm(shortener.format(top, "l"))
+
+        then:
+        out == [
+                "ServiceException: failed",
+                "\tat app.Svc.call(Svc.java:10)",
+                "\tat app.Api.route(Api.java:20)",
+                "\tat app.Main.main(Main.java:1)",
+                "Caused by: DriverException: down",
+                "\tat db.Driver.exec(Driver.java:7)",
+                "\t... 2 more"
+        ].join("\n")
+    }
+
+    def "full: suppressed exceptions are indented and circular references are marked"() {
+        given:
+        def shortener = new ExceptionShortener(mkSanitizer(), false, 5, List.of())
+        def main = [f("app.Main", "main", "Main.java", 1)]
+        def closing = new ThrowableView("java.io.IOException", "close secret=abc",
+                [f("app.Res", "close", "Res.java", 3)] + main, null)
+        def top = new ThrowableView("app.Boom", "boom", [f("app.Svc", "call", "Svc.java", 10)] + main,
+                ThrowableView.circularReference("app.Boom", "boom"), [closing])
+
+        when:
+        def out = norm(shortener.format(top, "l"))
+
+        then:
+        out == [
+                "Boom: boom",
+                "\tat app.Svc.call(Svc.java:10)",
+                "\tat app.Main.main(Main.java:1)",
+                "\tSuppressed: [Masked] IOException: close secret=[MASKED]",
+                "\t\tat app.Res.close(Res.java:3)",
+                "\t\t... 1 more",
+                "Caused by: [CIRCULAR REFERENCE: Boom: boom]"
+        ].join("\n")
+    }
+
+    def "renderings are cut at a line break once they exceed maxChars"() {
+        given:
+        def frames = (1..200).collect { f("app.Deep", "m" + it, "Deep.java", it) }
+        def shortener = new ExceptionShortener(mkSanitizer(), false, 5, PackageFilter.none(), 500)
+
+        when:
+        def out = norm(shortener.format(tv("app.Boom", "boom", frames), "l"))
+
+        then:
+        out.length() <= 500 + 40
+        out.startsWith("Boom: boom\n\tat app.Deep.m1(Deep.java:1)")
+        out.endsWith("\n\t... (truncated at 500 chars)")
+        out.readLines()[-2] ==~ /\tat app\.Deep\.m\d+\(Deep\.java:\d+\)/ // last line kept is complete
+    }
+
+    def "a deep chain of huge stacks is rendered only up to maxChars and not cached"() {
+        given: "64 levels of 2000 distinct frames each, about 4 MB if rendered in full"
+        ThrowableView chain = null
+        (64..1).each { level ->
+            def frames = (1..2000).collect { f("app.L" + level, "m" + it, "L.java", it) }
+            chain = tv("app.Boom" + level, "level " + level, frames, chain)
+        }
+        def shortener = new ExceptionShortener(mkSanitizer(), false, 5, PackageFilter.none(), 4096)
+
+        when:
+        String[] sections = shortener.renderSections(chain)
+        def out = norm(shortener.format(chain, "l"))
+
+        then: "rendering stopped just past the limit; later levels were not rendered at all"
+        sections.length == 64
+        sections.sum { it.length() } <= 4096 + 64
+        sections[1..-1].every { it.isEmpty() }
+        out.length() <= 4096 + 40
+        out.endsWith("\n\t... (truncated at 4096 chars)")
+
+        and: "the cut-short sections are not kept"
+        shortener.cache.stacks.every { it == null }
+
+        when: "a small exception is still cached"
+        shortener.format(tv("app.Small", "x", [f("app.S", "m", "S.java", 1)]), "l")
+
+        then:
+        shortener.cache.stacks.count { it != null } == 1
+    }
 }
@@ -0,0 +1,99 @@
+package io.puriflow4j.logs.core.shorten
+
+import io.puriflow4j.core.api.Sanitizer
+import io.puriflow4j.core.api.model.Action
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class PackageFilterSpec extends Specification {
+
+    @Unroll
+    def "plain entries keep startsWith semantics: #className hidden=#hidden"() {
+        given:
+        def filter = PackageFilter.of(["java.", "org.springframework", " jdk.internal. ", "", null], null)
+
+        expect:
+        filter.isHidden(className) == hidden
+
+        where:
+        className                                 || hidden
+        "java.lang.Thread"                        || true
+        "javax.servlet.Filter"                    || false
+        "org.springframework.web.Servlet"         || true
+        "org.springframeworkx.Foo"                || true
+        "jdk.internal.reflect.Method"             || true
+        "com.acme.Service"                        || false
+        ""                                        || false
+        null                                      || false
+    }
+
+    @Unroll
+    def "globs: '*' matches within one segment, '**' across segments: #className hidden=#hidden"() {
+        given:
+        def filter = PackageFilter.of(["org.springframework.*.aop.", "com.acme.**.generated."], null)
+
+        expect:
+        filter.isHidden(className) == hidden
+
+        where:
+        className                                    || hidden
+        "org.springframework.cloud.aop.Advice"       || true
+        "org.springframework.aop.Advice"             || false
+        "org.springframework.cloud.x.aop.Advice"     || false
+        "org.springframework.cloud.web.Servlet"      || false
+        "com.acme.generated.Dto"                     || false
+        "com.acme.a.generated.Dto"                   || true
+        "com.acme.a.b.c.generated.Dto"               || true
+    }
+
+    def "keep entries win over hide entries"() {
+        given:
+        def filter = PackageFilter.of(["com.acme.", "java."], ["com.acme.billing.", "com.acme.*.api."])
+
+        expect:
+        filter.isHidden("com.acme.infra.Retry")
+        filter.isHidden("java.util.List")
+        !filter.isHidden("com.acme.billing.InvoiceService")
+        !filter.isHidden("com.acme.orders.api.OrderController")
+    }
+
+    def "empty hide list hides nothing"() {
+        expect:
+        !PackageFilter.of(null, ["com.acme."]).isHidden("java.lang.Thread")
+        !PackageFilter.of([], null).isHidden("java.lang.Thread")
+        !PackageFilter.none().isHidden("java.lang.Thread")
+    }
+
+    def "a matching filter selects class names by the same patterns"() {
+        given:
+        def filter = PackageFilter.matching(["com.acme.*.v1.", "java.sql.SQLException"])
+
+        expect:
+        filter.matches("com.acme.orders.v1.OldApiError")
+        filter.matches("java.sql.SQLException")
+        !filter.matches("com.acme.orders.v2.NewApiError")
+        !filter.matches(null)
+        !PackageFilter.matching(null).matches("java.sql.SQLException")
+    }
+
+    def "shorteners accept a compiled filter"() {
+        given:
+        def filter = PackageFilter.of(["app."], ["app.keep."])
+        def shortener = new EmbeddedStacktraceShortener(new Sanitizer(List.of(), Action.MASK), 5, filter)
+        def msg = [
+                "boom",
+                "    at app.internal.X.a(X.java:1)",
+                "    at app.keep.Y.b(Y.java:2)"
+        ].join("\n")
+
+        when:
+        def out = shortener.shorten(msg, "demo").replaceAll("\\R", "\n")
+
+        then:
+        out == [
+                "boom",
+                "    at app.keep.Y.b(Y.java:2)",
+                " (1 framework frames omitted)"
+        ].join("\n")
+    }
+}
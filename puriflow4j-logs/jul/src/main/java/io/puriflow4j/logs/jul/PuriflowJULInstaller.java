@@ -8,8 +8,10 @@ import io.puriflow4j.core.api.Sanitizer;
 import io.puriflow4j.core.api.model.Mode;
 import io.puriflow4j.logs.core.categorize.ExceptionClassifier;
 import io.puriflow4j.logs.core.shorten.EmbeddedStacktraceShortener;
+import io.puriflow4j.logs.core.shorten.ExceptionDeduplicator;
 import io.puriflow4j.logs.core.shorten.ExceptionShortener;
 import java.io.UnsupportedEncodingException;
+import java.time.Duration;
 import java.util.*;
 import java.util.logging.*;
 
@@ -25,6 +27,7 @@ public final class PuriflowJULInstaller {
     private final EmbeddedStacktraceShortener embeddedShortener;
     private final ExceptionClassifier classifier;
     private final Mode mode;
+    private final Duration dedupWindow; // null => no exception deduplication
 
     public PuriflowJULInstaller(
             Sanitizer sanitizer,
@@ -32,11 +35,23 @@ public final class PuriflowJULInstaller {
             EmbeddedStacktraceShortener embeddedShortener,
             ExceptionClassifier classifier,
             Mode mode) {
+        this(sanitizer, shortener, embeddedShortener, classifier, mode, null);
+    }
+
+    /** @param dedupWindow exception storm deduplication window (null = off); one deduplicator per handler */
+    public PuriflowJULInstaller(
+            Sanitizer sanitizer,
+            ExceptionShortener shortener,
+            EmbeddedStacktraceShortener embeddedShortener,
+            ExceptionClassifier classifier,
+            Mode mode,
+            Duration dedupWindow) {
         this.sanitizer = Objects.requireNonNull(sanitizer);
         this.shortener = Objects.requireNonNull(shortener);
         this.embeddedShortener = embeddedShortener;
         this.classifier = Objects.requireNonNull(classifier);
         this.mode = Objects.requireNonNull(mode);
+        this.dedupWindow = dedupWindow;
     }
 
     /** Public API: install now. Safe to call multiple times. */
@@ -67,7 +82,9 @@ public final class PuriflowJULInstaller {
             // detach original
             logger.removeHandler(h);
             // attach purify wrapper that delegates to original
-            PurifyJULHandler ph = new PurifyJULHandler(h, sanitizer, shortener, embeddedShortener, classifier, mode);
+            var dedup = (dedupWindow == null) ? null : new ExceptionDeduplicator(dedupWindow);
+            PurifyJULHandler ph =
+                    new PurifyJULHandler(h, sanitizer, shortener, embeddedShortener, classifier, mode, dedup);
             logger.addHandler(ph);
         }
     }
@@ -11,10 +11,12 @@ import io.puriflow4j.logs.core.model.ThrowableView;
 import io.puriflow4j.logs.core.sanitize.MdcSanitizer;
 import io.puriflow4j.logs.core.sanitize.MessageSanitizer;
 import io.puriflow4j.logs.core.shorten.EmbeddedStacktraceShortener;
+import io.puriflow4j.logs.core.shorten.ExceptionDeduplicator;
 import io.puriflow4j.logs.core.shorten.ExceptionShortener;
 import java.io.UnsupportedEncodingException;
 import java.util.*;
 import java.util.logging.Handler;
+import java.util.logging.Level;
 import java.util.logging.LogRecord;
 
 /**
@@ -26,9 +28,16 @@ import java.util.logging.LogRecord;
  * IMPORTANT: JUL has no native MDC. We try in order:
  *  1) if LogRecord.getParameters()[i] is a Map<?,?>, treat it as MDC-like data,
  *  2) if org.slf4j.MDC exists, read its context map (optional dependency).
+ *
+ * With an optional {@link ExceptionDeduplicator}, repeated exceptions are rendered as one line and
+ * summaries are published as WARNINGs with logger name {@code puriflow.logs.dedup}: with the next record,
+ * once per window even without further records (scheduled on the first exception, so a handler that never
+ * sees one holds no schedule) until {@link #close()}, and on {@link #close()}.
  */
 public final class PurifyJULHandler extends Handler {
 
+    private static final String DEDUP_LOGGER = "puriflow.logs.dedup";
+
     private final Handler delegate;
     private final MessageSanitizer msgSan;
     private final MdcSanitizer mdcSan;
@@ -36,6 +45,8 @@ public final class PurifyJULHandler extends Handler {
     private final EmbeddedStacktraceShortener embeddedShortener;
     private final ExceptionClassifier classifier;
     private final Mode mode;
+    private final ExceptionDeduplicator dedup; // may be null
+    private volatile boolean drainStarted; // also set by close() so that the drain is never started afterwards
 
     public PurifyJULHandler(
             Handler delegate,
@@ -45,6 +56,19 @@ public final class PurifyJULHandler extends Handler {
             ExceptionClassifier classifier,
             Mode mode)
             throws UnsupportedEncodingException {
+        this(delegate, sanitizer, shortener, embeddedShortener, classifier, mode, null);
+    }
+
+    /** @param dedup optional exception storm deduplication (may be null); not to be shared with other handlers */
+    public PurifyJULHandler(
+            Handler delegate,
+            Sanitizer sanitizer,
+            ExceptionShortener shortener,
+            EmbeddedStacktraceShortener embeddedShortener,
+            ExceptionClassifier classifier,
+            Mode mode,
+            ExceptionDeduplicator dedup)
+            throws UnsupportedEncodingException {
 
         this.delegate = Objects.requireNonNull(delegate, "delegate");
         this.msgSan = new MessageSanitizer(Objects.requireNonNull(sanitizer, "sanitizer"));
@@ -53,9 +77,10 @@ public final class PurifyJULHandler extends Handler {
         this.embeddedShortener = embeddedShortener;
         this.classifier = Objects.requireNonNull(classifier, "classifier");
         this.mode = Objects.requireNonNull(mode, "mode");
+        this.dedup = dedup;
 
         // mirror delegate's config
-        setFormatter(delegate.getFormatter());
+        if (delegate.getFormatter() != null) setFormatter(delegate.getFormatter());
         setFilter(delegate.getFilter());
         setLevel(delegate.getLevel());
         setEncoding(getEncoding());
@@ -66,6 +91,7 @@ public final class PurifyJULHandler extends Handler {
         if (!isLoggable(record)) return;
 
         final String logger = record.getLoggerName();
+        if (dedup != null) publishDedupSummaries(dedup.drainSummaries());
 
         // 1) message
         final String originalMsg = MessageFormatter.formatJul(record);
@@ -86,12 +112,17 @@ public final class PurifyJULHandler extends Handler {
             ThrowableView tv = ThrowableViewAdapter.toView(record.getThrown());
             String label = null;
             try {
-                var res = classifier.classify(tv);
+                var res = classifier.classify(tv, record.getThrown());
                 if (res != null && res.hasLabel()) label = res.label();
             } catch (Throwable ignore) {
                 /* best-effort */
             }
-            renderedExc = shortener.format(tv, logger, label);
+            if (dedup != null) {
+                startDrainOnce();
+                renderedExc = dedup.format(shortener, tv, logger, label);
+            } else {
+                renderedExc = shortener.format(tv, logger, label);
+            }
         }
 
         final boolean msgChanged = !Objects.equals(originalMsg, maskedMsg);
@@ -127,9 +158,33 @@ public final class PurifyJULHandler extends Handler {
 
     @Override
     public void close() throws SecurityException {
+        if (dedup != null) {
+            synchronized (this) {
+                drainStarted = true;
+            }
+            dedup.stopScheduledDrain();
+            publishDedupSummaries(dedup.flushSummaries());
+        }
         delegate.close();
     }
 
+    private void startDrainOnce() {
+        if (drainStarted) return;
+        synchronized (this) {
+            if (drainStarted) return;
+            drainStarted = true;
+            dedup.startScheduledDrain(this::publishDedupSummaries);
+        }
+    }
+
+    private void publishDedupSummaries(List<String> summaries) {
+        for (String summary : summaries) {
+            LogRecord r = new LogRecord(Level.WARNING, summary);
+            r.setLoggerName(DEDUP_LOGGER);
+            delegate.publish(r);
+        }
+    }
+
     /** Builds a sanitized copy: replaces message and removes Throwable. */
     private static LogRecord copy(LogRecord src, String newMsg, Throwable newThrown) {
         LogRecord r = new LogRecord(src.getLevel(), newMsg);
@@ -6,9 +6,13 @@ import io.puriflow4j.core.api.model.Mode
 import io.puriflow4j.logs.core.categorize.ExceptionClassifier
 import io.puriflow4j.logs.core.model.ThrowableView
 import io.puriflow4j.logs.core.shorten.EmbeddedStacktraceShortener
+import io.puriflow4j.logs.core.shorten.ExceptionDeduplicator
 import io.puriflow4j.logs.core.shorten.ExceptionShortener
 import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
 
+import java.time.Duration
+import java.util.concurrent.CopyOnWriteArrayList
 import java.util.logging.*
 
 /**
@@ -105,4 +109,73 @@ class PurifyJULHandlerSpec extends Specification {
         delegate.last.message == "Hi {0}"
         delegate.last.thrown == null
     }
-}
\ No newline at end of file
+
+    def "exception storm: repeats are shortened and summaries are published on close"() {
+        given:
+        def delegate = new AllRecords()
+        def sanitizer = new Sanitizer(List.of(), Action.MASK)
+        def shortener = new ExceptionShortener(sanitizer, false, 3, Collections.emptyList())
+        def handler = new PurifyJULHandler(delegate, sanitizer, shortener, null, dummyClassifier(), Mode.MASK,
+                new ExceptionDeduplicator(Duration.ofMinutes(1)))
+        def boom = new RuntimeException("boom")
+
+        when:
+        3.times {
+            def r = new LogRecord(Level.SEVERE, "failed")
+            r.loggerName = "test.logger"
+            r.thrown = boom
+            handler.publish(r)
+        }
+        handler.close()
+
+        then:
+        delegate.records.size() == 4
+        delegate.records[0].message.startsWith("failed\n#")
+        delegate.records[0].message.contains("RuntimeException: boom\n\tat ")
+        delegate.records[2].message ==~ /failed\nRuntimeException \(same as #[0-9a-f]{6}, 3 times in last \d+s\)/
+        delegate.records[3].loggerName == "puriflow.logs.dedup"
+        delegate.records[3].message.contains("(RuntimeException) occurred 3 times")
+    }
+
+    def "exception storm: the drain is scheduled on the first exception and publishes without close"() {
+        given:
+        def delegate = new AllRecords()
+        def sanitizer = new Sanitizer(List.of(), Action.MASK)
+        def shortener = new ExceptionShortener(sanitizer, false, 3, Collections.emptyList())
+        def handler = new PurifyJULHandler(delegate, sanitizer, shortener, null, dummyClassifier(), Mode.MASK,
+                new ExceptionDeduplicator(Duration.ofMillis(100)))
+        def boom = new RuntimeException("boom")
+
+        when:
+        handler.publish(new LogRecord(Level.INFO, "no exception yet"))
+        Thread.sleep(300)
+
+        then: "nothing to drain and no schedule yet"
+        delegate.records.size() == 1
+
+        when:
+        2.times {
+            def r = new LogRecord(Level.SEVERE, "failed")
+            r.thrown = boom
+            handler.publish(r)
+        }
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert delegate.records.size() == 4
+        }
+        delegate.records[3].loggerName == "puriflow.logs.dedup"
+        delegate.records[3].message.contains("(RuntimeException) occurred 2 times")
+
+        cleanup:
+        handler.close()
+    }
+
+    /** Capturing delegate that keeps every published LogRecord. */
+    static class AllRecords extends Handler {
+        final List<LogRecord> records = new CopyOnWriteArrayList<>()
+        @Override void publish(LogRecord record) { records << record }
+        @Override void flush() { /* no-op */ }
+        @Override void close() throws SecurityException { /* no-op */ }
+    }
+}
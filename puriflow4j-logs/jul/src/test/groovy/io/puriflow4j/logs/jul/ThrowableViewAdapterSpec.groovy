@@ -85,7 +85,7 @@ class ThrowableViewAdapterSpec extends Specification {
         tv.cause.cause.cause == null
     }
 
-    def "frames list is unmodifiable (adapter uses List.copyOf)"() {
+    def "frames list is unmodifiable (read-only view over the stack trace)"() {
         given:
         def ex = new RuntimeException("msg")
         ex.stackTrace = [ ste("x.Y", "f", "Y.java", 1) ] as StackTraceElement[]
@@ -97,4 +97,24 @@ class ThrowableViewAdapterSpec extends Specification {
         then:
         thrown(UnsupportedOperationException)
     }
+
+    def "cause chain ends with a circular reference at a cycle and stops at MAX_CAUSE_DEPTH"() {
+        given:
+        def a = new RuntimeException("a")
+        def b = new IllegalStateException("b", a)
+        a.initCause(b)
+        def deep = new RuntimeException("0")
+        199.times { deep = new RuntimeException("${it + 1}", deep) }
+
+        expect:
+        levels(ThrowableViewAdapter.toView(a)) == 3
+        ThrowableViewAdapter.toView(a).cause.cause.circular
+        levels(ThrowableViewAdapter.toView(deep)) == ThrowableView.MAX_CAUSE_DEPTH
+    }
+
+    private static int levels(ThrowableView tv) {
+        int n = 0
+        for (def c = tv; c != null; c = c.cause) n++
+        n
+    }
 }
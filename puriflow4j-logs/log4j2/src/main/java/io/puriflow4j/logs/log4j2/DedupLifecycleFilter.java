@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2025 Puriflow4J Contributors
+ * Licensed under the Apache License 2.0
+ */
+package io.puriflow4j.logs.log4j2;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.filter.AbstractFilter;
+
+/**
+ * Neutral filter that ties the dedup summaries of a {@link PuriflowRewritePolicy} to the lifecycle of its
+ * {@code RewriteAppender}: a RewritePolicy is never started or stopped, but an appender starts and stops its
+ * filter. Starting schedules the periodic drain, stopping flushes what is pending. Log4j2 stops appenders in
+ * reverse order of creation, so the wrapper flushes while the appender it wraps is still running.
+ */
+final class DedupLifecycleFilter extends AbstractFilter {
+    private final PuriflowRewritePolicy policy;
+
+    DedupLifecycleFilter(PuriflowRewritePolicy policy) {
+        this.policy = policy;
+    }
+
+    @Override
+    public Result filter(LogEvent event) {
+        return Result.NEUTRAL; // never filters anything
+    }
+
+    @Override
+    public void start() {
+        super.start();
+        policy.startSummaries();
+    }
+
+    @Override
+    public boolean stop(long timeout, TimeUnit timeUnit) {
+        policy.stopSummaries();
+        return super.stop(timeout, timeUnit);
+    }
+}
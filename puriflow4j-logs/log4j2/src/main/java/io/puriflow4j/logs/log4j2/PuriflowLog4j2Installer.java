@@ -8,7 +8,9 @@ import io.puriflow4j.core.api.Sanitizer;
 import io.puriflow4j.core.api.model.Mode;
 import io.puriflow4j.logs.core.categorize.ExceptionClassifier;
 import io.puriflow4j.logs.core.shorten.EmbeddedStacktraceShortener;
+import io.puriflow4j.logs.core.shorten.ExceptionDeduplicator;
 import io.puriflow4j.logs.core.shorten.ExceptionShortener;
+import java.time.Duration;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -36,6 +38,7 @@ public final class PuriflowLog4j2Installer {
     private final EmbeddedStacktraceShortener embeddedShortener;
     private final ExceptionClassifier classifier;
     private final Mode mode;
+    private final Duration dedupWindow; // null => no exception deduplication
 
     public PuriflowLog4j2Installer(
             Sanitizer sanitizer,
@@ -43,11 +46,23 @@ public final class PuriflowLog4j2Installer {
             EmbeddedStacktraceShortener embeddedShortener,
             ExceptionClassifier classifier,
             Mode mode) {
+        this(sanitizer, shortener, embeddedShortener, classifier, mode, null);
+    }
+
+    /** @param dedupWindow exception storm deduplication window (null = off); one deduplicator per appender */
+    public PuriflowLog4j2Installer(
+            Sanitizer sanitizer,
+            ExceptionShortener shortener,
+            EmbeddedStacktraceShortener embeddedShortener,
+            ExceptionClassifier classifier,
+            Mode mode,
+            Duration dedupWindow) {
         this.sanitizer = Objects.requireNonNull(sanitizer);
         this.shortener = Objects.requireNonNull(shortener);
         this.embeddedShortener = embeddedShortener;
         this.classifier = Objects.requireNonNull(classifier);
         this.mode = Objects.requireNonNull(mode);
+        this.dedupWindow = dedupWindow;
     }
 
     /**
@@ -75,20 +90,24 @@ public final class PuriflowLog4j2Installer {
             if (origName.startsWith("PURIFY_WRAPPER_")) continue;
 
             // Build policy (message + MDC + exception)
-            final PuriflowRewritePolicy policy =
-                    new PuriflowRewritePolicy(sanitizer, shortener, embeddedShortener, classifier, mode);
+            final var dedup = (dedupWindow == null) ? null : new ExceptionDeduplicator(dedupWindow);
+            final PuriflowRewritePolicy policy = new PuriflowRewritePolicy(
+                    sanitizer, shortener, embeddedShortener, classifier, mode, dedup, original);
 
             // Create RewriteAppender that targets the original appender by name.
             final String rewriteName = "PURIFY_WRAPPER_" + origName;
             final AppenderRef[] rewriteRefs = new AppenderRef[] {AppenderRef.createAppenderRef(origName, null, null)};
 
+            // The filter only drives the dedup summaries: periodic drain while started, flush on stop.
+            final DedupLifecycleFilter lifecycle = (dedup == null) ? null : new DedupLifecycleFilter(policy);
+
             final RewriteAppender rewrite = RewriteAppender.createAppender(
                     /* name             */ rewriteName,
                     /* ignoreExceptions */ "true",
                     /* appenderRefs     */ rewriteRefs,
                     /* config           */ cfg,
                     /* rewritePolicy    */ policy,
-                    /* filter           */ null);
+                    /* filter           */ lifecycle);
 
             rewrite.start();
             cfg.addAppender(rewrite);
@@ -11,9 +11,13 @@ import io.puriflow4j.logs.core.model.ThrowableView;
 import io.puriflow4j.logs.core.sanitize.MdcSanitizer;
 import io.puriflow4j.logs.core.sanitize.MessageSanitizer;
 import io.puriflow4j.logs.core.shorten.EmbeddedStacktraceShortener;
+import io.puriflow4j.logs.core.shorten.ExceptionDeduplicator;
 import io.puriflow4j.logs.core.shorten.ExceptionShortener;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.Appender;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.appender.rewrite.RewritePolicy;
 import org.apache.logging.log4j.core.impl.ContextDataFactory;
@@ -27,15 +31,22 @@ import org.apache.logging.log4j.message.SimpleMessage;
  *  - shorten/format exception and append it to the message (and drop raw Throwable)
  *  - STRICT mode (if any change -> redact the log)
  *  - optional exception classification label (e.g., [DB], [HTTP])
+ *  - optional exception storm deduplication; a RewritePolicy can only rewrite, so summaries are
+ *    appended straight to the wrapped appender with logger name {@code puriflow.logs.dedup}: with the
+ *    next event, once per window while the wrapper runs, and when it stops ({@link DedupLifecycleFilter})
  */
 public final class PuriflowRewritePolicy implements RewritePolicy {
 
+    private static final String DEDUP_LOGGER = "puriflow.logs.dedup";
+
     private final MessageSanitizer msgSan;
     private final MdcSanitizer mdcSan;
     private final ExceptionShortener shortener;
     private final EmbeddedStacktraceShortener embeddedShortener;
     private final ExceptionClassifier classifier;
     private final Mode mode;
+    private final ExceptionDeduplicator dedup; // may be null
+    private final Appender summaryTarget; // receives dedup summaries; may be null
 
     public PuriflowRewritePolicy(
             Sanitizer sanitizer,
@@ -43,17 +54,35 @@ public final class PuriflowRewritePolicy implements RewritePolicy {
             EmbeddedStacktraceShortener embeddedShortener,
             ExceptionClassifier classifier,
             Mode mode) {
+        this(sanitizer, shortener, embeddedShortener, classifier, mode, null, null);
+    }
+
+    /**
+     * @param dedup         optional exception storm deduplication (may be null); not to be shared between policies
+     * @param summaryTarget appender that receives the dedup summaries, normally the one this policy wraps
+     */
+    public PuriflowRewritePolicy(
+            Sanitizer sanitizer,
+            ExceptionShortener shortener,
+            EmbeddedStacktraceShortener embeddedShortener,
+            ExceptionClassifier classifier,
+            Mode mode,
+            ExceptionDeduplicator dedup,
+            Appender summaryTarget) {
         this.msgSan = new MessageSanitizer(Objects.requireNonNull(sanitizer, "sanitizer"));
         this.mdcSan = new MdcSanitizer(sanitizer);
         this.shortener = Objects.requireNonNull(shortener, "shortener");
         this.embeddedShortener = embeddedShortener;
         this.classifier = Objects.requireNonNull(classifier, "classifier");
         this.mode = Objects.requireNonNull(mode, "mode");
+        this.dedup = dedup;
+        this.summaryTarget = summaryTarget;
     }
 
     @Override
     public LogEvent rewrite(LogEvent source) {
         final String logger = source.getLoggerName();
+        if (dedup != null) appendDedupSummaries(dedup.drainSummaries());
 
         // 1) sanitize formatted message
         final String originalMsg =
@@ -81,13 +110,15 @@ public final class PuriflowRewritePolicy implements RewritePolicy {
 
             String categoryLabel = null;
             try {
-                var res = classifier.classify(tv);
+                var res = classifier.classify(tv, source.getThrown());
                 if (res != null && res.hasLabel()) categoryLabel = res.label();
             } catch (Throwable ignore) {
                 // best-effort: we never break logging on classification errors
             }
 
-            renderedExc = shortener.format(tv, logger, categoryLabel);
+            renderedExc = (dedup != null)
+                    ? dedup.format(shortener, tv, logger, categoryLabel)
+                    : shortener.format(tv, logger, categoryLabel);
         }
 
         // 6) detect changes
@@ -117,6 +148,30 @@ public final class PuriflowRewritePolicy implements RewritePolicy {
         return build(source, outMsg, maskedMdc, outThrown);
     }
 
+    /** Starts the periodic drain of dedup summaries; called when the wrapping appender starts. */
+    void startSummaries() {
+        if (dedup != null && summaryTarget != null) dedup.startScheduledDrain(this::appendDedupSummaries);
+    }
+
+    /** Stops the periodic drain and flushes all pending summaries; called when the wrapping appender stops. */
+    void stopSummaries() {
+        if (dedup == null) return;
+        dedup.stopScheduledDrain();
+        appendDedupSummaries(dedup.flushSummaries());
+    }
+
+    private void appendDedupSummaries(List<String> summaries) {
+        if (summaryTarget == null || !summaryTarget.isStarted()) return;
+        for (String summary : summaries) {
+            summaryTarget.append(Log4jLogEvent.newBuilder()
+                    .setLoggerName(DEDUP_LOGGER)
+                    .setLevel(Level.WARN)
+                    .setTimeMillis(System.currentTimeMillis())
+                    .setMessage(new SimpleMessage(summary))
+                    .build());
+        }
+    }
+
     private static LogEvent build(LogEvent src, String newMessage, Map<String, String> newMdc, Throwable newThrown) {
         return Log4jLogEvent.newBuilder()
                 .setLoggerName(src.getLoggerName())
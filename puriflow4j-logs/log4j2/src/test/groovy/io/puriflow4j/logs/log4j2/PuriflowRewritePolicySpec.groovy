@@ -8,14 +8,20 @@ import io.puriflow4j.logs.core.model.ThrowableView
 import io.puriflow4j.logs.core.sanitize.MdcSanitizer
 import io.puriflow4j.logs.core.sanitize.MessageSanitizer
 import io.puriflow4j.logs.core.shorten.EmbeddedStacktraceShortener
+import io.puriflow4j.logs.core.shorten.ExceptionDeduplicator
 import io.puriflow4j.logs.core.shorten.ExceptionShortener
 import org.apache.logging.log4j.Level
+import org.apache.logging.log4j.core.Appender
+import org.apache.logging.log4j.core.Filter
 import org.apache.logging.log4j.core.LogEvent
 import org.apache.logging.log4j.core.impl.ContextDataFactory
 import org.apache.logging.log4j.core.impl.Log4jLogEvent
 import org.apache.logging.log4j.message.SimpleMessage
 import spock.lang.Specification
 
+import java.time.Duration
+import java.util.concurrent.TimeUnit
+
 /**
  * Unit tests for PuriflowRewritePolicy.
  *
@@ -24,7 +30,8 @@ import spock.lang.Specification
  *  - identity when nothing changes,
  *  - exception rendering is appended to message and original Throwable is dropped,
  *  - STRICT mode produces [REDACTED_LOG],
- *  - MDC is preserved (or carried over) in rewritten events.
+ *  - MDC is preserved (or carried over) in rewritten events,
+ *  - dedup summaries are flushed to the wrapped appender when the wrapper stops.
  */
 class PuriflowRewritePolicySpec extends Specification {
 
@@ -139,4 +146,31 @@ class PuriflowRewritePolicySpec extends Specification {
         txt.contains("RuntimeException")
         !txt.startsWith("\n") // no leading newline when original message is empty
     }
+
+    def "dedup summaries are flushed to the wrapped appender when the wrapper stops"() {
+        given:
+        def appended = []
+        def target = [append: { LogEvent e -> appended << e.message.formattedMessage }, isStarted: { true }] as Appender
+        def sanitizer = new Sanitizer(List.of(), Action.MASK)
+        def shortener = new ExceptionShortener(sanitizer, false, 3, List.of())
+        def policy = new PuriflowRewritePolicy(sanitizer, shortener, null, new NoopClassifier(), Mode.MASK,
+                new ExceptionDeduplicator(Duration.ofMinutes(1)), target)
+        def lifecycle = new DedupLifecycleFilter(policy)
+        def boom = new RuntimeException("boom")
+
+        when:
+        lifecycle.start()
+        3.times { policy.rewrite(evt("demo.Foo", "failed", Map.of(), boom)) }
+
+        then: "nothing is due before the window closes"
+        appended.isEmpty()
+        lifecycle.filter(evt()) == Filter.Result.NEUTRAL
+
+        when:
+        lifecycle.stop(1, TimeUnit.SECONDS)
+
+        then:
+        appended.size() == 1
+        appended[0].contains("(RuntimeException) occurred 3 times")
+    }
 }
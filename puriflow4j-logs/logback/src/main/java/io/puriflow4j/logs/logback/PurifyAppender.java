@@ -8,6 +8,7 @@ import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.classic.spi.IThrowableProxy;
 import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.spi.ThrowableProxy;
 import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.AppenderBase;
 import io.puriflow4j.core.api.Sanitizer;
@@ -18,6 +19,7 @@ import io.puriflow4j.logs.core.model.ThrowableView;
 import io.puriflow4j.logs.core.sanitize.MdcSanitizer;
 import io.puriflow4j.logs.core.sanitize.MessageSanitizer;
 import io.puriflow4j.logs.core.shorten.EmbeddedStacktraceShortener;
+import io.puriflow4j.logs.core.shorten.ExceptionDeduplicator;
 import io.puriflow4j.logs.core.shorten.ExceptionShortener;
 import java.util.HashMap;
 import java.util.List;
@@ -45,6 +47,12 @@ import org.slf4j.MarkerFactory;
  * - **STRICT**: if ANY change would be required, forwards a redacted message
  *   {@code [REDACTED_LOG]} and drops Throwable. Otherwise forwards original.
  *
+ * ## Exception storms (optional)
+ * With an {@link ExceptionDeduplicator}, repeats of the same exception within its window are
+ * rendered as one line, and summaries are emitted as WARNs with logger name
+ * {@code puriflow.logs.dedup} (MASK / STRICT only): with the next event, once per window while the
+ * appender is started even without further events, and on {@link #stop()}.
+ *
  * ## Recursion safety
  * - Events from {@code puriflow.*} logger namespace (including
  *   {@code puriflow.logs.dryrun}) are **not processed** and are passed straight to
@@ -62,6 +70,9 @@ public final class PurifyAppender extends AppenderBase<ILoggingEvent> {
     /** Name of the logger used for DRY_RUN warnings. */
     private static final String DRYRUN_LOGGER = "puriflow.logs.dryrun";
 
+    /** Name of the logger used for exception deduplication summaries. */
+    private static final String DEDUP_LOGGER = "puriflow.logs.dedup";
+
     /** Internal marker to tag our own synthetic DRY_RUN warning events. */
     private static final Marker P4J_INTERNAL = MarkerFactory.getMarker("P4J_INTERNAL");
 
@@ -72,6 +83,7 @@ public final class PurifyAppender extends AppenderBase<ILoggingEvent> {
     private final EmbeddedStacktraceShortener embeddedShortener; // may be null
     private final ExceptionClassifier classifier;
     private final Mode mode;
+    private final ExceptionDeduplicator dedup; // may be null
 
     /**
      * @param delegate          the real appender to which we forward output
@@ -88,6 +100,20 @@ public final class PurifyAppender extends AppenderBase<ILoggingEvent> {
             EmbeddedStacktraceShortener embeddedShortener,
             ExceptionClassifier classifier,
             Mode mode) {
+        this(delegate, sanitizer, shortener, embeddedShortener, classifier, mode, null);
+    }
+
+    /**
+     * @param dedup optional exception storm deduplication (may be null); must not be shared with other appenders
+     */
+    public PurifyAppender(
+            Appender<ILoggingEvent> delegate,
+            Sanitizer sanitizer,
+            ExceptionShortener shortener,
+            EmbeddedStacktraceShortener embeddedShortener,
+            ExceptionClassifier classifier,
+            Mode mode,
+            ExceptionDeduplicator dedup) {
         this.delegate = Objects.requireNonNull(delegate, "delegate");
         this.msgSan = new MessageSanitizer(Objects.requireNonNull(sanitizer, "sanitizer"));
         this.mdcSan = new MdcSanitizer(sanitizer);
@@ -95,6 +121,7 @@ public final class PurifyAppender extends AppenderBase<ILoggingEvent> {
         this.embeddedShortener = embeddedShortener;
         this.classifier = Objects.requireNonNull(classifier, "classifier");
         this.mode = Objects.requireNonNull(mode, "mode");
+        this.dedup = dedup;
     }
 
     @Override
@@ -104,6 +131,17 @@ public final class PurifyAppender extends AppenderBase<ILoggingEvent> {
             setContext(delegate.getContext());
         }
         super.start();
+        // DRY_RUN never goes through dedup, so there is nothing to drain
+        if (dedup != null && mode != Mode.DRY_RUN) dedup.startScheduledDrain(this::emitDedupSummaries);
+    }
+
+    @Override
+    public void stop() {
+        if (dedup != null) {
+            dedup.stopScheduledDrain();
+            if (isStarted()) emitDedupSummaries(dedup.flushSummaries());
+        }
+        super.stop();
     }
 
     @Override
@@ -150,6 +188,8 @@ public final class PurifyAppender extends AppenderBase<ILoggingEvent> {
         }
 
         // ----------------------- MASK / STRICT path -----------------------
+        if (dedup != null) emitDedupSummaries(dedup.drainSummaries());
+
         final String originalMsg = event.getFormattedMessage();
         String maskedMsg = msgSan.sanitize(originalMsg, loggerName);
 
@@ -165,12 +205,14 @@ public final class PurifyAppender extends AppenderBase<ILoggingEvent> {
             final ThrowableView tv = ThrowableViewAdapter.toView(event.getThrowableProxy());
             String label = null;
             try {
-                var r = classifier.classify(tv);
+                var r = classifier.classify(tv, originalThrowable(event.getThrowableProxy()));
                 if (r != null && r.hasLabel()) label = r.label();
             } catch (Throwable ignore) {
                 // best-effort: never break logging
             }
-            renderedExc = shortener.format(tv, loggerName, label);
+            renderedExc = (dedup != null)
+                    ? dedup.format(shortener, tv, loggerName, label)
+                    : shortener.format(tv, loggerName, label);
         }
 
         final boolean hasRendered = (renderedExc != null);
@@ -211,6 +253,11 @@ public final class PurifyAppender extends AppenderBase<ILoggingEvent> {
         return name != null && name.startsWith("puriflow.");
     }
 
+    /** The live exception behind the proxy; {@code null} for deserialized events. */
+    private static Throwable originalThrowable(IThrowableProxy p) {
+        return (p instanceof ThrowableProxy tp) ? tp.getThrowable() : null;
+    }
+
     /** Skip processing if our internal marker is present (synthetic events). */
     private static boolean hasInternalMarker(ILoggingEvent e) {
         Marker m = e.getMarker();
@@ -250,6 +297,20 @@ public final class PurifyAppender extends AppenderBase<ILoggingEvent> {
         return ev;
     }
 
+    /** Forwards exception deduplication summaries as synthetic WARN events (tagged with {@link #P4J_INTERNAL}). */
+    private void emitDedupSummaries(List<String> summaries) {
+        for (String summary : summaries) {
+            LoggingEvent ev = new LoggingEvent();
+            ev.setLoggerName(DEDUP_LOGGER);
+            ev.setLevel(Level.WARN);
+            ev.setMessage(summary);
+            ev.setTimeStamp(System.currentTimeMillis());
+            ev.addMarker(P4J_INTERNAL);
+            ev.setMDCPropertyMap(new HashMap<>());
+            delegate.doAppend(ev);
+        }
+    }
+
     /** Cheap probe: message + exception headers + MDC line. */
     private static String buildProbeString(String msg, String excHeaders, String mdc) {
         StringBuilder sb = new StringBuilder();
@@ -14,7 +14,9 @@ import io.puriflow4j.core.api.Sanitizer;
 import io.puriflow4j.core.api.model.Mode;
 import io.puriflow4j.logs.core.categorize.ExceptionClassifier;
 import io.puriflow4j.logs.core.shorten.EmbeddedStacktraceShortener;
+import io.puriflow4j.logs.core.shorten.ExceptionDeduplicator;
 import io.puriflow4j.logs.core.shorten.ExceptionShortener;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
@@ -32,6 +34,7 @@ public final class PurifyLoggerContextListener implements LoggerContextListener
     private final Mode mode;
     private final List<String> only; // lowercase names; empty => all
     private final List<String> ignore; // lowercase names
+    private final Duration dedupWindow; // null => no exception deduplication
 
     public PurifyLoggerContextListener(
             Sanitizer sanitizer,
@@ -41,6 +44,22 @@ public final class PurifyLoggerContextListener implements LoggerContextListener
             Mode mode,
             List<String> onlyLoggers,
             List<String> ignoreLoggers) {
+        this(sanitizer, shortener, embeddedShortener, classifier, mode, onlyLoggers, ignoreLoggers, null);
+    }
+
+    /**
+     * @param dedupWindow exception storm deduplication window (null = off); each wrapper gets its own
+     *                    {@link ExceptionDeduplicator}
+     */
+    public PurifyLoggerContextListener(
+            Sanitizer sanitizer,
+            ExceptionShortener shortener,
+            EmbeddedStacktraceShortener embeddedShortener,
+            ExceptionClassifier classifier,
+            Mode mode,
+            List<String> onlyLoggers,
+            List<String> ignoreLoggers,
+            Duration dedupWindow) {
         this.sanitizer = Objects.requireNonNull(sanitizer);
         this.shortener = Objects.requireNonNull(shortener);
         this.embeddedShortener = Objects.requireNonNull(embeddedShortener);
@@ -48,6 +67,7 @@ public final class PurifyLoggerContextListener implements LoggerContextListener
         this.mode = Objects.requireNonNull(mode);
         this.only = toLower(onlyLoggers);
         this.ignore = toLower(ignoreLoggers);
+        this.dedupWindow = dedupWindow;
     }
 
     private static List<String> toLower(List<String> in) {
@@ -108,7 +128,7 @@ public final class PurifyLoggerContextListener implements LoggerContextListener
 
     private void wrapAtLogger(Logger logger, Appender<ILoggingEvent> app) {
         logger.detachAppender(app);
-        PurifyAppender wrapper = new PurifyAppender(app, sanitizer, shortener, embeddedShortener, classifier, mode);
+        PurifyAppender wrapper = newWrapper(app);
 
         wrapper.setContext(logger.getLoggerContext());
         wrapper.setName("PURIFY_WRAPPER_" + app.getName());
@@ -117,6 +137,11 @@ public final class PurifyLoggerContextListener implements LoggerContextListener
         logger.addAppender(wrapper);
     }
 
+    private PurifyAppender newWrapper(Appender<ILoggingEvent> app) {
+        var dedup = (dedupWindow == null) ? null : new ExceptionDeduplicator(dedupWindow);
+        return new PurifyAppender(app, sanitizer, shortener, embeddedShortener, classifier, mode, dedup);
+    }
+
     private void wrapAsyncChildren(Logger logger, AsyncAppender async) {
         List<Appender<ILoggingEvent>> children = new ArrayList<>();
         for (var it = async.iteratorForAppenders(); it.hasNext(); ) children.add(it.next());
@@ -125,8 +150,7 @@ public final class PurifyLoggerContextListener implements LoggerContextListener
             if (PurifyAppender.isPurify(child)) continue;
             async.detachAppender(child.getName());
 
-            PurifyAppender wrapper =
-                    new PurifyAppender(child, sanitizer, shortener, embeddedShortener, classifier, mode);
+            PurifyAppender wrapper = newWrapper(child);
 
             wrapper.setContext(logger.getLoggerContext());
             wrapper.setName("PURIFY_WRAPPER_" + child.getName());
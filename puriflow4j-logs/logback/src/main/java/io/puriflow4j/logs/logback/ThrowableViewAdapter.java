@@ -6,25 +6,46 @@ package io.puriflow4j.logs.logback;
 
 import ch.qos.logback.classic.spi.IThrowableProxy;
 import ch.qos.logback.classic.spi.StackTraceElementProxy;
-import io.puriflow4j.logs.core.model.StackFrameView;
+import io.puriflow4j.logs.core.model.StackFrames;
 import io.puriflow4j.logs.core.model.ThrowableView;
-import java.util.ArrayList;
-import java.util.List;
+import io.puriflow4j.logs.core.model.ThrowableViews;
 
 final class ThrowableViewAdapter {
+    private static final ThrowableViews.Access<IThrowableProxy> ACCESS = new ThrowableViews.Access<>() {
+        @Override
+        public String className(IThrowableProxy p) {
+            return p.getClassName();
+        }
+
+        @Override
+        public String message(IThrowableProxy p) {
+            return p.getMessage();
+        }
+
+        @Override
+        public StackFrames frames(IThrowableProxy p) {
+            return StackFrames.of(p.getStackTraceElementProxyArray(), StackTraceElementProxy::getStackTraceElement);
+        }
+
+        @Override
+        public IThrowableProxy cause(IThrowableProxy p) {
+            return p.getCause();
+        }
+
+        @Override
+        public IThrowableProxy[] suppressed(IThrowableProxy p) {
+            return p.getSuppressed();
+        }
+
+        @Override
+        public boolean isCyclic(IThrowableProxy p) {
+            return p.isCyclic(); // Logback already replaces repeated causes with cyclic proxies
+        }
+    };
+
     private ThrowableViewAdapter() {}
 
     static ThrowableView toView(IThrowableProxy tp) {
-        if (tp == null) return null;
-        List<StackFrameView> frames = new ArrayList<>();
-        StackTraceElementProxy[] arr = tp.getStackTraceElementProxyArray();
-        if (arr != null) {
-            for (StackTraceElementProxy ep : arr) {
-                var el = ep.getStackTraceElement();
-                frames.add(new StackFrameView(
-                        el.getClassName(), el.getMethodName(), el.getFileName(), el.getLineNumber()));
-            }
-        }
-        return new ThrowableView(tp.getClassName(), tp.getMessage(), List.copyOf(frames), toView(tp.getCause()));
+        return ThrowableViews.of(tp, ACCESS);
     }
 }
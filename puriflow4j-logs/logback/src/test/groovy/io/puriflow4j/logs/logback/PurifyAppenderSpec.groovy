@@ -227,7 +227,7 @@ class PurifyAppenderSpec extends Specification {
         app.doAppend(evt("demo.Logger", "boom", [:], ex))
 
         then:
-        1 * classifier.classify(_ as ThrowableView) >> new ExceptionClassifier.CategoryResult("DB")
+        1 * classifier.classify(_ as ThrowableView, _ as SQLException) >> new ExceptionClassifier.CategoryResult("DB")
 
         and:
         1 * delegate.doAppend({ ILoggingEvent ev ->
@@ -292,7 +292,7 @@ class PurifyAppenderSpec extends Specification {
         app.doAppend(evt("demo.Logger", "token123", [:], new RuntimeException("x")))
 
         then:
-        1 * classifier.classify(_ as ThrowableView) >> null
+        1 * classifier.classify(_ as ThrowableView, _ as RuntimeException) >> null
 
         and:
         1 * delegate.doAppend({ ILoggingEvent ev ->
@@ -333,7 +333,7 @@ class PurifyAppenderSpec extends Specification {
         app.doAppend(evt("demo.Logger", "benign", [:], new SQLException("password=p")))
 
         then:
-        1 * classifier.classify(_ as ThrowableView) >> null
+        1 * classifier.classify(_ as ThrowableView, _ as SQLException) >> null
         1 * delegate.doAppend({ ILoggingEvent ev ->
             ev.formattedMessage == "[REDACTED_LOG]" &&
                     ev.getThrowableProxy() == null
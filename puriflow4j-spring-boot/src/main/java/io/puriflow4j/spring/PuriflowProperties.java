@@ -6,6 +6,9 @@ package io.puriflow4j.spring;
 
 import io.puriflow4j.core.api.model.DetectorType;
 import io.puriflow4j.core.api.model.Mode;
+import io.puriflow4j.core.detect.HighEntropyDetector;
+import io.puriflow4j.core.detect.UrlRedactorDetector;
+import java.time.Duration;
 import java.util.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -31,15 +34,49 @@ public class PuriflowProperties {
         @Getter
         private Mode mode = Mode.DRY_RUN;
 
+        @Setter
+        @Getter
+        private boolean emailKeepDomain = false; // mask only the local part of e-mails
+
+        @Setter
+        @Getter
+        private boolean jwtVerifyHeader = false; // bare JWT header must decode to JSON with "alg"
+
+        @Setter
+        @Getter
+        private UrlRedactorDetector.Granularity urlRedaction = UrlRedactorDetector.Granularity.FULL;
+
+        @Setter
+        @Getter
+        private boolean urlMaskIdSegments = false; // STRUCTURED only: mask ID-like path segments
+
+        @Setter
+        @Getter
+        private int entropyMinLength = HighEntropyDetector.DEFAULT_MIN_LENGTH; // HIGH_ENTROPY: shortest token
+
+        @Setter
+        @Getter
+        private double entropyThreshold = HighEntropyDetector.DEFAULT_THRESHOLD; // bits/char, base64/base62 tokens
+
+        @Setter
+        @Getter
+        private double entropyHexThreshold = HighEntropyDetector.DEFAULT_HEX_THRESHOLD; // bits/char, hex tokens
+
         private List<DetectorType> detectors = new ArrayList<>();
         private List<String> onlyLoggers = new ArrayList<>();
         private List<String> ignoreLoggers = new ArrayList<>();
         private List<String> keyAllowlist = new ArrayList<>();
         private List<String> keyBlocklist = new ArrayList<>();
+        private List<String> ipAllowlist = new ArrayList<>(); // CIDRs never masked by the IP detector
+        private List<String> plugins = new ArrayList<>(); // ids of ServiceLoader DetectorProvider plugins to enable
+        private List<CustomPattern> customPatterns = new ArrayList<>(); // user-supplied masking regexes
 
         @Getter
         private Errors errors = new Errors();
 
+        @Getter
+        private Pseudonymize pseudonymize = new Pseudonymize();
+
         public List<DetectorType> getDetectors() {
             return Collections.unmodifiableList(detectors);
         }
@@ -80,9 +117,55 @@ public class PuriflowProperties {
             this.keyBlocklist = new ArrayList<>(Objects.requireNonNullElse(v, List.of()));
         }
 
+        public List<String> getIpAllowlist() {
+            return Collections.unmodifiableList(ipAllowlist);
+        }
+
+        public void setIpAllowlist(List<String> v) {
+            this.ipAllowlist = new ArrayList<>(Objects.requireNonNullElse(v, List.of()));
+        }
+
+        public List<String> getPlugins() {
+            return Collections.unmodifiableList(plugins);
+        }
+
+        public void setPlugins(List<String> v) {
+            this.plugins = new ArrayList<>(Objects.requireNonNullElse(v, List.of()));
+        }
+
+        public List<CustomPattern> getCustomPatterns() {
+            return Collections.unmodifiableList(customPatterns);
+        }
+
+        public void setCustomPatterns(List<CustomPattern> v) {
+            this.customPatterns = new ArrayList<>(Objects.requireNonNullElse(v, List.of()));
+        }
+
         public void setErrors(Errors e) {
             this.errors = (e == null) ? new Errors() : e;
         }
+
+        public void setPseudonymize(Pseudonymize p) {
+            this.pseudonymize = (p == null) ? new Pseudonymize() : p;
+        }
+    }
+
+    // ---- nested: logs.pseudonymize ----
+    @Setter
+    @Getter
+    public static final class Pseudonymize {
+        private boolean enabled = false; // MASK/STRICT replace values with keyed hashes instead of constants
+        private String keyId = "k1"; // written into every pseudonym; change it when rotating the key
+        private String key; // HMAC secret (UTF-8), at least 16 bytes
+    }
+
+    // ---- nested: logs.custom-patterns[*] ----
+    @Setter
+    @Getter
+    public static final class CustomPattern {
+        private String name;
+        private String regex; // RE2-style: no backreferences or lookaround
+        private String replacement; // null = "[MASKED]"
     }
 
     // ---- nested: logs.errors ----
@@ -95,12 +178,25 @@ public class PuriflowProperties {
         @Getter
         private Integer maxDepth; // null = not specified => ignore
 
+        @Setter
+        @Getter
+        private Integer maxRenderedChars; // null = ExceptionShortener.DEFAULT_MAX_CHARS
+
         private List<String> hidePackages = new ArrayList<>();
 
+        private List<String> keepPackages = new ArrayList<>(); // never hidden, even if a hidePackages entry matches
+
         @Setter
         @Getter
         private boolean categorize = false;
 
+        // label -> exception types or package patterns, checked before the built-in categories
+        private Map<String, List<String>> categories = new LinkedHashMap<>();
+
+        @Setter
+        @Getter
+        private Duration dedupWindow; // null = off; repeats of an exception within the window become one line
+
         public List<String> getHidePackages() {
             return Collections.unmodifiableList(hidePackages);
         }
@@ -108,5 +204,21 @@ public class PuriflowProperties {
         public void setHidePackages(List<String> v) {
             this.hidePackages = new ArrayList<>(Objects.requireNonNullElse(v, List.of()));
         }
+
+        public Map<String, List<String>> getCategories() {
+            return Collections.unmodifiableMap(categories);
+        }
+
+        public void setCategories(Map<String, List<String>> v) {
+            this.categories = new LinkedHashMap<>(Objects.requireNonNullElse(v, Map.of()));
+        }
+
+        public List<String> getKeepPackages() {
+            return Collections.unmodifiableList(keepPackages);
+        }
+
+        public void setKeepPackages(List<String> v) {
+            this.keepPackages = new ArrayList<>(Objects.requireNonNullElse(v, List.of()));
+        }
     }
 }
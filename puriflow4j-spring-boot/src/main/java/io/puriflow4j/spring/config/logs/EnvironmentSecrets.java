@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2025 Puriflow4J Contributors
+ * Licensed under the Apache License 2.0
+ */
+package io.puriflow4j.spring.config.logs;
+
+import io.puriflow4j.core.detect.KnownSecretDetector;
+import io.puriflow4j.core.preset.KVPatternConfig;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.PropertySource;
+
+/**
+ * Collects the application's own secrets from the Spring {@link ConfigurableEnvironment} for the
+ * {@code KNOWN_SECRET} detector: the values of all properties whose name ends in a blocklisted key —
+ * {@code spring.datasource.password}, {@code SPRING_DATASOURCE_PASSWORD}, {@code oauth.client-secret},
+ * {@code stripe.api-key} (with {@code apikey} blocklisted), ... — from every enumerable property source
+ * (application.yml, environment variables, system properties, config servers).
+ *
+ * <p>Values are resolved through the Environment (placeholders included) and only their
+ * {@link KnownSecretDetector.Fingerprints} are kept.</p>
+ */
+final class EnvironmentSecrets {
+
+    private EnvironmentSecrets() {}
+
+    /**
+     * @param blocklist keys whose values are secrets; {@link KVPatternConfig#defaults()} if empty
+     */
+    static KnownSecretDetector.Fingerprints collect(ConfigurableEnvironment env, KVPatternConfig blocklist) {
+        Set<String> block = blocklist.block().isEmpty()
+                ? KVPatternConfig.defaults().block()
+                : blocklist.block();
+        Set<String> names = new LinkedHashSet<>();
+        for (PropertySource<?> source : env.getPropertySources()) {
+            if (!(source instanceof EnumerablePropertySource<?> enumerable)) continue;
+            for (String name : enumerable.getPropertyNames()) {
+                if (isSecretName(name, block)) names.add(name);
+            }
+        }
+        List<String> values = new ArrayList<>(names.size());
+        for (String name : names) {
+            try {
+                String value = env.getProperty(name);
+                if (value != null) values.add(value);
+            } catch (RuntimeException ignored) {
+                // unresolvable placeholder or conversion failure: nothing to protect
+            }
+        }
+        return KnownSecretDetector.Fingerprints.of(values);
+    }
+
+    /**
+     * Whether a suffix of the property name, made of whole segments, is a blocklisted key:
+     * {@code a.b.client-secret} is tested as {@code clientsecret}, {@code secret}, {@code bclientsecret}, ...
+     */
+    static boolean isSecretName(String name, Set<String> block) {
+        String[] segments = name.split("[.\\-_\\[\\]]+");
+        StringBuilder suffix = new StringBuilder();
+        for (int i = segments.length - 1; i >= 0; i--) {
+            suffix.insert(0, KVPatternConfig.normalizeKey(segments[i]));
+            if (block.contains(suffix.toString())) return true;
+        }
+        return false;
+    }
+}
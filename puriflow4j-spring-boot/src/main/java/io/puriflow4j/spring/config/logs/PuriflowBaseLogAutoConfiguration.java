@@ -4,18 +4,26 @@
  */
 package io.puriflow4j.spring.config.logs;
 
+import io.puriflow4j.core.api.Pseudonymizer;
 import io.puriflow4j.core.api.Sanitizer;
 import io.puriflow4j.core.api.model.Action;
+import io.puriflow4j.core.api.model.DetectorType;
+import io.puriflow4j.core.detect.CustomPatternDetector;
+import io.puriflow4j.core.preset.DetectorOptions;
 import io.puriflow4j.core.preset.DetectorRegistry;
 import io.puriflow4j.core.preset.KVPatternConfig;
 import io.puriflow4j.logs.core.categorize.ExceptionClassifier;
 import io.puriflow4j.logs.core.categorize.HeuristicExceptionClassifier;
 import io.puriflow4j.spring.PuriflowProperties;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.*;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.Environment;
 
 @AutoConfiguration
 @EnableConfigurationProperties(PuriflowProperties.class)
@@ -23,24 +31,54 @@ import org.springframework.context.annotation.Bean;
 public class PuriflowBaseLogAutoConfiguration {
 
     @Bean(name = "logSanitizer")
-    public Sanitizer logSanitizer(PuriflowProperties props) {
+    public Sanitizer logSanitizer(
+            PuriflowProperties props, ObjectProvider<Pseudonymizer> pseudonymizer, Environment env) {
         var registry = new DetectorRegistry();
         var types = new ArrayList<>(props.getLogs().getDetectors());
         var kvCfg = KVPatternConfig.of(
                 props.getLogs().getKeyAllowlist(), props.getLogs().getKeyBlocklist());
-        var detectors = registry.build(types, kvCfg);
+        var optionsBuilder = DetectorOptions.builder()
+                .ipAllowlist(props.getLogs().getIpAllowlist())
+                .emailKeepDomain(props.getLogs().isEmailKeepDomain())
+                .jwtVerifyHeader(props.getLogs().isJwtVerifyHeader())
+                .urlGranularity(props.getLogs().getUrlRedaction())
+                .urlMaskIdSegments(props.getLogs().isUrlMaskIdSegments())
+                .entropyMinLength(props.getLogs().getEntropyMinLength())
+                .entropyThreshold(props.getLogs().getEntropyThreshold())
+                .entropyHexThreshold(props.getLogs().getEntropyHexThreshold())
+                .customPatterns(props.getLogs().getCustomPatterns().stream()
+                        .map(p -> new CustomPatternDetector.Rule(p.getName(), p.getRegex(), p.getReplacement()))
+                        .toList());
+        if (types.contains(DetectorType.KNOWN_SECRET) && env instanceof ConfigurableEnvironment cenv) {
+            optionsBuilder.knownSecrets(EnvironmentSecrets.collect(cenv, kvCfg));
+        }
+        var options = optionsBuilder.build();
+        var detectors = registry.build(types, kvCfg, options, props.getLogs().getPlugins());
         Action action =
                 switch (props.getLogs().getMode()) {
                     case DRY_RUN -> Action.WARN;
                     case MASK, STRICT -> Action.MASK;
                 };
-        return new io.puriflow4j.core.api.Sanitizer(detectors, action);
+        Pseudonymizer pseudo = pseudonymizer.getIfAvailable();
+        if (pseudo != null && action == Action.MASK) action = Action.PSEUDONYMIZE;
+        return new io.puriflow4j.core.api.Sanitizer(detectors, action, pseudo);
+    }
+
+    /** Exposed as a bean so that applications can {@link Pseudonymizer#rotate} the key at runtime. */
+    @Bean(name = "logPseudonymizer")
+    @ConditionalOnProperty(prefix = "puriflow4j.logs.pseudonymize", name = "enabled", havingValue = "true")
+    public Pseudonymizer logPseudonymizer(PuriflowProperties props) {
+        var cfg = props.getLogs().getPseudonymize();
+        if (cfg.getKey() == null || cfg.getKey().isBlank()) {
+            throw new IllegalStateException("puriflow4j.logs.pseudonymize.key is required when enabled");
+        }
+        return new Pseudonymizer(cfg.getKeyId(), cfg.getKey().getBytes(StandardCharsets.UTF_8));
     }
 
     @Bean(name = "logExceptionClassifier")
     @ConditionalOnProperty(prefix = "puriflow4j.logs.errors", name = "categorize", havingValue = "true")
-    public ExceptionClassifier logExceptionClassifierEnabled() {
-        return new HeuristicExceptionClassifier();
+    public ExceptionClassifier logExceptionClassifierEnabled(PuriflowProperties props) {
+        return new HeuristicExceptionClassifier(props.getLogs().getErrors().getCategories());
     }
 
     @Bean(name = "logExceptionClassifier")
@@ -8,6 +8,7 @@ import io.puriflow4j.core.api.Sanitizer;
 import io.puriflow4j.logs.core.categorize.ExceptionClassifier;
 import io.puriflow4j.logs.core.shorten.EmbeddedStacktraceShortener;
 import io.puriflow4j.logs.core.shorten.ExceptionShortener;
+import io.puriflow4j.logs.core.shorten.PackageFilter;
 import io.puriflow4j.logs.jul.PuriflowJULInstaller;
 import io.puriflow4j.spring.PuriflowProperties;
 import java.io.UnsupportedEncodingException;
@@ -34,14 +35,17 @@ public class PuriflowJULAutoConfiguration {
             @Qualifier("logExceptionClassifier") ExceptionClassifier classifier)
             throws UnsupportedEncodingException {
         var e = props.getLogs().getErrors();
-        var shortener = new ExceptionShortener(sanitizer, e.isShorten(), e.getMaxDepth(), e.getHidePackages());
-        var embedded = new EmbeddedStacktraceShortener(sanitizer, e.getMaxDepth(), e.getHidePackages());
+        var hidden = PackageFilter.of(e.getHidePackages(), e.getKeepPackages());
+        var shortener =
+                new ExceptionShortener(sanitizer, e.isShorten(), e.getMaxDepth(), hidden, e.getMaxRenderedChars());
+        var embedded = new EmbeddedStacktraceShortener(sanitizer, e.getMaxDepth(), hidden);
         new PuriflowJULInstaller(
                         sanitizer,
                         shortener,
                         embedded,
                         classifier,
-                        props.getLogs().getMode())
+                        props.getLogs().getMode(),
+                        e.getDedupWindow())
                 .install();
         return new Object();
     }
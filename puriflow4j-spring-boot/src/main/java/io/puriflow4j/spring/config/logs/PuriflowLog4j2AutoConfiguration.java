@@ -8,6 +8,7 @@ import io.puriflow4j.core.api.Sanitizer;
 import io.puriflow4j.logs.core.categorize.ExceptionClassifier;
 import io.puriflow4j.logs.core.shorten.EmbeddedStacktraceShortener;
 import io.puriflow4j.logs.core.shorten.ExceptionShortener;
+import io.puriflow4j.logs.core.shorten.PackageFilter;
 import io.puriflow4j.logs.log4j2.PuriflowLog4j2Installer;
 import io.puriflow4j.spring.PuriflowProperties;
 import org.apache.logging.log4j.LogManager;
@@ -32,15 +33,18 @@ public class PuriflowLog4j2AutoConfiguration {
         if (ctx == null) return new Object();
 
         var e = props.getLogs().getErrors();
-        var shortener = new ExceptionShortener(sanitizer, e.isShorten(), e.getMaxDepth(), e.getHidePackages());
-        var embeddedShortener = new EmbeddedStacktraceShortener(sanitizer, e.getMaxDepth(), e.getHidePackages());
+        var hidden = PackageFilter.of(e.getHidePackages(), e.getKeepPackages());
+        var shortener =
+                new ExceptionShortener(sanitizer, e.isShorten(), e.getMaxDepth(), hidden, e.getMaxRenderedChars());
+        var embeddedShortener = new EmbeddedStacktraceShortener(sanitizer, e.getMaxDepth(), hidden);
 
         var installer = new PuriflowLog4j2Installer(
                 sanitizer,
                 shortener,
                 embeddedShortener,
                 classifier,
-                props.getLogs().getMode());
+                props.getLogs().getMode(),
+                e.getDedupWindow());
 
         installer.install(); // perform async+rewrite wrapping
 
@@ -9,6 +9,7 @@ import io.puriflow4j.core.api.Sanitizer;
 import io.puriflow4j.logs.core.categorize.ExceptionClassifier;
 import io.puriflow4j.logs.core.shorten.EmbeddedStacktraceShortener;
 import io.puriflow4j.logs.core.shorten.ExceptionShortener;
+import io.puriflow4j.logs.core.shorten.PackageFilter;
 import io.puriflow4j.logs.logback.PurifyLoggerContextListener;
 import io.puriflow4j.spring.PuriflowProperties;
 import org.slf4j.LoggerFactory;
@@ -34,9 +35,11 @@ public class PuriflowLogbackAutoConfiguration {
         if (!(lf instanceof LoggerContext ctx)) return new Object();
 
         var e = props.getLogs().getErrors();
-        var shortener = new ExceptionShortener(sanitizer, e.isShorten(), e.getMaxDepth(), e.getHidePackages());
+        var hidden = PackageFilter.of(e.getHidePackages(), e.getKeepPackages());
+        var shortener =
+                new ExceptionShortener(sanitizer, e.isShorten(), e.getMaxDepth(), hidden, e.getMaxRenderedChars());
 
-        var embeddedShortener = new EmbeddedStacktraceShortener(sanitizer, e.getMaxDepth(), e.getHidePackages());
+        var embeddedShortener = new EmbeddedStacktraceShortener(sanitizer, e.getMaxDepth(), hidden);
 
         var listener = new PurifyLoggerContextListener(
                 sanitizer,
@@ -45,7 +48,8 @@ public class PuriflowLogbackAutoConfiguration {
                 classifier,
                 props.getLogs().getMode(),
                 props.getLogs().getOnlyLoggers(),
-                props.getLogs().getIgnoreLoggers());
+                props.getLogs().getIgnoreLoggers(),
+                e.getDedupWindow());
 
         boolean already = ctx.getCopyOfListenerList().stream()
                 .anyMatch(l -> l.getClass().getName().equals(PurifyLoggerContextListener.class.getName()));
@@ -28,6 +28,14 @@ class PuriflowPropertiesSpec extends Specification {
                 "puriflow4j.logs.detectors[0]=EMAIL",
                 "puriflow4j.logs.only-loggers[0]=com.example",
                 "puriflow4j.logs.key-allowlist[0]=user",
+                "puriflow4j.logs.ip-allowlist[0]=10.0.0.0/8",
+                "puriflow4j.logs.entropy-min-length=24",
+                "puriflow4j.logs.entropy-threshold=4.2",
+                "puriflow4j.logs.plugins[0]=acme-account",
+                "puriflow4j.logs.custom-patterns[0].name=order-ref",
+                "puriflow4j.logs.custom-patterns[0].regex=ORD-\\d{8}",
+                "puriflow4j.logs.pseudonymize.enabled=true",
+                "puriflow4j.logs.pseudonymize.key-id=2025-q3",
                 "puriflow4j.logs.errors.shorten=true",
                 "puriflow4j.logs.errors.max-depth=5",
                 "puriflow4j.logs.errors.hide-packages[0]=com.acme"
@@ -42,6 +50,16 @@ class PuriflowPropertiesSpec extends Specification {
             assert props.logs.detectors == [DetectorType.EMAIL]
             assert props.logs.onlyLoggers == ["com.example"]
             assert props.logs.keyAllowlist == ["user"]
+            assert props.logs.ipAllowlist == ["10.0.0.0/8"]
+            assert props.logs.entropyMinLength == 24
+            assert props.logs.entropyThreshold == 4.2d
+            assert props.logs.entropyHexThreshold == 3.0d
+            assert props.logs.plugins == ["acme-account"]
+            assert props.logs.customPatterns*.name == ["order-ref"]
+            assert props.logs.customPatterns[0].regex == "ORD-\\d{8}"
+            assert props.logs.customPatterns[0].replacement == null
+            assert props.logs.pseudonymize.enabled
+            assert props.logs.pseudonymize.keyId == "2025-q3"
 
             assert props.logs.errors.shorten
             assert props.logs.errors.maxDepth == 5
@@ -57,6 +75,10 @@ class PuriflowPropertiesSpec extends Specification {
             assert props.logs.mode == Mode.DRY_RUN
             assert props.logs.detectors.isEmpty()
             assert props.logs.onlyLoggers.isEmpty()
+            assert props.logs.plugins.isEmpty()
+            assert props.logs.customPatterns.isEmpty()
+            assert !props.logs.pseudonymize.enabled
+            assert props.logs.pseudonymize.keyId == "k1"
             assert props.logs.errors.maxDepth == null
             assert props.logs.errors.hidePackages == []
         }
@@ -1,7 +1,10 @@
 package io.puriflow4j.spring.config.logs
 
+import io.puriflow4j.core.api.Pseudonymizer
+import io.puriflow4j.core.api.Sanitizer
 import io.puriflow4j.logs.core.categorize.ExceptionClassifier
 import io.puriflow4j.logs.core.categorize.HeuristicExceptionClassifier
+import io.puriflow4j.logs.core.model.ThrowableView
 import io.puriflow4j.spring.config.logs.PuriflowBaseLogAutoConfiguration
 import org.springframework.boot.autoconfigure.AutoConfigurations
 import org.springframework.boot.test.context.runner.ApplicationContextRunner
@@ -50,6 +53,23 @@ class PuriflowBaseLogAutoConfigurationSpec extends Specification {
                 }
     }
 
+    def "heuristic ExceptionClassifier applies custom categories before the built-in ones"() {
+        expect:
+        runner.withPropertyValues(
+                "puriflow4j.logs.enabled=true",
+                "puriflow4j.logs.errors.categorize=true",
+                "puriflow4j.logs.errors.categories.PAYMENT[0]=com.acme.pay.",
+                "puriflow4j.logs.errors.categories.PAYMENT[1]=java.util.concurrent.TimeoutException"
+        )
+                .run { ctx ->
+                    def cls = ctx.getBean(ExceptionClassifier)
+                    def tv = { String cn -> new ThrowableView(cn, null, List.of(), null) }
+                    assert cls.classify(tv("com.acme.pay.CardDeclined")).label() == "PAYMENT"
+                    assert cls.classify(tv("java.util.concurrent.TimeoutException")).label() == "PAYMENT"
+                    assert cls.classify(tv("java.sql.SQLException")).label() == "DB"
+                }
+    }
+
     def "creates noop ExceptionClassifier by default (categorize=false)"() {
         expect:
         runner.withPropertyValues(
@@ -61,4 +81,57 @@ class PuriflowBaseLogAutoConfigurationSpec extends Specification {
                     assert !(cls instanceof HeuristicExceptionClassifier)
                 }
     }
-}
\ No newline at end of file
+
+    def "pseudonymizes instead of masking when puriflow4j.logs.pseudonymize is enabled"() {
+        expect:
+        runner.withPropertyValues(
+                "puriflow4j.logs.enabled=true",
+                "puriflow4j.logs.mode=MASK",
+                "puriflow4j.logs.detectors[0]=EMAIL",
+                "puriflow4j.logs.pseudonymize.enabled=true",
+                "puriflow4j.logs.pseudonymize.key=0123456789abcdef-test"
+        )
+                .run { ctx ->
+                    def pseudonymizer = ctx.getBean(Pseudonymizer)
+                    def out = ctx.getBean("logSanitizer", Sanitizer).apply("user alice@example.com", "x")
+                    assert out.startsWith("user [email#k1:")
+                    assert pseudonymizer.keyId() == "k1"
+                }
+    }
+
+    def "fails to start when pseudonymization is enabled without a key"() {
+        expect:
+        runner.withPropertyValues("puriflow4j.logs.enabled=true", "puriflow4j.logs.pseudonymize.enabled=true")
+                .run { ctx -> assert ctx.startupFailure != null }
+    }
+
+    def "masks the application's own secrets from the Environment when KNOWN_SECRET is enabled"() {
+        expect:
+        runner.withPropertyValues(
+                "puriflow4j.logs.enabled=true",
+                "puriflow4j.logs.detectors[0]=KNOWN_SECRET",
+                "spring.datasource.password=Tr0ub4dor&3",
+                "app.oauth.client-secret=shape-less secret",
+                "server.port=8080"
+        )
+                .run { ctx ->
+                    def out = ctx.getBean("logSanitizer", Sanitizer)
+                            .apply("connect with Tr0ub4dor&3, then shape-less secret on 8080", "x")
+                    assert out == "connect with [MASKED_SECRET], then [MASKED_SECRET] on 8080"
+                }
+    }
+
+    def "does not collect property names outside the blocklist"() {
+        expect:
+        EnvironmentSecrets.isSecretName(name, ["password", "secret", "apikey"] as Set) == secret
+
+        where:
+        name                           || secret
+        "spring.datasource.password"   || true
+        "SPRING_DATASOURCE_PASSWORD"   || true
+        "stripe.api-key"               || true
+        "clients[0].secret"            || true
+        "spring.datasource.url"        || false
+        "password.policy.min-length"   || false
+    }
+}